@@ -3,6 +3,7 @@ plugins {
     id("java-gradle-plugin")          // Enables Gradle plugin development
     id("maven-publish")               // Optional: publishing to Maven repo
     id("com.gradle.plugin-publish") version "2.0.0"
+    id("me.champeau.jmh") version "0.7.3"        // Benchmarks of the publishing hot paths
 }
 
 group = "io.github.smootheez"
@@ -16,6 +17,7 @@ val gsonVersion = "2.13.2"
 val lombokVersion = "1.18.42"
 val mockitoVersion = "5.20.0"
 val okhttpVersion = "5.3.0"
+val jmhLibraryVersion = "1.37"
 
 dependencies {
     implementation(gradleApi())        // Provides Gradle APIs
@@ -53,3 +55,10 @@ gradlePlugin {
 tasks.test {
     useJUnitPlatform()
 }
+
+jmh {
+    jmhVersion = jmhLibraryVersion
+    includeTests = true                // End-to-end benchmarks publish to the FakePlatformServer test fixture
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("reports/jmh/results.json")
+}
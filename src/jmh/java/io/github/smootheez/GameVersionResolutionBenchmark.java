@@ -0,0 +1,138 @@
+package io.github.smootheez;
+
+import io.github.smootheez.curseforge.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Measures how long the publishers take to turn a platform's game version tag list into the
+ * IDs of the configured versions: streaming decode with filtering, building the
+ * {@link GameVersionIndex}, and the lookups performed for every publication.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameVersionResolutionBenchmark {
+
+    /** Number of Minecraft versions a publication declares. */
+    @Param({"1", "8"})
+    public int requestedVersions;
+
+    /** The generated Modrinth tag list. */
+    private String modrinthDump;
+
+    /** The generated CurseForge tag list. */
+    private String curseforgeDump;
+
+    /** The Minecraft versions requested by the publication. */
+    private List<String> gameVersions;
+
+    /** The loaders requested by the publication. */
+    private List<String> loaders;
+
+    /** Every name requested from CurseForge, across all tag types. */
+    private Set<String> curseforgeNames;
+
+    /** A prebuilt CurseForge index, for measuring lookups alone. */
+    private GameVersionIndex curseforgeIndex;
+
+    /**
+     * Generates the tag lists and the requested versions.
+     *
+     * @throws IOException if the CurseForge list cannot be decoded
+     */
+    @Setup
+    public void setup() throws IOException {
+        modrinthDump = TagDumps.modrinth();
+        curseforgeDump = TagDumps.curseforge();
+        gameVersions = TagDumps.minecraftVersions().stream()
+                .filter(version -> version.startsWith("1.20"))
+                .limit(requestedVersions)
+                .toList();
+        loaders = List.of("Fabric", "Quilt");
+
+        curseforgeNames = new HashSet<>(gameVersions);
+        curseforgeNames.addAll(loaders);
+        curseforgeNames.addAll(List.of("Client", "Server"));
+        curseforgeIndex = curseforgeIndex();
+    }
+
+    /**
+     * Decodes the Modrinth list and resolves the requested versions.
+     *
+     * @param blackhole sink for the resolved versions
+     * @throws IOException if the list cannot be decoded
+     */
+    @Benchmark
+    public void modrinthResolution(Blackhole blackhole) throws IOException {
+        var desired = new HashSet<>(gameVersions);
+        var tags = io.github.smootheez.modrinth.GameVersionTagDecoder.decode(new StringReader(modrinthDump), desired::contains);
+
+        var builder = GameVersionIndex.builder();
+        for (var i = 0; i < tags.size(); i++) {
+            builder.add(GameVersionIndex.ANY_TYPE, tags.get(i).version(), i);
+        }
+        var index = builder.build();
+
+        for (var version : gameVersions) {
+            blackhole.consume(index.contains(GameVersionIndex.ANY_TYPE, version));
+        }
+    }
+
+    /**
+     * Decodes the CurseForge list and resolves the requested versions, loaders and environments.
+     *
+     * @param blackhole sink for the resolved IDs
+     * @throws IOException if the list cannot be decoded
+     */
+    @Benchmark
+    public void curseforgeResolution(Blackhole blackhole) throws IOException {
+        resolve(curseforgeIndex(), blackhole);
+    }
+
+    /**
+     * Resolves the requested names against a prebuilt CurseForge index.
+     *
+     * @param blackhole sink for the resolved IDs
+     */
+    @Benchmark
+    public void curseforgeLookup(Blackhole blackhole) {
+        resolve(curseforgeIndex, blackhole);
+    }
+
+    /**
+     * Decodes the CurseForge list into an index, as the CurseForge publisher does.
+     *
+     * @return the index over the requested tags
+     * @throws IOException if the list cannot be decoded
+     */
+    private GameVersionIndex curseforgeIndex() throws IOException {
+        var tags = GameVersionTagDecoder.decode(new StringReader(curseforgeDump), (type, name) ->
+                (type == TagDumps.MINECRAFT_TYPE_ID || type == TagDumps.LOADER_TYPE_ID
+                        || type == TagDumps.ENVIRONMENT_TYPE_ID) && curseforgeNames.contains(name));
+
+        var builder = GameVersionIndex.builder();
+        tags.forEach(tag -> builder.add(tag.gameVersionTypeId(), tag.name(), tag.id()));
+        return builder.build();
+    }
+
+    /**
+     * Resolves the IDs of the requested names.
+     *
+     * @param index     the index to resolve against
+     * @param blackhole sink for the resolved IDs
+     */
+    private void resolve(GameVersionIndex index, Blackhole blackhole) {
+        for (var version : gameVersions) blackhole.consume(index.ids(TagDumps.MINECRAFT_TYPE_ID, version));
+        for (var loader : loaders) blackhole.consume(index.ids(TagDumps.LOADER_TYPE_ID, loader));
+        blackhole.consume(index.ids(TagDumps.ENVIRONMENT_TYPE_ID, "Client"));
+        blackhole.consume(index.ids(TagDumps.ENVIRONMENT_TYPE_ID, "Server"));
+    }
+}
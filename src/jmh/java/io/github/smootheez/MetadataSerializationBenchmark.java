@@ -0,0 +1,107 @@
+package io.github.smootheez;
+
+import com.google.gson.*;
+import io.github.smootheez.curseforge.*;
+import io.github.smootheez.modrinth.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Measures the Gson serialization of the upload metadata sent with every file, using a
+ * realistically sized changelog, game version list and dependency list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetadataSerializationBenchmark {
+
+    /** Gson instance configured like the one used by the publishers. */
+    private static final Gson GSON = new Gson();
+
+    /** Length of the changelog in characters. */
+    @Param({"256", "16384"})
+    public int changelogLength;
+
+    /** Modrinth metadata of a version. */
+    private ModrinthMetadata modrinthMetadata;
+
+    /** CurseForge metadata of a primary file. */
+    private CurseforgeMetadata curseforgeMetadata;
+
+    /**
+     * Builds the metadata payloads.
+     */
+    @Setup
+    public void setup() {
+        var changelog = changelog(changelogLength);
+        var gameVersions = List.of("1.20", "1.20.1", "1.20.2", "1.20.3", "1.20.4", "1.20.5", "1.20.6");
+
+        modrinthMetadata = ModrinthMetadata.builder()
+                .projectId("AANobbMI")
+                .name("Smooth Expansion 1.2.0")
+                .versionNumber("1.2.0")
+                .changelog(changelog)
+                .gameVersions(gameVersions)
+                .loaders(List.of(LoaderType.FABRIC, LoaderType.QUILT))
+                .releaseChannel("release")
+                .dependencies(List.of(
+                        new DependencyMetadata("P7dR8mSH", DependencyType.REQUIRED),
+                        new DependencyMetadata("4Kc3yK8M", DependencyType.OPTIONAL),
+                        new DependencyMetadata("ET0f402o", DependencyType.INCOMPATIBLE)))
+                .featured(true)
+                .status("listed")
+                .fileParts(List.of("file", "file_1"))
+                .build();
+
+        curseforgeMetadata = CurseforgeMetadata.builder()
+                .changelog(changelog)
+                .changelogType(ChangelogType.MARKDOWN)
+                .displayName("Smooth Expansion 1.2.0")
+                .gameVersions(List.of(9990, 9991, 9992, 9993, 9994, 9995, 9996, 7499, 9153, 9638))
+                .releaseType("release")
+                .isMarkedForManualRelease(false)
+                .relations(new Projects(List.of(
+                        new ProjectsMetadata("fabric-api", RelationType.REQUIRED_DEPENDENCY),
+                        new ProjectsMetadata("modmenu", RelationType.OPTIONAL_DEPENDENCY))))
+                .build();
+    }
+
+    /**
+     * Serializes the Modrinth metadata.
+     *
+     * @return the JSON payload
+     */
+    @Benchmark
+    public String modrinth() {
+        return GSON.toJson(modrinthMetadata);
+    }
+
+    /**
+     * Serializes the CurseForge metadata.
+     *
+     * @return the JSON payload
+     */
+    @Benchmark
+    public String curseforge() {
+        return GSON.toJson(curseforgeMetadata);
+    }
+
+    /**
+     * Generates a Markdown changelog of the given length.
+     *
+     * @param length the length in characters
+     * @return the changelog
+     */
+    private static String changelog(int length) {
+        var changelog = new StringBuilder("## Changes\n");
+        for (var i = 0; changelog.length() < length; i++) {
+            changelog.append("- Fixed \"issue\" #").append(i).append(" <when> loading worlds & chunks\n");
+        }
+        return changelog.substring(0, length);
+    }
+}
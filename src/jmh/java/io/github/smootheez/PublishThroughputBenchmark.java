@@ -0,0 +1,140 @@
+package io.github.smootheez;
+
+import io.github.smootheez.cache.*;
+import io.github.smootheez.concurrent.*;
+import io.github.smootheez.http.*;
+import org.gradle.api.*;
+import org.gradle.api.logging.*;
+import org.gradle.testfixtures.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Measures a complete publish to both platforms against the {@link FakePlatformServer}, from
+ * game version resolution to the last upload, with the server adding latency and capping its
+ * bandwidth like a remote platform would. The result is the end-to-end throughput of the
+ * plugin's publishing pipeline without reaching the real platforms.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PublishThroughputBenchmark {
+
+    /** Number of files in the publication. */
+    @Param({"1", "5"})
+    public int fileCount;
+
+    /** Size of every file in megabytes. */
+    @Param({"8"})
+    public int fileSizeMb;
+
+    /** Latency added by the server to every response, in milliseconds. */
+    @Param({"0", "50"})
+    public int latencyMillis;
+
+    /** Bandwidth of the server in megabytes per second, or {@code 0} for no limit. */
+    @Param({"0", "50"})
+    public int bandwidthMbPerSecond;
+
+    /** Directory holding the project, the generated files and the game version cache. */
+    private Path directory;
+
+    /** The stand-in platform server. */
+    private FakePlatformServer server;
+
+    /** The HTTP service shared by the publishers. */
+    private HttpClientService http;
+
+    /** Logger of the project. */
+    private Logger logger;
+
+    /** Snapshot of the published configuration. */
+    private PublishSpec spec;
+
+    /**
+     * Starts the server and writes the files to publish, filled with random bytes so they
+     * compress like jars.
+     *
+     * @throws IOException if the server cannot be started or the files cannot be written
+     */
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("mc-mod-publisher-jmh");
+        server = FakePlatformServer.start()
+                .latency(Duration.ofMillis(latencyMillis))
+                .bandwidth(bandwidthMbPerSecond * 1_000_000L);
+
+        Project project = ProjectBuilder.builder().withProjectDir(directory.toFile()).build();
+        logger = project.getLogger();
+        http = project.getGradle().getSharedServices()
+                .registerIfAbsent(HttpClientService.NAME, HttpClientService.class, service -> {
+                    service.getParameters().getModrinthRequestsPerMinute().set(Integer.MAX_VALUE / 2);
+                    service.getParameters().getCurseforgeRequestsPerMinute().set(Integer.MAX_VALUE / 2);
+                })
+                .get();
+
+        var extension = project.getObjects().newInstance(McModPublisherExtension.class, project.getObjects());
+        extension.getVersion().set("1.0.0");
+        extension.getGameVersions().add("1.21.1");
+        extension.getLoaders().add(LoaderType.FABRIC);
+        extension.getModrinth().getProjectId().set("AABBCCDD");
+        extension.getModrinth().getApiUrl().set(server.url());
+        extension.getCurseforge().getProjectId().set("123456");
+        extension.getCurseforge().getApiUrl().set(server.url());
+
+        var random = new Random(42);
+        var chunk = new byte[1 << 20];
+        for (var i = 0; i < fileCount; i++) {
+            var file = directory.resolve("mod-" + i + ".jar");
+            try (var out = Files.newOutputStream(file)) {
+                for (var mb = 0; mb < fileSizeMb; mb++) {
+                    random.nextBytes(chunk);
+                    out.write(chunk);
+                }
+            }
+            extension.getFiles().from(file.toFile());
+        }
+        spec = PublishSpec.of(extension);
+    }
+
+    /**
+     * Makes the server forget the previous publish, so every invocation uploads all files.
+     */
+    @Setup(Level.Invocation)
+    public void forgetPublishedFiles() {
+        server.reset();
+    }
+
+    /**
+     * Stops the server and the HTTP service.
+     */
+    @TearDown
+    public void tearDown() {
+        http.close();
+        server.close();
+    }
+
+    /**
+     * Publishes the files to both platforms concurrently, as {@code publishModToAll} does.
+     *
+     * @return the receipt entries of both platforms
+     */
+    @Benchmark
+    public Map<String, List<PublishReceipt.Entry>> publishToAll() {
+        var cache = new GameVersionCache(logger, directory.resolve("cache"), Duration.ofHours(1), Duration.ofDays(1), false);
+        var publishers = new LinkedHashMap<String, Callable<List<PublishReceipt.Entry>>>();
+        for (var platform : Platform.values()) {
+            var publisher = Publisher.of(platform, logger, spec, "token", http, cache, UploadMonitor.NONE);
+            publishers.put(platform.getId(), publisher::publish);
+        }
+        return ParallelExecutor.invokeAll(publishers.size(), publishers);
+    }
+}
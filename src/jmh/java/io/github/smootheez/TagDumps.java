@@ -0,0 +1,118 @@
+package io.github.smootheez;
+
+import com.google.gson.*;
+
+import java.util.*;
+
+/**
+ * Generates game version tag lists shaped like the payloads served by the platforms.
+ * <p>
+ * The Modrinth list holds every release from 1.0 to 1.21.x together with the snapshots,
+ * pre-releases and release candidates of each, newest first, as {@code /v2/tag/game_version}
+ * does. The CurseForge list mixes the Minecraft versions with loader, environment and Java
+ * version tags and the long tail of other tag types found in {@code /api/game/versions}.
+ */
+final class TagDumps {
+
+    /** CurseForge type ID of the Minecraft versions resolved by the publisher. */
+    static final int MINECRAFT_TYPE_ID = 77784;
+
+    /** CurseForge type ID of mod loader tags. */
+    static final int LOADER_TYPE_ID = 68441;
+
+    /** CurseForge type ID of environment tags. */
+    static final int ENVIRONMENT_TYPE_ID = 75208;
+
+    /** CurseForge type ID of Java version tags. */
+    private static final int JAVA_TYPE_ID = 2;
+
+    /** Gson instance rendering the generated lists. */
+    private static final Gson GSON = new Gson();
+
+    /** Prevents instantiation of this utility class. */
+    private TagDumps() {}
+
+    /**
+     * Returns every generated Minecraft version name, newest first.
+     *
+     * @return the version names
+     */
+    static List<String> minecraftVersions() {
+        var versions = new ArrayList<String>();
+        for (var minor = 21; minor >= 0; minor--) {
+            for (var patch = 6; patch >= 0; patch--) {
+                var release = patch == 0 ? "1." + minor : "1." + minor + "." + patch;
+                versions.add(release);
+                for (var rc = 3; rc >= 1; rc--) versions.add(release + "-rc" + rc);
+                for (var pre = 5; pre >= 1; pre--) versions.add(release + "-pre" + pre);
+            }
+            for (var week = 20; week >= 1; week--) {
+                versions.add(String.format(Locale.ROOT, "%02dw%02da", 10 + minor, week));
+            }
+        }
+        return versions;
+    }
+
+    /**
+     * Renders a Modrinth game version tag list.
+     *
+     * @return the JSON payload
+     */
+    static String modrinth() {
+        var tags = new JsonArray();
+        for (var version : minecraftVersions()) {
+            var tag = new JsonObject();
+            tag.addProperty("version", version);
+            tag.addProperty("version_type", version.contains("w") || version.contains("-") ? "snapshot" : "release");
+            tag.addProperty("date", "2024-06-13T10:36:15Z");
+            tag.addProperty("major", !version.matches(".*\\.\\d+\\.\\d+.*"));
+            tags.add(tag);
+        }
+        return GSON.toJson(tags);
+    }
+
+    /**
+     * Renders a CurseForge game version tag list.
+     *
+     * @return the JSON payload
+     */
+    static String curseforge() {
+        var tags = new JsonArray();
+        var id = 1000;
+        for (var version : minecraftVersions()) {
+            tags.add(curseforgeTag(id++, MINECRAFT_TYPE_ID, version));
+        }
+        for (var loader : List.of("Fabric", "Forge", "NeoForge", "Quilt", "Rift", "LiteLoader", "Cauldron")) {
+            tags.add(curseforgeTag(id++, LOADER_TYPE_ID, loader));
+        }
+        for (var environment : List.of("Client", "Server")) {
+            tags.add(curseforgeTag(id++, ENVIRONMENT_TYPE_ID, environment));
+        }
+        for (var java = 6; java <= 22; java++) {
+            tags.add(curseforgeTag(id++, JAVA_TYPE_ID, "Java " + java));
+        }
+        for (var type = 1; type <= 40; type++) {
+            for (var i = 0; i < 25; i++) {
+                tags.add(curseforgeTag(id++, 80000 + type, "Tag " + type + "." + i));
+            }
+        }
+        return GSON.toJson(tags);
+    }
+
+    /**
+     * Renders a single CurseForge tag.
+     *
+     * @param id     the tag ID
+     * @param typeId the tag type ID
+     * @param name   the tag name
+     * @return the JSON tag
+     */
+    private static JsonObject curseforgeTag(int id, int typeId, String name) {
+        var tag = new JsonObject();
+        tag.addProperty("id", id);
+        tag.addProperty("gameVersionTypeID", typeId);
+        tag.addProperty("name", name);
+        tag.addProperty("slug", name.toLowerCase(Locale.ROOT).replace(' ', '-').replace('.', '-'));
+        return tag;
+    }
+}
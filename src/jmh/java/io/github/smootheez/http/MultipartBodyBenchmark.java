@@ -0,0 +1,102 @@
+package io.github.smootheez.http;
+
+import io.github.smootheez.*;
+import okhttp3.*;
+import okio.Okio;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Measures building and writing the multipart body of an upload with several large files:
+ * every file is read once, hashed and written to a sink that discards the bytes, so the
+ * result reflects the plugin's own cost without any network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MultipartBodyBenchmark {
+
+    /** Media type of the uploaded files. */
+    private static final MediaType JAR = MediaType.parse(Constants.MEDIA_TYPE_JAR);
+
+    /** Media type of the metadata part. */
+    private static final MediaType JSON = MediaType.parse(Constants.MEDIA_TYPE_JSON);
+
+    /** Number of files in the upload. */
+    @Param({"1", "5", "10"})
+    public int fileCount;
+
+    /** Size of every file in megabytes. */
+    @Param({"32"})
+    public int fileSizeMb;
+
+    /** Directory holding the generated files. */
+    private Path directory;
+
+    /** The generated files. */
+    private List<File> files;
+
+    /**
+     * Writes the files to upload, filled with random bytes so they compress like jars.
+     *
+     * @throws IOException if the files cannot be written
+     */
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("mc-mod-publisher-jmh");
+        files = new ArrayList<>();
+        var random = new Random(42);
+        var chunk = new byte[1 << 20];
+        for (var i = 0; i < fileCount; i++) {
+            var file = directory.resolve("mod-" + i + ".jar");
+            try (var out = Files.newOutputStream(file)) {
+                for (var mb = 0; mb < fileSizeMb; mb++) {
+                    random.nextBytes(chunk);
+                    out.write(chunk);
+                }
+            }
+            files.add(file.toFile());
+        }
+    }
+
+    /**
+     * Deletes the generated files.
+     *
+     * @throws IOException if the files cannot be deleted
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        for (var file : files) Files.deleteIfExists(file.toPath());
+        Files.deleteIfExists(directory);
+    }
+
+    /**
+     * Assembles the multipart body and writes it to a discarding sink.
+     *
+     * @return the number of bytes written
+     * @throws IOException if a file cannot be read
+     */
+    @Benchmark
+    public long buildAndWrite() throws IOException {
+        var builder = new MultipartBody.Builder().setType(MultipartBody.FORM);
+        builder.addFormDataPart(Constants.DATA, null, RequestBody.create("{\"name\":\"benchmark\"}", JSON));
+        for (var i = 0; i < files.size(); i++) {
+            var file = files.get(i);
+            builder.addFormDataPart(i == 0 ? "file" : "file_" + i, file.getName(),
+                    new HashingFileRequestBody(file, JAR, Platform.MODRINTH, UploadMonitor.NONE));
+        }
+
+        var body = builder.build();
+        try (var sink = Okio.buffer(Okio.blackhole())) {
+            body.writeTo(sink);
+        }
+        return body.contentLength();
+    }
+}
@@ -0,0 +1,294 @@
+package io.github.smootheez;
+
+import io.github.smootheez.cache.*;
+import io.github.smootheez.concurrent.*;
+import io.github.smootheez.exception.*;
+import io.github.smootheez.http.*;
+import io.github.smootheez.jar.*;
+import org.gradle.api.*;
+import org.gradle.api.file.*;
+import org.gradle.api.model.*;
+import org.gradle.api.provider.*;
+import org.gradle.api.services.*;
+import org.gradle.api.tasks.*;
+import org.gradle.api.tasks.options.*;
+
+import javax.inject.*;
+import java.io.*;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Base class of the publishing tasks registered by {@link McModPublisherPlugin}.
+ * <p>
+ * Holds the state shared by every publishing task: the build-wide {@link HttpClientService},
+ * the location and lifetime of the game version and project ID caches, and command-line options
+ * such as {@code --refresh-publisher-cache}. Subclasses only receive immutable snapshots of the
+ * configuration, so no task touches the Gradle model at execution time and every publishing
+ * task can be stored in the configuration cache.
+ * <p>
+ * Every successful run writes a {@link PublishReceipt} as the task's output. Tokens, cache
+ * settings and the absolute location of the uploaded files are not part of the task inputs, so
+ * a publish is UP-TO-DATE, or restored from the build cache, whenever the same files were
+ * already published with the same configuration.
+ * <p>
+ * When jar optimization is enabled, the jars of a project are rewritten into the task's
+ * temporary directory before publishing, and the optimized copies are uploaded and recorded in
+ * the receipt instead of the originals.
+ */
+public abstract class AbstractPublishTask extends DefaultTask {
+
+    /** Subdirectory of the task's temporary directory holding optimized jars. */
+    private static final String OPTIMIZED_JARS = "optimized-jars";
+
+    /**
+     * Creates the task and applies option defaults.
+     */
+    protected AbstractPublishTask() {
+        getRefreshPublisherCache().convention(false);
+        getCacheMaxAge().convention(Constants.CACHE_MAX_AGE);
+        getCacheStaleTtl().convention(Constants.CACHE_STALE_TTL);
+    }
+
+    /**
+     * The files uploaded by the task. Declared so that the tasks producing them run first.
+     *
+     * @return the uploaded files
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.NAME_ONLY)
+    public abstract ConfigurableFileCollection getFiles();
+
+    /**
+     * File the receipt of a successful publish is written to.
+     *
+     * @return property holding the receipt file
+     */
+    @OutputFile
+    public abstract RegularFileProperty getReceipt();
+
+    /**
+     * File the upload report of the task is written to. Reports describe a single run, so they
+     * are not part of the task outputs.
+     *
+     * @return property holding the report file
+     */
+    @Internal
+    public abstract RegularFileProperty getUploadReport();
+
+    /**
+     * Factory creating the monitor that shows running uploads.
+     *
+     * @return the object factory
+     */
+    @Inject
+    protected abstract ObjectFactory getObjectFactory();
+
+    /**
+     * Build-wide HTTP service used to talk to the platforms.
+     *
+     * @return property holding the HTTP service
+     */
+    @ServiceReference(HttpClientService.NAME)
+    public abstract Property<HttpClientService> getHttpClient();
+
+    /**
+     * Directory holding the cached game version tag lists.
+     *
+     * @return property holding the cache directory
+     */
+    @Internal
+    public abstract DirectoryProperty getCacheDirectory();
+
+    /**
+     * Directory holding the cached mappings between project slugs and IDs.
+     *
+     * @return property holding the cache directory
+     */
+    @Internal
+    public abstract DirectoryProperty getProjectIdCacheDirectory();
+
+    /**
+     * Maximum age of cached game version tags before they are revalidated with the platform.
+     *
+     * @return property holding the maximum age
+     */
+    @Internal
+    public abstract Property<Duration> getCacheMaxAge();
+
+    /**
+     * Maximum age of cached game version tags that may still be used when the platform cannot be reached.
+     *
+     * @return property holding the stale TTL
+     */
+    @Internal
+    public abstract Property<Duration> getCacheStaleTtl();
+
+    /**
+     * Whether cached game version tags and project IDs must be ignored and downloaded again.
+     *
+     * @return property holding the refresh flag
+     */
+    @Internal
+    @Option(option = "refresh-publisher-cache", description = "Downloads game version tags and project IDs again, ignoring cached copies.")
+    public abstract Property<Boolean> getRefreshPublisherCache();
+
+    /**
+     * Creates the game version cache used by this task.
+     *
+     * @return the configured game version cache
+     */
+    protected GameVersionCache gameVersionCache() {
+        return new GameVersionCache(
+                getLogger(),
+                getCacheDirectory().get().getAsFile().toPath(),
+                getCacheMaxAge().get(),
+                getCacheStaleTtl().get(),
+                getRefreshPublisherCache().get()
+        );
+    }
+
+    /**
+     * Creates the resolver turning the slugs and IDs of dependencies into the form each platform
+     * expects, backed by the project ID cache.
+     *
+     * @return the configured project resolver
+     */
+    protected ProjectResolver projectResolver() {
+        var cache = new ProjectIdCache(
+                getLogger(),
+                getProjectIdCacheDirectory().get().getAsFile().toPath(),
+                getRefreshPublisherCache().get()
+        );
+        return new ProjectResolver(getLogger(), getHttpClient().get(), cache);
+    }
+
+    /**
+     * Creates the report tracking the uploads of this task.
+     *
+     * @return a new upload report
+     */
+    protected UploadReport uploadReport() {
+        return new UploadReport(progressMonitor(), getLogger());
+    }
+
+    /**
+     * Creates the monitor showing running uploads in Gradle's progress display. It relies on an
+     * internal Gradle service, so uploads are not shown when the running Gradle version does not
+     * provide it.
+     *
+     * @return the progress monitor, or {@link UploadMonitor#NONE} if progress cannot be shown
+     */
+    private UploadMonitor progressMonitor() {
+        try {
+            return getObjectFactory().newInstance(GradleProgressMonitor.class);
+        } catch (RuntimeException | LinkageError e) {
+            getLogger().info("Upload progress is not shown: {}", e.toString());
+            return UploadMonitor.NONE;
+        }
+    }
+
+    /**
+     * Writes the upload report of this task, including the uploads of failed publishes.
+     *
+     * @param report the upload report
+     */
+    protected void writeUploadReport(UploadReport report) {
+        report.write(getUploadReport().get().getAsFile());
+    }
+
+    /**
+     * Replaces the jars of a project with optimized copies, if the project enables jar optimization.
+     * Files that are not jars are kept as they are, and a file shared by several publications is
+     * only optimized once.
+     *
+     * @param label label identifying the project, or an empty string
+     * @param spec  the project's configuration snapshot
+     * @return the snapshot to publish, referring to the optimized jars
+     * @throws FailedOptimizeJarException if a jar could not be optimized
+     */
+    protected PublishSpec optimizeJars(String label, PublishSpec spec) {
+        var settings = spec.jarOptimization();
+        if (!settings.enabled()) return spec;
+
+        var directory = new File(getTemporaryDir(), label.isEmpty() ? OPTIMIZED_JARS
+                : OPTIMIZED_JARS + "/" + label.replaceAll("[^A-Za-z0-9._-]", "_"));
+        var optimizer = new JarOptimizer(settings.stripPatterns(), Runtime.getRuntime().availableProcessors());
+        var optimized = new HashMap<File, File>();
+        var names = new HashSet<String>();
+
+        return spec.mapFiles(file -> {
+            if (!JarOptimizer.isArchive(file)) return file;
+            return optimized.computeIfAbsent(file, source -> {
+                // Distinct files sharing a name are kept apart in numbered subdirectories
+                var target = names.add(source.getName()) ? new File(directory, source.getName())
+                        : new File(directory, optimized.size() + "/" + source.getName());
+                var result = optimizer.optimize(source, target);
+                getLogger().lifecycle("Optimized {}: {} -> {} bytes, saved {} bytes ({}%), stripped {} entries",
+                        source.getName(), result.originalBytes(), result.optimizedBytes(), result.savedBytes(),
+                        String.format(Locale.ROOT, "%.1f", 100.0 * result.savedBytes() / Math.max(1, result.originalBytes())),
+                        result.strippedEntries());
+                return result.file();
+            });
+        });
+    }
+
+    /**
+     * Creates the publishers of a project for the given platforms.
+     *
+     * @param label       label identifying the project in failure reports, or an empty string
+     * @param platforms   the platforms to publish to
+     * @param spec        the project's configuration snapshot
+     * @param credentials the project's API tokens
+     * @param cache       the game version cache
+     * @param uploads     the monitor receiving the progress of file uploads
+     * @return publishers keyed by label, in platform order
+     * @throws GradleException if a platform has no token configured
+     */
+    protected Map<String, Publisher<?>> publishers(String label, Collection<Platform> platforms, PublishSpec spec,
+                                                   PublishCredentials credentials, GameVersionCache cache,
+                                                   UploadMonitor uploads) {
+        var publishers = new LinkedHashMap<String, Publisher<?>>();
+        for (var platform : platforms) {
+            var token = credentials.token(platform);
+            if (token == null) {
+                throw new GradleException("No " + platform.getId() + " token configured" + (label.isEmpty() ? "" : " for " + label));
+            }
+            publishers.put(label.isEmpty() ? platform.getId() : label + " " + platform.getId(),
+                    Publisher.of(platform, getLogger(), spec, token, getHttpClient().get(), cache, uploads));
+        }
+        return publishers;
+    }
+
+    /**
+     * Runs the given publishers. A single publisher runs on the calling thread; several
+     * publishers run concurrently, with their failures reported together.
+     *
+     * @param publishers publishers keyed by label
+     * @return the receipt entries of every publisher, keyed by label
+     * @throws FailedPublishException if at least one of several publishers failed
+     */
+    protected Map<String, List<PublishReceipt.Entry>> publishAll(Map<String, Publisher<?>> publishers) {
+        if (publishers.size() == 1) {
+            var publisher = publishers.entrySet().iterator().next();
+            return Map.of(publisher.getKey(), publisher.getValue().publish());
+        }
+
+        var operations = new LinkedHashMap<String, Callable<List<PublishReceipt.Entry>>>();
+        publishers.forEach((label, publisher) -> operations.put(label, publisher::publish));
+        return ParallelExecutor.invokeAll(getHttpClient().get().getExecutionMode(), operations.size(), operations);
+    }
+
+    /**
+     * Writes the receipt of a successful publish to the task's output.
+     *
+     * @param publishers the receipt entries of every publisher, keyed by label
+     * @throws FailedPublishException if the receipt could not be written
+     */
+    protected void writeReceipt(Map<String, List<PublishReceipt.Entry>> publishers) {
+        var file = getReceipt().get().getAsFile();
+        new PublishReceipt(publishers).write(file);
+        getLogger().info("Wrote publish receipt to {}", file);
+    }
+}
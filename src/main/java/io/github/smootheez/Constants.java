@@ -27,9 +27,63 @@ public final class Constants {
     /** Valid release channels supported for uploads (e.g., release, beta, alpha). */
     public static final Set<String> VALID_RELEASE_TYPE = Set.of("release", "beta", "alpha");
 
-    /** Default request timeout duration for network operations. */
+    /**
+     * Default timeout for network operations. Applied to connecting and to each read or write,
+     * so large uploads are not cut off as long as data keeps flowing.
+     */
     public static final Duration TIMEOUT = Duration.ofSeconds(20);
 
+    /** Maximum number of idle connections kept in the shared HTTP connection pool. */
+    public static final int HTTP_MAX_IDLE_CONNECTIONS = 8;
+
+    /** How long idle connections are kept alive in the shared HTTP connection pool. */
+    public static final Duration HTTP_KEEP_ALIVE = Duration.ofMinutes(5);
+
+    /** Maximum number of concurrent requests the shared HTTP client sends to a single host. */
+    public static final int HTTP_MAX_REQUESTS_PER_HOST = 8;
+
+    /** Maximum number of attempts for a single platform API request, including the first one. */
+    public static final int RETRY_MAX_ATTEMPTS = 4;
+
+    /** Delay before the first retry when the platform does not request one. */
+    public static final Duration RETRY_BASE_DELAY = Duration.ofSeconds(1);
+
+    /** Upper bound of the exponential backoff between retries. */
+    public static final Duration RETRY_MAX_DELAY = Duration.ofSeconds(30);
+
+    /** Upper bound of retry delays requested by a platform through rate limit headers. */
+    public static final Duration RETRY_MAX_SERVER_DELAY = Duration.ofMinutes(2);
+
+    /** Total number of retries each platform may use during a single build. */
+    public static final int RETRY_BUDGET = 20;
+
+    /** Default maximum number of file uploads running at the same time against a single platform. */
+    public static final int MAX_CONCURRENT_UPLOADS = 4;
+
+    /** Default maximum number of publications a single publisher processes at the same time. */
+    public static final int MAX_CONCURRENT_PUBLICATIONS = 2;
+
+    /** Default maximum number of projects published at the same time by an aggregated publish. */
+    public static final int MAX_CONCURRENT_PROJECTS = 4;
+
+    /** Default number of Modrinth API requests the whole build may send per minute. */
+    public static final int MODRINTH_REQUESTS_PER_MINUTE = 300;
+
+    /** Default number of CurseForge API requests the whole build may send per minute. */
+    public static final int CURSEFORGE_REQUESTS_PER_MINUTE = 60;
+
+    /** Span of requests the rate limiter lets through in a single burst. */
+    public static final Duration RATE_LIMIT_BURST = Duration.ofSeconds(10);
+
+    /** Default age below which cached game version tags are used without contacting the platform. */
+    public static final Duration CACHE_MAX_AGE = Duration.ofHours(1);
+
+    /** Default age below which cached game version tags may be used when the platform is unreachable. */
+    public static final Duration CACHE_STALE_TTL = Duration.ofDays(7);
+
+    /** Directory, relative to the Gradle user home, holding the plugin's persistent caches. */
+    public static final String CACHE_DIRECTORY = "caches/mc-mod-publisher";
+
     /** JSON key for root-level file data. */
     public static final String DATA = "data";
 
@@ -0,0 +1,218 @@
+package io.github.smootheez;
+
+import java.util.*;
+
+/**
+ * Compact, read-only index resolving game version names to platform IDs.
+ * <p>
+ * Entries are keyed by a type ID (such as CurseForge's {@code gameVersionTypeID}) and a name.
+ * The index is backed by primitive arrays and an open-addressing hash table, so once built,
+ * resolving "name → IDs for type T" is a constant-time lookup that neither boxes nor allocates.
+ * Names are interned when the index is built.
+ * <p>
+ * An index is immutable and safe to share between threads, which lets a single index be
+ * resolved once per build and reused for every publication.
+ */
+public final class GameVersionIndex {
+
+    /** Type ID used by platforms that do not classify their game versions. */
+    public static final int ANY_TYPE = 0;
+
+    /** Result returned for keys that are not present in the index. */
+    private static final int[] NO_IDS = new int[0];
+
+    /** Type ID of every distinct key. */
+    private final int[] keyTypes;
+
+    /** Interned name of every distinct key. */
+    private final String[] keyNames;
+
+    /** IDs registered for every distinct key, in insertion order. */
+    private final int[][] keyIds;
+
+    /** Open-addressing hash table holding {@code keyIndex + 1} per slot, or {@code 0} when empty. */
+    private final int[] slots;
+
+    /** Total number of entries added to the index. */
+    private final int size;
+
+    /**
+     * Creates an index from the arrays assembled by a {@link Builder}.
+     *
+     * @param keyTypes type ID of every distinct key
+     * @param keyNames interned name of every distinct key
+     * @param keyIds   IDs registered for every distinct key
+     * @param slots    hash table over the distinct keys
+     * @param size     total number of entries
+     */
+    private GameVersionIndex(int[] keyTypes, String[] keyNames, int[][] keyIds, int[] slots, int size) {
+        this.keyTypes = keyTypes;
+        this.keyNames = keyNames;
+        this.keyIds = keyIds;
+        this.slots = slots;
+        this.size = size;
+    }
+
+    /**
+     * Creates a builder for a new index.
+     *
+     * @return an empty builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the IDs registered under the given type and name.
+     * <p>
+     * The returned array is shared by the index and must not be modified.
+     *
+     * @param typeId the type ID of the entry
+     * @param name   the name of the entry
+     * @return the matching IDs in insertion order, or an empty array if there are none
+     */
+    public int[] ids(int typeId, String name) {
+        var key = find(slots, keyTypes, keyNames, typeId, name);
+        return key < 0 ? NO_IDS : keyIds[key];
+    }
+
+    /**
+     * Returns whether at least one entry is registered under the given type and name.
+     *
+     * @param typeId the type ID of the entry
+     * @param name   the name of the entry
+     * @return {@code true} if the index contains the entry
+     */
+    public boolean contains(int typeId, String name) {
+        return find(slots, keyTypes, keyNames, typeId, name) >= 0;
+    }
+
+    /**
+     * Returns the total number of entries in the index.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Looks up the index of a key in a hash table.
+     *
+     * @param slots    the hash table
+     * @param keyTypes type ID of every key
+     * @param keyNames name of every key
+     * @param typeId   the type ID to look up
+     * @param name     the name to look up
+     * @return the key index, or {@code -1} if the key is absent
+     */
+    private static int find(int[] slots, int[] keyTypes, String[] keyNames, int typeId, String name) {
+        var mask = slots.length - 1;
+        for (var slot = hash(typeId, name) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            var key = slots[slot] - 1;
+            if (keyTypes[key] == typeId && keyNames[key].equals(name)) return key;
+        }
+        return -1;
+    }
+
+    /**
+     * Computes a well-spread hash for a key.
+     *
+     * @param typeId the type ID of the key
+     * @param name   the name of the key
+     * @return the hash of the key
+     */
+    private static int hash(int typeId, String name) {
+        var h = typeId * 31 + name.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Accumulates entries for a {@link GameVersionIndex}.
+     */
+    public static final class Builder {
+
+        /** Type ID of every added entry. */
+        private int[] types = new int[16];
+
+        /** Name of every added entry. */
+        private String[] names = new String[16];
+
+        /** ID of every added entry. */
+        private int[] ids = new int[16];
+
+        /** Number of added entries. */
+        private int count;
+
+        /** Creates an empty builder. */
+        private Builder() {}
+
+        /**
+         * Adds an entry to the index.
+         *
+         * @param typeId the type ID of the entry
+         * @param name   the name of the entry
+         * @param id     the platform ID of the entry
+         * @return this builder
+         */
+        public Builder add(int typeId, String name, int id) {
+            if (count == ids.length) {
+                types = Arrays.copyOf(types, count * 2);
+                names = Arrays.copyOf(names, count * 2);
+                ids = Arrays.copyOf(ids, count * 2);
+            }
+            types[count] = typeId;
+            names[count] = name.intern();
+            ids[count] = id;
+            count++;
+            return this;
+        }
+
+        /**
+         * Builds the immutable index from the added entries.
+         *
+         * @return the index
+         */
+        public GameVersionIndex build() {
+            var slots = new int[Integer.highestOneBit(Math.max(count, 1) * 2 - 1) << 1];
+            var keyTypes = new int[count];
+            var keyNames = new String[count];
+            var keyOf = new int[count];
+            var counts = new int[count];
+            var keys = 0;
+
+            // First pass: assign every entry to a distinct key and count IDs per key
+            for (var i = 0; i < count; i++) {
+                var key = find(slots, keyTypes, keyNames, types[i], names[i]);
+                if (key < 0) {
+                    key = keys++;
+                    keyTypes[key] = types[i];
+                    keyNames[key] = names[i];
+                    var mask = slots.length - 1;
+                    var slot = hash(types[i], names[i]) & mask;
+                    while (slots[slot] != 0) slot = (slot + 1) & mask;
+                    slots[slot] = key + 1;
+                }
+                keyOf[i] = key;
+                counts[key]++;
+            }
+
+            // Second pass: lay out the IDs of every key in insertion order
+            var keyIds = new int[keys][];
+            for (var key = 0; key < keys; key++) keyIds[key] = new int[counts[key]];
+            var filled = new int[keys];
+            for (var i = 0; i < count; i++) {
+                var key = keyOf[i];
+                keyIds[key][filled[key]++] = ids[i];
+            }
+
+            return new GameVersionIndex(
+                    Arrays.copyOf(keyTypes, keys),
+                    Arrays.copyOf(keyNames, keys),
+                    keyIds,
+                    slots,
+                    count
+            );
+        }
+    }
+}
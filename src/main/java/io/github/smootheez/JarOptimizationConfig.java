@@ -0,0 +1,40 @@
+package io.github.smootheez;
+
+import lombok.*;
+import org.gradle.api.model.*;
+import org.gradle.api.provider.*;
+
+import javax.inject.*;
+
+/**
+ * Configuration of the optional optimization of mod jars before they are uploaded.
+ * <p>
+ * When enabled, every jar and zip file of the project is rewritten into a smaller,
+ * reproducible copy, which is uploaded in place of the original. See
+ * {@link io.github.smootheez.jar.JarOptimizer} for the exact transformations.
+ */
+@Getter
+public class JarOptimizationConfig {
+
+    /**
+     * Whether jars are optimized before they are uploaded. Defaults to {@code false}.
+     */
+    private final Property<Boolean> enabled;
+
+    /**
+     * Ant-style patterns of the jar entries left out of the uploaded copy, such as
+     * {@code "**}{@code /*.psd"} or {@code "assets/mymod/raw/"}. Empty by default.
+     */
+    private final ListProperty<String> stripPatterns;
+
+    /**
+     * Creates the jar optimization configuration with its default values.
+     *
+     * @param objects Gradle object factory used to create the properties
+     */
+    @Inject
+    public JarOptimizationConfig(ObjectFactory objects) {
+        this.enabled = objects.property(Boolean.class).convention(false);
+        this.stripPatterns = objects.listProperty(String.class).empty();
+    }
+}
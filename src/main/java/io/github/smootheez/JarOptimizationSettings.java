@@ -0,0 +1,26 @@
+package io.github.smootheez;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Immutable snapshot of the {@link JarOptimizationConfig} block, captured when the task graph is built.
+ *
+ * @param enabled       whether jars are optimized before they are uploaded
+ * @param stripPatterns Ant-style patterns of the jar entries left out of the uploaded copy
+ */
+public record JarOptimizationSettings(
+        boolean enabled,
+        List<String> stripPatterns
+) implements Serializable {
+
+    /**
+     * Captures the current state of a jar optimization configuration block.
+     *
+     * @param config the configuration block
+     * @return the snapshot
+     */
+    public static JarOptimizationSettings of(JarOptimizationConfig config) {
+        return new JarOptimizationSettings(config.getEnabled().get(), List.copyOf(config.getStripPatterns().get()));
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.smootheez;
+
+import com.google.gson.*;
+import com.google.gson.reflect.*;
+
+/**
+ * The adapter Gson would use for a type if a hand-written adapter factory did not handle it,
+ * resolved only when first needed.
+ * <p>
+ * The hand-written platform payload adapters implement a single direction and hand the other to
+ * Gson's reflective record adapter. Building that adapter resolves the record components and the
+ * canonical constructor, so it is deferred until the unused direction is actually called; the
+ * plugin itself never does.
+ *
+ * @param <T> the adapted type
+ */
+public final class LazyDelegate<T> {
+
+    /** The Gson instance the adapter belongs to. */
+    private final Gson gson;
+
+    /** The factory whose adapter is bypassed. */
+    private final TypeAdapterFactory skipPast;
+
+    /** The adapted type. */
+    private final TypeToken<T> type;
+
+    /** The delegate, once resolved. */
+    private volatile TypeAdapter<T> delegate;
+
+    /**
+     * Creates an unresolved delegate.
+     *
+     * @param gson     the Gson instance the adapter belongs to
+     * @param skipPast the factory whose adapter is bypassed
+     * @param type     the adapted type
+     */
+    public LazyDelegate(Gson gson, TypeAdapterFactory skipPast, TypeToken<T> type) {
+        this.gson = gson;
+        this.skipPast = skipPast;
+        this.type = type;
+    }
+
+    /**
+     * Returns the delegate, resolving it on first use.
+     *
+     * @return the adapter Gson would otherwise use
+     */
+    public TypeAdapter<T> get() {
+        var adapter = delegate;
+        if (adapter == null) {
+            adapter = gson.getDelegateAdapter(skipPast, type);
+            delegate = adapter;
+        }
+        return adapter;
+    }
+}
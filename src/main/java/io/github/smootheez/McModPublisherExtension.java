@@ -6,10 +6,10 @@ import lombok.*;
 import org.gradle.api.*;
 import org.gradle.api.file.*;
 import org.gradle.api.model.*;
+import org.gradle.api.provider.*;
 
-import javax.annotation.*;
 import javax.inject.*;
-import java.util.*;
+import java.time.*;
 
 /**
  * Gradle extension that configures publishing options for Minecraft mods
@@ -19,51 +19,100 @@ import java.util.*;
  * file selection, and platform-specific configuration blocks.
  * It is registered in the Gradle build script, allowing developers to declare
  * publishing settings directly in their project configuration.
+ * <p>
+ * All values are lazy {@link Property properties}: they may be wired to providers, such as the
+ * contents of a changelog file or the output of a jar task, which are only resolved when a
+ * publishing task actually executes.
  */
 @Getter
-@Setter
 public class McModPublisherExtension {
 
     /**
      * Optional display name for the uploaded file.
-     * If {@code null}, the platform will use its own default naming logic.
+     * If absent, the platform will use its own default naming logic.
      */
-    @Nullable
-    private String displayName;
+    private final Property<String> displayName;
 
     /**
      * Version of the mod being published.
-     * Must be non-null and is typically used as the uploaded file version.
+     * Must be set and is typically used as the uploaded file version.
      */
-    private String version;
+    private final Property<String> version;
 
     /**
      * Release channel for publication (e.g., {@code "release"}, {@code "beta"}, {@code "alpha"}).
      * Defaults to {@code "release"}.
      */
-    private String releaseType = "release";
+    private final Property<String> releaseType;
 
     /**
-     * Changelog text for the upload. Defaults to an empty string rather than {@code null}
+     * Changelog text for the upload. Defaults to an empty string rather than an absent value
      * to ensure consistent serialization and platform compatibility.
      */
-    private String changelog = "";
+    private final Property<String> changelog;
 
     /**
      * List of Minecraft game versions that the mod supports (e.g., {@code "1.20.1"}).
      */
-    private final List<String> gameVersions = new ArrayList<>();
+    private final ListProperty<String> gameVersions;
+
+    /**
+     * Set of mod loaders supported by this mod (e.g., Fabric, Forge).
+     */
+    private final SetProperty<LoaderType> loaders;
 
     /**
-     * List of mod loaders supported by this mod (e.g., Fabric, Forge).
+     * Maximum age of the cached game version tags before they are revalidated with the platform.
+     * Defaults to {@link Constants#CACHE_MAX_AGE}.
      */
-    private final List<LoaderType> loaders = new ArrayList<>();
+    private final Property<Duration> cacheMaxAge;
+
+    /**
+     * Maximum age of cached game version tags that may still be used when the platform
+     * cannot be reached. Defaults to {@link Constants#CACHE_STALE_TTL}.
+     */
+    private final Property<Duration> cacheStaleTtl;
+
+    /**
+     * Maximum number of publications processed at the same time by each platform.
+     * Defaults to {@link Constants#MAX_CONCURRENT_PUBLICATIONS}.
+     */
+    private final Property<Integer> publicationConcurrency;
+
+    /**
+     * Maximum number of projects published at the same time by the aggregated publishing task.
+     * Only read from the root project. Defaults to {@link Constants#MAX_CONCURRENT_PROJECTS}.
+     */
+    private final Property<Integer> projectConcurrency;
+
+    /**
+     * Whether platform API requests, uploads and lookups run on virtual threads. Only takes
+     * effect on Java 21 and later, and like the rate limits applies to the whole build.
+     * Defaults to {@code false}.
+     */
+    private final Property<Boolean> virtualThreads;
+
+    /**
+     * Build-wide rate limits applied to platform API requests.
+     */
+    private final RateLimitConfig rateLimits;
+
+    /**
+     * Optional optimization of the uploaded jars.
+     */
+    private final JarOptimizationConfig jarOptimization;
 
     /**
      * Collection of files to be uploaded, typically containing one mod JAR.
      */
     private final ConfigurableFileCollection files;
 
+    /**
+     * Variants of the mod published by every publishing task. If empty, the top-level
+     * files, versions and loaders form a single publication.
+     */
+    private final NamedDomainObjectContainer<PublicationConfig> publications;
+
     /**
      * CurseForge publishing configuration block.
      */
@@ -75,14 +124,27 @@ public class McModPublisherExtension {
     private final ModrinthConfig modrinth;
 
     /**
-     * Creates the extension and initializes file collection and platform configurations.
+     * Creates the extension and initializes its properties, file collection and platform configurations.
      *
-     * @param project the Gradle project to attach file collections to
-     * @param objects Gradle object factory for constructing nested configuration objects
+     * @param objects Gradle object factory for constructing properties and nested configuration objects
      */
     @Inject
-    public McModPublisherExtension(Project project, ObjectFactory objects) {
-        this.files = project.files();
+    public McModPublisherExtension(ObjectFactory objects) {
+        this.displayName = objects.property(String.class);
+        this.version = objects.property(String.class);
+        this.releaseType = objects.property(String.class).convention("release");
+        this.changelog = objects.property(String.class).convention("");
+        this.gameVersions = objects.listProperty(String.class);
+        this.loaders = objects.setProperty(LoaderType.class);
+        this.cacheMaxAge = objects.property(Duration.class).convention(Constants.CACHE_MAX_AGE);
+        this.cacheStaleTtl = objects.property(Duration.class).convention(Constants.CACHE_STALE_TTL);
+        this.publicationConcurrency = objects.property(Integer.class).convention(Constants.MAX_CONCURRENT_PUBLICATIONS);
+        this.projectConcurrency = objects.property(Integer.class).convention(Constants.MAX_CONCURRENT_PROJECTS);
+        this.virtualThreads = objects.property(Boolean.class).convention(false);
+        this.rateLimits = objects.newInstance(RateLimitConfig.class, objects);
+        this.jarOptimization = objects.newInstance(JarOptimizationConfig.class, objects);
+        this.files = objects.fileCollection();
+        this.publications = objects.domainObjectContainer(PublicationConfig.class);
         this.curseforge = objects.newInstance(CurseforgeConfig.class, objects);
         this.modrinth = objects.newInstance(ModrinthConfig.class, objects);
     }
@@ -104,5 +166,31 @@ public class McModPublisherExtension {
     public void curseforge(Action<CurseforgeConfig> action) {
         action.execute(curseforge);
     }
-}
 
+    /**
+     * Declares the variants of the mod to publish.
+     *
+     * @param action a configuration action providing access to the publication container
+     */
+    public void publications(Action<NamedDomainObjectContainer<PublicationConfig>> action) {
+        action.execute(publications);
+    }
+
+    /**
+     * Applies user configuration to the build-wide rate limits.
+     *
+     * @param action a configuration action providing access to {@link RateLimitConfig}
+     */
+    public void rateLimits(Action<RateLimitConfig> action) {
+        action.execute(rateLimits);
+    }
+
+    /**
+     * Applies user configuration to the optimization of the uploaded jars.
+     *
+     * @param action a configuration action providing access to {@link JarOptimizationConfig}
+     */
+    public void jarOptimization(Action<JarOptimizationConfig> action) {
+        action.execute(jarOptimization);
+    }
+}
@@ -1,23 +1,46 @@
 package io.github.smootheez;
 
-import io.github.smootheez.curseforge.*;
-import io.github.smootheez.modrinth.*;
-import okhttp3.*;
+import io.github.smootheez.http.*;
 import org.gradle.api.*;
 
+import java.util.*;
+
 /**
  * Gradle plugin that registers tasks and configuration required to publish
  * Minecraft mods to Modrinth and CurseForge.
  * <p>
  * When applied, this plugin creates the {@code mcModPublisher} extension,
- * initializes an HTTP client used by publishers, and registers tasks for
- * uploading mods to individual or multiple platforms.
+ * registers the build-wide {@link HttpClientService} used by publishers, and
+ * registers tasks for uploading mods to individual or multiple platforms.
+ * Applied to the root project, it additionally registers {@value #PUBLISH_ALL_PROJECTS},
+ * which publishes every project of the build in dependency order.
+ * <p>
+ * Tasks are wired to the extension through providers only, which are evaluated once the
+ * build is configured. Task actions work on the resulting snapshots and never access the
+ * project, so every publishing task is compatible with the configuration cache. Every
+ * publishing task writes a receipt to {@code build/publish-receipts}, which lets Gradle skip
+ * or restore publishes that already succeeded.
  */
 public class McModPublisherPlugin implements Plugin<Project> {
 
     /** Name of the task group under which all publishing tasks are organized. */
     private static final String PUBLISHER = "publisher";
 
+    /** Name of the root task publishing every project of the build. */
+    private static final String PUBLISH_ALL_PROJECTS = "publishAllProjects";
+
+    /** Subdirectory of the plugin cache holding game version tag lists. */
+    private static final String GAME_VERSIONS = "game-versions";
+
+    /** Subdirectory of the plugin cache holding the mappings between project slugs and IDs. */
+    private static final String PROJECT_IDS = "project-ids";
+
+    /** Subdirectory of the build directory holding the receipts of publishing tasks. */
+    private static final String RECEIPTS = "publish-receipts";
+
+    /** Subdirectory of the build directory holding the upload reports of publishing tasks. */
+    private static final String REPORTS = "reports/mc-mod-publisher";
+
     /**
      * Applies the plugin to the target Gradle project by registering the extension
      * and creating the publishing tasks.
@@ -31,34 +54,128 @@ public class McModPublisherPlugin implements Plugin<Project> {
         var extension = project.getExtensions()
                 .create("mcModPublisher", McModPublisherExtension.class);
 
-        // Shared OkHttp client with configured timeout
-        var client = new OkHttpClient.Builder()
-                .callTimeout(Constants.TIMEOUT)
-                .build();
+        // Build-wide HTTP client, only created once a publishing task executes.
+        // Rate limits and the thread mode are wired lazily, from the first project registering the service.
+        var rateLimits = extension.getRateLimits();
+        project.getGradle().getSharedServices()
+                .registerIfAbsent(HttpClientService.NAME, HttpClientService.class, spec -> {
+                    var params = spec.getParameters();
+                    params.getModrinthRequestsPerMinute().set(rateLimits.getModrinthRequestsPerMinute());
+                    params.getCurseforgeRequestsPerMinute().set(rateLimits.getCurseforgeRequestsPerMinute());
+                    params.getMaxConcurrentUploads().set(rateLimits.getMaxConcurrentUploads());
+                    params.getVirtualThreads().set(extension.getVirtualThreads());
+                });
 
-        // Task: Publish to both Modrinth and CurseForge
-        project.getTasks().register("publishModToAll", task -> {
+        // Task: Publish to both Modrinth and CurseForge concurrently
+        project.getTasks().register("publishModToAll", PublishModTask.class, task -> {
             task.setGroup(PUBLISHER);
             task.setDescription("Uploads the mod to all platforms");
-            task.doLast(t -> {
-                new ModrinthPublisher(project, extension, client).publish();
-                new CurseforgePublisher(project, extension, client).publish();
-            });
+            configurePublishModTask(project, extension, task, Platform.MODRINTH, Platform.CURSEFORGE);
         });
 
         // Task: Publish only to Modrinth
-        project.getTasks().register("publishModToModrinth", task -> {
+        project.getTasks().register("publishModToModrinth", PublishModTask.class, task -> {
             task.setGroup(PUBLISHER);
             task.setDescription("Uploads the mod to Modrinth");
-            task.doLast(t -> new ModrinthPublisher(project, extension, client).publish());
+            configurePublishModTask(project, extension, task, Platform.MODRINTH);
         });
 
         // Task: Publish only to CurseForge
-        project.getTasks().register("publishModToCurseforge", task -> {
+        project.getTasks().register("publishModToCurseforge", PublishModTask.class, task -> {
             task.setGroup(PUBLISHER);
             task.setDescription("Uploads the mod to Curseforge");
-            task.doLast(t -> new CurseforgePublisher(project, extension, client).publish());
+            configurePublishModTask(project, extension, task, Platform.CURSEFORGE);
         });
+
+        // Task: Publish every project of the build, libraries before the mods depending on them
+        if (project == project.getRootProject()) {
+            project.getTasks().register(PUBLISH_ALL_PROJECTS, PublishAllProjectsTask.class, task -> {
+                task.setGroup(PUBLISHER);
+                task.setDescription("Uploads the mods of all projects to their configured platforms in dependency order");
+                configurePublishAllProjectsTask(project, extension, task);
+            });
+        }
     }
-}
 
+    /**
+     * Wires a project's publishing task to its extension.
+     *
+     * @param project   the Gradle project
+     * @param extension the project's plugin extension
+     * @param task      the publishing task
+     * @param platforms the platforms the task publishes to
+     */
+    private static void configurePublishModTask(Project project, McModPublisherExtension extension, PublishModTask task,
+                                                Platform... platforms) {
+        configureCache(project, extension, task);
+        configureOutputs(project, task);
+        addFiles(extension, task);
+        task.getPlatforms().set(List.of(platforms));
+        task.getSpec().set(project.provider(() -> PublishSpec.of(extension)));
+        task.getCredentials().set(project.provider(() -> PublishCredentials.of(extension)));
+    }
+
+    /**
+     * Wires the aggregate publishing task to the extensions of every project applying the plugin.
+     *
+     * @param root      the root project
+     * @param extension the root project's plugin extension
+     * @param task      the aggregate publishing task
+     */
+    private static void configurePublishAllProjectsTask(Project root, McModPublisherExtension extension,
+                                                        PublishAllProjectsTask task) {
+        configureCache(root, extension, task);
+        configureOutputs(root, task);
+        task.getProjectConcurrency().set(extension.getProjectConcurrency());
+
+        for (var project : root.getAllprojects()) {
+            project.getPlugins().withType(McModPublisherPlugin.class, plugin -> {
+                var projectExtension = project.getExtensions().getByType(McModPublisherExtension.class);
+                addFiles(projectExtension, task);
+                task.getProjectSpecs().put(project.getPath(), root.provider(() -> PublishSpec.of(projectExtension)));
+                task.getProjectCredentials().put(project.getPath(), root.provider(() -> PublishCredentials.of(projectExtension)));
+            });
+        }
+    }
+
+    /**
+     * Points a publishing task at the game version and project ID caches stored under the Gradle user home.
+     *
+     * @param project   the Gradle project
+     * @param extension the plugin extension containing cache settings
+     * @param task      the publishing task
+     */
+    private static void configureCache(Project project, McModPublisherExtension extension, AbstractPublishTask task) {
+        var directory = project.getGradle().getGradleUserHomeDir().toPath()
+                .resolve(Constants.CACHE_DIRECTORY);
+
+        task.getCacheDirectory().fileValue(directory.resolve(GAME_VERSIONS).toFile());
+        task.getProjectIdCacheDirectory().fileValue(directory.resolve(PROJECT_IDS).toFile());
+        task.getCacheMaxAge().set(extension.getCacheMaxAge());
+        task.getCacheStaleTtl().set(extension.getCacheStaleTtl());
+    }
+
+    /**
+     * Points a publishing task at its receipt and upload report files in the build directory.
+     *
+     * @param project the Gradle project
+     * @param task    the publishing task
+     */
+    private static void configureOutputs(Project project, AbstractPublishTask task) {
+        var buildDirectory = project.getLayout().getBuildDirectory();
+        task.getReceipt().convention(buildDirectory.file(RECEIPTS + "/" + task.getName() + ".json"));
+        task.getUploadReport().convention(buildDirectory.file(REPORTS + "/" + task.getName() + ".json"));
+    }
+
+    /**
+     * Declares the files of every publication of a project as inputs of a publishing task,
+     * so the tasks building them run first.
+     *
+     * @param extension the project's plugin extension
+     * @param task      the publishing task
+     */
+    private static void addFiles(McModPublisherExtension extension, AbstractPublishTask task) {
+        task.getFiles().from(extension.getFiles());
+        extension.getPublications().all(publication -> task.getFiles().from(publication.getFiles()));
+    }
+}
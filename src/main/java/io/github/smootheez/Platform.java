@@ -0,0 +1,52 @@
+package io.github.smootheez;
+
+/**
+ * Enumerates the distribution platforms supported by the plugin.
+ * <p>
+ * Each platform exposes a stable identifier that is used for naming
+ * cached data and other per-platform resources on disk, and the base URL of
+ * its API, which projects may override to publish to a stand-in server.
+ */
+public enum Platform {
+
+    /** The Modrinth platform ({@code api.modrinth.com}). */
+    MODRINTH("modrinth", "https://api.modrinth.com"),
+
+    /** The CurseForge platform ({@code minecraft.curseforge.com}). */
+    CURSEFORGE("curseforge", "https://minecraft.curseforge.com");
+
+    /** Stable, lowercase identifier of the platform. */
+    private final String id;
+
+    /** Base URL of the platform's API, without trailing slash. */
+    private final String apiUrl;
+
+    /**
+     * Creates a platform constant with the given identifier.
+     *
+     * @param id     stable, lowercase identifier of the platform
+     * @param apiUrl base URL of the platform's API, without trailing slash
+     */
+    Platform(String id, String apiUrl) {
+        this.id = id;
+        this.apiUrl = apiUrl;
+    }
+
+    /**
+     * Returns the stable, lowercase identifier of the platform.
+     *
+     * @return the platform identifier (e.g., {@code "modrinth"})
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Returns the base URL of the platform's public API.
+     *
+     * @return the API base URL (e.g., {@code "https://api.modrinth.com"})
+     */
+    public String getApiUrl() {
+        return apiUrl;
+    }
+}
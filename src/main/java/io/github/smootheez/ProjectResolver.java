@@ -0,0 +1,492 @@
+package io.github.smootheez;
+
+import com.google.gson.*;
+import com.google.gson.stream.*;
+import io.github.smootheez.cache.*;
+import io.github.smootheez.concurrent.*;
+import io.github.smootheez.exception.*;
+import io.github.smootheez.http.*;
+import okhttp3.*;
+import org.gradle.api.logging.*;
+
+import javax.annotation.*;
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.regex.*;
+
+/**
+ * Validates the projects named by dependencies and resolves them into the form each platform
+ * expects, before any file is uploaded.
+ * <p>
+ * Dependencies may be declared by slug or by ID on both platforms. Modrinth expects project IDs,
+ * so every Modrinth dependency is resolved into an ID; CurseForge relations are declared by
+ * slug, so numeric CurseForge project IDs are resolved into slugs. Resolution goes through the
+ * {@link ProjectIdCache}, and the identifiers it does not know are looked up on both platforms
+ * concurrently, covering every project published by the task:
+ * <ul>
+ *     <li>Modrinth: a single {@code GET /v2/projects?ids=[...]}, which accepts IDs and slugs alike</li>
+ *     <li>CurseForge: a single {@code POST /v1/mods} of the Core API for project IDs, and concurrent
+ *     {@code GET /v1/mods/search} requests for slugs, since the upload API offers no project lookup</li>
+ * </ul>
+ * CurseForge lookups require a Core API key; without one, CurseForge slugs are passed on
+ * unchecked. Every declaration naming an unknown project is collected into a single report,
+ * which fails the task before the first upload instead of after a rejected one.
+ * <p>
+ * Resolving before the {@link PublishGraph} is built also lets a project depend on another
+ * project of the build regardless of which form either of them is declared in.
+ */
+public class ProjectResolver {
+
+    /** Endpoint for looking up several Modrinth projects by ID or slug, relative to the API base URL. */
+    private static final String MODRINTH_PROJECTS_PATH = "/v2/projects";
+
+    /** Endpoint for looking up several CurseForge projects by ID, relative to the Core API base URL. */
+    private static final String CURSEFORGE_MODS_PATH = "/v1/mods";
+
+    /** Endpoint for searching CurseForge projects by slug, relative to the Core API base URL. */
+    private static final String CURSEFORGE_SEARCH_PATH = "/v1/mods/search";
+
+    /** CurseForge Core API ID of Minecraft. */
+    private static final String CURSEFORGE_MINECRAFT_ID = "432";
+
+    /** Pattern of the numeric CurseForge project IDs that must be resolved into slugs. */
+    private static final Pattern CURSEFORGE_PROJECT_ID = Pattern.compile("\\d+");
+
+    /** Gson instance serializing the lookup requests. */
+    private static final Gson GSON = new Gson();
+
+    /** Logger of the publishing task. */
+    private final Logger logger;
+
+    /** Build-wide HTTP service used to look projects up. */
+    private final HttpClientService http;
+
+    /** Persistent mapping between slugs and IDs. */
+    private final ProjectIdCache cache;
+
+    /**
+     * Creates a resolver.
+     *
+     * @param logger logger of the publishing task
+     * @param http   build-wide HTTP service used to look projects up
+     * @param cache  persistent mapping between slugs and IDs
+     */
+    public ProjectResolver(Logger logger, HttpClientService http, ProjectIdCache cache) {
+        this.logger = logger;
+        this.http = http;
+        this.cache = cache;
+    }
+
+    /**
+     * Validates and resolves the dependencies of a single project.
+     *
+     * @param spec        the project's configuration snapshot
+     * @param platforms   the platforms the project is published to
+     * @param credentials the project's API tokens
+     * @return the snapshot with resolved dependencies
+     * @throws FailedResolveProjectsException if a dependency names an unknown project
+     * @throws FailedPublishException         if a platform could not be reached
+     */
+    public PublishSpec resolve(PublishSpec spec, List<Platform> platforms, PublishCredentials credentials) {
+        return resolve(Map.of("", spec), Map.of("", platforms), Map.of("", credentials)).get("");
+    }
+
+    /**
+     * Validates and resolves the dependencies of several projects, looking up each platform
+     * concurrently. Only the platforms a project is published to are checked.
+     *
+     * @param specs       the configuration snapshots, keyed by project
+     * @param platforms   the platforms every project is published to, keyed by project
+     * @param credentials the API tokens of every project, keyed by project
+     * @return the snapshots with resolved dependencies, keyed and ordered like {@code specs}
+     * @throws FailedResolveProjectsException if a dependency names an unknown project, listing every such dependency
+     * @throws FailedPublishException         if a platform could not be reached
+     */
+    public Map<String, PublishSpec> resolve(Map<String, PublishSpec> specs, Map<String, List<Platform>> platforms,
+                                            Map<String, PublishCredentials> credentials) {
+        var tokens = new EnumMap<Platform, String>(Platform.class);
+        var lookups = new LinkedHashMap<String, Callable<Map<String, Map<String, String>>>>();
+        for (var platform : Platform.values()) {
+            var token = lookupToken(platform, specs.keySet(), platforms, credentials);
+            if (token != null) tokens.put(platform, token);
+            lookups.put(platform.getId(), () -> resolve(platform, specs, platforms, token));
+        }
+        var results = ParallelExecutor.invokeAll(http.getExecutionMode(), lookups.size(), lookups);
+        var modrinth = results.get(Platform.MODRINTH.getId());
+        var curseforge = results.get(Platform.CURSEFORGE.getId());
+
+        var problems = new ArrayList<String>();
+        var resolved = new LinkedHashMap<String, PublishSpec>();
+        specs.forEach((path, spec) -> {
+            var modrinthIds = modrinth.getOrDefault(apiUrl(Platform.MODRINTH, spec), Map.of());
+            var curseforgeSlugs = curseforge.getOrDefault(apiUrl(Platform.CURSEFORGE, spec), Map.of());
+            var targets = platforms.getOrDefault(path, List.of());
+            if (targets.contains(Platform.MODRINTH)) {
+                problems.addAll(validate(path, Platform.MODRINTH, spec, modrinthIds, true));
+            }
+            if (targets.contains(Platform.CURSEFORGE)) {
+                problems.addAll(validate(path, Platform.CURSEFORGE, spec, curseforgeSlugs,
+                        tokens.containsKey(Platform.CURSEFORGE)));
+            }
+
+            resolved.put(path, spec.mapDependencies(
+                    id -> modrinthIds.getOrDefault(id.trim(), id),
+                    slug -> curseforgeSlugs.getOrDefault(slug.trim(), slug)
+            ));
+        });
+
+        if (!problems.isEmpty()) {
+            var message = new StringBuilder()
+                    .append(problems.size()).append(" declared dependencies could not be resolved, nothing was uploaded:");
+            problems.forEach(problem -> message.append(System.lineSeparator()).append(" - ").append(problem));
+            throw new FailedResolveProjectsException(message.toString());
+        }
+        if (!tokens.containsKey(Platform.CURSEFORGE) && specs.keySet().stream()
+                .anyMatch(path -> platforms.getOrDefault(path, List.of()).contains(Platform.CURSEFORGE))) {
+            logger.info("CurseForge dependencies are not checked before uploading, configure curseforge.coreApiToken to check them");
+        }
+        return resolved;
+    }
+
+    /**
+     * Resolves the dependencies of every project published to a platform, with one cache lookup per API.
+     *
+     * @param platform  the platform
+     * @param specs     the configuration snapshots, keyed by project
+     * @param platforms the platforms every project is published to, keyed by project
+     * @param token     the token authenticating lookups, or {@code null} if none is configured
+     * @return the resolved form of every identifier found, keyed by identifier and by the API it was resolved on
+     * @throws FailedResolveProjectsException if the platform could not be reached
+     */
+    private Map<String, Map<String, String>> resolve(Platform platform, Map<String, PublishSpec> specs,
+                                                     Map<String, List<Platform>> platforms, @Nullable String token) {
+        // CurseForge projects can only be looked up with a Core API key
+        if (platform == Platform.CURSEFORGE && token == null) return Map.of();
+
+        var identifiers = new LinkedHashMap<String, Set<String>>();
+        specs.forEach((path, spec) -> {
+            if (!platforms.getOrDefault(path, List.of()).contains(platform)) return;
+            identifiers.computeIfAbsent(apiUrl(platform, spec), url -> new TreeSet<>())
+                    .addAll(declared(platform, spec).keySet());
+        });
+
+        var resolved = new HashMap<String, Map<String, String>>();
+        identifiers.forEach((apiUrl, projects) -> {
+            if (projects.isEmpty()) return;
+            resolved.put(apiUrl, cache.resolve(platform, HttpUrl.get(apiUrl), projects, unknown ->
+                    switch (platform) {
+                        case MODRINTH -> lookupModrinth(apiUrl, unknown, token);
+                        case CURSEFORGE -> lookupCurseforge(apiUrl, unknown, token);
+                    }));
+        });
+        return resolved;
+    }
+
+    /**
+     * Reports the dependencies of a project on a platform that name unknown projects.
+     *
+     * @param path     the project
+     * @param platform the platform
+     * @param spec     the project's configuration snapshot
+     * @param resolved the resolved form of every identifier found
+     * @param checked  whether the platform's projects could be looked up
+     * @return a description of every dependency that could not be resolved
+     */
+    private static List<String> validate(String path, Platform platform, PublishSpec spec, Map<String, String> resolved,
+                                         boolean checked) {
+        var problems = new ArrayList<String>();
+        declared(platform, spec).forEach((identifier, type) -> {
+            if (resolved.containsKey(identifier)) return;
+
+            var declaration = (path.isEmpty() ? "" : path + " ") + platform.getId() + " " + type + " '" + identifier + "'";
+            if (checked) {
+                problems.add(declaration + ": no such project");
+            } else if (CURSEFORGE_PROJECT_ID.matcher(identifier).matches()) {
+                problems.add(declaration + ": declared by project ID, configure curseforge.coreApiToken to resolve it"
+                        + " into a slug, or declare it by slug");
+            }
+        });
+        return problems;
+    }
+
+    /**
+     * Returns the dependencies a project declares on a platform.
+     *
+     * @param platform the platform
+     * @param spec     the project's configuration snapshot
+     * @return the type of every dependency, keyed by the trimmed project ID or slug
+     */
+    private static Map<String, String> declared(Platform platform, PublishSpec spec) {
+        var declared = new TreeMap<String, String>();
+        switch (platform) {
+            case MODRINTH -> spec.modrinth().dependencies().forEach(dependency -> {
+                if (dependency.projectId() == null || dependency.projectId().isBlank()) return;
+                declared.put(dependency.projectId().trim(), typeName(dependency.dependencyType()));
+            });
+            case CURSEFORGE -> spec.curseforge().dependencies().forEach(dependency -> {
+                if (dependency.slug() == null || dependency.slug().isBlank()) return;
+                declared.put(dependency.slug().trim(), typeName(dependency.relationType()));
+            });
+        }
+        return declared;
+    }
+
+    /**
+     * Returns the name of a dependency type as shown in reports.
+     *
+     * @param type the dependency type, possibly {@code null}
+     * @return the lowercase name, such as {@code "required"}
+     */
+    private static String typeName(@Nullable Enum<?> type) {
+        return type == null ? "dependency" : type.name().toLowerCase(Locale.ROOT).replace('_', ' ');
+    }
+
+    /**
+     * Returns the base URL of the API projects of a platform are looked up on.
+     *
+     * @param platform the platform
+     * @param spec     the project's configuration snapshot
+     * @return the Modrinth API or the CurseForge Core API base URL
+     */
+    private static String apiUrl(Platform platform, PublishSpec spec) {
+        return switch (platform) {
+            case MODRINTH -> spec.modrinth().apiUrl();
+            case CURSEFORGE -> spec.curseforge().coreApiUrl();
+        };
+    }
+
+    /**
+     * Returns the token authenticating lookups on a platform, taken from the first project
+     * published to it that has one configured.
+     *
+     * @param platform    the platform
+     * @param paths       the projects
+     * @param platforms   the platforms every project is published to, keyed by project
+     * @param credentials the API tokens of every project, keyed by project
+     * @return the Modrinth token or the CurseForge Core API key, or {@code null} if none is configured
+     */
+    @Nullable
+    private static String lookupToken(Platform platform, Collection<String> paths, Map<String, List<Platform>> platforms,
+                                      Map<String, PublishCredentials> credentials) {
+        for (var path : paths) {
+            var project = credentials.get(path);
+            if (project == null || !platforms.getOrDefault(path, List.of()).contains(platform)) continue;
+
+            var token = switch (platform) {
+                case MODRINTH -> project.modrinthToken();
+                case CURSEFORGE -> project.curseforgeCoreApiToken();
+            };
+            if (token != null) return token;
+        }
+        return null;
+    }
+
+    /**
+     * Looks up Modrinth projects by ID or slug with a single request.
+     *
+     * @param apiUrl      the base URL of the Modrinth API
+     * @param identifiers the IDs and slugs to look up
+     * @param token       the Modrinth API token, or {@code null} to look up public projects only
+     * @return the ID of every project found, keyed by its ID, its slug and the identifier it was requested by
+     * @throws IOException                    if the request could not be executed
+     * @throws FailedResolveProjectsException if Modrinth rejects the lookup
+     */
+    private Map<String, String> lookupModrinth(String apiUrl, Set<String> identifiers, @Nullable String token)
+            throws IOException {
+        var url = HttpUrl.get(apiUrl + MODRINTH_PROJECTS_PATH).newBuilder()
+                .addQueryParameter("ids", GSON.toJson(identifiers))
+                .build();
+        var request = new Request.Builder()
+                .url(url)
+                .header("User-Agent", Constants.USER_AGENT)
+                .get();
+        if (token != null) request.header("Authorization", token);
+
+        var ids = new HashMap<String, String>();
+        for (var project : readProjects(Platform.MODRINTH, request.build(), false)) {
+            ids.put(project.id(), project.id());
+            ids.put(project.slug(), project.id());
+        }
+
+        // Slugs are matched case-insensitively, while IDs are not
+        for (var identifier : identifiers) {
+            if (ids.containsKey(identifier)) continue;
+            ids.entrySet().stream()
+                    .filter(entry -> entry.getKey().equalsIgnoreCase(identifier) && !entry.getKey().equals(entry.getValue()))
+                    .findFirst()
+                    .ifPresent(entry -> ids.put(identifier, entry.getValue()));
+        }
+        return ids;
+    }
+
+    /**
+     * Looks up CurseForge projects through the Core API: every project ID with a single request,
+     * and every slug with a search of its own, all running concurrently.
+     *
+     * @param apiUrl      the base URL of the CurseForge Core API
+     * @param identifiers the numeric project IDs and slugs to look up
+     * @param token       the CurseForge Core API key
+     * @return the slug of every project found, keyed by the ID or slug it was requested by
+     * @throws FailedPublishException if a lookup could not be executed or was rejected
+     */
+    private Map<String, String> lookupCurseforge(String apiUrl, Set<String> identifiers, String token) {
+        var ids = identifiers.stream().filter(identifier -> CURSEFORGE_PROJECT_ID.matcher(identifier).matches()).toList();
+        var slugs = identifiers.stream().filter(identifier -> !ids.contains(identifier)).toList();
+
+        var lookups = new LinkedHashMap<String, Callable<Map<String, String>>>();
+        if (!ids.isEmpty()) lookups.put("curseforge:ids", () -> lookupCurseforgeIds(apiUrl, ids, token));
+        slugs.forEach(slug -> lookups.put("curseforge:" + slug, () -> lookupCurseforgeSlug(apiUrl, slug, token)));
+
+        var found = new HashMap<String, String>();
+        ParallelExecutor.invokeAll(http.getExecutionMode(), Constants.HTTP_MAX_REQUESTS_PER_HOST, lookups)
+                .values().forEach(found::putAll);
+        return found;
+    }
+
+    /**
+     * Looks up CurseForge projects by ID with a single request.
+     *
+     * @param apiUrl the base URL of the CurseForge Core API
+     * @param ids    the numeric project IDs to look up
+     * @param token  the CurseForge Core API key
+     * @return the slug of every project found, keyed by its ID
+     * @throws IOException                    if the request could not be executed
+     * @throws FailedResolveProjectsException if CurseForge rejects the lookup
+     */
+    private Map<String, String> lookupCurseforgeIds(String apiUrl, List<String> ids, String token) throws IOException {
+        var modIds = ids.stream().map(Long::parseLong).toList();
+        var request = new Request.Builder()
+                .url(apiUrl + CURSEFORGE_MODS_PATH)
+                .header("x-api-key", token)
+                .header("User-Agent", Constants.USER_AGENT)
+                .post(RequestBody.create(GSON.toJson(Map.of("modIds", modIds)), MediaType.parse(Constants.MEDIA_TYPE_JSON)))
+                .build();
+
+        var slugs = new HashMap<String, String>();
+        for (var project : readProjects(Platform.CURSEFORGE, request, true)) slugs.put(project.id(), project.slug());
+        return slugs;
+    }
+
+    /**
+     * Searches a CurseForge project by slug.
+     *
+     * @param apiUrl the base URL of the CurseForge Core API
+     * @param slug   the slug to look up
+     * @param token  the CurseForge Core API key
+     * @return the slug as CurseForge spells it, keyed by the requested slug, or an empty map if no project has it
+     * @throws IOException                    if the request could not be executed
+     * @throws FailedResolveProjectsException if CurseForge rejects the lookup
+     */
+    private Map<String, String> lookupCurseforgeSlug(String apiUrl, String slug, String token) throws IOException {
+        var url = HttpUrl.get(apiUrl + CURSEFORGE_SEARCH_PATH).newBuilder()
+                .addQueryParameter("gameId", CURSEFORGE_MINECRAFT_ID)
+                .addQueryParameter("slug", slug)
+                .build();
+        var request = new Request.Builder()
+                .url(url)
+                .header("x-api-key", token)
+                .header("User-Agent", Constants.USER_AGENT)
+                .get()
+                .build();
+
+        return readProjects(Platform.CURSEFORGE, request, true).stream()
+                .filter(project -> project.slug().equalsIgnoreCase(slug))
+                .findFirst()
+                .map(project -> Map.of(slug, project.slug()))
+                .orElse(Map.of());
+    }
+
+    /**
+     * Executes a project lookup and reads the ID and slug of every project in its response.
+     *
+     * @param platform the platform the projects are looked up on
+     * @param request  the lookup request
+     * @param wrapped  whether the projects are wrapped in a {@code data} field, as in Core API responses
+     * @return the projects found
+     * @throws IOException                    if the request could not be executed
+     * @throws FailedResolveProjectsException if the platform rejects the lookup or answers with malformed projects
+     */
+    private List<Project> readProjects(Platform platform, Request request, boolean wrapped) throws IOException {
+        try (var response = http.execute(platform, request, logger)) {
+            if (!response.isSuccessful()) {
+                throw new FailedResolveProjectsException("Failed to look up " + platform.getId() + " projects: "
+                        + response.code() + " - " + response.message() + " - BODY: " + response.body().string());
+            }
+
+            var projects = new ArrayList<Project>();
+            try (var reader = new JsonReader(response.body().charStream())) {
+                if (wrapped) {
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        if (reader.nextName().equals("data")) {
+                            readProjects(reader, projects);
+                        } else {
+                            reader.skipValue();
+                        }
+                    }
+                    reader.endObject();
+                } else {
+                    readProjects(reader, projects);
+                }
+            } catch (IllegalStateException e) {
+                throw new FailedResolveProjectsException("Failed to read " + platform.getId() + " projects: " + e.getMessage());
+            }
+            return projects;
+        }
+    }
+
+    /**
+     * Reads an array of projects, skipping those lacking an ID or slug.
+     *
+     * @param reader   the reader positioned at the array
+     * @param projects the list receiving the projects
+     * @throws IOException if the projects cannot be read
+     */
+    private static void readProjects(JsonReader reader, List<Project> projects) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            var project = readProject(reader);
+            if (project != null) projects.add(project);
+        }
+        reader.endArray();
+    }
+
+    /**
+     * Reads the ID and slug of a project, skipping every other field. Numeric IDs are read as text.
+     *
+     * @param reader the reader positioned at the project
+     * @return the project, or {@code null} if it lacks an ID or slug
+     * @throws IOException if the project cannot be read
+     */
+    @Nullable
+    private static Project readProject(JsonReader reader) throws IOException {
+        String id = null;
+        String slug = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            var name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+            } else if (name.equals("id")) {
+                id = reader.nextString();
+            } else if (name.equals("slug")) {
+                slug = reader.nextString();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return id == null || slug == null ? null : new Project(id, slug);
+    }
+
+    /**
+     * ID and slug of a project.
+     *
+     * @param id   the project ID
+     * @param slug the project slug
+     */
+    private record Project(String id, String slug) { }
+}
@@ -0,0 +1,70 @@
+package io.github.smootheez;
+
+import lombok.*;
+import org.gradle.api.*;
+import org.gradle.api.file.*;
+import org.gradle.api.model.*;
+import org.gradle.api.provider.*;
+
+import javax.inject.*;
+
+/**
+ * A single variant of the mod declared in the {@code publications} block of the extension,
+ * such as the jar built for one loader or one range of Minecraft versions.
+ * <p>
+ * Every value left unset falls back to the corresponding top-level value of
+ * {@link McModPublisherExtension}, so a publication only declares what differs.
+ */
+@Getter
+public class PublicationConfig implements Named {
+
+    /**
+     * The unique name assigned by Gradle when the publication is created
+     * in a {@link NamedDomainObjectContainer}.
+     */
+    private final String name;
+
+    /**
+     * Display name of the uploaded file. If absent, the top-level display name is used.
+     */
+    private final Property<String> displayName;
+
+    /**
+     * Version of this publication. If absent, the top-level version is used.
+     */
+    private final Property<String> version;
+
+    /**
+     * Minecraft game versions supported by this publication.
+     * If empty, the top-level game versions are used.
+     */
+    private final ListProperty<String> gameVersions;
+
+    /**
+     * Mod loaders supported by this publication.
+     * If empty, the top-level loaders are used.
+     */
+    private final SetProperty<LoaderType> loaders;
+
+    /**
+     * Files uploaded by this publication, the first one being the primary file.
+     * If empty, the top-level files are used.
+     */
+    private final ConfigurableFileCollection files;
+
+    /**
+     * Constructs a publication using its container-managed name.
+     *
+     * @param name    the Gradle domain object name
+     * @param objects Gradle object factory used to create the properties and file collection
+     */
+    @Inject
+    public PublicationConfig(String name, ObjectFactory objects) {
+        this.name = name;
+        this.displayName = objects.property(String.class);
+        this.version = objects.property(String.class);
+        this.gameVersions = objects.listProperty(String.class);
+        this.loaders = objects.setProperty(LoaderType.class);
+        this.files = objects.fileCollection();
+    }
+}
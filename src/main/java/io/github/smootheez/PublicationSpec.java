@@ -0,0 +1,102 @@
+package io.github.smootheez;
+
+import javax.annotation.*;
+import java.io.*;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Immutable, fully resolved description of one publication handed to a {@link Publisher}.
+ * <p>
+ * Specs are resolved from the extension when publishing starts, with every value a
+ * {@link PublicationConfig} leaves unset taken from the top-level configuration. When no
+ * publications are declared, the top-level configuration forms a single publication named
+ * {@value #DEFAULT_NAME}.
+ *
+ * @param name         name of the publication
+ * @param displayName  display name of the uploaded file, or {@code null} for the platform default
+ * @param version      version of the publication
+ * @param gameVersions Minecraft game versions supported by the publication
+ * @param loaders      mod loaders supported by the publication
+ * @param files        files to upload, the first one being the primary file
+ */
+public record PublicationSpec(
+        String name,
+        @Nullable String displayName,
+        String version,
+        List<String> gameVersions,
+        List<LoaderType> loaders,
+        List<File> files
+) implements Serializable {
+
+    /** Name of the publication formed by the top-level configuration. */
+    public static final String DEFAULT_NAME = "main";
+
+    /**
+     * Resolves the publications declared in the extension.
+     *
+     * @param extension the plugin extension
+     * @return the resolved publications, ordered by name
+     */
+    public static List<PublicationSpec> resolveAll(McModPublisherExtension extension) {
+        var publications = extension.getPublications();
+        if (publications.isEmpty()) {
+            return List.of(new PublicationSpec(
+                    DEFAULT_NAME,
+                    extension.getDisplayName().getOrNull(),
+                    extension.getVersion().getOrNull(),
+                    List.copyOf(extension.getGameVersions().get()),
+                    List.copyOf(extension.getLoaders().get()),
+                    List.copyOf(extension.getFiles().getFiles())
+            ));
+        }
+
+        return publications.stream()
+                .map(publication -> resolve(extension, publication))
+                .toList();
+    }
+
+    /**
+     * Resolves a single publication, falling back to top-level values for everything it leaves unset.
+     *
+     * @param extension   the plugin extension
+     * @param publication the publication to resolve
+     * @return the resolved publication
+     */
+    static PublicationSpec resolve(McModPublisherExtension extension, PublicationConfig publication) {
+        var gameVersions = publication.getGameVersions().get();
+        var loaders = publication.getLoaders().get();
+        var files = publication.getFiles().getFiles();
+        return new PublicationSpec(
+                publication.getName(),
+                publication.getDisplayName().orElse(extension.getDisplayName()).getOrNull(),
+                publication.getVersion().orElse(extension.getVersion()).getOrNull(),
+                List.copyOf(gameVersions.isEmpty() ? extension.getGameVersions().get() : gameVersions),
+                List.copyOf(loaders.isEmpty() ? extension.getLoaders().get() : loaders),
+                List.copyOf(files.isEmpty() ? extension.getFiles().getFiles() : files)
+        );
+    }
+
+    /**
+     * Returns a copy of this publication whose files are reduced to their names.
+     * <p>
+     * Matches the name-only normalization of the uploaded files, so that the spec can serve as a
+     * task input that does not depend on where the project is checked out.
+     *
+     * @return the relocatable copy
+     */
+    public PublicationSpec relocatable() {
+        return mapFiles(file -> new File(file.getName()));
+    }
+
+    /**
+     * Returns a copy of this publication with every file replaced.
+     *
+     * @param mapping function returning the replacement of a file
+     * @return the copy
+     */
+    public PublicationSpec mapFiles(UnaryOperator<File> mapping) {
+        return new PublicationSpec(name, displayName, version, gameVersions, loaders,
+                files.stream().map(mapping).toList());
+    }
+}
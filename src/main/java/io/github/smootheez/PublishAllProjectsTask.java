@@ -0,0 +1,122 @@
+package io.github.smootheez;
+
+import io.github.smootheez.concurrent.*;
+import org.gradle.api.provider.*;
+import org.gradle.api.tasks.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Publishes the mods of every project of a multi-project build that applies the plugin.
+ * <p>
+ * Every project is published to each platform it has a project ID and token configured for.
+ * Projects are scheduled along the {@link PublishGraph} of the build: a project starts once all
+ * projects it depends on have been published, independent projects are published concurrently
+ * up to {@link #getProjectConcurrency()}, and the dependents of a failed project are skipped.
+ * The dependencies of all projects are resolved together beforehand, with at most one lookup per
+ * platform, so the graph recognizes a project whether it is named by slug or by ID.
+ * <p>
+ * Like the per-project tasks, the task is cacheable and its receipt covers every published project.
+ */
+@CacheableTask
+public abstract class PublishAllProjectsTask extends AbstractPublishTask {
+
+    /**
+     * Snapshots of the publishing configuration of every project, keyed by project path.
+     *
+     * @return property holding the configuration snapshots
+     */
+    @Internal
+    public abstract MapProperty<String, PublishSpec> getProjectSpecs();
+
+    /**
+     * The configuration snapshots as seen by up-to-date checks and the build cache, with the
+     * uploaded files reduced to their names.
+     *
+     * @return the relocatable configuration snapshots, keyed by project path
+     */
+    @Input
+    public Map<String, PublishSpec> getRelocatableProjectSpecs() {
+        var specs = new TreeMap<String, PublishSpec>();
+        getProjectSpecs().get().forEach((path, spec) -> specs.put(path, spec.relocatable()));
+        return specs;
+    }
+
+    /**
+     * API tokens of every project, keyed by project path and kept out of the task inputs.
+     *
+     * @return property holding the credentials
+     */
+    @Internal
+    public abstract MapProperty<String, PublishCredentials> getProjectCredentials();
+
+    /**
+     * The platforms every project is published to: those it has both a project ID and a token
+     * configured for. Declared as an input, so configuring a token for another platform makes
+     * the task run again, without the token itself becoming part of the inputs.
+     *
+     * @return the target platforms, keyed by project path
+     */
+    @Input
+    public Map<String, List<Platform>> getProjectPlatforms() {
+        var credentials = getProjectCredentials().get();
+        var platforms = new TreeMap<String, List<Platform>>();
+        getProjectSpecs().get().forEach((path, spec) -> platforms.put(path, Arrays.stream(Platform.values())
+                .filter(platform -> spec.projectId(platform) != null && credentials.get(path).token(platform) != null)
+                .toList()));
+        return platforms;
+    }
+
+    /**
+     * Maximum number of projects published at the same time.
+     *
+     * @return property holding the project concurrency
+     */
+    @Internal
+    public abstract Property<Integer> getProjectConcurrency();
+
+    /**
+     * Publishes every configured project in dependency order and records the result.
+     */
+    @TaskAction
+    public void publish() {
+        var credentials = getProjectCredentials().get();
+        var projectPlatforms = getProjectPlatforms();
+        var specs = projectResolver().resolve(getProjectSpecs().get(), projectPlatforms, credentials);
+        var cache = gameVersionCache();
+        var uploads = uploadReport();
+
+        var nodes = new ArrayList<PublishGraph.Node>();
+        var operations = new LinkedHashMap<String, Callable<Map<String, List<PublishReceipt.Entry>>>>();
+        specs.forEach((path, spec) -> {
+            var platforms = projectPlatforms.get(path);
+            if (platforms.isEmpty()) return;
+
+            var publishers = publishers(path, platforms, optimizeJars(path, spec), credentials.get(path), cache, uploads);
+            nodes.add(PublishGraph.Node.of(path, spec));
+            operations.put(path, () -> publishAll(publishers));
+        });
+
+        if (operations.isEmpty()) {
+            getLogger().lifecycle("No project has a publishing platform configured, nothing to publish.");
+            writeReceipt(Map.of());
+            return;
+        }
+
+        var dependencies = PublishGraph.dependencies(nodes);
+        dependencies.forEach((path, dependsOn) -> {
+            if (!dependsOn.isEmpty()) getLogger().lifecycle(path + " will be published after " + String.join(", ", dependsOn));
+        });
+
+        var mode = getHttpClient().get().getExecutionMode();
+        var receipt = new LinkedHashMap<String, List<PublishReceipt.Entry>>();
+        try {
+            ParallelExecutor.invokeInDependencyOrder(mode, getProjectConcurrency().get(), operations, dependencies)
+                    .values().forEach(receipt::putAll);
+        } finally {
+            writeUploadReport(uploads);
+        }
+        writeReceipt(receipt);
+    }
+}
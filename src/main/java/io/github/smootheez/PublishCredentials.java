@@ -0,0 +1,72 @@
+package io.github.smootheez;
+
+import javax.annotation.*;
+import java.io.*;
+
+/**
+ * API tokens of a project, captured from the {@link McModPublisherExtension}.
+ * <p>
+ * Tokens are kept apart from the {@link PublishSpec} so that they are never treated as task
+ * inputs, and {@link #toString()} never reveals them.
+ *
+ * @param modrinthToken          the Modrinth API token, or {@code null} if not configured
+ * @param curseforgeToken        the CurseForge API token, or {@code null} if not configured
+ * @param curseforgeCoreApiToken the CurseForge Core API key, or {@code null} if not configured
+ */
+public record PublishCredentials(
+        @Nullable String modrinthToken,
+        @Nullable String curseforgeToken,
+        @Nullable String curseforgeCoreApiToken
+) implements Serializable {
+
+    /**
+     * Captures the tokens configured in the extension.
+     *
+     * @param extension the plugin extension
+     * @return the credentials
+     */
+    public static PublishCredentials of(McModPublisherExtension extension) {
+        return new PublishCredentials(
+                trimToNull(extension.getModrinth().getToken().getOrNull()),
+                trimToNull(extension.getCurseforge().getToken().getOrNull()),
+                trimToNull(extension.getCurseforge().getCoreApiToken().getOrNull())
+        );
+    }
+
+    /**
+     * Returns the token configured for the given platform.
+     *
+     * @param platform the platform
+     * @return the token, or {@code null} if none is configured
+     */
+    @Nullable
+    public String token(Platform platform) {
+        return switch (platform) {
+            case MODRINTH -> modrinthToken;
+            case CURSEFORGE -> curseforgeToken;
+        };
+    }
+
+    /**
+     * Describes which tokens are configured without revealing them.
+     *
+     * @return a redacted description
+     */
+    @Override
+    public String toString() {
+        return "PublishCredentials[modrinthToken=" + (modrinthToken != null ? "***" : "null")
+                + ", curseforgeToken=" + (curseforgeToken != null ? "***" : "null")
+                + ", curseforgeCoreApiToken=" + (curseforgeCoreApiToken != null ? "***" : "null") + "]";
+    }
+
+    /**
+     * Trims a configured token, treating blank values as absent.
+     *
+     * @param value the configured token
+     * @return the trimmed token, or {@code null} if it is absent or blank
+     */
+    @Nullable
+    private static String trimToNull(@Nullable String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.smootheez;
+
+import io.github.smootheez.curseforge.*;
+import io.github.smootheez.modrinth.*;
+
+import javax.annotation.*;
+import java.util.*;
+
+/**
+ * Dependency graph between the projects of a multi-project build that publish mods.
+ * <p>
+ * A project depends on another when one of its Modrinth dependencies names the other project's
+ * Modrinth project ID, or one of its CurseForge dependencies names the other project's CurseForge
+ * slug. Incompatibility relations do not create an edge. Publishing projects in graph order
+ * guarantees that libraries are live on the platforms before the mods depending on them.
+ */
+public final class PublishGraph {
+
+    /** Prevents instantiation of this utility class. */
+    private PublishGraph() {}
+
+    /**
+     * Publishing coordinates of a single project.
+     *
+     * @param path                   the Gradle path of the project
+     * @param modrinthProjectId      the project's Modrinth project ID, if configured
+     * @param curseforgeSlug         the project's CurseForge slug, if configured
+     * @param modrinthDependencies   Modrinth project IDs the project depends on
+     * @param curseforgeDependencies CurseForge slugs the project depends on
+     */
+    public record Node(
+            String path,
+            @Nullable String modrinthProjectId,
+            @Nullable String curseforgeSlug,
+            Set<String> modrinthDependencies,
+            Set<String> curseforgeDependencies
+    ) {
+
+        /**
+         * Extracts the publishing coordinates of a project from its configuration snapshot.
+         *
+         * @param path the Gradle path of the project
+         * @param spec the project's configuration snapshot
+         * @return the node of the project
+         */
+        public static Node of(String path, PublishSpec spec) {
+            var modrinthDependencies = new HashSet<String>();
+            for (var dependency : spec.modrinth().dependencies()) {
+                if (dependency.dependencyType() != DependencyType.INCOMPATIBLE && dependency.projectId() != null) {
+                    modrinthDependencies.add(dependency.projectId().trim());
+                }
+            }
+
+            var curseforgeDependencies = new HashSet<String>();
+            for (var dependency : spec.curseforge().dependencies()) {
+                if (dependency.relationType() != RelationType.INCOMPATIBLE && dependency.slug() != null) {
+                    curseforgeDependencies.add(dependency.slug().trim());
+                }
+            }
+
+            return new Node(
+                    path,
+                    trimToNull(spec.modrinth().projectId()),
+                    trimToNull(spec.curseforge().slug()),
+                    Set.copyOf(modrinthDependencies),
+                    Set.copyOf(curseforgeDependencies)
+            );
+        }
+    }
+
+    /**
+     * Computes the projects every project depends on.
+     *
+     * @param nodes the nodes of all publishing projects
+     * @return the paths of the projects every project depends on, keyed by project path
+     */
+    public static Map<String, Set<String>> dependencies(Collection<Node> nodes) {
+        var byModrinthId = new HashMap<String, String>();
+        var byCurseforgeSlug = new HashMap<String, String>();
+        for (var node : nodes) {
+            if (node.modrinthProjectId() != null) byModrinthId.put(node.modrinthProjectId(), node.path());
+            if (node.curseforgeSlug() != null) byCurseforgeSlug.put(node.curseforgeSlug(), node.path());
+        }
+
+        var dependencies = new LinkedHashMap<String, Set<String>>();
+        for (var node : nodes) {
+            var paths = new LinkedHashSet<String>();
+            node.modrinthDependencies().stream().map(byModrinthId::get).filter(Objects::nonNull).forEach(paths::add);
+            node.curseforgeDependencies().stream().map(byCurseforgeSlug::get).filter(Objects::nonNull).forEach(paths::add);
+            paths.remove(node.path());
+            dependencies.put(node.path(), paths);
+        }
+        return dependencies;
+    }
+
+    /**
+     * Trims a configured value, treating blank values as absent.
+     *
+     * @param value the configured value
+     * @return the trimmed value, or {@code null} if it is absent or blank
+     */
+    @Nullable
+    private static String trimToNull(@Nullable String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
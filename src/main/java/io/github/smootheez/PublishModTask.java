@@ -0,0 +1,68 @@
+package io.github.smootheez;
+
+import org.gradle.api.provider.*;
+import org.gradle.api.tasks.*;
+
+/**
+ * Publishes the mod of a single project to one or more platforms.
+ * <p>
+ * The task receives an immutable {@link PublishSpec} of the project's configuration and its
+ * {@link PublishCredentials}. Dependencies are resolved into the form each platform expects, then
+ * the platforms are published to, concurrently when several are targeted.
+ * The task is cacheable: once its files have been published, it stays UP-TO-DATE until the files
+ * or the configuration change.
+ */
+@CacheableTask
+public abstract class PublishModTask extends AbstractPublishTask {
+
+    /**
+     * The platforms the mod is published to.
+     *
+     * @return property holding the target platforms
+     */
+    @Input
+    public abstract ListProperty<Platform> getPlatforms();
+
+    /**
+     * Snapshot of the project's publishing configuration.
+     *
+     * @return property holding the configuration snapshot
+     */
+    @Internal
+    public abstract Property<PublishSpec> getSpec();
+
+    /**
+     * The configuration snapshot as seen by up-to-date checks and the build cache, with the
+     * uploaded files reduced to their names.
+     *
+     * @return the relocatable configuration snapshot
+     */
+    @Input
+    public PublishSpec getRelocatableSpec() {
+        return getSpec().get().relocatable();
+    }
+
+    /**
+     * API tokens of the project, kept out of the task inputs.
+     *
+     * @return property holding the credentials
+     */
+    @Internal
+    public abstract Property<PublishCredentials> getCredentials();
+
+    /**
+     * Publishes the mod to every target platform and records the result.
+     */
+    @TaskAction
+    public void publish() {
+        var uploads = uploadReport();
+        try {
+            var spec = projectResolver().resolve(getSpec().get(), getPlatforms().get(), getCredentials().get());
+            spec = optimizeJars("", spec);
+            writeReceipt(publishAll(publishers("", getPlatforms().get(), spec, getCredentials().get(),
+                    gameVersionCache(), uploads)));
+        } finally {
+            writeUploadReport(uploads);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.smootheez;
+
+import com.google.gson.*;
+import io.github.smootheez.exception.*;
+import io.github.smootheez.http.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Record of a successful publish, written as the output of a publishing task.
+ * <p>
+ * The receipt lists, for every publisher that ran, the publications it published together with
+ * the IDs the platform assigned to them and the SHA-512 digest of every published file. Since
+ * the receipt is the task's only output, Gradle considers a publishing task UP-TO-DATE, or
+ * restores its receipt from the build cache, when a previous run already published the same
+ * files with the same configuration, and nothing is uploaded again.
+ *
+ * @param publishers the published publications, keyed by the label of the publisher
+ */
+public record PublishReceipt(
+        Map<String, List<Entry>> publishers
+) {
+
+    /** Gson instance writing human-readable receipts. */
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+    /**
+     * Writes the receipt to the given file, replacing any previous receipt.
+     *
+     * @param file the receipt file
+     * @throws FailedPublishException if the receipt could not be written
+     */
+    public void write(File file) {
+        try {
+            var path = file.toPath();
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, GSON.toJson(this));
+        } catch (IOException e) {
+            throw new FailedPublishException("Failed to write publish receipt " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * A single publication published to a platform.
+     *
+     * @param publication the name of the publication
+     * @param version     the published version number
+     * @param remoteIds   the IDs the platform assigned to the published version or files
+     * @param files       the SHA-512 digest of every published file, keyed by file name
+     */
+    public record Entry(
+            String publication,
+            String version,
+            List<String> remoteIds,
+            Map<String, String> files
+    ) {
+
+        /**
+         * Records a published publication, hashing its files.
+         *
+         * @param publication the published publication
+         * @param remoteIds   the IDs the platform assigned to the published version or files
+         * @return the receipt entry
+         * @throws FailedPublishException if a published file could not be hashed
+         */
+        public static Entry of(PublicationSpec publication, List<String> remoteIds) {
+            return of(publication, remoteIds, Map.of());
+        }
+
+        /**
+         * Records a published publication, reusing the digests computed while preparing or
+         * uploading its files. Only files without a known digest are hashed.
+         *
+         * @param publication the published publication
+         * @param remoteIds   the IDs the platform assigned to the published version or files
+         * @param hashes      the known digests of the publication's files, keyed by file
+         * @return the receipt entry
+         * @throws FailedPublishException if a published file without a known digest could not be hashed
+         */
+        public static Entry of(PublicationSpec publication, List<String> remoteIds, Map<File, FileHashes> hashes) {
+            var files = new LinkedHashMap<String, String>();
+            for (var file : publication.files()) {
+                var digest = hashes.get(file);
+                try {
+                    files.put(file.getName(), (digest != null ? digest : FileHashes.compute(file)).sha512());
+                } catch (IOException e) {
+                    throw new FailedPublishException("Failed to hash published file " + file + ": " + e.getMessage());
+                }
+            }
+            return new Entry(publication.name(), publication.version(), List.copyOf(remoteIds), files);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.smootheez;
+
+import io.github.smootheez.curseforge.*;
+import io.github.smootheez.modrinth.*;
+
+import javax.annotation.*;
+import java.io.*;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Immutable snapshot of everything a project publishes, captured from the
+ * {@link McModPublisherExtension} when the task graph is built.
+ * <p>
+ * Publishing tasks receive the snapshot as an input and hand it to the {@link Publisher}s, so
+ * task actions never reach back into the Gradle model. This keeps the tasks compatible with the
+ * configuration cache. API tokens are kept out of the snapshot, see {@link PublishCredentials}.
+ *
+ * @param releaseType            the release channel
+ * @param changelog              the changelog text
+ * @param publicationConcurrency maximum number of publications processed at the same time per platform
+ * @param publications           the resolved publications
+ * @param jarOptimization        the optimization applied to the uploaded jars
+ * @param modrinth               the Modrinth settings
+ * @param curseforge             the CurseForge settings
+ */
+public record PublishSpec(
+        String releaseType,
+        String changelog,
+        int publicationConcurrency,
+        List<PublicationSpec> publications,
+        JarOptimizationSettings jarOptimization,
+        ModrinthSettings modrinth,
+        CurseforgeSettings curseforge
+) implements Serializable {
+
+    /**
+     * Captures the current state of the extension.
+     *
+     * @param extension the plugin extension
+     * @return the snapshot
+     */
+    public static PublishSpec of(McModPublisherExtension extension) {
+        return new PublishSpec(
+                extension.getReleaseType().get(),
+                extension.getChangelog().get(),
+                extension.getPublicationConcurrency().get(),
+                PublicationSpec.resolveAll(extension),
+                JarOptimizationSettings.of(extension.getJarOptimization()),
+                ModrinthSettings.of(extension.getModrinth()),
+                CurseforgeSettings.of(extension.getCurseforge())
+        );
+    }
+
+    /**
+     * Returns the project ID configured for the given platform.
+     *
+     * @param platform the platform
+     * @return the project ID, or {@code null} if none is configured
+     */
+    @Nullable
+    public String projectId(Platform platform) {
+        return switch (platform) {
+            case MODRINTH -> modrinth.projectId();
+            case CURSEFORGE -> curseforge.projectId();
+        };
+    }
+
+    /**
+     * Returns a copy of this snapshot whose publication files are reduced to their names.
+     * Publishing tasks use it as their input, so the build cache can reuse a publish
+     * performed from another checkout or machine.
+     *
+     * @return the relocatable copy
+     * @see PublicationSpec#relocatable()
+     */
+    public PublishSpec relocatable() {
+        return mapFiles(file -> new File(file.getName()));
+    }
+
+    /**
+     * Returns a copy of this snapshot with every publication file replaced.
+     *
+     * @param mapping function returning the replacement of a file
+     * @return the copy
+     */
+    public PublishSpec mapFiles(UnaryOperator<File> mapping) {
+        return new PublishSpec(releaseType, changelog, publicationConcurrency,
+                publications.stream().map(publication -> publication.mapFiles(mapping)).toList(),
+                jarOptimization, modrinth, curseforge);
+    }
+
+    /**
+     * Returns a copy of this snapshot with the project of every dependency replaced.
+     *
+     * @param modrinth   function returning the replacement of a Modrinth project ID or slug
+     * @param curseforge function returning the replacement of a CurseForge slug or project ID
+     * @return the copy
+     */
+    public PublishSpec mapDependencies(UnaryOperator<String> modrinth, UnaryOperator<String> curseforge) {
+        return new PublishSpec(releaseType, changelog, publicationConcurrency, publications, jarOptimization,
+                this.modrinth.mapDependencies(modrinth), this.curseforge.mapDependencies(curseforge));
+    }
+}
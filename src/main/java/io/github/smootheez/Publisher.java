@@ -1,9 +1,24 @@
 package io.github.smootheez;
 
 import com.google.gson.*;
+import io.github.smootheez.cache.*;
+import io.github.smootheez.concurrent.*;
+import io.github.smootheez.exception.*;
+import io.github.smootheez.http.*;
+import io.github.smootheez.curseforge.*;
+import io.github.smootheez.jfr.*;
+import io.github.smootheez.modrinth.*;
 import lombok.*;
 import okhttp3.*;
-import org.gradle.api.*;
+import org.gradle.api.logging.*;
+
+import javax.annotation.*;
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
 
 /**
  * Base abstraction for all publishing implementations within the
@@ -11,16 +26,28 @@ import org.gradle.api.*;
  * necessary to publish a project to a specific platform such as
  * CurseForge, Modrinth, or other distribution services.
  *
+ * <p>A publisher runs every {@link PublicationSpec} of its {@link PublishSpec} through a
+ * two-stage pipeline. The platform's game version tags are resolved once for the union of all
+ * publications on a worker thread, while the local artifacts of every publication, such as
+ * validated files and their hashes, are prepared on the calling thread. Once both stages have
+ * completed, the publications are published concurrently, bounded by the configured
+ * publication concurrency, sharing the resulting {@link GameVersionIndex}. The first upload
+ * therefore waits for the slower of the two stages rather than for both in turn.
+ *
  * <p>This class centralizes shared components needed by all publishers:
  * <ul>
- *     <li>{@link Project} — the Gradle project instance</li>
- *     <li>{@link McModPublisherExtension} — user-defined configuration</li>
- *     <li>{@link OkHttpClient} — HTTP client for performing network requests</li>
+ *     <li>{@link Logger} — the logger of the publishing task</li>
+ *     <li>{@link PublishSpec} — immutable snapshot of the user-defined configuration</li>
+ *     <li>the API token of the platform, kept out of the snapshot</li>
+ *     <li>{@link HttpClientService} — shared HTTP client performing network requests with retries</li>
+ *     <li>{@link GameVersionCache} — persistent cache of platform game version tags</li>
+ *     <li>{@link UploadMonitor} — progress and throughput reporting of file uploads</li>
  *     <li>{@link Gson} — serializer for JSON payloads</li>
  * </ul>
  *
- * <p>Implementations must define the {@link #publish()} method, which
- * encapsulates the complete publishing workflow, including:
+ * <p>Implementations must define {@link #resolveGameVersions(List)},
+ * {@link #prepare(PublicationSpec)} and {@link #publish(PublicationSpec, Object, GameVersionIndex)},
+ * which encapsulate the complete publishing workflow of a single publication, including:
  * <ul>
  *     <li>reading configuration</li>
  *     <li>preparing request payloads</li>
@@ -30,32 +57,364 @@ import org.gradle.api.*;
  *
  * <p>This class is designed to be extended and used by Gradle tasks or
  * other orchestration components inside the plugin.
+ *
+ * @param <P> type of the local artifacts prepared for a publication
  */
 @RequiredArgsConstructor
-public abstract class Publisher {
+public abstract class Publisher<P> {
+
+    /**
+     * Logger of the publishing task.
+     */
+    protected final Logger logger;
+
+    /**
+     * Snapshot of the configuration values supplied by users via Gradle DSL.
+     */
+    protected final PublishSpec spec;
+
+    /**
+     * API token used to authenticate with the platform.
+     */
+    protected final String token;
+
+    /**
+     * Build-wide HTTP service used to send requests to external publishing platforms.
+     */
+    protected final HttpClientService http;
+
+    /**
+     * Persistent cache used to avoid downloading game version tags on every run.
+     */
+    protected final GameVersionCache cache;
+
+    /**
+     * Monitor receiving the progress of every file upload.
+     */
+    protected final UploadMonitor uploads;
+
+    /**
+     * Shared Gson instance for serializing and deserializing JSON payloads, using the
+     * hand-written adapters of the platform payloads instead of reflection.
+     */
+    protected static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapterFactory(new ModrinthTypeAdapterFactory())
+            .registerTypeAdapterFactory(new CurseforgeTypeAdapterFactory())
+            .create();
+
+    /**
+     * Digests of the files hashed while preparing publications, keyed by file.
+     */
+    private final Map<File, FileHashes> hashes = new ConcurrentHashMap<>();
+
+    /**
+     * Request bodies created for uploaded files, which digest the files while streaming them, keyed by file.
+     */
+    private final Map<File, HashingFileRequestBody> fileBodies = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the publisher of the given platform.
+     *
+     * @param platform the target platform
+     * @param logger   the logger of the publishing task
+     * @param spec     the configuration snapshot
+     * @param token    the platform API token
+     * @param http     the build-wide HTTP service
+     * @param cache    the persistent game version tag cache
+     * @param uploads  the monitor receiving the progress of file uploads
+     * @return the publisher
+     */
+    public static Publisher<?> of(Platform platform, Logger logger, PublishSpec spec, String token,
+                               HttpClientService http, GameVersionCache cache, UploadMonitor uploads) {
+        return switch (platform) {
+            case MODRINTH -> new ModrinthPublisher(logger, spec, token, http, cache, uploads);
+            case CURSEFORGE -> new CurseforgePublisher(logger, spec, token, http, cache, uploads);
+        };
+    }
+
+    /**
+     * Returns the platform this publisher publishes to.
+     *
+     * @return the target platform
+     */
+    protected abstract Platform platform();
+
+    /**
+     * Creates the body uploading a mod file, which reports its progress to {@link #uploads}.
+     * Files whose digests were recorded while preparing their publication are not hashed again
+     * while being uploaded.
+     *
+     * @param file the file to upload
+     * @return the request body streaming the file
+     */
+    protected HashingFileRequestBody fileBody(File file) {
+        var body = new HashingFileRequestBody(file, MediaType.parse(Constants.MEDIA_TYPE_JAR), platform(), uploads,
+                hashes.get(file));
+        fileBodies.put(file, body);
+        return body;
+    }
+
+    /**
+     * Records the digests of a file hashed while preparing a publication, so its receipt entry
+     * does not hash the file again.
+     *
+     * @param file   the hashed file
+     * @param digest the digests of the file
+     */
+    protected void recordHashes(File file, FileHashes digest) {
+        hashes.put(file, digest);
+    }
+
+    /**
+     * Executes a request against the platform API, retrying transient failures such as
+     * network errors, rate limiting and server errors. Requests are throttled to the
+     * platform's build-wide rate limit.
+     *
+     * @param request the request to execute
+     * @return the final response, which the caller must close
+     * @throws IOException if the last attempt failed with a network error
+     */
+    protected Response execute(Request request) throws IOException {
+        return http.execute(platform(), request, logger);
+    }
+
+    /**
+     * Executes a file upload against the platform API. Behaves like {@link #execute(Request)},
+     * but additionally waits for one of the platform's build-wide upload slots.
+     *
+     * @param request the upload request to execute
+     * @return the final response, which the caller must close
+     * @throws IOException if the last attempt failed with a network error
+     */
+    protected Response executeUpload(Request request) throws IOException {
+        var event = phase(new UploadEvent());
+        try {
+            var response = http.executeUpload(platform(), request, logger);
+            event.succeeded(request.body() == null ? 0 : contentLength(request.body()), Integer.toString(response.code()));
+            return response;
+        } finally {
+            event.commit();
+        }
+    }
 
     /**
-     * The current Gradle project, used for logging and access to build information.
+     * Fetches the platform's game version tag list through the persistent cache and decodes it.
+     * Fetching and decoding are recorded as separate JFR events.
+     *
+     * @param request the request fetching the full tag list
+     * @param decoder the decoder keeping the tags requested by the publications
+     * @param <T>     type of the decoded tags
+     * @return the decoded tags
+     * @throws FailedFetchGameVersionsException if the list cannot be fetched or decoded
      */
-    protected final Project project;
+    protected <T> List<T> fetchGameVersionTags(Request request, TagDecoder<T> decoder) {
+        var fetch = phase(new TagFetchEvent());
+        Path cached;
+        try {
+            cached = cache.fetch(platform(), request, this::execute);
+            fetch.succeeded(cached.toFile().length(), PublishPhaseEvent.OK);
+        } finally {
+            fetch.commit();
+        }
+
+        var parse = phase(new TagParseEvent());
+        try (var reader = Files.newBufferedReader(cached)) {
+            var tags = decoder.decode(reader);
+            parse.succeeded(cached.toFile().length(), tags.size() + " tags");
+            return tags;
+        } catch (IOException | IllegalStateException e) {
+            throw new FailedFetchGameVersionsException("Failed to fetch game versions" + e.getMessage());
+        } finally {
+            parse.commit();
+        }
+    }
 
     /**
-     * Global extension containing configuration values supplied by users via Gradle DSL.
+     * Decodes a game version tag list.
+     *
+     * @param <T> type of the decoded tags
      */
-    protected final McModPublisherExtension extension;
+    @FunctionalInterface
+    protected interface TagDecoder<T> {
+
+        /**
+         * Decodes the tags of a tag list.
+         *
+         * @param reader the reader over the tag list
+         * @return the decoded tags
+         * @throws IOException if the list cannot be read or is malformed
+         */
+        List<T> decode(Reader reader) throws IOException;
+    }
 
     /**
-     * HTTP client used to send HTTP requests to external publishing platforms.
+     * Starts a JFR event for a publishing phase of this publisher's platform and project.
+     *
+     * @param event the event of the phase
+     * @return the started event
+     */
+    protected PublishPhaseEvent phase(PublishPhaseEvent event) {
+        return event.start(platform(), spec.projectId(platform()));
+    }
+
+    /**
+     * Returns the length of a request body, for event and progress reporting.
+     *
+     * @param body the request body
+     * @return the length in bytes, or {@code -1} if it is unknown
      */
-    protected final OkHttpClient client;
+    protected static long contentLength(RequestBody body) {
+        try {
+            return body.contentLength();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
 
     /**
-     * Shared Gson instance for serializing and deserializing JSON payloads.
+     * Returns the number of bytes of a text encoded as UTF-8.
+     *
+     * @param text the text
+     * @return the encoded size in bytes
      */
-    protected static final Gson GSON = new Gson();
+    protected static long byteCount(String text) {
+        return text.getBytes(StandardCharsets.UTF_8).length;
+    }
 
     /**
-     * Executes the publishing workflow for a specific platform.
+     * Publishes every publication of the spec to the platform.
+     * <p>
+     * Game version tags are resolved once for all publications on a worker thread, while the
+     * publications are prepared on the calling thread. A single publication is prepared and
+     * published on the calling thread; several are prepared and published concurrently. Failures
+     * of either stage, or of individual publications, are collected and reported together once
+     * all have finished, before anything is uploaded if a stage failed.
+     *
+     * <p>This method is expected to be invoked from a Gradle task or
+     * another orchestrator responsible for running publishing actions.
+     *
+     * @return a receipt entry for every publication, in publication order
+     * @throws FailedPublishException if a stage or at least one publication failed or was rejected
+     */
+    public List<PublishReceipt.Entry> publish() {
+        var publications = spec.publications();
+        return ParallelExecutor.invokeBoth(http.getExecutionMode(),
+                platform().getId() + ":game-versions", () -> resolveGameVersions(publications),
+                platform().getId() + ":prepare", () -> forEachPublication(publications,
+                        i -> prepareAndRecord(publications.get(i))),
+                (index, prepared) -> forEachPublication(publications,
+                        i -> publishAndRecord(publications.get(i), prepared.get(i), index))
+        );
+    }
+
+    /**
+     * Runs an operation for every publication. A single publication is handled on the calling
+     * thread; several are handled concurrently, bounded by the configured publication concurrency.
+     *
+     * @param publications the publications
+     * @param operation    the operation run for the publication at every position
+     * @param <T>          result type of the operation
+     * @return the results of the operation, in publication order
+     * @throws FailedPublishException if the operation failed for at least one of several publications
+     */
+    private <T> List<T> forEachPublication(List<PublicationSpec> publications, IntFunction<T> operation) {
+        if (publications.size() == 1) {
+            return List.of(operation.apply(0));
+        }
+
+        var tasks = new LinkedHashMap<String, Callable<T>>();
+        for (var i = 0; i < publications.size(); i++) {
+            var position = i;
+            tasks.put(platform().getId() + ":" + publications.get(i).name(), () -> operation.apply(position));
+        }
+        return List.copyOf(ParallelExecutor.invokeAll(http.getExecutionMode(), Math.max(1, spec.publicationConcurrency()), tasks).values());
+    }
+
+    /**
+     * Validates the files of a single publication and prepares its local artifacts.
+     *
+     * @param publication the publication to prepare
+     * @return the prepared artifacts of the publication
+     * @throws FailedPublishException if a file of the publication cannot be uploaded
+     */
+    private P prepareAndRecord(PublicationSpec publication) {
+        var event = phase(new PreparationEvent());
+        try {
+            var bytes = 0L;
+            for (var file : publication.files()) {
+                if (!file.isFile() || !file.canRead()) {
+                    throw new FailedPublishException("File " + file + " of publication '" + publication.name()
+                            + "' does not exist or cannot be read");
+                }
+                bytes += file.length();
+            }
+
+            var prepared = prepare(publication);
+            event.succeeded(bytes, PublishPhaseEvent.OK);
+            return prepared;
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Publishes a single publication and records it for the task's receipt.
+     *
+     * @param publication the publication to publish
+     * @param prepared    the prepared artifacts of the publication
+     * @param index       the game version index shared by all publications
+     * @return the receipt entry of the publication
+     * @throws FailedPublishException if the publication was rejected, so it is never recorded as published
+     */
+    private PublishReceipt.Entry publishAndRecord(PublicationSpec publication, P prepared, GameVersionIndex index) {
+        var remoteIds = publish(publication, prepared, index);
+        if (remoteIds == null) {
+            throw new FailedPublishException("Publication '" + publication.name() + "' was not published to "
+                    + platform().getId() + ", see the errors above");
+        }
+        return PublishReceipt.Entry.of(publication, remoteIds, hashesOf(publication));
+    }
+
+    /**
+     * Collects the digests already computed for the files of a publication, preferring those
+     * computed while streaming the files over those recorded while preparing them.
+     *
+     * @param publication the published publication
+     * @return the known digests, keyed by file
+     */
+    private Map<File, FileHashes> hashesOf(PublicationSpec publication) {
+        var known = new HashMap<File, FileHashes>();
+        for (var file : publication.files()) {
+            var body = fileBodies.get(file);
+            var digest = body != null && body.isWritten() ? body.getHashes() : hashes.get(file);
+            if (digest != null) known.put(file, digest);
+        }
+        return known;
+    }
+
+    /**
+     * Fetches the platform's game version tags once and indexes those needed by any of the
+     * given publications.
+     *
+     * @param publications the publications that will be published
+     * @return the index shared by all publications
+     */
+    protected abstract GameVersionIndex resolveGameVersions(List<PublicationSpec> publications);
+
+    /**
+     * Prepares the local artifacts of a single publication, such as the hashes of its files.
+     * <p>
+     * Preparation runs while the game version tags are being resolved, so it must not depend on
+     * them. The files of the publication have already been checked to exist. Implementations may
+     * be called concurrently for different publications.
+     *
+     * @param publication the publication to prepare
+     * @return the prepared artifacts, never {@code null}
+     */
+    protected abstract P prepare(PublicationSpec publication);
+
+    /**
+     * Executes the publishing workflow of a single publication.
      * <p>
      * Implementations must provide the complete logic required to:
      * <ul>
@@ -64,10 +423,14 @@ public abstract class Publisher {
      *     <li>send requests to the remote API</li>
      *     <li>handle failures and log results</li>
      * </ul>
+     * Implementations may be called concurrently for different publications.
      *
-     * <p>This method is expected to be invoked from a Gradle task or
-     * another orchestrator responsible for running publishing actions.
+     * @param publication the publication to publish
+     * @param prepared    the artifacts prepared for the publication by {@link #prepare(PublicationSpec)}
+     * @param index       the game version index shared by all publications
+     * @return the IDs the platform assigned to the published version or files, or {@code null}
+     * if the publication was rejected before anything was uploaded
      */
-    public abstract void publish();
+    @Nullable
+    protected abstract List<String> publish(PublicationSpec publication, P prepared, GameVersionIndex index);
 }
-
@@ -3,6 +3,7 @@ package io.github.smootheez;
 import lombok.*;
 import org.gradle.api.*;
 import org.gradle.api.model.*;
+import org.gradle.api.provider.*;
 
 /**
  * Base configuration class for all publisher integrations (e.g., Modrinth, CurseForge).
@@ -17,20 +18,25 @@ import org.gradle.api.model.*;
  * @param <S> the identifier type for declaring a dependency (e.g., String slug or project ID)
  */
 @Getter
-@Setter
 public abstract class PublisherConfig<T, S> {
 
     /**
      * The authentication token used when publishing.
      * This value is required for all publishing operations.
      */
-    private String token;
+    private final Property<String> token;
 
     /**
      * The platform-specific project identifier.
      * This is required to associate uploaded files with the correct project.
      */
-    private String projectId;
+    private final Property<String> projectId;
+
+    /**
+     * Base URL of the platform's API. Defaults to the public API of the platform; may point at
+     * a stand-in server to test or benchmark publishing without reaching the platform.
+     */
+    private final Property<String> apiUrl;
 
     /**
      * Container holding all declared dependency relationships for this publisher,
@@ -39,15 +45,28 @@ public abstract class PublisherConfig<T, S> {
     protected final NamedDomainObjectContainer<T> dependencies;
 
     /**
-     * Creates a new publisher configuration and initializes the dependency container.
+     * Creates a new publisher configuration and initializes its properties and dependency container.
      *
      * @param objects        the Gradle object factory
      * @param dependencyType the class representing the dependency model type
+     * @param platform       the platform configured by this block
      */
-    protected PublisherConfig(ObjectFactory objects, Class<T> dependencyType) {
+    protected PublisherConfig(ObjectFactory objects, Class<T> dependencyType, Platform platform) {
+        this.token = objects.property(String.class);
+        this.projectId = objects.property(String.class);
+        this.apiUrl = objects.property(String.class).convention(platform.getApiUrl());
         this.dependencies = objects.domainObjectContainer(dependencyType);
     }
 
+    /**
+     * Returns the configured API base URL without trailing slashes.
+     *
+     * @return the API base URL
+     */
+    public String apiBaseUrl() {
+        return apiUrl.get().trim().replaceAll("/+$", "");
+    }
+
     /**
      * Provides access to the dependency container for modification.
      *
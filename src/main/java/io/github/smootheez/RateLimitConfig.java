@@ -0,0 +1,49 @@
+package io.github.smootheez;
+
+import lombok.*;
+import org.gradle.api.model.*;
+import org.gradle.api.provider.*;
+
+import javax.inject.*;
+
+/**
+ * Configuration of the build-wide limits applied to platform API traffic.
+ * <p>
+ * The limits are shared by every project publishing in the same build, so running many
+ * publishing tasks in parallel never exceeds the rates accepted by the platforms. Because
+ * the limiter is created once per build, the values of the first project whose publishing
+ * task runs apply to the whole build.
+ */
+@Getter
+public class RateLimitConfig {
+
+    /**
+     * Maximum number of requests sent to Modrinth per minute.
+     * Defaults to {@link Constants#MODRINTH_REQUESTS_PER_MINUTE}.
+     */
+    private final Property<Integer> modrinthRequestsPerMinute;
+
+    /**
+     * Maximum number of requests sent to CurseForge per minute.
+     * Defaults to {@link Constants#CURSEFORGE_REQUESTS_PER_MINUTE}.
+     */
+    private final Property<Integer> curseforgeRequestsPerMinute;
+
+    /**
+     * Maximum number of file uploads running at the same time against a single platform.
+     * Defaults to {@link Constants#MAX_CONCURRENT_UPLOADS}.
+     */
+    private final Property<Integer> maxConcurrentUploads;
+
+    /**
+     * Creates the rate limit configuration with its default values.
+     *
+     * @param objects Gradle object factory used to create the properties
+     */
+    @Inject
+    public RateLimitConfig(ObjectFactory objects) {
+        this.modrinthRequestsPerMinute = objects.property(Integer.class).convention(Constants.MODRINTH_REQUESTS_PER_MINUTE);
+        this.curseforgeRequestsPerMinute = objects.property(Integer.class).convention(Constants.CURSEFORGE_REQUESTS_PER_MINUTE);
+        this.maxConcurrentUploads = objects.property(Integer.class).convention(Constants.MAX_CONCURRENT_UPLOADS);
+    }
+}
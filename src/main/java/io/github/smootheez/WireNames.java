@@ -0,0 +1,103 @@
+package io.github.smootheez;
+
+import com.google.gson.annotations.*;
+
+import java.util.*;
+
+/**
+ * JSON names of the components of a platform payload record, as declared by their
+ * {@link SerializedName} annotations.
+ * <p>
+ * The hand-written type adapters of the platform payloads look their names up here instead of
+ * repeating them, so the annotations stay the single place the wire format is declared. The
+ * annotations are read once, when an adapter factory is loaded; reading and writing payloads
+ * involves no reflection.
+ */
+public final class WireNames {
+
+    /** JSON names keyed by component name. */
+    private final Map<String, String> names;
+
+    /** Component names keyed by JSON name. */
+    private final Map<String, String> components;
+
+    /**
+     * Creates the names of a record.
+     *
+     * @param names JSON names keyed by component name
+     */
+    private WireNames(Map<String, String> names) {
+        this.names = names;
+        this.components = new HashMap<>();
+        names.forEach((component, name) -> components.put(name, component));
+    }
+
+    /**
+     * Reads the JSON names of the components of a record.
+     * <p>
+     * {@link SerializedName} does not target record components, so the annotations are read from
+     * the fields backing them, as Gson does.
+     *
+     * @param type the record type
+     * @return the names of its components
+     */
+    public static WireNames of(Class<? extends Record> type) {
+        var names = new HashMap<String, String>();
+        for (var component : type.getRecordComponents()) {
+            names.put(component.getName(), name(type, component.getName()));
+        }
+        return new WireNames(names);
+    }
+
+    /**
+     * Reads the JSON names of the constants of an enum.
+     *
+     * @param type the enum type
+     * @param <E>  the enum type
+     * @return the JSON name of every constant
+     */
+    public static <E extends Enum<E>> Map<E, String> constants(Class<E> type) {
+        var names = new EnumMap<E, String>(type);
+        for (var constant : type.getEnumConstants()) names.put(constant, name(type, constant.name()));
+        return names;
+    }
+
+    /**
+     * Returns the JSON name of a field.
+     *
+     * @param type  the class declaring the field
+     * @param field the field name
+     * @return the {@link SerializedName} of the field, or its name if it is not annotated
+     */
+    private static String name(Class<?> type, String field) {
+        try {
+            var annotation = type.getDeclaredField(field).getAnnotation(SerializedName.class);
+            return annotation == null ? field : annotation.value();
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(type.getName() + " has no field " + field, e);
+        }
+    }
+
+    /**
+     * Returns the JSON name of a component.
+     *
+     * @param component the component name
+     * @return the name the component is serialized as
+     * @throws IllegalArgumentException if the record has no such component
+     */
+    public String name(String component) {
+        var name = names.get(component);
+        if (name == null) throw new IllegalArgumentException("Unknown record component: " + component);
+        return name;
+    }
+
+    /**
+     * Returns the component serialized under a JSON name.
+     *
+     * @param name the JSON name
+     * @return the component name, or an empty string if no component is serialized under that name
+     */
+    public String component(String name) {
+        return components.getOrDefault(name, "");
+    }
+}
@@ -0,0 +1,261 @@
+package io.github.smootheez.cache;
+
+import io.github.smootheez.*;
+import io.github.smootheez.exception.*;
+import okhttp3.*;
+import okio.Okio;
+import org.gradle.api.logging.*;
+
+import javax.annotation.*;
+import java.io.*;
+import java.nio.file.*;
+import java.time.*;
+import java.util.*;
+
+/**
+ * Persistent, on-disk cache for the game version tag lists published by each platform.
+ * <p>
+ * The raw response body of every platform is stored next to a small properties file
+ * holding its {@code ETag}, {@code Last-Modified} and fetch timestamp. Lookups behave as follows:
+ * <ul>
+ *     <li>a copy younger than {@code maxAge} is returned without any network round trip</li>
+ *     <li>an older copy is revalidated with a conditional GET; {@code 304 Not Modified} reuses it</li>
+ *     <li>if the platform cannot be reached, a copy younger than {@code staleTtl} is used as a fallback</li>
+ * </ul>
+ * The platform counts as unreachable when the request fails with an I/O error or is answered with
+ * a server error or {@code 429 Too Many Requests}. Other client errors, such as a revoked token or
+ * a wrong API URL, are reported even when a cached copy exists.
+ * When {@code refresh} is set, the lists are downloaded unconditionally; cached copies then
+ * only serve as the stale fallback.
+ * <p>
+ * Lists served by an API other than the platform's public one, such as a stand-in server used
+ * in tests, are cached separately, keyed by its host and port.
+ * <p>
+ * Entries are written to a temporary file first and moved into place, so concurrent
+ * builds sharing the same Gradle user home never observe a partially written list. The
+ * temporary file is deleted if writing or moving it fails.
+ */
+public class GameVersionCache {
+
+    /** Properties key holding the {@code ETag} of the cached response. */
+    private static final String ETAG = "etag";
+
+    /** Properties key holding the {@code Last-Modified} value of the cached response. */
+    private static final String LAST_MODIFIED = "lastModified";
+
+    /** Properties key holding the epoch millisecond timestamp of the last successful validation. */
+    private static final String FETCHED_AT = "fetchedAt";
+
+    /** Logger used to report cache hits, revalidations and stale fallbacks. */
+    private final Logger logger;
+
+    /** Directory holding the cached tag lists. */
+    private final Path directory;
+
+    /** Age below which a cached copy is used without contacting the platform. */
+    private final Duration maxAge;
+
+    /** Age below which a cached copy may still be used when the platform is unreachable. */
+    private final Duration staleTtl;
+
+    /** Whether the lists must be downloaded again regardless of the age of cached copies. */
+    private final boolean refresh;
+
+    /**
+     * Performs an HTTP request on behalf of the cache.
+     */
+    @FunctionalInterface
+    public interface Transport {
+
+        /**
+         * Executes the given request and returns its response.
+         *
+         * @param request the request to execute
+         * @return the response, which the caller must close
+         * @throws IOException if the request could not be executed
+         */
+        Response execute(Request request) throws IOException;
+    }
+
+    /**
+     * Creates a cache rooted in the given directory.
+     *
+     * @param logger    logger used for diagnostic output
+     * @param directory directory holding the cached tag lists
+     * @param maxAge    age below which cached copies are used without revalidation
+     * @param staleTtl  age below which cached copies may be used when the platform is unreachable
+     * @param refresh   whether the lists must be downloaded again regardless of cached copies
+     */
+    public GameVersionCache(Logger logger, Path directory, Duration maxAge, Duration staleTtl, boolean refresh) {
+        this.logger = logger;
+        this.directory = directory;
+        this.maxAge = maxAge;
+        this.staleTtl = staleTtl;
+        this.refresh = refresh;
+    }
+
+    /**
+     * Returns the cached game version tag list of the given platform, downloading
+     * or revalidating it first when required.
+     *
+     * @param platform  the platform the tag list belongs to
+     * @param request   the request fetching the full tag list
+     * @param transport the transport used to execute the request
+     * @return path of the file holding the tag list response body
+     * @throws FailedFetchGameVersionsException if the list could not be fetched and no usable copy exists,
+     *                                          or the platform rejected the request
+     */
+    public Path fetch(Platform platform, Request request, Transport transport) {
+        var key = key(platform, request.url());
+        var bodyFile = directory.resolve(key + ".json");
+        var metaFile = directory.resolve(key + ".properties");
+        var meta = readMeta(bodyFile, metaFile);
+
+        if (!refresh && meta != null && age(meta).compareTo(maxAge) < 0) {
+            logger.info("Using cached {} game versions from {}", platform.getId(), bodyFile);
+            return bodyFile;
+        }
+
+        var conditional = request.newBuilder();
+        if (!refresh && meta != null) {
+            var etag = meta.getProperty(ETAG);
+            var lastModified = meta.getProperty(LAST_MODIFIED);
+            if (etag != null) conditional.header("If-None-Match", etag);
+            if (lastModified != null) conditional.header("If-Modified-Since", lastModified);
+        }
+
+        try (var response = transport.execute(conditional.build())) {
+            if (response.code() == 304 && !refresh && meta != null) {
+                logger.info("Cached {} game versions are still valid", platform.getId());
+                writeMeta(metaFile, meta.getProperty(ETAG), meta.getProperty(LAST_MODIFIED));
+                return bodyFile;
+            }
+
+            if (!response.isSuccessful()) {
+                var reason = response.code() + " - " + response.message() + " - BODY: " + response.body().string();
+                if (!unavailable(response.code())) {
+                    throw new FailedFetchGameVersionsException("Failed to fetch game versions: " + reason);
+                }
+                return fallback(platform, meta, bodyFile, reason);
+            }
+
+            Files.createDirectories(directory);
+            var temp = Files.createTempFile(directory, platform.getId(), ".tmp");
+            try {
+                try (var sink = Okio.buffer(Okio.sink(temp))) {
+                    sink.writeAll(response.body().source());
+                }
+                Files.move(temp, bodyFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            writeMeta(metaFile, response.header("ETag"), response.header("Last-Modified"));
+
+            logger.info("Downloaded {} game versions to {}", platform.getId(), bodyFile);
+            return bodyFile;
+        } catch (IOException e) {
+            return fallback(platform, meta, bodyFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the name under which the tag list of a platform is cached.
+     *
+     * @param platform the platform the tag list belongs to
+     * @param url      the URL the tag list is fetched from
+     * @return the platform ID, suffixed with the host and port of a non-public API
+     */
+    static String key(Platform platform, HttpUrl url) {
+        var publicApi = HttpUrl.get(platform.getApiUrl());
+        if (url.host().equals(publicApi.host()) && url.port() == publicApi.port()) return platform.getId();
+        return platform.getId() + "-" + url.host().replaceAll("[^A-Za-z0-9.-]", "_") + "-" + url.port();
+    }
+
+    /**
+     * Returns whether an error status means the platform is temporarily unable to answer, in
+     * which case a stale cached copy may be used instead.
+     *
+     * @param code the status code of the response
+     * @return {@code true} for server errors and {@code 429 Too Many Requests}
+     */
+    private static boolean unavailable(int code) {
+        return code >= 500 || code == 429;
+    }
+
+    /**
+     * Returns the cached copy if it is still within the stale TTL, otherwise fails.
+     *
+     * @param platform the platform the tag list belongs to
+     * @param meta     metadata of the cached copy, or {@code null} if there is none
+     * @param bodyFile file holding the cached copy
+     * @param reason   description of why the platform could not provide a fresh list
+     * @return path of the stale cached copy
+     * @throws FailedFetchGameVersionsException if no usable cached copy exists
+     */
+    private Path fallback(Platform platform, @Nullable Properties meta, Path bodyFile, String reason) {
+        if (meta == null || age(meta).compareTo(staleTtl) >= 0) {
+            throw new FailedFetchGameVersionsException("Failed to fetch game versions: " + reason);
+        }
+
+        logger.warn("Failed to refresh {} game versions ({}), using cached copy from {} ago",
+                platform.getId(), reason, age(meta));
+        return bodyFile;
+    }
+
+    /**
+     * Computes how long ago the cached copy was last validated.
+     *
+     * @param meta metadata of the cached copy
+     * @return the age of the cached copy
+     */
+    private static Duration age(Properties meta) {
+        var fetchedAt = Long.parseLong(meta.getProperty(FETCHED_AT, "0"));
+        return Duration.between(Instant.ofEpochMilli(fetchedAt), Instant.now());
+    }
+
+    /**
+     * Reads the metadata of a cached copy.
+     *
+     * @param bodyFile file holding the cached response body
+     * @param metaFile file holding the cached metadata
+     * @return the metadata, or {@code null} if no complete cached copy exists
+     */
+    @Nullable
+    private static Properties readMeta(Path bodyFile, Path metaFile) {
+        if (!Files.isRegularFile(bodyFile) || !Files.isRegularFile(metaFile)) return null;
+
+        try (var reader = Files.newBufferedReader(metaFile)) {
+            var meta = new Properties();
+            meta.load(reader);
+            return meta;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Records the validators of a freshly validated copy together with the current time.
+     *
+     * @param metaFile     file holding the cached metadata
+     * @param etag         the {@code ETag} response header, if any
+     * @param lastModified the {@code Last-Modified} response header, if any
+     * @throws IOException if the metadata could not be written
+     */
+    private void writeMeta(Path metaFile, @Nullable String etag, @Nullable String lastModified) throws IOException {
+        var meta = new Properties();
+        if (etag != null) meta.setProperty(ETAG, etag);
+        if (lastModified != null) meta.setProperty(LAST_MODIFIED, lastModified);
+        meta.setProperty(FETCHED_AT, Long.toString(System.currentTimeMillis()));
+
+        Files.createDirectories(directory);
+        var temp = Files.createTempFile(directory, metaFile.getFileName().toString(), ".tmp");
+        try {
+            try (var writer = Files.newBufferedWriter(temp)) {
+                meta.store(writer, null);
+            }
+            Files.move(temp, metaFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package io.github.smootheez.cache;
+
+import io.github.smootheez.*;
+import io.github.smootheez.exception.*;
+import okhttp3.*;
+import org.gradle.api.logging.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.*;
+
+/**
+ * Persistent, on-disk mapping between the slugs and IDs of projects on each platform.
+ * <p>
+ * Dependencies may be declared by slug or by ID, while each platform expects one of the two
+ * forms. Identifiers are resolved through the cache: those it already knows are answered from
+ * disk, and all others are handed to a single batched {@link Lookup}, whose results are stored
+ * for later builds. Identifiers the lookup does not find are left to the caller to report and are
+ * never cached, so a corrected typo is looked up again. Slugs and IDs of a project rarely change,
+ * so entries never expire; the {@code refresh} flag ignores them and looks every identifier up again.
+ * <p>
+ * Mappings are stored in one properties file per platform and API host, so a stand-in server
+ * never pollutes the mappings of the public API. Files are written to a temporary file first and
+ * moved into place, so concurrent builds sharing the same Gradle user home never observe a
+ * partially written mapping, and the temporary file is deleted if writing or moving it fails.
+ */
+public class ProjectIdCache {
+
+    /** Logger used to report cache hits and lookups. */
+    private final Logger logger;
+
+    /** Directory holding the cached mappings. */
+    private final Path directory;
+
+    /** Whether cached mappings must be ignored and looked up again. */
+    private final boolean refresh;
+
+    /**
+     * Locks serializing the resolutions sharing a mapping file, keyed by file. Explicit locks are
+     * used instead of monitors, so a virtual thread blocked in a lookup does not pin its carrier.
+     */
+    private final Map<Path, Lock> locks = new ConcurrentHashMap<>();
+
+    /**
+     * Looks up projects on a platform on behalf of the cache.
+     */
+    @FunctionalInterface
+    public interface Lookup {
+
+        /**
+         * Resolves the given identifiers with a single request.
+         *
+         * @param identifiers the identifiers to resolve
+         * @return the resolved form of every identifier found, keyed by identifier; may contain
+         * additional aliases of the found projects, which are cached as well
+         * @throws IOException if the platform could not be reached
+         */
+        Map<String, String> lookup(Set<String> identifiers) throws IOException;
+    }
+
+    /**
+     * Creates a cache rooted in the given directory.
+     *
+     * @param logger    logger used for diagnostic output
+     * @param directory directory holding the cached mappings
+     * @param refresh   whether cached mappings must be ignored and looked up again
+     */
+    public ProjectIdCache(Logger logger, Path directory, boolean refresh) {
+        this.logger = logger;
+        this.directory = directory;
+        this.refresh = refresh;
+    }
+
+    /**
+     * Resolves identifiers of projects on a platform, looking up those the cache does not know
+     * with a single call to the lookup. Resolutions of different platforms may run concurrently.
+     *
+     * @param platform    the platform the projects belong to
+     * @param apiUrl      the base URL of the API the projects are looked up on
+     * @param identifiers the identifiers to resolve
+     * @param lookup      the lookup resolving unknown identifiers
+     * @return the resolved form of every identifier known to the cache or found by the lookup, keyed by identifier
+     * @throws FailedResolveProjectsException if the lookup failed
+     */
+    public Map<String, String> resolve(Platform platform, HttpUrl apiUrl, Set<String> identifiers, Lookup lookup) {
+        var file = directory.resolve(key(platform, apiUrl) + ".properties");
+        var lock = locks.computeIfAbsent(file, key -> new ReentrantLock());
+        lock.lock();
+        try {
+            return resolve(platform, file, identifiers, lookup);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Resolves identifiers of projects through a mapping file, holding the file's lock.
+     *
+     * @param platform    the platform the projects belong to
+     * @param file        file holding the mappings
+     * @param identifiers the identifiers to resolve
+     * @param lookup      the lookup resolving unknown identifiers
+     * @return the resolved form of every identifier known to the cache or found by the lookup, keyed by identifier
+     * @throws FailedResolveProjectsException if the lookup failed
+     */
+    private Map<String, String> resolve(Platform platform, Path file, Set<String> identifiers, Lookup lookup) {
+        var mappings = refresh ? new Properties() : read(file);
+
+        var resolved = new LinkedHashMap<String, String>();
+        var unresolved = new TreeSet<String>();
+        for (var identifier : identifiers) {
+            var value = mappings.getProperty(identifier);
+            if (value != null) {
+                resolved.put(identifier, value);
+            } else {
+                unresolved.add(identifier);
+            }
+        }
+        if (unresolved.isEmpty()) {
+            logger.info("Resolved {} {} projects from {}", resolved.size(), platform.getId(), file);
+            return resolved;
+        }
+
+        Map<String, String> found;
+        try {
+            found = lookup.lookup(unresolved);
+        } catch (IOException e) {
+            throw new FailedResolveProjectsException("Failed to resolve " + platform.getId() + " projects "
+                    + unresolved + ": " + e.getMessage());
+        }
+        logger.info("Looked up {} {} projects: {}", unresolved.size(), platform.getId(), unresolved);
+
+        for (var identifier : unresolved) {
+            var value = found.get(identifier);
+            if (value != null) resolved.put(identifier, value);
+        }
+
+        // Mappings are merged into the latest file, so concurrent builds only risk a repeated lookup
+        var merged = read(file);
+        found.forEach(merged::setProperty);
+        try {
+            write(file, merged);
+        } catch (IOException e) {
+            logger.warn("Failed to cache {} project IDs in {}: {}", platform.getId(), file, e.getMessage());
+        }
+        return resolved;
+    }
+
+    /**
+     * Returns the name under which the mappings of a platform are cached.
+     *
+     * @param platform the platform the projects belong to
+     * @param apiUrl   the base URL of the API the projects are looked up on
+     * @return the platform ID, suffixed with the host of the API and any non-default port
+     */
+    static String key(Platform platform, HttpUrl apiUrl) {
+        var key = platform.getId() + "-" + apiUrl.host().replaceAll("[^A-Za-z0-9.-]", "_");
+        return apiUrl.port() == HttpUrl.defaultPort(apiUrl.scheme()) ? key : key + "-" + apiUrl.port();
+    }
+
+    /**
+     * Reads the cached mappings of a platform.
+     *
+     * @param file file holding the mappings
+     * @return the mappings, empty if none could be read
+     */
+    private static Properties read(Path file) {
+        var mappings = new Properties();
+        if (!Files.isRegularFile(file)) return mappings;
+
+        try (var reader = Files.newBufferedReader(file)) {
+            mappings.load(reader);
+        } catch (IOException e) {
+            mappings.clear();
+        }
+        return mappings;
+    }
+
+    /**
+     * Replaces the cached mappings of a platform.
+     *
+     * @param file     file holding the mappings
+     * @param mappings the mappings to store
+     * @throws IOException if the mappings could not be written
+     */
+    private void write(Path file, Properties mappings) throws IOException {
+        Files.createDirectories(directory);
+        var temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (var writer = Files.newBufferedWriter(temp)) {
+                mappings.store(writer, null);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.smootheez.concurrent;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Executor starting a new thread for every task, of which at most a fixed number run at the same time.
+ * <p>
+ * Every task gets its own thread from the underlying thread-per-task executor and first waits for
+ * a permit, granted in submission order. Waiting is cheap on virtual threads, so tasks are never
+ * queued behind a shared pool of carrier threads, while the number of concurrent platform
+ * operations stays bounded. A task whose thread is interrupted while waiting for a permit is
+ * cancelled without running.
+ */
+final class BoundedExecutor extends AbstractExecutorService {
+
+    /** Executor starting a new thread for every task. */
+    private final ExecutorService threads;
+
+    /** Permits of the tasks allowed to run at the same time. */
+    private final Semaphore permits;
+
+    /**
+     * Creates a bounded executor.
+     *
+     * @param threads     executor starting a new thread for every task
+     * @param parallelism maximum number of tasks running at the same time
+     */
+    BoundedExecutor(ExecutorService threads, int parallelism) {
+        this.threads = threads;
+        this.permits = new Semaphore(parallelism, true);
+    }
+
+    /**
+     * Starts a thread running the task as soon as a permit is available.
+     *
+     * @param task the task
+     */
+    @Override
+    public void execute(Runnable task) {
+        threads.execute(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                if (task instanceof Future<?> future) future.cancel(false);
+                return;
+            }
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    /**
+     * Stops accepting tasks, letting the started ones complete.
+     */
+    @Override
+    public void shutdown() {
+        threads.shutdown();
+    }
+
+    /**
+     * Stops accepting tasks and interrupts every started one, including those waiting for a permit.
+     *
+     * @return an empty list, since every accepted task already has its own thread
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        return threads.shutdownNow();
+    }
+
+    /**
+     * Returns whether the executor was shut down.
+     *
+     * @return {@code true} once shut down
+     */
+    @Override
+    public boolean isShutdown() {
+        return threads.isShutdown();
+    }
+
+    /**
+     * Returns whether every task has completed after a shutdown.
+     *
+     * @return {@code true} once terminated
+     */
+    @Override
+    public boolean isTerminated() {
+        return threads.isTerminated();
+    }
+
+    /**
+     * Waits for every task to complete after a shutdown.
+     *
+     * @param timeout maximum time to wait
+     * @param unit    unit of the timeout
+     * @return {@code true} if the executor terminated, {@code false} if the timeout elapsed first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return threads.awaitTermination(timeout, unit);
+    }
+}
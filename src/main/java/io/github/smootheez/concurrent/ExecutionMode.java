@@ -0,0 +1,124 @@
+package io.github.smootheez.concurrent;
+
+import javax.annotation.*;
+import java.lang.reflect.*;
+import java.util.concurrent.*;
+
+/**
+ * Kind of threads the {@link ParallelExecutor} runs operations on.
+ * <p>
+ * Virtual threads are only available on JDK 21 and later. The plugin itself targets older
+ * runtimes, so they and their thread-per-task executor are created through reflection, and
+ * {@link #of(boolean)} falls back to platform threads on runtimes that do not provide them.
+ */
+public enum ExecutionMode {
+
+    /** Operations run on daemon platform threads. */
+    PLATFORM,
+
+    /** Operations run on virtual threads, which are cheap to block in I/O. */
+    VIRTUAL;
+
+    /** Factory of unnamed virtual threads, or {@code null} if the runtime does not support them. */
+    @Nullable
+    private static final ThreadFactory VIRTUAL_THREADS = virtualThreadFactory();
+
+    /** {@code Executors.newThreadPerTaskExecutor}, or {@code null} if the runtime does not provide it. */
+    @Nullable
+    private static final Method THREAD_PER_TASK_EXECUTOR = threadPerTaskExecutor();
+
+    /**
+     * Returns the mode to use for the requested kind of threads.
+     *
+     * @param virtualThreads whether virtual threads are requested
+     * @return {@link #VIRTUAL} if virtual threads are requested and supported, {@link #PLATFORM} otherwise
+     */
+    public static ExecutionMode of(boolean virtualThreads) {
+        return virtualThreads && VIRTUAL.isSupported() ? VIRTUAL : PLATFORM;
+    }
+
+    /**
+     * Returns whether the running JVM supports this mode.
+     *
+     * @return {@code true} if threads of this mode can be created
+     */
+    public boolean isSupported() {
+        return this == PLATFORM || (VIRTUAL_THREADS != null && THREAD_PER_TASK_EXECUTOR != null);
+    }
+
+    /**
+     * Creates an unstarted thread of this mode.
+     *
+     * @param task the task run by the thread
+     * @return the thread
+     * @throws UnsupportedOperationException if the running JVM does not support this mode
+     */
+    Thread newThread(Runnable task) {
+        return switch (this) {
+            case PLATFORM -> new Thread(task);
+            case VIRTUAL -> {
+                if (VIRTUAL_THREADS == null) {
+                    throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+                }
+                yield VIRTUAL_THREADS.newThread(task);
+            }
+        };
+    }
+
+    /**
+     * Creates the executor running operations of this mode, at most {@code parallelism} at a time.
+     * <p>
+     * Platform threads are pooled, so queued operations wait for a pool thread to be free. Virtual
+     * threads are not: every operation is started on its own virtual thread, which waits for one of
+     * the {@code parallelism} permits of a {@link BoundedExecutor}.
+     *
+     * @param parallelism maximum number of operations running at the same time
+     * @param threads     factory of the threads of this mode, as created by {@link #newThread(Runnable)}
+     * @return the executor
+     * @throws UnsupportedOperationException if the running JVM does not support this mode
+     */
+    ExecutorService newExecutor(int parallelism, ThreadFactory threads) {
+        return switch (this) {
+            case PLATFORM -> Executors.newFixedThreadPool(parallelism, threads);
+            case VIRTUAL -> {
+                if (THREAD_PER_TASK_EXECUTOR == null) {
+                    throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+                }
+                try {
+                    yield new BoundedExecutor((ExecutorService) THREAD_PER_TASK_EXECUTOR.invoke(null, threads), parallelism);
+                } catch (ReflectiveOperationException e) {
+                    throw new UnsupportedOperationException("Cannot create a thread-per-task executor", e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Looks up the virtual thread factory of the running JVM, {@code Thread.ofVirtual().factory()}.
+     *
+     * @return the factory, or {@code null} if the runtime does not support virtual threads
+     */
+    @Nullable
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            var builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Looks up {@code Executors.newThreadPerTaskExecutor(ThreadFactory)} in the running JVM.
+     *
+     * @return the method, or {@code null} if the runtime does not provide it
+     */
+    @Nullable
+    private static Method threadPerTaskExecutor() {
+        try {
+            return Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        } catch (NoSuchMethodException | RuntimeException e) {
+            return null;
+        }
+    }
+}
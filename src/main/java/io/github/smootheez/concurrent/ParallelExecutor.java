@@ -0,0 +1,397 @@
+package io.github.smootheez.concurrent;
+
+import io.github.smootheez.exception.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+/**
+ * Runs independent publishing operations concurrently, a bounded number at a time.
+ * <p>
+ * Operations run on a pool of platform threads unless an {@link ExecutionMode} is given. In
+ * {@link ExecutionMode#VIRTUAL} mode every operation is started on its own virtual thread and
+ * waits for one of a fixed number of permits, so operations blocked in HTTP calls do not hold on
+ * to platform threads; the bound on concurrently running operations is the same in both modes.
+ * <p>
+ * Every invocation forms a scope: it returns only once all of its operations have stopped. If
+ * the calling thread is interrupted while waiting, every operation is cancelled, interrupting
+ * those already running, and the invocation waits for them to stop before it fails. Operations
+ * blocked in calls that ignore interrupts therefore delay the failure until those calls return.
+ * <p>
+ * Every operation is allowed to finish, even if others fail. Once all of them have
+ * completed, their failures are reported together in a single
+ * {@link FailedPublishException}, with each original exception attached as suppressed.
+ * <p>
+ * Operations that depend on each other can be run with
+ * {@link #invokeInDependencyOrder(int, Map, Map)}, which starts every operation as soon as all of
+ * its dependencies have succeeded and skips the operations whose dependencies failed. Two stages
+ * of a pipeline can be overlapped with {@link #invokeBoth(String, Callable, String, Callable, BiFunction)},
+ * which runs one of them on the calling thread.
+ */
+public final class ParallelExecutor {
+
+    /** Prefix of the names given to worker threads. */
+    private static final String THREAD_NAME = "mc-mod-publisher-";
+
+    /** Counter used to give worker threads unique names. */
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    /** Prevents instantiation of this utility class. */
+    private ParallelExecutor() {}
+
+    /**
+     * Runs the given operations concurrently on platform threads and waits for all of them to complete.
+     *
+     * @param parallelism maximum number of operations running at the same time
+     * @param tasks       operations keyed by a label used in failure reports, in submission order
+     * @param <T>         result type of the operations
+     * @return the results of the operations, keyed by label in submission order
+     * @throws FailedPublishException if at least one operation failed
+     */
+    public static <T> Map<String, T> invokeAll(int parallelism, Map<String, Callable<T>> tasks) {
+        return invokeAll(ExecutionMode.PLATFORM, parallelism, tasks);
+    }
+
+    /**
+     * Runs the given operations concurrently and waits for all of them to complete.
+     *
+     * @param mode        kind of threads the operations run on
+     * @param parallelism maximum number of operations running at the same time
+     * @param tasks       operations keyed by a label used in failure reports, in submission order
+     * @param <T>         result type of the operations
+     * @return the results of the operations, keyed by label in submission order
+     * @throws FailedPublishException if at least one operation failed
+     */
+    public static <T> Map<String, T> invokeAll(ExecutionMode mode, int parallelism, Map<String, Callable<T>> tasks) {
+        if (tasks.isEmpty()) return Map.of();
+
+        var executor = newExecutor(mode, parallelism, tasks.size());
+        try {
+            var futures = new LinkedHashMap<String, Future<T>>();
+            tasks.forEach((label, task) -> futures.put(label, executor.submit(task)));
+
+            var results = new LinkedHashMap<String, T>();
+            var failures = new LinkedHashMap<String, Throwable>();
+            for (var entry : futures.entrySet()) {
+                try {
+                    results.put(entry.getKey(), entry.getValue().get());
+                } catch (ExecutionException e) {
+                    failures.put(entry.getKey(), e.getCause());
+                } catch (InterruptedException e) {
+                    throw interrupted(futures.values());
+                }
+            }
+
+            if (!failures.isEmpty()) {
+                throw failure(tasks.size(), failures);
+            }
+
+            return results;
+        } finally {
+            close(executor);
+        }
+    }
+
+    /**
+     * Runs two independent operations concurrently, the first on a platform worker thread and
+     * the second on the calling thread, and combines their results once both have completed.
+     *
+     * @param firstLabel  label of the first operation, used in failure reports
+     * @param first       the operation run on a worker thread
+     * @param secondLabel label of the second operation, used in failure reports
+     * @param second      the operation run on the calling thread
+     * @param combiner    combines the results of both operations
+     * @param <A>         result type of the first operation
+     * @param <B>         result type of the second operation
+     * @param <R>         result type of the combiner
+     * @return the result of the combiner
+     * @throws FailedPublishException if at least one operation failed
+     * @see #invokeBoth(ExecutionMode, String, Callable, String, Callable, BiFunction)
+     */
+    public static <A, B, R> R invokeBoth(String firstLabel, Callable<A> first, String secondLabel, Callable<B> second,
+                                         BiFunction<A, B, R> combiner) {
+        return invokeBoth(ExecutionMode.PLATFORM, firstLabel, first, secondLabel, second, combiner);
+    }
+
+    /**
+     * Runs two independent operations concurrently, the first on a worker thread and the second
+     * on the calling thread, and combines their results once both have completed.
+     * <p>
+     * As with {@link #invokeAll(int, Map)}, both operations are allowed to finish even if the
+     * other one fails, and their failures are reported together. The combiner only runs if both
+     * operations succeeded.
+     *
+     * @param mode        kind of thread the first operation runs on
+     * @param firstLabel  label of the first operation, used in failure reports
+     * @param first       the operation run on a worker thread
+     * @param secondLabel label of the second operation, used in failure reports
+     * @param second      the operation run on the calling thread
+     * @param combiner    combines the results of both operations
+     * @param <A>         result type of the first operation
+     * @param <B>         result type of the second operation
+     * @param <R>         result type of the combiner
+     * @return the result of the combiner
+     * @throws FailedPublishException if at least one operation failed
+     */
+    public static <A, B, R> R invokeBoth(ExecutionMode mode, String firstLabel, Callable<A> first,
+                                         String secondLabel, Callable<B> second, BiFunction<A, B, R> combiner) {
+        var executor = newExecutor(mode, 1, 1);
+        try {
+            var future = executor.submit(first);
+
+            B secondResult = null;
+            Throwable secondFailure = null;
+            try {
+                secondResult = second.call();
+            } catch (Exception e) {
+                secondFailure = e;
+            }
+
+            A firstResult = null;
+            var failures = new LinkedHashMap<String, Throwable>();
+            try {
+                firstResult = future.get();
+            } catch (ExecutionException e) {
+                failures.put(firstLabel, e.getCause());
+            } catch (InterruptedException e) {
+                throw interrupted(List.of(future));
+            }
+            if (secondFailure != null) {
+                failures.put(secondLabel, secondFailure);
+            }
+
+            if (!failures.isEmpty()) {
+                throw failure(2, failures);
+            }
+
+            return combiner.apply(firstResult, secondResult);
+        } finally {
+            close(executor);
+        }
+    }
+
+    /**
+     * Runs the given operations concurrently on platform threads, in dependency order.
+     *
+     * @param parallelism  maximum number of operations running at the same time
+     * @param tasks        operations keyed by a label used in failure reports, in submission order
+     * @param dependencies labels of the operations every operation depends on, keyed by its label
+     * @param <T>          result type of the operations
+     * @return the results of the operations, keyed by label in submission order
+     * @throws FailedPublishException if the dependencies form a cycle or at least one operation failed
+     * @see #invokeInDependencyOrder(ExecutionMode, int, Map, Map)
+     */
+    public static <T> Map<String, T> invokeInDependencyOrder(int parallelism,
+                                                            Map<String, Callable<T>> tasks,
+                                                            Map<String, Set<String>> dependencies) {
+        return invokeInDependencyOrder(ExecutionMode.PLATFORM, parallelism, tasks, dependencies);
+    }
+
+    /**
+     * Runs the given operations concurrently, starting each one only after all of its
+     * dependencies have completed successfully, and waits for all of them to complete.
+     * <p>
+     * Operations whose dependencies failed are not run; they are reported as failed, naming
+     * the dependency that caused them to be skipped. Dependencies on labels that are not
+     * part of {@code tasks} are ignored.
+     *
+     * @param mode         kind of threads the operations run on
+     * @param parallelism  maximum number of operations running at the same time
+     * @param tasks        operations keyed by a label used in failure reports, in submission order
+     * @param dependencies labels of the operations every operation depends on, keyed by its label
+     * @param <T>          result type of the operations
+     * @return the results of the operations, keyed by label in submission order
+     * @throws FailedPublishException if the dependencies form a cycle or at least one operation failed
+     */
+    public static <T> Map<String, T> invokeInDependencyOrder(ExecutionMode mode,
+                                                            int parallelism,
+                                                            Map<String, Callable<T>> tasks,
+                                                            Map<String, Set<String>> dependencies) {
+        if (tasks.isEmpty()) return Map.of();
+
+        // Count the pending dependencies of every operation and record who waits on whom
+        var pending = new HashMap<String, Integer>();
+        var dependents = new HashMap<String, List<String>>();
+        for (var label : tasks.keySet()) {
+            var count = 0;
+            for (var dependency : dependencies.getOrDefault(label, Set.of())) {
+                if (dependency.equals(label) || !tasks.containsKey(dependency)) continue;
+                dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(label);
+                count++;
+            }
+            pending.put(label, count);
+        }
+        checkAcyclic(tasks.keySet(), pending, dependents);
+
+        var executor = newExecutor(mode, parallelism, tasks.size());
+        try {
+            var completion = new ExecutorCompletionService<T>(executor);
+            var running = new HashMap<Future<T>, String>();
+            for (var label : tasks.keySet()) {
+                if (pending.get(label) == 0) running.put(completion.submit(tasks.get(label)), label);
+            }
+
+            var results = new HashMap<String, T>();
+            var failures = new HashMap<String, Throwable>();
+            while (!running.isEmpty()) {
+                Future<T> future;
+                try {
+                    future = completion.take();
+                } catch (InterruptedException e) {
+                    throw interrupted(running.keySet());
+                }
+
+                var label = running.remove(future);
+                try {
+                    results.put(label, future.get());
+                } catch (ExecutionException e) {
+                    failures.put(label, e.getCause());
+                    skipDependents(label, dependents, failures);
+                    continue;
+                } catch (InterruptedException e) {
+                    throw interrupted(running.keySet());
+                }
+
+                for (var dependent : dependents.getOrDefault(label, List.of())) {
+                    if (pending.merge(dependent, -1, Integer::sum) == 0 && !failures.containsKey(dependent)) {
+                        running.put(completion.submit(tasks.get(dependent)), dependent);
+                    }
+                }
+            }
+
+            if (!failures.isEmpty()) {
+                var ordered = new LinkedHashMap<String, Throwable>();
+                tasks.keySet().stream().filter(failures::containsKey).forEach(label -> ordered.put(label, failures.get(label)));
+                throw failure(tasks.size(), ordered);
+            }
+
+            var ordered = new LinkedHashMap<String, T>();
+            tasks.keySet().forEach(label -> ordered.put(label, results.get(label)));
+            return ordered;
+        } finally {
+            close(executor);
+        }
+    }
+
+    /**
+     * Verifies that the dependencies between operations do not form a cycle.
+     *
+     * @param labels     labels of all operations
+     * @param pending    number of dependencies of every operation
+     * @param dependents labels of the operations waiting on every operation
+     * @throws FailedPublishException if the dependencies form a cycle
+     */
+    private static void checkAcyclic(Set<String> labels, Map<String, Integer> pending, Map<String, List<String>> dependents) {
+        var remaining = new HashMap<>(pending);
+        var ready = new ArrayDeque<String>();
+        remaining.forEach((label, count) -> {
+            if (count == 0) ready.add(label);
+        });
+
+        var visited = 0;
+        while (!ready.isEmpty()) {
+            var label = ready.poll();
+            visited++;
+            for (var dependent : dependents.getOrDefault(label, List.of())) {
+                if (remaining.merge(dependent, -1, Integer::sum) == 0) ready.add(dependent);
+            }
+        }
+
+        if (visited < labels.size()) {
+            var cycle = labels.stream().filter(label -> remaining.get(label) > 0).toList();
+            throw new FailedPublishException("Publishing dependencies form a cycle between: " + String.join(", ", cycle));
+        }
+    }
+
+    /**
+     * Marks every operation depending, directly or transitively, on a failed operation as failed.
+     *
+     * @param failed     label of the failed operation
+     * @param dependents labels of the operations waiting on every operation
+     * @param failures   failures keyed by label, receiving the skipped operations
+     */
+    private static void skipDependents(String failed, Map<String, List<String>> dependents, Map<String, Throwable> failures) {
+        var queue = new ArrayDeque<String>();
+        queue.add(failed);
+        while (!queue.isEmpty()) {
+            var cause = queue.poll();
+            for (var dependent : dependents.getOrDefault(cause, List.of())) {
+                if (failures.containsKey(dependent)) continue;
+                failures.put(dependent, new FailedPublishException("Skipped because " + cause + " failed"));
+                queue.add(dependent);
+            }
+        }
+    }
+
+    /**
+     * Creates the executor of a single invocation, running at most {@code parallelism} operations
+     * at a time on named daemon threads of the given mode.
+     *
+     * @param mode        kind of threads the operations run on
+     * @param parallelism maximum number of operations running at the same time
+     * @param tasks       number of operations to run
+     * @return the executor
+     */
+    private static ExecutorService newExecutor(ExecutionMode mode, int parallelism, int tasks) {
+        return mode.newExecutor(Math.max(1, Math.min(parallelism, tasks)), runnable -> {
+            var thread = mode.newThread(runnable);
+            thread.setName(THREAD_NAME + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Cancels the given operations after the calling thread was interrupted.
+     *
+     * @param futures the operations that may still be running
+     * @return the exception to throw, with the interrupt status of the calling thread restored
+     */
+    private static FailedPublishException interrupted(Collection<? extends Future<?>> futures) {
+        futures.forEach(future -> future.cancel(true));
+        Thread.currentThread().interrupt();
+        return new FailedPublishException("Publishing was interrupted");
+    }
+
+    /**
+     * Shuts down the executor of an invocation and waits for all of its operations to stop, so
+     * none of them outlives the invocation. Operations still running are interrupted.
+     *
+     * @param executor the executor
+     */
+    private static void close(ExecutorService executor) {
+        executor.shutdownNow();
+        var interrupted = Thread.interrupted();
+        try {
+            while (true) {
+                try {
+                    if (executor.awaitTermination(1, TimeUnit.MINUTES)) return;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Builds a single exception describing every failed operation.
+     *
+     * @param total    total number of operations that were run
+     * @param failures failures keyed by the label of the failed operation
+     * @return the aggregated exception
+     */
+    private static FailedPublishException failure(int total, Map<String, Throwable> failures) {
+        var message = new StringBuilder()
+                .append(failures.size()).append(" of ").append(total).append(" publishing operations failed:");
+        failures.forEach((label, cause) ->
+                message.append(System.lineSeparator()).append(" - ").append(label).append(": ").append(cause.getMessage()));
+
+        var exception = new FailedPublishException(message.toString());
+        failures.values().forEach(exception::addSuppressed);
+        return exception;
+    }
+}
@@ -4,6 +4,7 @@ import io.github.smootheez.*;
 import lombok.*;
 import org.gradle.api.*;
 import org.gradle.api.model.*;
+import org.gradle.api.provider.*;
 
 import javax.inject.*;
 import java.util.*;
@@ -13,29 +14,54 @@ import java.util.*;
  * <p>
  * Extends {@link PublisherConfig} to provide CurseForge-specific options such as
  * changelog format, environment targeting, and dependency declarations.
+ * <p>
+ * Dependencies may be declared by slug, such as {@code "jei"}, or by numeric project ID, such
+ * as {@code "238222"}. CurseForge relations are declared by slug, so IDs are resolved into
+ * slugs through the CurseForge Core API before publishing, see {@link #getCoreApiToken()}.
  */
 @Getter
-@Setter
 public class CurseforgeConfig extends PublisherConfig<CurseforgeDependency, String> {
 
     /**
      * The format used when uploading the changelog to CurseForge.
      * Defaults to {@link ChangelogType#MARKDOWN}.
      */
-    private ChangelogType changelogType = ChangelogType.MARKDOWN;
+    private final Property<ChangelogType> changelogType;
 
     /**
      * The set of supported environments for this release (e.g., client, server).
      * Defaults to both {@link EnvironmentType#CLIENT} and {@link EnvironmentType#SERVER}.
      */
-    private List<EnvironmentType> environmentType =
-            List.of(EnvironmentType.CLIENT, EnvironmentType.SERVER);
+    private final SetProperty<EnvironmentType> environmentType;
+
+    /**
+     * Slug of the CurseForge project, such as {@code "my-mod"}.
+     * Optional; used to recognize dependencies between projects published by the same build,
+     * since CurseForge dependencies are declared by slug.
+     */
+    private final Property<String> slug;
 
     /**
      * Whether publishing requires manual release approval on CurseForge.
      * Defaults to {@code false}.
      */
-    private boolean manualRelease = false;
+    private final Property<Boolean> manualRelease;
+
+    /**
+     * API key of the CurseForge Core API, which is separate from the upload token.
+     * Optional; only needed to resolve dependencies declared by numeric project ID into slugs,
+     * and only while they are not in the project ID cache yet.
+     */
+    private final Property<String> coreApiToken;
+
+    /**
+     * Base URL of the CurseForge Core API, used to resolve dependencies declared by project ID.
+     * Defaults to {@value #CORE_API_URL}.
+     */
+    private final Property<String> coreApiUrl;
+
+    /** Base URL of the public CurseForge Core API. */
+    public static final String CORE_API_URL = "https://api.curseforge.com";
 
     /** Prefix applied to dependency names created for CurseForge. */
     private static final String CURSEFORGE = "curseforge-";
@@ -47,7 +73,23 @@ public class CurseforgeConfig extends PublisherConfig<CurseforgeDependency, Stri
      */
     @Inject
     public CurseforgeConfig(ObjectFactory objects) {
-        super(objects, CurseforgeDependency.class);
+        super(objects, CurseforgeDependency.class, Platform.CURSEFORGE);
+        this.changelogType = objects.property(ChangelogType.class).convention(ChangelogType.MARKDOWN);
+        this.environmentType = objects.setProperty(EnvironmentType.class)
+                .convention(List.of(EnvironmentType.CLIENT, EnvironmentType.SERVER));
+        this.slug = objects.property(String.class);
+        this.manualRelease = objects.property(Boolean.class).convention(false);
+        this.coreApiToken = objects.property(String.class);
+        this.coreApiUrl = objects.property(String.class).convention(CORE_API_URL);
+    }
+
+    /**
+     * Returns the configured Core API base URL without trailing slashes.
+     *
+     * @return the Core API base URL
+     */
+    public String coreApiBaseUrl() {
+        return coreApiUrl.get().trim().replaceAll("/+$", "");
     }
 
     /**
@@ -63,7 +105,7 @@ public class CurseforgeConfig extends PublisherConfig<CurseforgeDependency, Stri
     /**
      * Declares a required CurseForge dependency.
      *
-     * @param slug the CurseForge project slug
+     * @param slug the CurseForge project slug or numeric project ID
      * @return the created dependency entry
      */
     @Override
@@ -74,7 +116,7 @@ public class CurseforgeConfig extends PublisherConfig<CurseforgeDependency, Stri
     /**
      * Declares an optional CurseForge dependency.
      *
-     * @param slug the CurseForge project slug
+     * @param slug the CurseForge project slug or numeric project ID
      * @return the created dependency entry
      */
     @Override
@@ -85,7 +127,7 @@ public class CurseforgeConfig extends PublisherConfig<CurseforgeDependency, Stri
     /**
      * Declares an incompatible CurseForge dependency.
      *
-     * @param slug the CurseForge project slug
+     * @param slug the CurseForge project slug or numeric project ID
      * @return the created dependency entry
      */
     @Override
@@ -96,7 +138,7 @@ public class CurseforgeConfig extends PublisherConfig<CurseforgeDependency, Stri
     /**
      * Declares an embedded library dependency.
      *
-     * @param slug the CurseForge project slug
+     * @param slug the CurseForge project slug or numeric project ID
      * @return the created dependency entry
      */
     @Override
@@ -107,7 +149,7 @@ public class CurseforgeConfig extends PublisherConfig<CurseforgeDependency, Stri
     /**
      * Declares a tool dependency on CurseForge.
      *
-     * @param slug the CurseForge project slug
+     * @param slug the CurseForge project slug or numeric project ID
      * @return the created dependency entry
      */
     public CurseforgeDependency tool(String slug) {
@@ -117,7 +159,7 @@ public class CurseforgeConfig extends PublisherConfig<CurseforgeDependency, Stri
     /**
      * Creates and registers a CurseForge dependency with the given relation type.
      *
-     * @param slug the CurseForge project slug
+     * @param slug the CurseForge project slug or numeric project ID
      * @param type the dependency relation type
      * @return the created dependency instance
      */
@@ -16,7 +16,8 @@ import javax.inject.*;
 public class CurseforgeDependency {
 
     /**
-     * The CurseForge project slug that identifies the dependency target.
+     * The CurseForge project slug or numeric project ID that identifies the dependency target.
+     * Project IDs are resolved into slugs before publishing.
      */
     private String slug;
 
@@ -1,5 +1,6 @@
 package io.github.smootheez.curseforge;
 
+import com.google.gson.annotations.*;
 import lombok.*;
 
 import java.util.List;
@@ -10,10 +11,11 @@ import java.util.List;
  * @param changelog                  the changelog text for this upload
  * @param changelogType              the format used to interpret the changelog (text, markdown, html)
  * @param displayName                the display name of the uploaded file
- * @param gameVersions               numeric CurseForge game version identifiers
+ * @param gameVersions               numeric CurseForge game version identifiers; omitted for additional files
  * @param releaseType                the release channel (release, beta, alpha)
  * @param isMarkedForManualRelease   whether the upload requires manual approval
  * @param relations                  dependency relationships declared for this upload
+ * @param parentFileId               ID of the primary file this additional file belongs to, if any
  */
 @Builder
 public record CurseforgeMetadata(
@@ -30,7 +32,10 @@ public record CurseforgeMetadata(
 
         boolean isMarkedForManualRelease,
 
-        Projects relations
+        Projects relations,
+
+        @SerializedName("parentFileID")
+        Integer parentFileId
 ) { }
 
 
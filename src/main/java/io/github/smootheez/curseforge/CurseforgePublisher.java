@@ -1,13 +1,19 @@
 package io.github.smootheez.curseforge;
 
-import com.google.gson.reflect.*;
+import com.google.gson.*;
 import io.github.smootheez.*;
+import io.github.smootheez.cache.*;
+import io.github.smootheez.concurrent.*;
 import io.github.smootheez.exception.*;
+import io.github.smootheez.http.*;
+import io.github.smootheez.jfr.*;
 import okhttp3.*;
-import org.gradle.api.*;
+import org.gradle.api.logging.*;
 
+import javax.annotation.*;
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * Handles publishing mod files to CurseForge using the CurseForge upload API.
@@ -16,87 +22,216 @@ import java.util.*;
  * <ul>
  *     <li>Resolving configured game versions, loaders, and environments</li>
  *     <li>Constructing metadata for the upload request</li>
- *     <li>Building and sending a multipart upload request to CurseForge</li>
+ *     <li>Uploading the first file as the primary file and the others as its children</li>
  *     <li>Logging responses and raising exceptions for failed uploads</li>
  * </ul>
  */
-public class CurseforgePublisher extends Publisher {
+public class CurseforgePublisher extends Publisher<List<File>> {
 
-    /** Upload endpoint for submitting new files to a CurseForge project. */
-    private static final String UPLOAD_URL = "https://minecraft.curseforge.com/api/projects/%s/upload-file";
+    /** Upload endpoint for submitting new files to a CurseForge project, relative to the API base URL. */
+    private static final String UPLOAD_PATH = "/api/projects/%s/upload-file";
 
-    /** Endpoint for retrieving CurseForge's game version metadata. */
-    private static final String GAME_VERSIONS_URL = "https://minecraft.curseforge.com/api/game/versions";
+    /** Endpoint for retrieving CurseForge's game version metadata, relative to the API base URL. */
+    private static final String GAME_VERSIONS_PATH = "/api/game/versions";
+
+    /** CurseForge game version type ID of the Minecraft versions matched against the configuration. */
+    private static final int MINECRAFT_TYPE_ID = 77784;
+
+    /** CurseForge game version type ID of mod loader tags. */
+    private static final int LOADER_TYPE_ID = 68441;
+
+    /** CurseForge game version type ID of environment (client/server) tags. */
+    private static final int ENVIRONMENT_TYPE_ID = 75208;
 
     /**
      * Constructs a new CurseForge publisher instance.
      *
-     * @param project   the Gradle project
-     * @param extension the plugin extension containing user configuration
-     * @param client    the HTTP client used for API communication
+     * @param logger  the logger of the publishing task
+     * @param spec    the configuration snapshot
+     * @param token   the CurseForge API token
+     * @param http    the build-wide HTTP service used for API communication
+     * @param cache   the persistent game version tag cache
+     * @param uploads the monitor receiving the progress of file uploads
+     */
+    public CurseforgePublisher(Logger logger, PublishSpec spec, String token, HttpClientService http,
+                               GameVersionCache cache, UploadMonitor uploads) {
+        super(logger, spec, token, http, cache, uploads);
+    }
+
+    /**
+     * Returns {@link Platform#CURSEFORGE}.
+     *
+     * @return the target platform
+     */
+    @Override
+    protected Platform platform() {
+        return Platform.CURSEFORGE;
+    }
+
+    /**
+     * Fetches CurseForge's game version tags once and indexes the Minecraft versions, loaders
+     * and environments requested by any publication.
+     *
+     * @param publications the publications that will be published
+     * @return the index shared by all publications
      */
-    public CurseforgePublisher(Project project, McModPublisherExtension extension, OkHttpClient client) {
-        super(project, extension, client);
+    @Override
+    protected GameVersionIndex resolveGameVersions(List<PublicationSpec> publications) {
+        var desiredNames = new HashSet<String>();
+        for (var publication : publications) {
+            desiredNames.addAll(publication.gameVersions());
+            publication.loaders().forEach(loader -> desiredNames.add(mapLoaderToCF(loader)));
+        }
+        spec.curseforge().environmentType().forEach(env -> desiredNames.add(mapEnvironmentToCF(env)));
+
+        return gameVersionIndex(fetchGameVersions(token, (type, name) ->
+                (type == MINECRAFT_TYPE_ID || type == LOADER_TYPE_ID || type == ENVIRONMENT_TYPE_ID)
+                        && desiredNames.contains(name)));
     }
 
     /**
-     * Publishes all configured files to CurseForge.
+     * Returns the files of a publication, primary file first. CurseForge needs no local
+     * artifacts besides the files, which have already been checked to exist.
+     *
+     * @param publication the publication to prepare
+     * @return the files to upload
+     */
+    @Override
+    protected List<File> prepare(PublicationSpec publication) {
+        return publication.files();
+    }
+
+    /**
+     * Publishes the files of a single publication to CurseForge.
      * <p>
      * Steps performed include:
      * <ol>
      *     <li>Reading configuration (token, project ID, load targets)</li>
-     *     <li>Resolving valid CurseForge game version IDs</li>
+     *     <li>Resolving valid CurseForge game version IDs against the shared index</li>
      *     <li>Constructing upload metadata</li>
-     *     <li>Sending each file to CurseForge using a multipart upload</li>
+     *     <li>Uploading the first file, then the remaining files concurrently as its children</li>
      * </ol>
      * If no valid game versions are found, the publish process is aborted.
+     *
+     * @param publication the publication to publish
+     * @param files       the files to upload, primary file first
+     * @param index       the game version index shared by all publications
+     * @return the IDs of the uploaded files, primary file first, or {@code null} if the
+     * configuration was rejected
      */
     @Override
-    public void publish() {
-        var curseforge = extension.getCurseforge();
-        var token = curseforge.getToken().trim();
-        var projectId = curseforge.getProjectId().trim();
-        var iterator = extension.getFiles().getFiles().iterator();
-
-        var desiredMcVersions = extension.getGameVersions();
-        var desiredLoaders = extension.getLoaders().stream()
+    @Nullable
+    protected List<String> publish(PublicationSpec publication, List<File> files, GameVersionIndex index) {
+        var curseforge = spec.curseforge();
+        var projectId = curseforge.projectId();
+
+        var desiredLoaders = publication.loaders().stream()
                 .map(this::mapLoaderToCF)
                 .toList();
 
-        var desiredEnvs = curseforge.getEnvironmentType().stream()
+        var desiredEnvs = curseforge.environmentType().stream()
                 .map(this::mapEnvironmentToCF)
                 .toList();
 
-        var validGameVersions = fetchGameVersions(token).stream()
-                .filter(tag -> {
-                    var type = tag.gameVersionTypeId();
-                    return type == 77784 || type == 68441 || type == 75208;
-                })
-                .filter(tag ->
-                        desiredMcVersions.contains(tag.name()) ||
-                                desiredLoaders.contains(tag.name()) ||
-                                desiredEnvs.contains(tag.name())
-                )
-                .map(GameVersionTag::id)
-                .toList();
+        var validGameVersions = new ArrayList<Integer>();
+        addIds(validGameVersions, index, MINECRAFT_TYPE_ID, publication.gameVersions());
+        addIds(validGameVersions, index, LOADER_TYPE_ID, desiredLoaders);
+        addIds(validGameVersions, index, ENVIRONMENT_TYPE_ID, desiredEnvs);
 
         if (validGameVersions.isEmpty()) {
-            project.getLogger().error("No valid game versions found. Please check your game versions in the configuration.");
-            return;
+            logger.error("No valid game versions found for publication '" + publication.name()
+                    + "'. Please check your game versions in the configuration.");
+            return null;
         }
 
-        var dependencyList = curseforge.getDependencies().stream()
-                .map(dep -> ProjectsMetadata.builder()
-                        .slug(dep.getSlug())
-                        .relationType(dep.getRelationType())
-                        .build())
-                .toList();
+        if (files.isEmpty()) {
+            logger.error("No files to upload for publication '" + publication.name()
+                    + "'. Please check your files in the configuration.");
+            return null;
+        }
+
+        var dependencyList = curseforge.dependencies();
+
+        var metadata = curseforgeMetadata(curseforge, publication, validGameVersions, dependencyList);
+        var metadataJson = serialize(metadata);
+        logger.lifecycle("Curseforge metadata: " + metadataJson);
+
+        logger.lifecycle("Publishing '" + publication.name() + "' to Curseforge...");
+        var primaryFileId = publishingToCurseforge(metadataJson, files.get(0), projectId, token);
+        var fileIds = new ArrayList<String>();
+        fileIds.add(Integer.toString(primaryFileId));
+
+        var additionalFiles = files.subList(1, files.size());
+        if (!additionalFiles.isEmpty()) {
+            publishAdditionalFiles(additionalFiles, childMetadata(metadata, primaryFileId), projectId, token)
+                    .forEach(fileId -> fileIds.add(Integer.toString(fileId)));
+        }
+        return fileIds;
+    }
+
+    /**
+     * Uploads the additional files of a release as children of the primary file.
+     * Uploads run concurrently, bounded by the configured maximum number of concurrent uploads.
+     *
+     * @param files     the additional files to upload
+     * @param metadata  the metadata linking each file to the primary file
+     * @param projectId the CurseForge project ID
+     * @param token     authentication token
+     * @return the IDs of the uploaded files, in file order
+     * @throws FailedPublishException if at least one upload failed
+     */
+    private List<Integer> publishAdditionalFiles(List<File> files, CurseforgeMetadata metadata, String projectId, String token) {
+        logger.lifecycle("Publishing " + files.size() + " additional file(s) to Curseforge...");
+
+        var metadataJson = serialize(metadata);
+        var children = new LinkedHashMap<String, Callable<Integer>>();
+        files.forEach(file -> children.put(file.getPath(), () -> publishingToCurseforge(metadataJson, file, projectId, token)));
+        return List.copyOf(ParallelExecutor.invokeAll(http.getExecutionMode(), http.getMaxConcurrentUploads(), children).values());
+    }
+
+    /**
+     * Serializes upload metadata, recorded as a metadata build event.
+     *
+     * @param metadata the metadata to serialize
+     * @return the metadata as JSON
+     */
+    private String serialize(CurseforgeMetadata metadata) {
+        var event = phase(new MetadataBuildEvent());
+        try {
+            var json = GSON.toJson(metadata);
+            event.succeeded(byteCount(json), PublishPhaseEvent.OK);
+            return json;
+        } finally {
+            event.commit();
+        }
+    }
 
-        var metadata = curseforgeMetadata(curseforge, validGameVersions, dependencyList);
-        project.getLogger().lifecycle("Curseforge metadata: " + GSON.toJson(metadata));
+    /**
+     * Builds a {@link GameVersionIndex} keyed by CurseForge game version type ID and name.
+     *
+     * @param tags the game version tags to index
+     * @return the index over the given tags
+     */
+    private static GameVersionIndex gameVersionIndex(List<GameVersionTag> tags) {
+        var builder = GameVersionIndex.builder();
+        tags.forEach(tag -> builder.add(tag.gameVersionTypeId(), tag.name(), tag.id()));
+        return builder.build();
+    }
 
-        project.getLogger().lifecycle("Publishing to Curseforge...");
-        publishingToCurseforge(metadata, iterator, projectId, token);
+    /**
+     * Appends the IDs of every name registered under the given type to the target list.
+     *
+     * @param target the list receiving the resolved IDs
+     * @param index  the index to resolve names with
+     * @param typeId the CurseForge game version type ID
+     * @param names  the names to resolve
+     */
+    private static void addIds(List<Integer> target, GameVersionIndex index, int typeId, List<String> names) {
+        for (var name : names) {
+            for (var id : index.ids(typeId, name)) {
+                target.add(id);
+            }
+        }
     }
 
     /**
@@ -128,76 +263,113 @@ public class CurseforgePublisher extends Publisher {
     }
 
     /**
-     * Performs the multipart upload to CurseForge.
+     * Performs the multipart upload of a single file to CurseForge.
      *
-     * @param metadata  the metadata payload describing the uploaded file
-     * @param iterator  iterator over files scheduled for upload
+     * @param metadata  the serialized JSON metadata describing the uploaded file
+     * @param file      the file to upload
      * @param projectId the CurseForge project ID
      * @param token     authentication token
+     * @return the ID CurseForge assigned to the uploaded file
+     * @throws FailedFileUploadException if the upload request fails
      */
-    private void publishingToCurseforge(CurseforgeMetadata metadata, Iterator<File> iterator, String projectId, String token) {
-        var multipartBuilder = new MultipartBody.Builder().setType(MultipartBody.FORM);
-
-        multipartBuilder.addFormDataPart(
-                Constants.METADATA,
-                null,
-                RequestBody.create(GSON.toJson(metadata), MediaType.parse(Constants.MEDIA_TYPE_JSON))
-        );
-
-        var file = iterator.next();
-        multipartBuilder.addFormDataPart(
-                "file",
-                file.getName(),
-                RequestBody.create(file, MediaType.parse(Constants.MEDIA_TYPE_JAR))
-        );
+    private int publishingToCurseforge(String metadata, File file, String projectId, String token) {
+        var assembly = phase(new MultipartAssemblyEvent());
+        var fileBody = fileBody(file);
+        MultipartBody requestBody;
+        try {
+            var multipartBuilder = new MultipartBody.Builder().setType(MultipartBody.FORM);
+
+            multipartBuilder.addFormDataPart(
+                    Constants.METADATA,
+                    null,
+                    RequestBody.create(metadata, MediaType.parse(Constants.MEDIA_TYPE_JSON))
+            );
+
+            multipartBuilder.addFormDataPart("file", file.getName(), fileBody);
+
+            requestBody = multipartBuilder.build();
+            assembly.succeeded(contentLength(requestBody), PublishPhaseEvent.OK);
+        } finally {
+            assembly.commit();
+        }
 
-        var requestBody = multipartBuilder.build();
         var request = new Request.Builder()
-                .url(String.format(UPLOAD_URL, projectId))
+                .url(url(String.format(UPLOAD_PATH, projectId)))
                 .header("X-Api-Token", token)
                 .header("User-Agent", Constants.USER_AGENT)
                 .post(requestBody)
                 .build();
 
-        try (var response = client.newCall(request).execute()) {
-            var body = response.body().string();
-
-            project.getLogger().lifecycle("Response received: code=" + response.code() + " message=" + response.message());
-            project.getLogger().lifecycle("Response body: " + body);
-
-            if (!response.isSuccessful()) {
-                throw new FailedFileUploadException(
-                        "Failed to upload mod to Curseforge: " +
-                                response.code() + " - " + response.message() + " - BODY: " + body
-                );
+        try (var response = executeUpload(request)) {
+            var handling = phase(new ResponseHandlingEvent());
+            try {
+                var body = response.body().string();
+
+                logger.lifecycle("Response received: code=" + response.code() + " message=" + response.message());
+                logger.lifecycle("Response body: " + body);
+
+                if (!response.isSuccessful()) {
+                    throw new FailedFileUploadException(
+                            "Failed to upload mod to Curseforge: " +
+                                    response.code() + " - " + response.message() + " - BODY: " + body
+                    );
+                }
+
+                var fileId = GSON.fromJson(body, CurseforgeUploadResponse.class).id();
+                var hashes = fileBody.getHashes();
+                handling.succeeded(byteCount(body), Integer.toString(response.code()));
+                logger.lifecycle("Successfully uploaded " + file.getName() + " to Curseforge! (file ID " + fileId + ")");
+                logger.lifecycle("Uploaded " + file.getName() + " sha1=" + hashes.sha1() + " sha512=" + hashes.sha512());
+                return fileId;
+            } finally {
+                handling.commit();
             }
-
-            project.getLogger().lifecycle("Successfully uploaded mod to Curseforge!");
-        } catch (IOException e) {
+        } catch (IOException | JsonParseException e) {
             throw new FailedFileUploadException("Failed to upload mod to Curseforge: " + e.getMessage());
         }
     }
 
+    /**
+     * Derives the metadata for an additional file from the metadata of the primary file.
+     * Additional files inherit the changelog and release type, are linked to the primary file
+     * through {@code parentFileID}, and carry neither game versions nor relations.
+     *
+     * @param primary       the metadata of the primary file
+     * @param primaryFileId the ID CurseForge assigned to the primary file
+     * @return the metadata for additional files
+     */
+    private static CurseforgeMetadata childMetadata(CurseforgeMetadata primary, int primaryFileId) {
+        return CurseforgeMetadata.builder()
+                .changelog(primary.changelog())
+                .changelogType(primary.changelogType())
+                .releaseType(primary.releaseType())
+                .isMarkedForManualRelease(primary.isMarkedForManualRelease())
+                .parentFileId(primaryFileId)
+                .build();
+    }
+
     /**
      * Builds a {@link CurseforgeMetadata} instance based on configuration and valid game versions.
      *
-     * @param curseforge        CurseForge-specific configuration
+     * @param curseforge        CurseForge-specific settings
+     * @param publication       the publication being published
      * @param validGameVersions resolved CurseForge game version IDs
      * @param dependencyList    resolved dependency metadata
      * @return a fully constructed CurseForge metadata object
      */
     private CurseforgeMetadata curseforgeMetadata(
-            CurseforgeConfig curseforge,
+            CurseforgeSettings curseforge,
+            PublicationSpec publication,
             List<Integer> validGameVersions,
             List<ProjectsMetadata> dependencyList
     ) {
         var builder = CurseforgeMetadata.builder()
-                .changelog(extension.getChangelog())
-                .changelogType(curseforge.getChangelogType())
-                .displayName(extension.getDisplayName())
+                .changelog(spec.changelog())
+                .changelogType(curseforge.changelogType())
+                .displayName(publication.displayName())
                 .gameVersions(validGameVersions)
-                .releaseType(extension.getReleaseType())
-                .isMarkedForManualRelease(curseforge.isManualRelease());
+                .releaseType(spec.releaseType())
+                .isMarkedForManualRelease(curseforge.manualRelease());
 
         if (!dependencyList.isEmpty()) {
             builder.relations(new Projects(dependencyList));
@@ -207,34 +379,33 @@ public class CurseforgePublisher extends Publisher {
     }
 
     /**
-     * Fetches the full list of CurseForge game version tags.
+     * Fetches the CurseForge game version tags accepted by the filter, served from the
+     * persistent cache when a valid copy is available. The tag list is decoded as a stream,
+     * so tags rejected by the filter are never materialized.
      *
-     * @param token the API token for authentication
-     * @return list of available game version tags
+     * @param token  the API token for authentication
+     * @param filter the filter deciding which tags are kept
+     * @return list of accepted game version tags
      * @throws FailedFetchGameVersionsException if the request fails
      */
-    private List<GameVersionTag> fetchGameVersions(String token) {
+    private List<GameVersionTag> fetchGameVersions(String token, GameVersionTagDecoder.Filter filter) {
         var request = new Request.Builder()
-                .url(GAME_VERSIONS_URL)
+                .url(url(GAME_VERSIONS_PATH))
                 .header("X-Api-Token", token)
                 .header("User-Agent", Constants.USER_AGENT)
                 .get()
                 .build();
 
-        try (var response = client.newCall(request).execute()) {
-            var body = response.body().string();
-
-            if (!response.isSuccessful()) {
-                throw new FailedFetchGameVersionsException(
-                        "Failed to fetch game versions: " +
-                                response.code() + " - " + response.message() + " - BODY: " + body
-                );
-            }
+        return fetchGameVersionTags(request, reader -> GameVersionTagDecoder.decode(reader, filter));
+    }
 
-            return GSON.fromJson(body, new TypeToken<List<GameVersionTag>>() {}.getType());
-        } catch (IOException e) {
-            throw new FailedFetchGameVersionsException("Failed to fetch game versions" + e.getMessage());
-        }
+    /**
+     * Resolves an endpoint against the configured CurseForge API base URL.
+     *
+     * @param path the endpoint path
+     * @return the endpoint URL
+     */
+    private String url(String path) {
+        return spec.curseforge().apiUrl() + path;
     }
 }
-
@@ -0,0 +1,79 @@
+package io.github.smootheez.curseforge;
+
+import javax.annotation.*;
+import java.io.*;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Immutable snapshot of the {@link CurseforgeConfig} block, captured when the task graph is built
+ * so that publishing tasks never touch the mutable extension at execution time.
+ * <p>
+ * The API token is deliberately not part of the snapshot; it is passed to the publisher
+ * separately so that it never becomes a task input.
+ *
+ * @param projectId       the CurseForge project ID, or {@code null} if not configured
+ * @param slug            the CurseForge project slug, or {@code null} if not configured
+ * @param changelogType   the format of the changelog
+ * @param environmentType the supported environments
+ * @param manualRelease   whether the release requires manual approval
+ * @param dependencies    the declared relations to other projects, identified by slug or project ID until resolved
+ * @param apiUrl          the base URL of the CurseForge API
+ * @param coreApiUrl      the base URL of the CurseForge Core API, used to resolve project IDs
+ */
+public record CurseforgeSettings(
+        @Nullable String projectId,
+        @Nullable String slug,
+        ChangelogType changelogType,
+        List<EnvironmentType> environmentType,
+        boolean manualRelease,
+        List<ProjectsMetadata> dependencies,
+        String apiUrl,
+        String coreApiUrl
+) implements Serializable {
+
+    /**
+     * Captures the current state of a CurseForge configuration block.
+     *
+     * @param config the configuration block
+     * @return the snapshot
+     */
+    public static CurseforgeSettings of(CurseforgeConfig config) {
+        var dependencies = config.getDependencies().stream()
+                .map(dep -> ProjectsMetadata.builder()
+                        .slug(dep.getSlug())
+                        .relationType(dep.getRelationType())
+                        .build())
+                .toList();
+
+        var projectId = config.getProjectId().getOrNull();
+        var slug = config.getSlug().getOrNull();
+        return new CurseforgeSettings(
+                projectId != null && !projectId.isBlank() ? projectId.trim() : null,
+                slug != null && !slug.isBlank() ? slug.trim() : null,
+                config.getChangelogType().get(),
+                List.copyOf(config.getEnvironmentType().get()),
+                config.getManualRelease().get(),
+                dependencies,
+                config.apiBaseUrl(),
+                config.coreApiBaseUrl()
+        );
+    }
+
+    /**
+     * Returns a copy of this snapshot with the project of every relation replaced.
+     *
+     * @param mapping function returning the replacement of a relation's slug or project ID
+     * @return the copy
+     */
+    public CurseforgeSettings mapDependencies(UnaryOperator<String> mapping) {
+        var mapped = dependencies.stream()
+                .map(dep -> ProjectsMetadata.builder()
+                        .slug(dep.slug() == null ? null : mapping.apply(dep.slug()))
+                        .relationType(dep.relationType())
+                        .build())
+                .toList();
+        return new CurseforgeSettings(projectId, slug, changelogType, environmentType, manualRelease, mapped,
+                apiUrl, coreApiUrl);
+    }
+}
@@ -0,0 +1,223 @@
+package io.github.smootheez.curseforge;
+
+import com.google.gson.*;
+import com.google.gson.reflect.*;
+import com.google.gson.stream.*;
+import io.github.smootheez.*;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Creates hand-written, reflection-free {@link TypeAdapter}s for the CurseForge API payloads.
+ * <p>
+ * The adapters produce and accept exactly the wire format declared by the
+ * {@link com.google.gson.annotations.SerializedName} annotations of the records, whose names
+ * they take from {@link WireNames}, so they are a drop-in replacement for Gson's reflective
+ * record handling. The upload response is read token by token, skipping every field the plugin
+ * does not use. Absent and {@code null} values are omitted as Gson does by default.
+ * <p>
+ * Only the direction the plugin uses is hand-written: metadata sent to CurseForge is written,
+ * the upload response is read. The other direction is delegated to the adapter Gson would
+ * otherwise use, which is only built if that direction is ever called.
+ */
+public final class CurseforgeTypeAdapterFactory implements TypeAdapterFactory {
+
+    /** JSON names of {@link CurseforgeMetadata}. */
+    private static final WireNames METADATA = WireNames.of(CurseforgeMetadata.class);
+
+    /** JSON names of {@link Projects}. */
+    private static final WireNames RELATIONS = WireNames.of(Projects.class);
+
+    /** JSON names of {@link ProjectsMetadata}. */
+    private static final WireNames PROJECT = WireNames.of(ProjectsMetadata.class);
+
+    /** JSON names of {@link CurseforgeUploadResponse}. */
+    private static final WireNames UPLOAD_RESPONSE = WireNames.of(CurseforgeUploadResponse.class);
+
+    /** JSON names of the changelog types. */
+    private static final Map<ChangelogType, String> CHANGELOG_TYPES = WireNames.constants(ChangelogType.class);
+
+    /** JSON names of the relation types. */
+    private static final Map<RelationType, String> RELATION_TYPES = WireNames.constants(RelationType.class);
+
+    /**
+     * Returns the adapter of a CurseForge payload type.
+     *
+     * @param gson the Gson instance requesting the adapter
+     * @param type the requested type
+     * @param <T>  the requested type
+     * @return the adapter, or {@code null} if the type is not a CurseForge payload
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        var rawType = type.getRawType();
+        if (rawType == CurseforgeMetadata.class) {
+            var delegate = new LazyDelegate<>(gson, this, (TypeToken<CurseforgeMetadata>) type);
+            return (TypeAdapter<T>) new MetadataAdapter(delegate).nullSafe();
+        }
+        if (rawType == CurseforgeUploadResponse.class) {
+            var delegate = new LazyDelegate<>(gson, this, (TypeToken<CurseforgeUploadResponse>) type);
+            return (TypeAdapter<T>) new UploadResponseAdapter(delegate).nullSafe();
+        }
+        return null;
+    }
+
+    /**
+     * Writes {@link CurseforgeMetadata}, the payload accompanying an uploaded file.
+     */
+    private static final class MetadataAdapter extends TypeAdapter<CurseforgeMetadata> {
+
+        /** Adapter Gson would otherwise use to read the metadata, resolved on first use. */
+        private final LazyDelegate<CurseforgeMetadata> delegate;
+
+        /**
+         * Creates the adapter.
+         *
+         * @param delegate adapter Gson would otherwise use to read the metadata
+         */
+        MetadataAdapter(LazyDelegate<CurseforgeMetadata> delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * Writes the metadata.
+         *
+         * @param out      the writer
+         * @param metadata the metadata
+         * @throws IOException if the metadata cannot be written
+         */
+        @Override
+        public void write(JsonWriter out, CurseforgeMetadata metadata) throws IOException {
+            out.beginObject();
+            out.name(METADATA.name("changelog")).value(metadata.changelog());
+            out.name(METADATA.name("changelogType")).value(metadata.changelogType() == null ? null
+                    : CHANGELOG_TYPES.get(metadata.changelogType()));
+            out.name(METADATA.name("displayName")).value(metadata.displayName());
+            out.name(METADATA.name("gameVersions"));
+            if (metadata.gameVersions() == null) {
+                out.nullValue();
+            } else {
+                out.beginArray();
+                for (var gameVersion : metadata.gameVersions()) out.value(gameVersion);
+                out.endArray();
+            }
+            out.name(METADATA.name("releaseType")).value(metadata.releaseType());
+            out.name(METADATA.name("isMarkedForManualRelease")).value(metadata.isMarkedForManualRelease());
+            out.name(METADATA.name("relations"));
+            writeRelations(out, metadata.relations());
+            out.name(METADATA.name("parentFileId")).value(metadata.parentFileId());
+            out.endObject();
+        }
+
+        /**
+         * Reads metadata through the delegate, since the plugin never receives it.
+         *
+         * @param in the reader positioned at the metadata
+         * @return the metadata
+         * @throws IOException if the metadata cannot be read
+         */
+        @Override
+        public CurseforgeMetadata read(JsonReader in) throws IOException {
+            return delegate.get().read(in);
+        }
+
+        /**
+         * Writes the project relations of a file.
+         *
+         * @param out       the writer
+         * @param relations the relations, possibly {@code null}
+         * @throws IOException if the relations cannot be written
+         */
+        private static void writeRelations(JsonWriter out, Projects relations) throws IOException {
+            if (relations == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name(RELATIONS.name("projects"));
+            if (relations.projects() == null) {
+                out.nullValue();
+            } else {
+                out.beginArray();
+                for (var project : relations.projects()) writeProject(out, project);
+                out.endArray();
+            }
+            out.endObject();
+        }
+
+        /**
+         * Writes a single related project.
+         *
+         * @param out     the writer
+         * @param project the related project, possibly {@code null}
+         * @throws IOException if the project cannot be written
+         */
+        private static void writeProject(JsonWriter out, ProjectsMetadata project) throws IOException {
+            if (project == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name(PROJECT.name("slug")).value(project.slug());
+            out.name(PROJECT.name("relationType")).value(project.relationType() == null ? null
+                    : RELATION_TYPES.get(project.relationType()));
+            out.endObject();
+        }
+    }
+
+    /**
+     * Reads {@link CurseforgeUploadResponse}, as returned after an upload.
+     */
+    private static final class UploadResponseAdapter extends TypeAdapter<CurseforgeUploadResponse> {
+
+        /** Adapter Gson would otherwise use to write the response, resolved on first use. */
+        private final LazyDelegate<CurseforgeUploadResponse> delegate;
+
+        /**
+         * Creates the adapter.
+         *
+         * @param delegate adapter Gson would otherwise use to write the response
+         */
+        UploadResponseAdapter(LazyDelegate<CurseforgeUploadResponse> delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * Writes a response through the delegate, since the plugin never sends one.
+         *
+         * @param out      the writer
+         * @param response the response
+         * @throws IOException if the response cannot be written
+         */
+        @Override
+        public void write(JsonWriter out, CurseforgeUploadResponse response) throws IOException {
+            delegate.get().write(out, response);
+        }
+
+        /**
+         * Reads the response, skipping every field but the file ID.
+         *
+         * @param in the reader positioned at the response
+         * @return the response
+         * @throws IOException if the response cannot be read
+         */
+        @Override
+        public CurseforgeUploadResponse read(JsonReader in) throws IOException {
+            var id = 0;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                if (UPLOAD_RESPONSE.component(in.nextName()).equals("id")) {
+                    id = in.nextInt();
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new CurseforgeUploadResponse(id);
+        }
+    }
+}
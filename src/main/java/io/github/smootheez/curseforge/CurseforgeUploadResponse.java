@@ -0,0 +1,10 @@
+package io.github.smootheez.curseforge;
+
+/**
+ * Represents the response returned by CurseForge after a successful file upload.
+ *
+ * @param id the ID CurseForge assigned to the uploaded file
+ */
+public record CurseforgeUploadResponse(
+        int id
+) { }
@@ -0,0 +1,91 @@
+package io.github.smootheez.curseforge;
+
+import com.google.gson.stream.*;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Streaming decoder for the CurseForge {@code /api/game/versions} payload.
+ * <p>
+ * Instead of materializing the whole response and every record, the payload is read
+ * token by token with a {@link JsonReader}. The filter is applied inside the parse loop,
+ * so only the tags that are actually needed are ever turned into {@link GameVersionTag}
+ * instances.
+ */
+public final class GameVersionTagDecoder {
+
+    /** Prevents instantiation of this utility class. */
+    private GameVersionTagDecoder() {}
+
+    /**
+     * Decides whether a tag read from the payload should be kept.
+     */
+    @FunctionalInterface
+    public interface Filter {
+
+        /**
+         * Tests a tag by its type and name.
+         *
+         * @param gameVersionTypeId the CurseForge type ID of the tag
+         * @param name              the display name of the tag
+         * @return {@code true} if the tag should be kept
+         */
+        boolean accept(int gameVersionTypeId, String name);
+    }
+
+    /**
+     * Decodes the tags accepted by the filter from a JSON array of CurseForge game versions.
+     *
+     * @param reader the reader supplying the JSON payload
+     * @param filter the filter deciding which tags are kept
+     * @return the accepted tags, in payload order
+     * @throws IOException if the payload cannot be read or is malformed
+     */
+    public static List<GameVersionTag> decode(Reader reader, Filter filter) throws IOException {
+        var json = new JsonReader(reader);
+        var tags = new ArrayList<GameVersionTag>();
+
+        json.beginArray();
+        while (json.hasNext()) {
+            var id = 0;
+            var gameVersionTypeId = 0;
+            String name = null;
+            String slug = null;
+
+            json.beginObject();
+            while (json.hasNext()) {
+                switch (json.nextName()) {
+                    case "id" -> id = json.nextInt();
+                    case "gameVersionTypeID" -> gameVersionTypeId = json.nextInt();
+                    case "name" -> name = nextString(json);
+                    case "slug" -> slug = nextString(json);
+                    default -> json.skipValue();
+                }
+            }
+            json.endObject();
+
+            if (name != null && filter.accept(gameVersionTypeId, name)) {
+                tags.add(new GameVersionTag(id, gameVersionTypeId, name, slug));
+            }
+        }
+        json.endArray();
+
+        return tags;
+    }
+
+    /**
+     * Reads a string value that may be {@code null}.
+     *
+     * @param json the reader positioned at the value
+     * @return the string value, or {@code null} if the value is a JSON null
+     * @throws IOException if the value cannot be read
+     */
+    private static String nextString(JsonReader json) throws IOException {
+        if (json.peek() == JsonToken.NULL) {
+            json.nextNull();
+            return null;
+        }
+        return json.nextString();
+    }
+}
@@ -3,6 +3,8 @@ package io.github.smootheez.curseforge;
 import com.google.gson.annotations.*;
 import lombok.*;
 
+import java.io.*;
+
 /**
  * Represents a single relationship entry linking this upload to another project.
  *
@@ -13,4 +15,4 @@ import lombok.*;
 public record ProjectsMetadata(
         String slug,
         @SerializedName("type") RelationType relationType
-) { }
+) implements Serializable { }
@@ -0,0 +1,20 @@
+package io.github.smootheez.exception;
+
+/**
+ * Exception thrown when the publisher fails to look up existing versions
+ * on a publishing platform, for example by the hashes of their files.
+ * <p>
+ * This typically occurs due to network issues, invalid API credentials,
+ * or unexpected responses from the remote service.
+ */
+public class FailedFetchVersionsException extends RuntimeException {
+
+    /**
+     * Creates a new exception indicating that looking up versions has failed.
+     *
+     * @param message detailed error description returned by the caller
+     */
+    public FailedFetchVersionsException(String message) {
+        super(message);
+    }
+}
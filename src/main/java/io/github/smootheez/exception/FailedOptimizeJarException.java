@@ -0,0 +1,19 @@
+package io.github.smootheez.exception;
+
+/**
+ * Exception thrown when a mod jar could not be optimized before being uploaded.
+ * <p>
+ * This may occur when the jar cannot be read, is not a valid archive, or when the
+ * optimized copy cannot be written.
+ */
+public class FailedOptimizeJarException extends RuntimeException {
+
+    /**
+     * Constructs a new exception indicating that a jar could not be optimized.
+     *
+     * @param message a detailed explanation of the failure
+     */
+    public FailedOptimizeJarException(String message) {
+        super(message);
+    }
+}
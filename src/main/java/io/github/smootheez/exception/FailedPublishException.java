@@ -0,0 +1,20 @@
+package io.github.smootheez.exception;
+
+/**
+ * Exception thrown when one or more publishing operations that ran together
+ * did not complete successfully.
+ * <p>
+ * The individual failures are attached as suppressed exceptions, so a failure
+ * on one platform never hides the outcome of the others.
+ */
+public class FailedPublishException extends RuntimeException {
+
+    /**
+     * Creates a new exception summarizing the failed publishing operations.
+     *
+     * @param message a summary of every failure that occurred
+     */
+    public FailedPublishException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.smootheez.exception;
+
+/**
+ * Exception thrown when the publisher fails to resolve the project slugs and IDs declared as
+ * dependencies into the form a publishing platform expects.
+ * <p>
+ * This typically occurs when a declared project does not exist, when the platform cannot be
+ * reached, or when a lookup requires credentials that are not configured.
+ */
+public class FailedResolveProjectsException extends RuntimeException {
+
+    /**
+     * Creates a new exception indicating that resolving projects has failed.
+     *
+     * @param message detailed error description returned by the caller
+     */
+    public FailedResolveProjectsException(String message) {
+        super(message);
+    }
+}
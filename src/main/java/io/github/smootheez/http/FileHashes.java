@@ -0,0 +1,105 @@
+package io.github.smootheez.http;
+
+import javax.annotation.*;
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.security.*;
+import java.util.*;
+
+/**
+ * SHA-1 and SHA-512 digests of a file, as lowercase hexadecimal strings.
+ * <p>
+ * Both digests are computed in a single pass over the file, read through a
+ * {@link FileChannel} into a large direct buffer.
+ *
+ * @param sha1   the SHA-1 digest of the file
+ * @param sha512 the SHA-512 digest of the file
+ */
+public record FileHashes(
+        String sha1,
+        String sha512
+) {
+
+    /** Size of the direct buffer used to read files. */
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    /**
+     * Computes the digests of a file.
+     *
+     * @param file the file to hash
+     * @return the digests of the file
+     * @throws IOException if the file cannot be read
+     */
+    public static FileHashes compute(File file) throws IOException {
+        return stream(file, null);
+    }
+
+    /**
+     * Reads a file once, updating both digests and optionally forwarding every byte to a channel.
+     *
+     * @param file   the file to read
+     * @param target channel receiving the file contents, or {@code null} to only hash the file
+     * @return the digests of the file
+     * @throws IOException if the file cannot be read or the target cannot be written
+     */
+    static FileHashes stream(File file, @Nullable WritableByteChannel target) throws IOException {
+        var sha1 = digest("SHA-1");
+        var sha512 = digest("SHA-512");
+        read(file, target, sha1, sha512);
+
+        var hex = HexFormat.of();
+        return new FileHashes(hex.formatHex(sha1.digest()), hex.formatHex(sha512.digest()));
+    }
+
+    /**
+     * Forwards every byte of a file to a channel without hashing it, for files whose digests
+     * are already known.
+     *
+     * @param file   the file to read
+     * @param target channel receiving the file contents
+     * @throws IOException if the file cannot be read or the target cannot be written
+     */
+    static void transfer(File file, WritableByteChannel target) throws IOException {
+        read(file, target);
+    }
+
+    /**
+     * Reads a file once, updating the given digests and optionally forwarding every byte to a channel.
+     *
+     * @param file    the file to read
+     * @param target  channel receiving the file contents, or {@code null} to only hash the file
+     * @param digests the digests to update
+     * @throws IOException if the file cannot be read or the target cannot be written
+     */
+    private static void read(File file, @Nullable WritableByteChannel target, MessageDigest... digests)
+            throws IOException {
+        var buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        try (var channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                for (var digest : digests) digest.update(buffer.duplicate());
+                if (target != null) {
+                    while (buffer.hasRemaining()) target.write(buffer);
+                }
+                buffer.clear();
+            }
+        }
+    }
+
+    /**
+     * Creates a message digest for an algorithm every Java runtime is required to support.
+     *
+     * @param algorithm the digest algorithm
+     * @return a new message digest
+     */
+    private static MessageDigest digest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(algorithm + " is not supported by this runtime", e);
+        }
+    }
+}
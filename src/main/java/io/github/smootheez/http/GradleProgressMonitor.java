@@ -0,0 +1,115 @@
+package io.github.smootheez.http;
+
+import io.github.smootheez.*;
+import org.gradle.internal.logging.progress.*;
+
+import javax.inject.*;
+import java.io.*;
+import java.time.*;
+import java.util.concurrent.*;
+
+/**
+ * Shows every upload as a Gradle progress operation displaying the bytes sent, the current
+ * throughput and the estimated time remaining, so a large upload on a slow connection does not
+ * look hung.
+ * <p>
+ * Gradle offers no public API for progress operations, so this is the only class of the plugin
+ * depending on Gradle's internal {@link ProgressLoggerFactory}. It is created through an
+ * {@link org.gradle.api.model.ObjectFactory}, and publishing tasks fall back to
+ * {@link UploadMonitor#NONE} when a Gradle version no longer provides the service.
+ */
+public class GradleProgressMonitor implements UploadMonitor {
+
+    /** Minimum interval between two progress updates of the same upload. */
+    private static final long UPDATE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    /** Factory creating the progress operations shown by Gradle. */
+    private final ProgressLoggerFactory progressLoggerFactory;
+
+    /**
+     * Creates a monitor showing uploads through the given factory.
+     *
+     * @param progressLoggerFactory factory creating the progress operations shown by Gradle
+     */
+    @Inject
+    public GradleProgressMonitor(ProgressLoggerFactory progressLoggerFactory) {
+        this.progressLoggerFactory = progressLoggerFactory;
+    }
+
+    /**
+     * Starts a progress operation for a file upload.
+     *
+     * @param platform the platform the file is uploaded to
+     * @param file     the uploaded file
+     * @param bytes    the size of the file in bytes
+     * @return the handle updating the progress operation
+     */
+    @Override
+    public Upload start(Platform platform, File file, long bytes) {
+        var progress = progressLoggerFactory.newOperation(GradleProgressMonitor.class);
+        progress.start("Uploading " + file.getName() + " to " + platform.getId(), UploadReport.status(0, bytes, Duration.ZERO));
+        return new OperationUpload(bytes, progress);
+    }
+
+    /**
+     * Progress of a single upload, shown as a Gradle progress operation.
+     */
+    private static final class OperationUpload implements Upload {
+
+        /** The size of the file in bytes. */
+        private final long total;
+
+        /** The progress operation shown by Gradle. */
+        private final ProgressLogger progress;
+
+        /** Time at which the upload started, in nanoseconds. */
+        private final long startedAt = System.nanoTime();
+
+        /** Time of the last progress update, in nanoseconds. */
+        private long updatedAt = startedAt;
+
+        /**
+         * Creates the handle of an upload.
+         *
+         * @param total    the size of the file in bytes
+         * @param progress the progress operation shown by Gradle
+         */
+        private OperationUpload(long total, ProgressLogger progress) {
+            this.total = total;
+            this.progress = progress;
+        }
+
+        /**
+         * Updates the progress operation, at most once per {@link #UPDATE_INTERVAL_NANOS}.
+         *
+         * @param bytesSent the number of bytes written so far
+         */
+        @Override
+        public void progress(long bytesSent) {
+            var now = System.nanoTime();
+            if (now - updatedAt < UPDATE_INTERVAL_NANOS) return;
+            updatedAt = now;
+            progress.progress(UploadReport.status(bytesSent, total, Duration.ofNanos(now - startedAt)));
+        }
+
+        /**
+         * Completes the progress operation.
+         *
+         * @param bytesSent the number of bytes written
+         */
+        @Override
+        public void completed(long bytesSent) {
+            progress.completed(null, false);
+        }
+
+        /**
+         * Fails the progress operation.
+         *
+         * @param bytesSent the number of bytes written before the failure
+         */
+        @Override
+        public void failed(long bytesSent) {
+            progress.completed("failed after " + UploadReport.megabytes(bytesSent) + " MB", true);
+        }
+    }
+}
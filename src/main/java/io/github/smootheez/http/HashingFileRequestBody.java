@@ -0,0 +1,216 @@
+package io.github.smootheez.http;
+
+import io.github.smootheez.*;
+import okhttp3.*;
+import okio.*;
+
+import javax.annotation.*;
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+
+/**
+ * Request body streaming a file to the network while computing its SHA-1 and SHA-512 digests.
+ * <p>
+ * The file is read once through a {@link java.nio.channels.FileChannel} into a large direct
+ * buffer; every chunk updates both digests and is then written to the request sink. Once the
+ * body has been written, the digests are available through {@link #getHashes()}, so the hashes
+ * reported by a platform can be verified without reading the artifact from disk a second time.
+ * <p>
+ * When the digests are already known, for example because the file was hashed while its
+ * publication was prepared, the body only streams the file and reports those digests, so the
+ * file is not hashed a second time. Comparing them with the hashes reported by the platform
+ * still detects a file that changed in between.
+ * <p>
+ * The body can be written more than once, for example when a request is retried; computed
+ * digests always describe the most recent complete write.
+ * <p>
+ * Every write counts the bytes handed to the request sink and reports them to an
+ * {@link UploadMonitor}, so long uploads show their progress while they are running.
+ */
+public class HashingFileRequestBody extends RequestBody {
+
+    /** The file streamed by this body. */
+    private final File file;
+
+    /** Media type of the file. */
+    private final MediaType contentType;
+
+    /** Platform the file is uploaded to. */
+    private final Platform platform;
+
+    /** Monitor receiving the progress of every write. */
+    private final UploadMonitor monitor;
+
+    /** Digests of the file known before writing it, or {@code null} if they are computed while writing. */
+    @Nullable
+    private final FileHashes knownHashes;
+
+    /** Digests of the most recent complete write, or {@code null} before the first one. */
+    @Nullable
+    private volatile FileHashes hashes;
+
+    /**
+     * Creates a request body for the given file, computing its digests while writing it.
+     *
+     * @param file        the file to stream
+     * @param contentType media type of the file
+     * @param platform    the platform the file is uploaded to
+     * @param monitor     monitor receiving the upload progress
+     */
+    public HashingFileRequestBody(File file, MediaType contentType, Platform platform, UploadMonitor monitor) {
+        this(file, contentType, platform, monitor, null);
+    }
+
+    /**
+     * Creates a request body for the given file.
+     *
+     * @param file        the file to stream
+     * @param contentType media type of the file
+     * @param platform    the platform the file is uploaded to
+     * @param monitor     monitor receiving the upload progress
+     * @param knownHashes the digests of the file if already known, or {@code null} to compute them while writing
+     */
+    public HashingFileRequestBody(File file, MediaType contentType, Platform platform, UploadMonitor monitor,
+                                  @Nullable FileHashes knownHashes) {
+        this.file = file;
+        this.contentType = contentType;
+        this.platform = platform;
+        this.monitor = monitor;
+        this.knownHashes = knownHashes;
+    }
+
+    /**
+     * Returns the media type of the file.
+     *
+     * @return the media type of the file
+     */
+    @Override
+    public MediaType contentType() {
+        return contentType;
+    }
+
+    /**
+     * Returns the size of the file in bytes.
+     *
+     * @return the size of the file
+     */
+    @Override
+    public long contentLength() {
+        return file.length();
+    }
+
+    /**
+     * Streams the file into the sink while reporting its progress, computing its digests unless
+     * they are already known.
+     *
+     * @param sink the sink receiving the request body
+     * @throws IOException if the file cannot be read or the sink cannot be written
+     */
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        var channel = new CountingChannel(sink, monitor.start(platform, file, contentLength()));
+        try {
+            if (knownHashes != null) {
+                FileHashes.transfer(file, channel);
+                hashes = knownHashes;
+            } else {
+                hashes = FileHashes.stream(file, channel);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.upload.failed(channel.bytesSent);
+            throw e;
+        }
+        channel.upload.completed(channel.bytesSent);
+    }
+
+    /**
+     * Returns the file streamed by this body.
+     *
+     * @return the streamed file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Returns whether the body has been written, so its digests are available.
+     *
+     * @return {@code true} once the body has been written
+     */
+    public boolean isWritten() {
+        return hashes != null;
+    }
+
+    /**
+     * Returns the digests of the written file, either known beforehand or computed while the
+     * body was written.
+     *
+     * @return the digests of the file
+     * @throws IllegalStateException if the body has not been written yet
+     */
+    public FileHashes getHashes() {
+        var current = hashes;
+        if (current == null) {
+            throw new IllegalStateException("Hashes of " + file.getName() + " are only available after the upload");
+        }
+        return current;
+    }
+
+    /**
+     * Channel forwarding to the request sink while counting the bytes written.
+     */
+    private static final class CountingChannel implements WritableByteChannel {
+
+        /** The sink receiving the request body. */
+        private final BufferedSink sink;
+
+        /** The upload receiving the byte count. */
+        private final UploadMonitor.Upload upload;
+
+        /** Number of bytes written so far. */
+        private long bytesSent;
+
+        /**
+         * Creates a channel writing to the given sink.
+         *
+         * @param sink   the sink receiving the request body
+         * @param upload the upload receiving the byte count
+         */
+        private CountingChannel(BufferedSink sink, UploadMonitor.Upload upload) {
+            this.sink = sink;
+            this.upload = upload;
+        }
+
+        /**
+         * Writes bytes to the sink and reports the new total.
+         *
+         * @param source the bytes to write
+         * @return the number of bytes written
+         * @throws IOException if the sink cannot be written
+         */
+        @Override
+        public int write(ByteBuffer source) throws IOException {
+            var written = sink.write(source);
+            bytesSent += written;
+            upload.progress(bytesSent);
+            return written;
+        }
+
+        /**
+         * Returns whether the sink is still open.
+         *
+         * @return {@code true} if the sink is open
+         */
+        @Override
+        public boolean isOpen() {
+            return sink.isOpen();
+        }
+
+        /**
+         * Does nothing; the sink is owned by the request.
+         */
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,218 @@
+package io.github.smootheez.http;
+
+import io.github.smootheez.*;
+import io.github.smootheez.concurrent.*;
+import okhttp3.*;
+import org.gradle.api.logging.*;
+import org.gradle.api.provider.*;
+import org.gradle.api.services.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Build-scoped service owning the HTTP client shared by every publishing task in the build.
+ * <p>
+ * Gradle instantiates the service lazily, the first time a task that uses it executes,
+ * so builds that do not publish never create a client. All projects share the same
+ * connection pool and dispatcher, which lets uploads to {@code api.modrinth.com} and
+ * {@code minecraft.curseforge.com} reuse warm HTTP/2 connections. The client is shut
+ * down when the build finishes.
+ * <p>
+ * Requests sent through {@link #execute(Platform, Request, Logger)} are retried according to
+ * {@link RetryPolicy#DEFAULT}, drawing from a {@link RetryBudget} shared by all projects per platform.
+ * Every attempt first takes a token from the platform's {@link TokenBucket}, and uploads sent through
+ * {@link #executeUpload(Platform, Request, Logger)} are additionally bounded by a per-platform
+ * concurrency cap, so parallel builds stay within the rates the platforms accept. Uploads are not
+ * idempotent, so they are only retried when the platform cannot have processed them.
+ * <p>
+ * The service also decides the {@link ExecutionMode} of the concurrent platform operations of
+ * the build. When virtual threads are enabled and supported, uploads, tag fetches and lookups
+ * block on cheap virtual threads instead of pooled platform threads.
+ */
+public abstract class HttpClientService implements BuildService<HttpClientService.Params>, AutoCloseable {
+
+    /** Name under which the service is registered with Gradle. */
+    public static final String NAME = "mcModPublisherHttpClient";
+
+    /** The shared HTTP client. */
+    private final OkHttpClient client;
+
+    /** Build-wide retry budget of every platform. */
+    private final Map<Platform, RetryBudget> retryBudgets = new EnumMap<>(Platform.class);
+
+    /** Build-wide request rate limiter of every platform. */
+    private final Map<Platform, TokenBucket> rateLimiters = new EnumMap<>(Platform.class);
+
+    /** Build-wide cap on concurrent uploads to every platform. */
+    private final Map<Platform, Semaphore> uploadPermits = new EnumMap<>(Platform.class);
+
+    /** Kind of threads concurrent platform operations run on. */
+    private final ExecutionMode executionMode;
+
+    /**
+     * Parameters of the service, taken from the extension of the first project that uses it.
+     */
+    public interface Params extends BuildServiceParameters {
+
+        /**
+         * Maximum number of requests sent to Modrinth per minute.
+         *
+         * @return property holding the Modrinth request rate
+         */
+        Property<Integer> getModrinthRequestsPerMinute();
+
+        /**
+         * Maximum number of requests sent to CurseForge per minute.
+         *
+         * @return property holding the CurseForge request rate
+         */
+        Property<Integer> getCurseforgeRequestsPerMinute();
+
+        /**
+         * Maximum number of uploads running at the same time against a single platform.
+         *
+         * @return property holding the upload concurrency cap
+         */
+        Property<Integer> getMaxConcurrentUploads();
+
+        /**
+         * Whether concurrent platform operations run on virtual threads, if the runtime supports them.
+         *
+         * @return property holding whether virtual threads are enabled
+         */
+        Property<Boolean> getVirtualThreads();
+    }
+
+    /**
+     * Creates the service, its shared HTTP client and the per-platform limiters.
+     */
+    public HttpClientService() {
+        var dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(Constants.HTTP_MAX_REQUESTS_PER_HOST);
+
+        this.client = new OkHttpClient.Builder()
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectionPool(new ConnectionPool(
+                        Constants.HTTP_MAX_IDLE_CONNECTIONS,
+                        Constants.HTTP_KEEP_ALIVE.toMillis(),
+                        TimeUnit.MILLISECONDS))
+                .dispatcher(dispatcher)
+                .connectTimeout(Constants.TIMEOUT)
+                .readTimeout(Constants.TIMEOUT)
+                .writeTimeout(Constants.TIMEOUT)
+                .build();
+
+        var params = getParameters();
+        var maxConcurrentUploads = Math.max(1, params.getMaxConcurrentUploads().getOrElse(Constants.MAX_CONCURRENT_UPLOADS));
+        for (var platform : Platform.values()) {
+            var requestsPerMinute = switch (platform) {
+                case MODRINTH -> params.getModrinthRequestsPerMinute().getOrElse(Constants.MODRINTH_REQUESTS_PER_MINUTE);
+                case CURSEFORGE -> params.getCurseforgeRequestsPerMinute().getOrElse(Constants.CURSEFORGE_REQUESTS_PER_MINUTE);
+            };
+            retryBudgets.put(platform, new RetryBudget(Constants.RETRY_BUDGET));
+            rateLimiters.put(platform, new TokenBucket(Math.max(1, requestsPerMinute), Constants.RATE_LIMIT_BURST));
+            uploadPermits.put(platform, new Semaphore(maxConcurrentUploads, true));
+        }
+
+        var virtualThreads = params.getVirtualThreads().getOrElse(false);
+        this.executionMode = ExecutionMode.of(virtualThreads);
+        if (virtualThreads && executionMode != ExecutionMode.VIRTUAL) {
+            Logging.getLogger(HttpClientService.class).warn("Virtual threads require Java 21 or later, "
+                    + "running platform operations on platform threads instead");
+        }
+    }
+
+    /**
+     * Returns the HTTP client shared across the build.
+     *
+     * @return the shared HTTP client
+     */
+    public OkHttpClient getClient() {
+        return client;
+    }
+
+    /**
+     * Returns the maximum number of uploads running at the same time against a single platform.
+     *
+     * @return the upload concurrency cap
+     */
+    public int getMaxConcurrentUploads() {
+        return Math.max(1, getParameters().getMaxConcurrentUploads().getOrElse(Constants.MAX_CONCURRENT_UPLOADS));
+    }
+
+    /**
+     * Returns the kind of threads concurrent platform operations run on.
+     *
+     * @return {@link ExecutionMode#VIRTUAL} if virtual threads are enabled and supported
+     */
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    /**
+     * Executes a request against a platform API, retrying transient failures.
+     *
+     * @param platform the platform the request is sent to
+     * @param request  the request to execute
+     * @param logger   logger used to report retries
+     * @return the final response, which the caller must close
+     * @throws IOException if the last attempt failed with a network error
+     */
+    public Response execute(Platform platform, Request request, Logger logger) throws IOException {
+        return execute(platform, request, logger, true);
+    }
+
+    /**
+     * Executes a file upload against a platform API, waiting for an upload slot first.
+     * <p>
+     * The slot is held until the platform has answered, so no more than the configured
+     * number of uploads are in flight per platform across the whole build.
+     *
+     * @param platform the platform the upload is sent to
+     * @param request  the upload request to execute
+     * @param logger   logger used to report retries
+     * @return the final response, which the caller must close
+     * @throws IOException if the last attempt failed with a network error
+     */
+    public Response executeUpload(Platform platform, Request request, Logger logger) throws IOException {
+        var permits = uploadPermits.get(platform);
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for an upload slot");
+        }
+
+        try {
+            return execute(platform, request, logger, false);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Executes a request against a platform API, retrying the failures that are safe to retry.
+     *
+     * @param platform   the platform the request is sent to
+     * @param request    the request to execute
+     * @param logger     logger used to report retries
+     * @param idempotent whether the request may safely be sent again after it reached the platform
+     * @return the final response, which the caller must close
+     * @throws IOException if the last attempt failed with a network error
+     */
+    private Response execute(Platform platform, Request request, Logger logger, boolean idempotent) throws IOException {
+        return new RetryingCall(client, RetryPolicy.DEFAULT, retryBudgets.get(platform), rateLimiters.get(platform),
+                platform, logger, idempotent).execute(request);
+    }
+
+    /**
+     * Releases the client's threads and pooled connections at the end of the build.
+     */
+    @Override
+    public void close() {
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.smootheez.http;
+
+import java.util.concurrent.atomic.*;
+
+/**
+ * Limits the total number of retries spent on a single platform during a build.
+ * <p>
+ * Once the budget is exhausted, failures are reported immediately instead of being retried,
+ * so an outage of one platform cannot stall the whole build with backoff delays.
+ */
+public class RetryBudget {
+
+    /** Number of retries still available. */
+    private final AtomicInteger remaining;
+
+    /**
+     * Creates a budget allowing the given number of retries.
+     *
+     * @param retries the total number of retries allowed
+     */
+    public RetryBudget(int retries) {
+        this.remaining = new AtomicInteger(retries);
+    }
+
+    /**
+     * Consumes one retry from the budget if any is left.
+     *
+     * @return {@code true} if a retry may be attempted
+     */
+    public boolean tryAcquire() {
+        return remaining.getAndUpdate(value -> value > 0 ? value - 1 : 0) > 0;
+    }
+
+    /**
+     * Returns the number of retries still available.
+     *
+     * @return the remaining retries
+     */
+    public int getRemaining() {
+        return remaining.get();
+    }
+}
@@ -0,0 +1,136 @@
+package io.github.smootheez.http;
+
+import io.github.smootheez.*;
+import okhttp3.*;
+
+import javax.annotation.*;
+import java.time.*;
+import java.time.format.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Decides which platform API failures are retried and how long to wait before the next attempt.
+ * <p>
+ * Network errors, {@code 429 Too Many Requests} and {@code 5xx} responses are retryable; every
+ * other response is final. Requests that are not idempotent, such as uploads, are only retried
+ * after a {@code 429}, since a {@code 5xx} or a network error may be reported after the platform
+ * already created the version or file. The delay honours, in order of preference:
+ * <ol>
+ *     <li>the {@code Retry-After} header, in seconds or as an HTTP date</li>
+ *     <li>Modrinth's {@code X-Ratelimit-Reset} header, when {@code X-Ratelimit-Remaining} is {@code 0}</li>
+ *     <li>exponential backoff from {@code baseDelay}, capped at {@code maxDelay}, with random jitter</li>
+ * </ol>
+ * Server-provided delays are capped at {@code maxServerDelay}.
+ *
+ * @param maxAttempts    maximum number of attempts per request, including the first one
+ * @param baseDelay      delay before the first retry when the server does not provide one
+ * @param maxDelay       upper bound of the exponential backoff
+ * @param maxServerDelay upper bound of delays requested by the server
+ */
+public record RetryPolicy(
+        int maxAttempts,
+        Duration baseDelay,
+        Duration maxDelay,
+        Duration maxServerDelay
+) {
+
+    /** Default retry policy used for all platform API calls. */
+    public static final RetryPolicy DEFAULT = new RetryPolicy(
+            Constants.RETRY_MAX_ATTEMPTS,
+            Constants.RETRY_BASE_DELAY,
+            Constants.RETRY_MAX_DELAY,
+            Constants.RETRY_MAX_SERVER_DELAY
+    );
+
+    /**
+     * Returns whether a response with the given status code should be retried.
+     *
+     * @param code the HTTP status code
+     * @return {@code true} for {@code 429} and {@code 5xx} responses
+     */
+    public boolean isRetryable(int code) {
+        return code == 429 || code >= 500;
+    }
+
+    /**
+     * Returns whether a response with the given status code should be retried.
+     *
+     * @param code       the HTTP status code
+     * @param idempotent whether the request may safely be sent again after reaching the platform
+     * @return {@code true} for {@code 429} responses, and for {@code 5xx} responses to idempotent requests
+     */
+    public boolean isRetryable(int code, boolean idempotent) {
+        return idempotent ? isRetryable(code) : code == 429;
+    }
+
+    /**
+     * Computes how long to wait before the next attempt.
+     *
+     * @param attempt  the number of the attempt that just failed, starting at 1
+     * @param response the failed response, or {@code null} if the request failed with a network error
+     * @return the delay before the next attempt
+     */
+    public Duration delay(int attempt, @Nullable Response response) {
+        if (response != null) {
+            var serverDelay = serverDelay(response);
+            if (serverDelay.isPresent()) {
+                var delay = serverDelay.get();
+                return delay.compareTo(maxServerDelay) > 0 ? maxServerDelay : delay;
+            }
+        }
+
+        var backoff = baseDelay.toMillis() << Math.min(attempt - 1, 20);
+        var capped = Math.min(backoff, maxDelay.toMillis());
+        var jittered = capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1);
+        return Duration.ofMillis(jittered);
+    }
+
+    /**
+     * Extracts the delay requested by the server through rate limit headers.
+     *
+     * @param response the response to inspect
+     * @return the requested delay, or empty if the server did not request one
+     */
+    public static Optional<Duration> serverDelay(Response response) {
+        var retryAfter = response.header("Retry-After");
+        if (retryAfter != null) {
+            var delay = parseRetryAfter(retryAfter.trim());
+            if (delay.isPresent()) return delay;
+        }
+
+        var remaining = response.header("X-Ratelimit-Remaining");
+        var reset = response.header("X-Ratelimit-Reset");
+        if (remaining != null && reset != null && remaining.trim().equals("0")) {
+            try {
+                return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(reset.trim()))));
+            } catch (NumberFormatException e) {
+                return Optional.empty();
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Parses a {@code Retry-After} header value.
+     *
+     * @param value the header value, either a number of seconds or an HTTP date
+     * @return the delay until the given time, or empty if the value cannot be parsed
+     */
+    private static Optional<Duration> parseRetryAfter(String value) {
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(value))));
+        } catch (NumberFormatException ignored) {
+            // Not a number of seconds, try an HTTP date instead
+        }
+
+        try {
+            var date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+            var delay = Duration.between(Instant.now(), date.toInstant());
+            return Optional.of(delay.isNegative() ? Duration.ZERO : delay);
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package io.github.smootheez.http;
+
+import io.github.smootheez.*;
+import okhttp3.*;
+import okio.*;
+import org.gradle.api.logging.*;
+
+import javax.annotation.*;
+import java.io.*;
+import java.time.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Executes a platform API request, retrying transient failures according to a {@link RetryPolicy}.
+ * <p>
+ * Network errors and retryable responses are retried until the request succeeds, the maximum
+ * number of attempts is reached, or the platform's {@link RetryBudget} is exhausted. When retries
+ * run out, the last response is returned (or the last network error thrown), so callers report
+ * failures exactly as they would without retries.
+ * <p>
+ * Calls that are not idempotent, such as uploads creating a version or file, are retried more
+ * carefully: only after a {@code 429} response, or after a network error raised before any byte of
+ * the request body was written. Once the body has been sent, the platform may have created the
+ * version or file even if the response was lost, and sending it again would publish a duplicate.
+ * <p>
+ * Every attempt takes a token from the platform's {@link TokenBucket} before it is sent. When a
+ * response reports that the platform's rate limit window is exhausted, the bucket is paused until
+ * the window resets, holding back every other request to that platform as well.
+ */
+public class RetryingCall {
+
+    /** HTTP client executing the attempts. */
+    private final OkHttpClient client;
+
+    /** Policy deciding which failures are retried and for how long to wait. */
+    private final RetryPolicy policy;
+
+    /** Build-wide retry budget of the platform. */
+    private final RetryBudget budget;
+
+    /** Build-wide request rate limiter of the platform. */
+    private final TokenBucket rateLimiter;
+
+    /** Platform the request is sent to. */
+    private final Platform platform;
+
+    /** Logger used to report retries. */
+    private final Logger logger;
+
+    /** Whether the request may safely be sent again after it reached the platform. */
+    private final boolean idempotent;
+
+    /**
+     * Creates a retrying call.
+     *
+     * @param client      HTTP client executing the attempts
+     * @param policy      policy deciding which failures are retried
+     * @param budget      build-wide retry budget of the platform
+     * @param rateLimiter build-wide request rate limiter of the platform
+     * @param platform    platform the request is sent to
+     * @param logger      logger used to report retries
+     * @param idempotent  whether the request may safely be sent again after it reached the platform
+     */
+    public RetryingCall(OkHttpClient client, RetryPolicy policy, RetryBudget budget, TokenBucket rateLimiter,
+                        Platform platform, Logger logger, boolean idempotent) {
+        this.client = client;
+        this.policy = policy;
+        this.budget = budget;
+        this.rateLimiter = rateLimiter;
+        this.platform = platform;
+        this.logger = logger;
+        this.idempotent = idempotent;
+    }
+
+    /**
+     * Executes the request, retrying transient failures.
+     *
+     * @param request the request to execute
+     * @return the final response, which the caller must close
+     * @throws IOException if the last attempt failed with a network error
+     */
+    public Response execute(Request request) throws IOException {
+        var bodyWritten = new AtomicBoolean();
+        var call = idempotent || request.body() == null ? request
+                : request.newBuilder().method(request.method(), new TrackingRequestBody(request.body(), bodyWritten)).build();
+
+        for (var attempt = 1; ; attempt++) {
+            Response response = null;
+            IOException failure = null;
+            rateLimiter.acquire();
+            try {
+                response = client.newCall(call).execute();
+                throttle(response);
+            } catch (IOException e) {
+                failure = e;
+            }
+
+            var retryable = response != null ? policy.isRetryable(response.code(), idempotent) : idempotent || !bodyWritten.get();
+            if (!retryable) {
+                if (response != null) return response;
+                throw failure;
+            }
+
+            if (attempt >= policy.maxAttempts() || !budget.tryAcquire()) {
+                if (response != null) return response;
+                throw failure;
+            }
+
+            var delay = policy.delay(attempt, response);
+            var reason = response != null ? "HTTP " + response.code() : failure.getMessage();
+            logger.warn("{} request to {} failed ({}), retrying in {} ms (attempt {} of {})",
+                    platform.getId(), request.url().encodedPath(), reason, delay.toMillis(), attempt + 1, policy.maxAttempts());
+
+            if (response != null) response.close();
+            sleep(delay);
+        }
+    }
+
+    /**
+     * Pauses the platform's rate limiter when the response reports an exhausted rate limit window.
+     *
+     * @param response the response to inspect
+     */
+    private void throttle(Response response) {
+        if (!"0".equals(response.header("X-Ratelimit-Remaining", "").trim())) return;
+
+        RetryPolicy.serverDelay(response).ifPresent(delay -> {
+            var pause = delay.compareTo(policy.maxServerDelay()) > 0 ? policy.maxServerDelay() : delay;
+            logger.info("{} rate limit exhausted, pausing requests for {} ms", platform.getId(), pause.toMillis());
+            rateLimiter.pauseFor(pause);
+        });
+    }
+
+    /**
+     * Request body recording whether writing it to the network has started.
+     */
+    private static final class TrackingRequestBody extends RequestBody {
+
+        /** The body being sent. */
+        private final RequestBody delegate;
+
+        /** Set once the body starts being written. */
+        private final AtomicBoolean written;
+
+        /**
+         * Wraps a request body.
+         *
+         * @param delegate the body being sent
+         * @param written  flag set once the body starts being written
+         */
+        TrackingRequestBody(RequestBody delegate, AtomicBoolean written) {
+            this.delegate = delegate;
+            this.written = written;
+        }
+
+        /**
+         * Returns the media type of the wrapped body.
+         *
+         * @return the media type, or {@code null} if unknown
+         */
+        @Override
+        @Nullable
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        /**
+         * Returns the length of the wrapped body.
+         *
+         * @return the length in bytes, or {@code -1} if unknown
+         * @throws IOException if the length cannot be determined
+         */
+        @Override
+        public long contentLength() throws IOException {
+            return delegate.contentLength();
+        }
+
+        /**
+         * Records that the body is being sent, then writes the wrapped body.
+         *
+         * @param sink the sink receiving the body
+         * @throws IOException if the body cannot be written
+         */
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            written.set(true);
+            delegate.writeTo(sink);
+        }
+    }
+
+    /**
+     * Waits before the next attempt.
+     *
+     * @param delay how long to wait
+     * @throws InterruptedIOException if the thread is interrupted while waiting
+     */
+    private static void sleep(Duration delay) throws InterruptedIOException {
+        try {
+            Thread.sleep(delay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry");
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.smootheez.http;
+
+import java.io.*;
+import java.time.*;
+import java.util.concurrent.*;
+
+/**
+ * Thread-safe token bucket limiting the rate of requests sent to a platform.
+ * <p>
+ * Tokens refill continuously at the configured rate, up to a fixed burst capacity. Each request
+ * reserves one token and waits until that token is available, so concurrent callers are served
+ * in reservation order. The bucket can also be paused, which is used to honour a platform
+ * announcing that its rate limit window is exhausted.
+ */
+public class TokenBucket {
+
+    /** Maximum number of tokens the bucket holds. */
+    private final double capacity;
+
+    /** Number of tokens added per nanosecond. */
+    private final double tokensPerNano;
+
+    /** Tokens currently available; negative values represent outstanding reservations. */
+    private double tokens;
+
+    /** {@link System#nanoTime()} of the last refill. */
+    private long lastRefill;
+
+    /** {@link System#nanoTime()} before which no request may be sent. */
+    private long pausedUntil;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param requestsPerMinute sustained number of requests allowed per minute
+     * @param burst             time span of requests that may be sent in a single burst
+     */
+    public TokenBucket(int requestsPerMinute, Duration burst) {
+        this.tokensPerNano = requestsPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.capacity = Math.max(1, tokensPerNano * burst.toNanos());
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+        this.pausedUntil = lastRefill;
+    }
+
+    /**
+     * Waits until a token is available and consumes it.
+     *
+     * @throws InterruptedIOException if the thread is interrupted while waiting
+     */
+    public void acquire() throws InterruptedIOException {
+        var waitNanos = reserve();
+        if (waitNanos <= 0) return;
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the rate limiter");
+        }
+    }
+
+    /**
+     * Prevents any request from being sent for the given duration.
+     *
+     * @param duration how long to pause
+     */
+    public synchronized void pauseFor(Duration duration) {
+        var until = System.nanoTime() + duration.toNanos();
+        if (until - pausedUntil > 0) {
+            pausedUntil = until;
+        }
+    }
+
+    /**
+     * Consumes a token and computes how long the caller must wait before using it.
+     *
+     * @return the time to wait in nanoseconds, or a non-positive value if the token is available now
+     */
+    private synchronized long reserve() {
+        var now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+        tokens -= 1;
+
+        var refillWait = tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+        return Math.max(refillWait, pausedUntil - now);
+    }
+}
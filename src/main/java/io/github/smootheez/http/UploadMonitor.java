@@ -0,0 +1,68 @@
+package io.github.smootheez.http;
+
+import io.github.smootheez.*;
+
+import java.io.*;
+
+/**
+ * Observes file uploads as their bytes are written to the network.
+ * <p>
+ * A monitor is notified by {@link HashingFileRequestBody} every time it starts streaming a file,
+ * and receives the number of bytes sent so far while the file is written. A retried request
+ * starts a new upload.
+ */
+@FunctionalInterface
+public interface UploadMonitor {
+
+    /** Monitor ignoring all uploads. */
+    UploadMonitor NONE = (platform, file, bytes) -> Upload.NONE;
+
+    /**
+     * Called when a file starts being written to a request.
+     *
+     * @param platform the platform the file is uploaded to
+     * @param file     the uploaded file
+     * @param bytes    the size of the file in bytes
+     * @return the handle receiving the progress of this upload
+     */
+    Upload start(Platform platform, File file, long bytes);
+
+    /**
+     * Progress of a single file upload.
+     */
+    interface Upload {
+
+        /** Upload handle ignoring all progress. */
+        Upload NONE = new Upload() {
+            @Override
+            public void progress(long bytesSent) {}
+
+            @Override
+            public void completed(long bytesSent) {}
+
+            @Override
+            public void failed(long bytesSent) {}
+        };
+
+        /**
+         * Called after a chunk of the file has been written.
+         *
+         * @param bytesSent the number of bytes written so far
+         */
+        void progress(long bytesSent);
+
+        /**
+         * Called once the whole file has been written.
+         *
+         * @param bytesSent the number of bytes written
+         */
+        void completed(long bytesSent);
+
+        /**
+         * Called when writing the file failed.
+         *
+         * @param bytesSent the number of bytes written before the failure
+         */
+        void failed(long bytesSent);
+    }
+}
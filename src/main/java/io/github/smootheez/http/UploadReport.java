@@ -0,0 +1,244 @@
+package io.github.smootheez.http;
+
+import com.google.gson.*;
+import io.github.smootheez.*;
+import io.github.smootheez.exception.*;
+import org.gradle.api.logging.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Reports the progress of the uploads of a publishing task and summarizes their throughput.
+ * <p>
+ * The progress of every upload is forwarded to a display monitor, such as a
+ * {@link GradleProgressMonitor}. Completed uploads are logged with their duration and
+ * throughput, and once the task is done, {@link #write(File)} stores a summary of all uploads
+ * that lets the network capacity of build agents be sized and compared between runs.
+ */
+public class UploadReport implements UploadMonitor {
+
+    /** Number of bytes in a megabyte, as used in progress and summary output. */
+    private static final double MEGABYTE = 1_000_000;
+
+    /** Gson instance writing human-readable summaries. */
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    /** Monitor displaying the progress of every upload. */
+    private final UploadMonitor display;
+
+    /** Logger of the publishing task. */
+    private final Logger logger;
+
+    /** Finished uploads, successful or not, in completion order. */
+    private final Queue<Sample> samples = new ConcurrentLinkedQueue<>();
+
+    /** Time at which the report was created, in nanoseconds. */
+    private final long startedAt = System.nanoTime();
+
+    /**
+     * Creates a report for a publishing task.
+     *
+     * @param display monitor displaying the progress of every upload
+     * @param logger  logger of the publishing task
+     */
+    public UploadReport(UploadMonitor display, Logger logger) {
+        this.display = display;
+        this.logger = logger;
+    }
+
+    /**
+     * Starts recording a file upload and displaying its progress.
+     *
+     * @param platform the platform the file is uploaded to
+     * @param file     the uploaded file
+     * @param bytes    the size of the file in bytes
+     * @return the handle recording the upload
+     */
+    @Override
+    public Upload start(Platform platform, File file, long bytes) {
+        return new FileUpload(platform, file, display.start(platform, file, bytes));
+    }
+
+    /**
+     * Writes the summary of all finished uploads as JSON.
+     *
+     * @param file the summary file
+     * @throws FailedPublishException if the summary could not be written
+     */
+    public void write(File file) {
+        var uploads = List.copyOf(samples);
+        var bytes = uploads.stream().mapToLong(Sample::bytes).sum();
+        var duration = Duration.ofNanos(System.nanoTime() - startedAt);
+        var summary = new Summary(bytes, duration.toMillis(), throughput(bytes, duration), uploads);
+
+        try {
+            var path = file.toPath();
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, GSON.toJson(summary));
+        } catch (IOException e) {
+            throw new FailedPublishException("Failed to write upload report " + file + ": " + e.getMessage());
+        }
+
+        if (!uploads.isEmpty()) {
+            logger.lifecycle("Uploaded " + megabytes(bytes) + " MB in " + seconds(duration) + " s ("
+                    + megabytes(summary.bytesPerSecond()) + " MB/s), see " + file);
+        }
+    }
+
+    /**
+     * Formats the progress of an upload, such as {@code "12.3 MB / 200.0 MB, 3.4 MB/s, ETA 55 s"}.
+     *
+     * @param sent    the number of bytes sent so far
+     * @param total   the size of the file in bytes
+     * @param elapsed the time elapsed since the upload started
+     * @return the progress status
+     */
+    static String status(long sent, long total, Duration elapsed) {
+        var status = megabytes(sent) + " MB / " + megabytes(total) + " MB";
+        var throughput = throughput(sent, elapsed);
+        if (throughput <= 0) return status;
+
+        var remaining = Duration.ofMillis((long) ((total - sent) / throughput * 1000));
+        return status + ", " + megabytes(throughput) + " MB/s, ETA " + remaining.toSeconds() + " s";
+    }
+
+    /**
+     * Computes a throughput in bytes per second.
+     *
+     * @param bytes    the number of bytes transferred
+     * @param duration the duration of the transfer
+     * @return the throughput, or {@code 0} if no time has elapsed
+     */
+    static double throughput(long bytes, Duration duration) {
+        var nanos = duration.toNanos();
+        return nanos <= 0 ? 0 : bytes * 1e9 / nanos;
+    }
+
+    /**
+     * Formats a number of bytes as megabytes with one decimal.
+     *
+     * @param bytes the number of bytes
+     * @return the formatted number of megabytes
+     */
+    static String megabytes(double bytes) {
+        return String.format(Locale.ROOT, "%.1f", bytes / MEGABYTE);
+    }
+
+    /**
+     * Formats a duration as seconds with one decimal.
+     *
+     * @param duration the duration
+     * @return the formatted number of seconds
+     */
+    private static String seconds(Duration duration) {
+        return String.format(Locale.ROOT, "%.1f", duration.toMillis() / 1000.0);
+    }
+
+    /**
+     * Summary of all uploads of a publishing task, as written to the report.
+     *
+     * @param bytes          the total number of bytes uploaded
+     * @param durationMillis the wall-clock duration of the task's uploads
+     * @param bytesPerSecond the overall throughput
+     * @param uploads        every finished upload, in completion order
+     */
+    record Summary(long bytes, long durationMillis, double bytesPerSecond, List<Sample> uploads) { }
+
+    /**
+     * A single finished upload.
+     *
+     * @param platform       the platform the file was uploaded to
+     * @param file           the name of the uploaded file
+     * @param bytes          the number of bytes sent
+     * @param durationMillis the duration of the upload
+     * @param bytesPerSecond the throughput of the upload
+     * @param succeeded      whether the whole file was sent
+     */
+    record Sample(String platform, String file, long bytes, long durationMillis, double bytesPerSecond,
+                  boolean succeeded) { }
+
+    /**
+     * Record of a single upload, forwarding its progress to the display.
+     */
+    private final class FileUpload implements Upload {
+
+        /** The platform the file is uploaded to. */
+        private final Platform platform;
+
+        /** The uploaded file. */
+        private final File file;
+
+        /** Handle displaying the progress of the upload. */
+        private final Upload progress;
+
+        /** Time at which the upload started, in nanoseconds. */
+        private final long startedAt = System.nanoTime();
+
+        /**
+         * Creates the handle of an upload.
+         *
+         * @param platform the platform the file is uploaded to
+         * @param file     the uploaded file
+         * @param progress handle displaying the progress of the upload
+         */
+        private FileUpload(Platform platform, File file, Upload progress) {
+            this.platform = platform;
+            this.file = file;
+            this.progress = progress;
+        }
+
+        /**
+         * Displays the progress of the upload.
+         *
+         * @param bytesSent the number of bytes written so far
+         */
+        @Override
+        public void progress(long bytesSent) {
+            progress.progress(bytesSent);
+        }
+
+        /**
+         * Records and logs the completed upload.
+         *
+         * @param bytesSent the number of bytes written
+         */
+        @Override
+        public void completed(long bytesSent) {
+            var sample = finish(bytesSent, true);
+            progress.completed(bytesSent);
+            logger.lifecycle("Sent " + file.getName() + " to " + platform.getId() + ": " + megabytes(bytesSent)
+                    + " MB in " + seconds(Duration.ofMillis(sample.durationMillis())) + " s ("
+                    + megabytes(sample.bytesPerSecond()) + " MB/s)");
+        }
+
+        /**
+         * Records the partial upload.
+         *
+         * @param bytesSent the number of bytes written before the failure
+         */
+        @Override
+        public void failed(long bytesSent) {
+            finish(bytesSent, false);
+            progress.failed(bytesSent);
+        }
+
+        /**
+         * Records the upload in the report.
+         *
+         * @param bytesSent the number of bytes sent
+         * @param succeeded whether the whole file was sent
+         * @return the recorded sample
+         */
+        private Sample finish(long bytesSent, boolean succeeded) {
+            var duration = Duration.ofNanos(System.nanoTime() - startedAt);
+            var sample = new Sample(platform.getId(), file.getName(), bytesSent, duration.toMillis(),
+                    throughput(bytesSent, duration), succeeded);
+            samples.add(sample);
+            return sample;
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package io.github.smootheez.jar;
+
+import io.github.smootheez.exception.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.regex.*;
+import java.util.zip.*;
+
+/**
+ * Rewrites mod jars into smaller, reproducible copies before they are uploaded.
+ * <p>
+ * Every entry is deflated again at the highest compression level, or stored when compression
+ * does not pay off. Entries are compressed concurrently and written in a fixed order, with the
+ * manifest first as required by {@link java.util.jar.JarInputStream} and every other entry
+ * sorted by name, all carrying the same timestamp and no extra fields. Jars with the same
+ * content therefore always produce the same bytes, whatever tool built them and when.
+ * <p>
+ * Entries up to {@link #STREAMING_THRESHOLD} bytes are compressed in memory. Larger entries are
+ * only measured concurrently and compressed a second time while being written, so the memory
+ * used does not grow with the size of the assets a jar bundles.
+ * <p>
+ * Entries matching one of the strip patterns are left out. Patterns use Ant syntax: {@code *}
+ * and {@code ?} match within a directory, {@code **} matches any number of directories and a
+ * trailing {@code /} matches a directory with everything inside it. Only entry data is
+ * preserved, so entry comments and extra fields such as Unix permissions are dropped.
+ */
+public class JarOptimizer {
+
+    /** Name of the directory holding the jar manifest. */
+    private static final String MANIFEST_DIRECTORY = "META-INF/";
+
+    /** Name of the jar manifest. */
+    private static final String MANIFEST = "META-INF/MANIFEST.MF";
+
+    /** Default size above which entries are streamed instead of being compressed in memory. */
+    static final long STREAMING_THRESHOLD = 4L * 1024 * 1024;
+
+    /** Prefix of the names given to compression threads. */
+    private static final String THREAD_NAME = "mc-mod-publisher-jar-";
+
+    /** Counter used to give compression threads unique names. */
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    /** Order of the entries in optimized jars: the manifest first, then every entry by name. */
+    private static final Comparator<String> ENTRY_ORDER = Comparator
+            .comparingInt(JarOptimizer::rank)
+            .thenComparing(Comparator.naturalOrder());
+
+    /** Patterns of the entries left out of optimized jars. */
+    private final List<Pattern> stripPatterns;
+
+    /** Maximum number of entries compressed at the same time. */
+    private final int parallelism;
+
+    /** Size above which entries are streamed instead of being compressed in memory. */
+    private final long streamingThreshold;
+
+    /**
+     * Creates an optimizer.
+     *
+     * @param stripPatterns Ant-style patterns of the entries to leave out
+     * @param parallelism   maximum number of entries compressed at the same time
+     */
+    public JarOptimizer(List<String> stripPatterns, int parallelism) {
+        this(stripPatterns, parallelism, STREAMING_THRESHOLD);
+    }
+
+    /**
+     * Creates an optimizer with a custom streaming threshold.
+     *
+     * @param stripPatterns      Ant-style patterns of the entries to leave out
+     * @param parallelism        maximum number of entries compressed at the same time
+     * @param streamingThreshold size above which entries are streamed instead of being compressed
+     *                           in memory
+     */
+    JarOptimizer(List<String> stripPatterns, int parallelism, long streamingThreshold) {
+        this.stripPatterns = stripPatterns.stream().map(JarOptimizer::compile).toList();
+        this.parallelism = parallelism;
+        this.streamingThreshold = streamingThreshold;
+    }
+
+    /**
+     * Returns whether a file is an archive this optimizer can rewrite, judged by its extension.
+     *
+     * @param file the file
+     * @return {@code true} for jar and zip files
+     */
+    public static boolean isArchive(File file) {
+        var name = file.getName().toLowerCase(Locale.ROOT);
+        return name.endsWith(".jar") || name.endsWith(".zip");
+    }
+
+    /**
+     * Writes the optimized copy of a jar.
+     *
+     * @param source the jar to optimize
+     * @param target the file receiving the optimized copy, replaced if it exists
+     * @return the outcome of the optimization
+     * @throws FailedOptimizeJarException if the jar cannot be read, one of its entries cannot be
+     *                                     compressed or the copy cannot be written
+     */
+    public Result optimize(File source, File target) {
+        try (var zip = new ZipFile(source)) {
+            var entries = new TreeMap<String, ZipEntry>(ENTRY_ORDER);
+            var stripped = 0;
+            for (var entry : Collections.list(zip.entries())) {
+                if (stripped(entry.getName())) {
+                    stripped++;
+                } else {
+                    entries.putIfAbsent(entry.getName(), entry);
+                }
+            }
+
+            var prepared = prepare(zip, entries.values());
+
+            Files.createDirectories(target.toPath().getParent());
+            try (var writer = new ZipWriter(Files.newOutputStream(target.toPath()))) {
+                for (var entry : prepared) {
+                    if (entry.streamed()) {
+                        try (var in = zip.getInputStream(entries.get(entry.name()))) {
+                            writer.write(entry, in);
+                        }
+                    } else {
+                        writer.write(entry);
+                    }
+                }
+            }
+            return new Result(target, source.length(), target.length(), stripped);
+        } catch (IOException e) {
+            throw new FailedOptimizeJarException("Failed to optimize " + source + ": " + e.getMessage());
+        } catch (EntryException e) {
+            throw new FailedOptimizeJarException("Failed to optimize " + source + ": entry " + e.entry
+                    + " could not be compressed: " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FailedOptimizeJarException("Optimizing " + source + " was interrupted");
+        }
+    }
+
+    /**
+     * Compresses or measures the entries of a jar concurrently, failing as soon as one of them
+     * cannot be read. The entries still queued or running are cancelled, and the method returns
+     * only once none of them is running any more.
+     *
+     * @param zip     the jar
+     * @param entries the entries to prepare, in the order they are written
+     * @return the prepared entries, in the same order
+     * @throws EntryException       if an entry cannot be read
+     * @throws InterruptedException if interrupted while waiting for the entries
+     */
+    private List<PreparedEntry> prepare(ZipFile zip, Collection<ZipEntry> entries) throws EntryException, InterruptedException {
+        if (entries.isEmpty()) return List.of();
+
+        var executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, entries.size())), runnable -> {
+            var thread = new Thread(runnable, THREAD_NAME + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            var completion = new ExecutorCompletionService<PreparedEntry>(executor);
+            var futures = new IdentityHashMap<Future<PreparedEntry>, String>();
+            for (var entry : entries) futures.put(completion.submit(() -> prepare(zip, entry)), entry.getName());
+
+            var prepared = new HashMap<String, PreparedEntry>();
+            for (var i = 0; i < entries.size(); i++) {
+                var future = completion.take();
+                try {
+                    var entry = future.get();
+                    prepared.put(entry.name(), entry);
+                } catch (ExecutionException e) {
+                    throw new EntryException(futures.get(future), e.getCause());
+                }
+            }
+            return entries.stream().map(entry -> prepared.get(entry.getName())).toList();
+        } finally {
+            close(executor);
+        }
+    }
+
+    /**
+     * Shuts down the executor preparing the entries and waits for all of them to stop, so none
+     * of them reads the jar after it was closed. Entries still queued are not prepared.
+     *
+     * @param executor the executor
+     */
+    private static void close(ExecutorService executor) {
+        executor.shutdownNow();
+        var interrupted = Thread.interrupted();
+        try {
+            while (true) {
+                try {
+                    if (executor.awaitTermination(1, TimeUnit.MINUTES)) return;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Compresses a small entry in memory, or measures a large one.
+     *
+     * @param zip   the jar
+     * @param entry the entry
+     * @return the prepared entry
+     * @throws IOException if the entry cannot be read
+     */
+    private PreparedEntry prepare(ZipFile zip, ZipEntry entry) throws IOException {
+        try (var in = zip.getInputStream(entry)) {
+            if (entry.getSize() < 0 || entry.getSize() > streamingThreshold) {
+                return PreparedEntry.measure(entry.getName(), in);
+            }
+            return PreparedEntry.compress(entry.getName(), in.readAllBytes());
+        }
+    }
+
+    /**
+     * Returns whether an entry matches one of the strip patterns.
+     *
+     * @param name the name of the entry
+     * @return {@code true} if the entry is left out
+     */
+    boolean stripped(String name) {
+        for (var pattern : stripPatterns) {
+            if (pattern.matcher(name).matches()) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Translates an Ant-style pattern into a regular expression.
+     *
+     * @param pattern the Ant-style pattern
+     * @return the regular expression matching the same entry names
+     */
+    static Pattern compile(String pattern) {
+        var glob = pattern.endsWith("/") ? pattern + "**" : pattern;
+        var regex = new StringBuilder();
+        for (var i = 0; i < glob.length(); i++) {
+            var c = glob.charAt(i);
+            if (c == '*' && glob.startsWith("**/", i)) {
+                regex.append("(?:.*/)?");
+                i += 2;
+            } else if (c == '*' && glob.startsWith("**", i)) {
+                regex.append(".*");
+                i++;
+            } else if (c == '*') {
+                regex.append("[^/]*");
+            } else if (c == '?') {
+                regex.append("[^/]");
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    /**
+     * Returns the rank of an entry in the entry order.
+     *
+     * @param name the name of the entry
+     * @return {@code 0} for the manifest directory, {@code 1} for the manifest, {@code 2} otherwise
+     */
+    private static int rank(String name) {
+        return switch (name) {
+            case MANIFEST_DIRECTORY -> 0;
+            case MANIFEST -> 1;
+            default -> 2;
+        };
+    }
+
+    /**
+     * Failure to read a single entry of a jar.
+     */
+    private static final class EntryException extends Exception {
+
+        /** Name of the entry. */
+        private final String entry;
+
+        /**
+         * Creates the exception.
+         *
+         * @param entry name of the entry
+         * @param cause the failure
+         */
+        private EntryException(String entry, Throwable cause) {
+            super(cause);
+            this.entry = entry;
+        }
+    }
+
+    /**
+     * Outcome of optimizing a jar.
+     *
+     * @param file            the optimized copy
+     * @param originalBytes   the size of the original jar
+     * @param optimizedBytes  the size of the optimized copy
+     * @param strippedEntries the number of entries left out
+     */
+    public record Result(
+            File file,
+            long originalBytes,
+            long optimizedBytes,
+            int strippedEntries
+    ) {
+
+        /**
+         * Returns the number of bytes saved, negative if the copy is larger than the original.
+         *
+         * @return the number of bytes saved
+         */
+        public long savedBytes() {
+            return originalBytes - optimizedBytes;
+        }
+    }
+}
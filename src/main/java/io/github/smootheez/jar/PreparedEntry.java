@@ -0,0 +1,191 @@
+package io.github.smootheez.jar;
+
+import java.io.*;
+import java.util.zip.*;
+
+/**
+ * An archive entry whose data is ready to be written by a {@link ZipWriter}.
+ * <p>
+ * Small entries are compressed in memory and carry their data. Large entries are only
+ * measured, without keeping their data, and are compressed again from their source while being
+ * written, so optimizing a jar never holds a large entry in memory.
+ *
+ * @param name           the name of the entry, ending with {@code /} for directories
+ * @param method         the compression method, {@link ZipEntry#DEFLATED} or
+ *                       {@link ZipEntry#STORED}
+ * @param crc            the CRC-32 of the uncompressed data
+ * @param size           the size of the uncompressed data
+ * @param compressedSize the size of the data as stored in the archive
+ * @param data           the data as stored in the archive, or {@code null} if it is streamed
+ */
+record PreparedEntry(
+        String name,
+        int method,
+        long crc,
+        long size,
+        long compressedSize,
+        byte[] data
+) {
+
+    /** Size of the buffers used to stream entry data. */
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    /**
+     * Compresses the content of an entry at the highest deflate level. The entry is stored
+     * uncompressed when deflating would not make it smaller.
+     *
+     * @param name    the name of the entry
+     * @param content the uncompressed content
+     * @return the prepared entry
+     */
+    static PreparedEntry compress(String name, byte[] content) {
+        var crc = new CRC32();
+        crc.update(content);
+
+        var deflated = deflate(content);
+        return deflated.length < content.length
+                ? new PreparedEntry(name, ZipEntry.DEFLATED, crc.getValue(), content.length, deflated.length, deflated)
+                : new PreparedEntry(name, ZipEntry.STORED, crc.getValue(), content.length, content.length, content);
+    }
+
+    /**
+     * Measures the content of a large entry without keeping it. The content is deflated at the
+     * highest level only to learn its compressed size; the data is compressed again by
+     * {@link #transfer(InputStream, OutputStream)} when the entry is written.
+     *
+     * @param name    the name of the entry
+     * @param content the uncompressed content
+     * @return the prepared entry, without data
+     * @throws IOException if the content cannot be read
+     */
+    static PreparedEntry measure(String name, InputStream content) throws IOException {
+        var crc = new CheckedInputStream(content, new CRC32());
+        var deflated = new CountingOutputStream(OutputStream.nullOutputStream());
+        var size = deflate(crc, deflated);
+        return deflated.count < size
+                ? new PreparedEntry(name, ZipEntry.DEFLATED, crc.getChecksum().getValue(), size, deflated.count, null)
+                : new PreparedEntry(name, ZipEntry.STORED, crc.getChecksum().getValue(), size, size, null);
+    }
+
+    /**
+     * Returns whether the data of the entry is streamed from its source while being written.
+     *
+     * @return {@code true} for entries prepared by {@link #measure(String, InputStream)}
+     */
+    boolean streamed() {
+        return data == null;
+    }
+
+    /**
+     * Writes the data of a streamed entry as stored in the archive, compressing its content
+     * again exactly as {@link #measure(String, InputStream)} did.
+     *
+     * @param content the uncompressed content
+     * @param out     the stream receiving the data
+     * @throws IOException if the content cannot be read, or differs from the measured content
+     */
+    void transfer(InputStream content, OutputStream out) throws IOException {
+        var crc = new CheckedInputStream(content, new CRC32());
+        var written = new CountingOutputStream(out);
+        var read = method == ZipEntry.DEFLATED ? deflate(crc, written) : crc.transferTo(written);
+        if (read != size || written.count != compressedSize || crc.getChecksum().getValue() != this.crc) {
+            throw new ZipException("Entry " + name + " changed while being written");
+        }
+    }
+
+    /**
+     * Returns whether the entry is a directory.
+     *
+     * @return {@code true} for directory entries
+     */
+    boolean directory() {
+        return name.endsWith("/");
+    }
+
+    /**
+     * Deflates data at the highest level, without zlib header as required by zip archives.
+     *
+     * @param content the data
+     * @return the deflated data
+     */
+    private static byte[] deflate(byte[] content) {
+        var deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setInput(content);
+            deflater.finish();
+
+            var out = new ByteArrayOutputStream(Math.max(64, content.length / 2));
+            var buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Deflates a stream at the highest level, without zlib header as required by zip archives.
+     *
+     * @param content the data
+     * @param out     the stream receiving the deflated data, left open
+     * @return the number of bytes of the data
+     * @throws IOException if the data cannot be read or written
+     */
+    private static long deflate(InputStream content, OutputStream out) throws IOException {
+        var deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            var deflating = new DeflaterOutputStream(out, deflater, BUFFER_SIZE);
+            var size = content.transferTo(deflating);
+            deflating.finish();
+            return size;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Stream counting the bytes written through it.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        /** Number of bytes written so far. */
+        private long count;
+
+        /**
+         * Creates a counting stream.
+         *
+         * @param out the stream the bytes are written to
+         */
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        /**
+         * Writes a single byte.
+         *
+         * @param b the byte
+         * @throws IOException if the byte cannot be written
+         */
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        /**
+         * Writes a range of bytes at once.
+         *
+         * @param b   the bytes
+         * @param off the offset of the range
+         * @param len the length of the range
+         * @throws IOException if the bytes cannot be written
+         */
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
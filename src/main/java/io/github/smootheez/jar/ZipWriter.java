@@ -0,0 +1,202 @@
+package io.github.smootheez.jar;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.zip.*;
+
+/**
+ * Writes a zip archive from entries whose data has already been compressed or measured.
+ * <p>
+ * {@link ZipOutputStream} compresses entries itself, one after the other, so it cannot write
+ * entries that were deflated concurrently. This writer lays out the headers around the
+ * prepared data, and streams the data of large entries whose sizes and CRC were measured
+ * beforehand, so their local headers never need to be patched. Every entry gets the same
+ * timestamp and no extra fields or comments, so equal entries always produce equal archives.
+ * Archives needing zip64 extensions are rejected.
+ */
+final class ZipWriter implements Closeable {
+
+    /** Signature of a local file header. */
+    private static final int LOCAL_HEADER = 0x04034b50;
+
+    /** Signature of a central directory header. */
+    private static final int CENTRAL_HEADER = 0x02014b50;
+
+    /** Signature of the end of central directory record. */
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+
+    /** Zip version 2.0, needed to extract deflated entries and directories. */
+    private static final int VERSION = 20;
+
+    /** General purpose flag marking entry names as UTF-8. */
+    private static final int UTF8_NAMES = 0x0800;
+
+    /** MS-DOS directory attribute, set on directory entries. */
+    private static final int DIRECTORY_ATTRIBUTE = 0x10;
+
+    /** Largest number of entries of an archive without zip64 extensions. */
+    private static final int MAX_ENTRIES = 0xFFFF;
+
+    /** Largest size or offset in an archive without zip64 extensions. */
+    private static final long MAX_SIZE = 0xFFFFFFFFL;
+
+    /**
+     * MS-DOS time of every entry, 00:00:00. Together with {@link #DOS_DATE}, this is the
+     * timestamp Gradle gives entries of reproducible archives.
+     */
+    private static final int DOS_TIME = 0;
+
+    /** MS-DOS date of every entry, 1980-02-01. */
+    private static final int DOS_DATE = (2 << 5) | 1;
+
+    /** Stream the archive is written to. */
+    private final DataOutputStream out;
+
+    /** Central directory headers of the written entries, with their offsets. */
+    private final List<Written> written = new ArrayList<>();
+
+    /** Number of bytes written so far. */
+    private long offset;
+
+    /**
+     * Creates a writer.
+     *
+     * @param out the stream the archive is written to
+     */
+    ZipWriter(OutputStream out) {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+    }
+
+    /**
+     * Writes an entry carrying its data.
+     *
+     * @param entry the prepared entry
+     * @throws IOException if the entry cannot be written or exceeds the limits of the format
+     */
+    void write(PreparedEntry entry) throws IOException {
+        writeLocalHeader(entry);
+        out.write(entry.data());
+        offset += entry.compressedSize();
+    }
+
+    /**
+     * Writes a streamed entry, compressing its data from the source while writing it.
+     *
+     * @param entry   the prepared entry
+     * @param content the uncompressed content of the entry
+     * @throws IOException if the entry cannot be written, exceeds the limits of the format or
+     *                     its content differs from the measured content
+     */
+    void write(PreparedEntry entry, InputStream content) throws IOException {
+        writeLocalHeader(entry);
+        entry.transfer(content, out);
+        offset += entry.compressedSize();
+    }
+
+    /**
+     * Writes the local header of an entry and remembers the entry for the central directory.
+     *
+     * @param entry the prepared entry
+     * @throws IOException if the header cannot be written or the entry exceeds the limits of the
+     *                     format
+     */
+    private void writeLocalHeader(PreparedEntry entry) throws IOException {
+        if (written.size() == MAX_ENTRIES) throw new ZipException("More than " + MAX_ENTRIES + " entries");
+        if (entry.size() > MAX_SIZE || entry.compressedSize() > MAX_SIZE || offset > MAX_SIZE) {
+            throw new ZipException("Archive too large for zip without zip64");
+        }
+
+        var name = entry.name().getBytes(StandardCharsets.UTF_8);
+        written.add(new Written(entry, name, offset));
+
+        writeInt(LOCAL_HEADER);
+        writeShort(VERSION);
+        writeShort(UTF8_NAMES);
+        writeShort(entry.method());
+        writeShort(DOS_TIME);
+        writeShort(DOS_DATE);
+        writeInt((int) entry.crc());
+        writeInt((int) entry.compressedSize());
+        writeInt((int) entry.size());
+        writeShort(name.length);
+        writeShort(0);
+        out.write(name);
+        offset += 30 + name.length;
+    }
+
+    /**
+     * Writes the central directory and closes the stream.
+     *
+     * @throws IOException if the central directory cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try (out) {
+            if (offset > MAX_SIZE) throw new ZipException("Archive too large for zip without zip64");
+
+            var start = offset;
+            for (var entry : written) {
+                writeInt(CENTRAL_HEADER);
+                writeShort(VERSION);
+                writeShort(VERSION);
+                writeShort(UTF8_NAMES);
+                writeShort(entry.entry().method());
+                writeShort(DOS_TIME);
+                writeShort(DOS_DATE);
+                writeInt((int) entry.entry().crc());
+                writeInt((int) entry.entry().compressedSize());
+                writeInt((int) entry.entry().size());
+                writeShort(entry.name().length);
+                writeShort(0);
+                writeShort(0);
+                writeShort(0);
+                writeShort(0);
+                writeInt(entry.entry().directory() ? DIRECTORY_ATTRIBUTE : 0);
+                writeInt((int) entry.offset());
+                out.write(entry.name());
+                offset += 46 + entry.name().length;
+            }
+
+            writeInt(END_OF_CENTRAL_DIRECTORY);
+            writeShort(0);
+            writeShort(0);
+            writeShort(written.size());
+            writeShort(written.size());
+            writeInt((int) (offset - start));
+            writeInt((int) start);
+            writeShort(0);
+        }
+    }
+
+    /**
+     * Writes a little-endian 16 bit value.
+     *
+     * @param value the value
+     * @throws IOException if the value cannot be written
+     */
+    private void writeShort(int value) throws IOException {
+        out.write(value & 0xFF);
+        out.write((value >>> 8) & 0xFF);
+    }
+
+    /**
+     * Writes a little-endian 32 bit value.
+     *
+     * @param value the value
+     * @throws IOException if the value cannot be written
+     */
+    private void writeInt(int value) throws IOException {
+        writeShort(value & 0xFFFF);
+        writeShort((value >>> 16) & 0xFFFF);
+    }
+
+    /**
+     * An entry that was written, remembered for the central directory.
+     *
+     * @param entry  the entry
+     * @param name   the UTF-8 encoded name of the entry
+     * @param offset the offset of the entry's local header
+     */
+    private record Written(PreparedEntry entry, byte[] name, long offset) { }
+}
@@ -0,0 +1,13 @@
+package io.github.smootheez.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Event recorded while the plugin builds and serializes the version metadata of a publication.
+ * The byte count is the size of the serialized metadata.
+ */
+@Name("io.github.smootheez.MetadataBuild")
+@Label("Metadata Build")
+@Description("Builds and serializes the version metadata of a publication.")
+public class MetadataBuildEvent extends PublishPhaseEvent {
+}
@@ -0,0 +1,13 @@
+package io.github.smootheez.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Event recorded while the plugin assembles the multipart request body carrying the metadata and
+ * files of an upload. The byte count is the size of the request body.
+ */
+@Name("io.github.smootheez.MultipartAssembly")
+@Label("Multipart Assembly")
+@Description("Assembles the multipart request body carrying the metadata and files of an upload.")
+public class MultipartAssemblyEvent extends PublishPhaseEvent {
+}
@@ -0,0 +1,14 @@
+package io.github.smootheez.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Event recorded while the plugin prepares the local artifacts of a publication, such as the
+ * hashes of its files, concurrently with the game version tag fetch. The byte count is the total
+ * size of the publication's files.
+ */
+@Name("io.github.smootheez.Preparation")
+@Label("Publication Preparation")
+@Description("Checks and hashes the files of a publication while game version tags are fetched.")
+public class PreparationEvent extends PublishPhaseEvent {
+}
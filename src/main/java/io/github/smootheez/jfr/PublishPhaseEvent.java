@@ -0,0 +1,80 @@
+package io.github.smootheez.jfr;
+
+import io.github.smootheez.*;
+import jdk.jfr.*;
+
+import javax.annotation.*;
+
+/**
+ * Base of the Java Flight Recorder events emitted for every phase of a publish.
+ * <p>
+ * Each phase is recorded as its own event type, so publishing latency can be lined up with
+ * garbage collection, I/O and other activity of the same recording. Every event carries the
+ * platform, the platform's project ID, the number of bytes processed and a status. Events start
+ * with the status {@value #FAILED}, so a phase that is left through an exception is recorded
+ * as failed.
+ * <p>
+ * A phase is recorded as follows:
+ * <pre>{@code
+ * var event = new UploadEvent().start(platform, projectId);
+ * try {
+ *     ...
+ *     event.succeeded(bytes, status);
+ * } finally {
+ *     event.commit();
+ * }
+ * }</pre>
+ * When no recording is running, creating and committing events costs next to nothing.
+ */
+@Category("Mc Mod Publisher")
+@StackTrace(false)
+public abstract class PublishPhaseEvent extends Event {
+
+    /** Status of a phase that did not complete. */
+    public static final String FAILED = "failed";
+
+    /** Status of a phase that completed without a more specific status. */
+    public static final String OK = "ok";
+
+    /** Identifier of the platform the phase talks to. */
+    @Label("Platform")
+    String platform;
+
+    /** The project ID on the platform, if configured. */
+    @Label("Project ID")
+    String projectId;
+
+    /** Number of bytes processed by the phase. */
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    /** Outcome of the phase, such as an HTTP status code. */
+    @Label("Status")
+    String status = FAILED;
+
+    /**
+     * Fills in the platform and project ID and starts timing the phase.
+     *
+     * @param platform  the platform the phase talks to
+     * @param projectId the project ID on the platform, or {@code null} if none is configured
+     * @return this event
+     */
+    public PublishPhaseEvent start(Platform platform, @Nullable String projectId) {
+        this.platform = platform.getId();
+        this.projectId = projectId;
+        begin();
+        return this;
+    }
+
+    /**
+     * Records the outcome of a phase that completed.
+     *
+     * @param bytes  the number of bytes processed
+     * @param status the outcome of the phase
+     */
+    public void succeeded(long bytes, String status) {
+        this.bytes = bytes;
+        this.status = status;
+    }
+}
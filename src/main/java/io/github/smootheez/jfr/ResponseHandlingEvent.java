@@ -0,0 +1,13 @@
+package io.github.smootheez.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Event recorded while the plugin reads, decodes and verifies the response of an upload. The byte
+ * count is the size of the response body.
+ */
+@Name("io.github.smootheez.ResponseHandling")
+@Label("Response Handling")
+@Description("Reads, decodes and verifies the response of an upload.")
+public class ResponseHandlingEvent extends PublishPhaseEvent {
+}
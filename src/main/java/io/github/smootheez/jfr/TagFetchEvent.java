@@ -0,0 +1,13 @@
+package io.github.smootheez.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Event recorded while the plugin fetches the game version tag list of a platform, from the
+ * persistent cache or the network. The byte count is the size of the tag list.
+ */
+@Name("io.github.smootheez.TagFetch")
+@Label("Game Version Tag Fetch")
+@Description("Fetches the game version tag list of a platform, from the persistent cache or the network.")
+public class TagFetchEvent extends PublishPhaseEvent {
+}
@@ -0,0 +1,13 @@
+package io.github.smootheez.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Event recorded while the plugin decodes the cached game version tag list and keeps the tags
+ * requested by the publications. The byte count is the size of the decoded tag list.
+ */
+@Name("io.github.smootheez.TagParse")
+@Label("Game Version Tag Parse")
+@Description("Decodes the cached game version tag list and keeps the tags requested by the publications.")
+public class TagParseEvent extends PublishPhaseEvent {
+}
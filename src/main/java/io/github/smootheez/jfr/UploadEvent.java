@@ -0,0 +1,13 @@
+package io.github.smootheez.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Event recorded while the plugin sends an upload request to a platform and waits for its
+ * response. The byte count is the size of the request body.
+ */
+@Name("io.github.smootheez.Upload")
+@Label("Upload")
+@Description("Sends an upload request to a platform and waits for its response.")
+public class UploadEvent extends PublishPhaseEvent {
+}
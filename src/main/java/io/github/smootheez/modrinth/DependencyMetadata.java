@@ -3,6 +3,8 @@ package io.github.smootheez.modrinth;
 import com.google.gson.annotations.*;
 import lombok.*;
 
+import java.io.*;
+
 /**
  * Represents a single dependency entry used when publishing metadata
  * to external mod distribution platforms such as CurseForge or Modrinth.
@@ -31,5 +33,4 @@ import lombok.*;
 public record DependencyMetadata(
         @SerializedName("project_id") String projectId,
         @SerializedName("dependency_type") DependencyType dependencyType
-) { }
-
+) implements Serializable { }
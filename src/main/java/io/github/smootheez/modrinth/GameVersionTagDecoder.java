@@ -0,0 +1,75 @@
+package io.github.smootheez.modrinth;
+
+import com.google.gson.stream.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Streaming decoder for the Modrinth {@code /v2/tag/game_version} payload.
+ * <p>
+ * The payload is read token by token with a {@link JsonReader} and the version filter is
+ * applied inside the parse loop, so only the requested versions are turned into
+ * {@link GameVersionTag} instances.
+ */
+public final class GameVersionTagDecoder {
+
+    /** Prevents instantiation of this utility class. */
+    private GameVersionTagDecoder() {}
+
+    /**
+     * Decodes the tags whose version is accepted by the filter from a JSON array of Modrinth game versions.
+     *
+     * @param reader the reader supplying the JSON payload
+     * @param filter the filter deciding which versions are kept
+     * @return the accepted tags, in payload order
+     * @throws IOException if the payload cannot be read or is malformed
+     */
+    public static List<GameVersionTag> decode(Reader reader, Predicate<String> filter) throws IOException {
+        var json = new JsonReader(reader);
+        var tags = new ArrayList<GameVersionTag>();
+
+        json.beginArray();
+        while (json.hasNext()) {
+            String version = null;
+            String versionType = null;
+            String date = null;
+            var major = false;
+
+            json.beginObject();
+            while (json.hasNext()) {
+                switch (json.nextName()) {
+                    case "version" -> version = nextString(json);
+                    case "version_type" -> versionType = nextString(json);
+                    case "date" -> date = nextString(json);
+                    case "major" -> major = json.nextBoolean();
+                    default -> json.skipValue();
+                }
+            }
+            json.endObject();
+
+            if (version != null && filter.test(version)) {
+                tags.add(new GameVersionTag(version, versionType, date, major));
+            }
+        }
+        json.endArray();
+
+        return tags;
+    }
+
+    /**
+     * Reads a string value that may be {@code null}.
+     *
+     * @param json the reader positioned at the value
+     * @return the string value, or {@code null} if the value is a JSON null
+     * @throws IOException if the value cannot be read
+     */
+    private static String nextString(JsonReader json) throws IOException {
+        if (json.peek() == JsonToken.NULL) {
+            json.nextNull();
+            return null;
+        }
+        return json.nextString();
+    }
+}
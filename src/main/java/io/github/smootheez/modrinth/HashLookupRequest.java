@@ -0,0 +1,14 @@
+package io.github.smootheez.modrinth;
+
+import java.util.*;
+
+/**
+ * Represents the payload used to look up Modrinth versions by the hashes of their files.
+ *
+ * @param hashes    the file hashes to look up
+ * @param algorithm the algorithm the hashes were computed with (e.g., {@code "sha512"})
+ */
+public record HashLookupRequest(
+        List<String> hashes,
+        String algorithm
+) { }
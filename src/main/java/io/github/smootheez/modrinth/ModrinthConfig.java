@@ -4,6 +4,7 @@ import io.github.smootheez.*;
 import lombok.*;
 import org.gradle.api.*;
 import org.gradle.api.model.*;
+import org.gradle.api.provider.*;
 
 import javax.inject.*;
 
@@ -13,23 +14,26 @@ import javax.inject.*;
  * This class extends {@link PublisherConfig} to provide Modrinth-specific
  * dependency handling and upload options such as featured status and version
  * listing state.
+ * <p>
+ * Dependencies may be declared by project ID, such as {@code "P7dR8mSH"}, or by slug, such as
+ * {@code "fabric-api"}. Modrinth expects project IDs, so slugs are resolved into IDs before
+ * publishing.
  */
 @Getter
-@Setter
 public class ModrinthConfig extends PublisherConfig<ModrinthDependency, String> {
 
     /**
      * Determines whether the uploaded version should be marked as featured
      * on Modrinth. Defaults to {@code true}.
      */
-    private boolean featured = true;
+    private final Property<Boolean> featured;
 
     /**
      * Indicates the visibility status of the uploaded version
      * (e.g., {@code "listed"}, {@code "unlisted"}, {@code "draft"}).
      * Defaults to {@code "listed"}.
      */
-    private String status = "listed";
+    private final Property<String> status;
 
     /** Prefix used when generating names for Modrinth dependency entries. */
     private static final String MODRINTH = "modrinth-";
@@ -42,7 +46,9 @@ public class ModrinthConfig extends PublisherConfig<ModrinthDependency, String>
      */
     @Inject
     public ModrinthConfig(ObjectFactory objects) {
-        super(objects, ModrinthDependency.class);
+        super(objects, ModrinthDependency.class, Platform.MODRINTH);
+        this.featured = objects.property(Boolean.class).convention(true);
+        this.status = objects.property(String.class).convention("listed");
     }
 
     /**
@@ -56,9 +62,9 @@ public class ModrinthConfig extends PublisherConfig<ModrinthDependency, String>
     }
 
     /**
-     * Creates a required dependency entry for the given Modrinth project ID.
+     * Creates a required dependency entry for the given Modrinth project ID or slug.
      *
-     * @param id project ID on Modrinth
+     * @param id project ID or slug on Modrinth
      * @return the created dependency
      */
     @Override
@@ -67,9 +73,9 @@ public class ModrinthConfig extends PublisherConfig<ModrinthDependency, String>
     }
 
     /**
-     * Creates an optional dependency entry for the given Modrinth project ID.
+     * Creates an optional dependency entry for the given Modrinth project ID or slug.
      *
-     * @param id project ID on Modrinth
+     * @param id project ID or slug on Modrinth
      * @return the created dependency
      */
     @Override
@@ -78,9 +84,9 @@ public class ModrinthConfig extends PublisherConfig<ModrinthDependency, String>
     }
 
     /**
-     * Creates an incompatible dependency entry for the given Modrinth project ID.
+     * Creates an incompatible dependency entry for the given Modrinth project ID or slug.
      *
-     * @param id project ID on Modrinth
+     * @param id project ID or slug on Modrinth
      * @return the created dependency
      */
     @Override
@@ -89,9 +95,9 @@ public class ModrinthConfig extends PublisherConfig<ModrinthDependency, String>
     }
 
     /**
-     * Creates an embedded dependency entry for the given Modrinth project ID.
+     * Creates an embedded dependency entry for the given Modrinth project ID or slug.
      *
-     * @param id project ID on Modrinth
+     * @param id project ID or slug on Modrinth
      * @return the created dependency
      */
     @Override
@@ -102,7 +108,7 @@ public class ModrinthConfig extends PublisherConfig<ModrinthDependency, String>
     /**
      * Internal helper that constructs a Modrinth dependency with the given type.
      *
-     * @param projectId Modrinth project ID
+     * @param projectId Modrinth project ID or slug
      * @param type      type of dependency relationship
      * @return the configured dependency object
      */
@@ -17,7 +17,7 @@ import javax.inject.*;
 public class ModrinthDependency {
 
     /**
-     * The Modrinth project ID of the dependency.
+     * The Modrinth project ID or slug of the dependency. Slugs are resolved into IDs before publishing.
      * Serialized as {@code "project_id"} when communicating with the API.
      */
     @SerializedName("project_id")
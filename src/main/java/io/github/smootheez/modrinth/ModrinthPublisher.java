@@ -1,14 +1,19 @@
 package io.github.smootheez.modrinth;
 
+import com.google.gson.*;
 import com.google.gson.reflect.*;
 import io.github.smootheez.*;
+import io.github.smootheez.cache.*;
 import io.github.smootheez.exception.*;
+import io.github.smootheez.http.*;
+import io.github.smootheez.jfr.*;
 import okhttp3.*;
-import org.gradle.api.*;
-import org.gradle.api.file.*;
+import org.gradle.api.logging.*;
 
+import javax.annotation.*;
 import java.io.*;
 import java.util.*;
+import java.util.function.*;
 import java.util.stream.*;
 
 /**
@@ -18,17 +23,28 @@ import java.util.stream.*;
  * <ul>
  *     <li>Validating configuration such as release type, status, and game versions</li>
  *     <li>Fetching available game versions from Modrinth</li>
+ *     <li>Skipping files that Modrinth already holds, based on their hashes, while the game
+ *     versions are fetched</li>
  *     <li>Building metadata for the version upload</li>
  *     <li>Uploading files and metadata via multipart requests</li>
  * </ul>
  */
-public class ModrinthPublisher extends Publisher {
+public class ModrinthPublisher extends Publisher<ModrinthPublisher.UploadPlan> {
 
-    /** Endpoint for uploading a new version to Modrinth. */
-    private static final String UPLOAD_URL = "https://api.modrinth.com/v2/version";
+    /** Endpoint for uploading a new version to Modrinth, relative to the API base URL. */
+    private static final String UPLOAD_PATH = "/v2/version";
 
-    /** Endpoint for fetching all available game version tags from Modrinth. */
-    private static final String GAME_VERSION_URL = "https://api.modrinth.com/v2/tag/game_version";
+    /** Endpoint for adding files to an existing Modrinth version, relative to the API base URL. */
+    private static final String ADD_FILES_PATH = "/v2/version/%s/file";
+
+    /** Endpoint for looking up versions by the hashes of their files, relative to the API base URL. */
+    private static final String VERSION_FILES_PATH = "/v2/version_files";
+
+    /** Hash algorithm used when looking up already published files. */
+    private static final String HASH_ALGORITHM = "sha512";
+
+    /** Endpoint for fetching all available game version tags from Modrinth, relative to the API base URL. */
+    private static final String GAME_VERSION_PATH = "/v2/tag/game_version";
 
     /** Supported Modrinth version status values. */
     private static final Set<String> VALID_STATUS = Set.of("listed", "archived", "draft", "unlisted", "scheduled");
@@ -36,183 +52,480 @@ public class ModrinthPublisher extends Publisher {
     /**
      * Constructs a new {@code ModrinthPublisher}.
      *
-     * @param project    the Gradle project instance
-     * @param extension  the plugin configuration extension
-     * @param client     the HTTP client used for API communication
+     * @param logger     the logger of the publishing task
+     * @param spec       the configuration snapshot
+     * @param token      the Modrinth API token
+     * @param http       the build-wide HTTP service used for API communication
+     * @param cache      the persistent game version tag cache
+     * @param uploads    the monitor receiving the progress of file uploads
+     */
+    public ModrinthPublisher(Logger logger, PublishSpec spec, String token, HttpClientService http,
+                             GameVersionCache cache, UploadMonitor uploads) {
+        super(logger, spec, token, http, cache, uploads);
+    }
+
+    /**
+     * Returns {@link Platform#MODRINTH}.
+     *
+     * @return the target platform
      */
-    public ModrinthPublisher(Project project, McModPublisherExtension extension, OkHttpClient client) {
-        super(project, extension, client);
+    @Override
+    protected Platform platform() {
+        return Platform.MODRINTH;
+    }
+
+    /**
+     * Fetches Modrinth's game version tags once and indexes those requested by any publication.
+     *
+     * @param publications the publications that will be published
+     * @return the index shared by all publications
+     */
+    @Override
+    protected GameVersionIndex resolveGameVersions(List<PublicationSpec> publications) {
+        var desiredVersions = new HashSet<String>();
+        publications.forEach(publication -> desiredVersions.addAll(publication.gameVersions()));
+        return gameVersionIndex(fetchGameVersions(desiredVersions::contains));
     }
 
     /**
-     * Executes the publishing process to Modrinth.
+     * Hashes the files of a publication and looks up those already published on Modrinth,
+     * while the game version tags are fetched.
+     *
+     * @param publication the publication to prepare
+     * @return the files that still need to be uploaded and where to upload them
+     */
+    @Override
+    protected UploadPlan prepare(PublicationSpec publication) {
+        return planUpload(spec.modrinth().projectId(), publication, token);
+    }
+
+    /**
+     * Executes the publishing process of a single publication to Modrinth.
      * <p>
      * This includes:
      * <ul>
      *     <li>Validating configuration</li>
-     *     <li>Fetching supported game versions from Modrinth</li>
+     *     <li>Resolving the publication's game versions against the shared index</li>
      *     <li>Constructing metadata</li>
-     *     <li>Sending the multipart request containing metadata and mod files</li>
+     *     <li>Sending the multipart request containing metadata and the remaining mod files,
+     *     or attaching them to the matching existing version</li>
      * </ul>
      * Logs and aborts on invalid configuration or missing versions.
+     *
+     * @param publication the publication to publish
+     * @param plan        the files that still need to be uploaded, as planned by {@link #prepare(PublicationSpec)}
+     * @param index       the game version index shared by all publications
+     * @return the IDs of the Modrinth versions holding the publication's files, or {@code null}
+     * if the configuration was rejected
      */
     @Override
-    public void publish() {
-        var modrinth = extension.getModrinth();
-        var token = modrinth.getToken().trim();
-        var projectId = modrinth.getProjectId().trim();
-        var files = extension.getFiles();
-
-        var dependecyList = modrinth.getDependencies().stream().map(
-                dep -> DependencyMetadata.builder()
-                        .projectId(dep.getProjectId())
-                        .dependencyType(dep.getDependencyType())
-                        .build()
-        ).toList();
-
-        var validGameVersions = fetchGameVersions().stream()
-                .map(GameVersionTag::version).filter(extension.getGameVersions()::contains).toList();
+    @Nullable
+    protected List<String> publish(PublicationSpec publication, UploadPlan plan, GameVersionIndex index) {
+        var modrinth = spec.modrinth();
+        var projectId = modrinth.projectId();
+        var dependecyList = modrinth.dependencies();
+
+        var validGameVersions = publication.gameVersions().stream()
+                .filter(version -> index.contains(GameVersionIndex.ANY_TYPE, version))
+                .toList();
 
         if (validGameVersions.isEmpty()) {
-            project.getLogger().error("No valid game versions found. Please check your game versions in the configuration.");
-            return;
+            logger.error("No valid game versions found for publication '" + publication.name()
+                    + "'. Please check your game versions in the configuration.");
+            return null;
         }
 
-        var releaseType = extension.getReleaseType();
+        var releaseType = spec.releaseType();
         if (!Constants.VALID_RELEASE_TYPE.contains(releaseType)) {
-            project.getLogger().error("Invalid release type. Please check your configuration.");
-            return;
+            logger.error("Invalid release type. Please check your configuration.");
+            return null;
         }
 
-        if (!VALID_STATUS.contains(modrinth.getStatus())) {
-            project.getLogger().error("Invalid status. Please check your configuration.");
-            return;
+        if (!VALID_STATUS.contains(modrinth.status())) {
+            logger.error("Invalid status. Please check your configuration.");
+            return null;
         }
 
-        var filePartNames = IntStream.range(0, files.getFiles().size())
+        if (plan.files().isEmpty()) {
+            logger.lifecycle("All files of publication '" + publication.name()
+                    + "' are already published in Modrinth version " + publication.version() + ", skipping upload.");
+            return plan.existingVersion() == null ? List.of() : List.of(plan.existingVersion().id());
+        }
+
+        if (plan.existingVersion() != null) {
+            logger.lifecycle("Attaching " + plan.files().size() + " file(s) to existing Modrinth version "
+                    + plan.existingVersion().versionNumber() + "...");
+            addFilesToVersion(plan.existingVersion(), plan.files(), token);
+            return List.of(plan.existingVersion().id());
+        }
+
+        var filePartNames = IntStream.range(0, plan.files().size())
                 .mapToObj(i -> i == 0 ? "file" : "file_" + i)
                 .toList();
 
-        var metadata = modrinthMetadata(projectId, validGameVersions, releaseType, modrinth, dependecyList, filePartNames);
-        project.getLogger().lifecycle("Metadata JSON: " + GSON.toJson(metadata));
+        var metadataEvent = phase(new MetadataBuildEvent());
+        String metadata;
+        try {
+            metadata = GSON.toJson(modrinthMetadata(projectId, publication, validGameVersions, releaseType, modrinth,
+                    dependecyList, filePartNames));
+            metadataEvent.succeeded(byteCount(metadata), PublishPhaseEvent.OK);
+        } finally {
+            metadataEvent.commit();
+        }
+        logger.lifecycle("Metadata JSON: " + metadata);
 
-        project.getLogger().lifecycle("Publishing to Modrinth...");
-        publishingToModrinth(metadata, files, filePartNames, token);
+        logger.lifecycle("Publishing '" + publication.name() + "' to Modrinth...");
+        return List.of(publishingToModrinth(metadata, plan.files(), filePartNames, token).id());
     }
 
     /**
-     * Sends a multipart upload request to Modrinth containing metadata and all mod files.
+     * Sends a multipart upload request to Modrinth containing metadata and all mod files,
+     * then verifies that the hashes Modrinth reports match the uploaded bytes.
      *
-     * @param metadata       the JSON metadata describing this version
+     * @param metadata       the serialized JSON metadata describing this version
      * @param files          the mod files to upload
      * @param filePartNames  generated field names for each file part
      * @param token          Modrinth API authorization token
-     * @throws FailedFileUploadException if the upload request fails
+     * @return the version created by Modrinth
+     * @throws FailedFileUploadException if the upload request fails or the reported hashes do not match
      */
-    private void publishingToModrinth(ModrinthMetadata metadata,
-                                      ConfigurableFileCollection files,
-                                      List<String> filePartNames,
-                                      String token) {
+    private ModrinthVersion publishingToModrinth(String metadata,
+                                                 List<File> files,
+                                                 List<String> filePartNames,
+                                                 String token) {
 
-        var multipartBuilder = new MultipartBody.Builder().setType(MultipartBody.FORM);
+        var assembly = phase(new MultipartAssemblyEvent());
+        var fileBodies = new ArrayList<HashingFileRequestBody>();
+        MultipartBody requestBody;
+        try {
+            var multipartBuilder = new MultipartBody.Builder().setType(MultipartBody.FORM);
 
-        multipartBuilder.addFormDataPart(
-                Constants.DATA,
-                null,
-                RequestBody.create(GSON.toJson(metadata), MediaType.parse(Constants.MEDIA_TYPE_JSON))
-        );
+            multipartBuilder.addFormDataPart(
+                    Constants.DATA,
+                    null,
+                    RequestBody.create(metadata, MediaType.parse(Constants.MEDIA_TYPE_JSON))
+            );
 
-        files.getFiles().forEach(file ->
-                multipartBuilder.addFormDataPart(
-                        filePartNames.get(new ArrayList<>(files.getFiles()).indexOf(file)),
-                        file.getName(),
-                        RequestBody.create(file, MediaType.parse(Constants.MEDIA_TYPE_JAR))
-                )
-        );
+            for (var i = 0; i < files.size(); i++) {
+                var file = files.get(i);
+                var fileBody = fileBody(file);
+                fileBodies.add(fileBody);
+                multipartBuilder.addFormDataPart(filePartNames.get(i), file.getName(), fileBody);
+            }
+
+            requestBody = multipartBuilder.build();
+            assembly.succeeded(contentLength(requestBody), PublishPhaseEvent.OK);
+        } finally {
+            assembly.commit();
+        }
 
-        var requestBody = multipartBuilder.build();
         var request = new Request.Builder()
-                .url(UPLOAD_URL)
+                .url(url(UPLOAD_PATH))
                 .header("Authorization", token)
                 .header("User-Agent", Constants.USER_AGENT)
                 .post(requestBody)
                 .build();
 
-        try (var response = client.newCall(request).execute()) {
+        try (var response = executeUpload(request)) {
+            var handling = phase(new ResponseHandlingEvent());
+            try {
+                var body = response.body().string();
+
+                if (!response.isSuccessful()) {
+                    logger.lifecycle("Upload failed. Response body: " + body);
+
+                    throw new FailedFileUploadException(
+                            "Failed to upload mod to Modrinth: " +
+                                    response.code() + " - " +
+                                    response.message() + " - BODY: " + body
+                    );
+                }
+
+                var version = GSON.fromJson(body, ModrinthVersion.class);
+                verifyHashes(version, fileBodies);
+                handling.succeeded(byteCount(body), Integer.toString(response.code()));
+
+                logger.lifecycle("Successfully uploaded mod to Modrinth! (version ID " + version.id() + ")");
+                return version;
+            } finally {
+                handling.commit();
+            }
+        } catch (IOException | JsonParseException e) {
+            throw new FailedFileUploadException("Failed to upload mod to Modrinth: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Files scheduled for upload after already published files have been removed.
+     *
+     * @param files           the files that still need to be uploaded
+     * @param existingVersion the existing version with this version number that the files
+     *                        should be attached to, or {@code null} to create a new version
+     */
+    record UploadPlan(List<File> files, @Nullable ModrinthVersion existingVersion) { }
+
+    /**
+     * Hashes every file and looks them up on Modrinth in a single batched request, so files
+     * uploaded by a previous, partially failed run are not sent again.
+     * <p>
+     * Files already attached to the version of this project with the configured version number
+     * are skipped, and the remaining files are attached to that version instead of creating a new
+     * one. Lookup failures are logged and result in a full upload.
+     *
+     * @param projectId   the Modrinth project ID
+     * @param publication the publication whose files are configured for upload
+     * @param token       Modrinth API authorization token
+     * @return the files that still need to be uploaded and where to upload them
+     * @throws FailedPublishException if a file is already published in a version of this project
+     * with a different version number, which Modrinth would reject as a duplicate
+     */
+    private UploadPlan planUpload(String projectId, PublicationSpec publication, String token) {
+        var files = publication.files();
+        Map<File, FileHashes> hashes = new LinkedHashMap<>();
+        Map<String, ModrinthVersion> published;
+        try {
+            for (var file : files) {
+                var digest = FileHashes.compute(file);
+                hashes.put(file, digest);
+                recordHashes(file, digest);
+            }
+            published = lookupVersionsByHash(hashes.values().stream().map(FileHashes::sha512).toList(), token);
+        } catch (IOException | JsonParseException | FailedFetchVersionsException e) {
+            logger.warn("Could not check Modrinth for already published files, uploading all files: " + e.getMessage());
+            return new UploadPlan(files, null);
+        }
+
+        ModrinthVersion existingVersion = null;
+        var remaining = new ArrayList<File>();
+        var conflicts = new ArrayList<String>();
+        for (var entry : hashes.entrySet()) {
+            var file = entry.getKey();
+            var version = published.get(entry.getValue().sha512());
+            if (version == null || !projectId.equals(version.projectId())) {
+                remaining.add(file);
+                continue;
+            }
+
+            if (!publication.version().equals(version.versionNumber())) {
+                conflicts.add(file.getName() + " (version " + version.versionNumber() + ")");
+                continue;
+            }
+
+            logger.lifecycle(file.getName() + " is already published in Modrinth version "
+                    + version.versionNumber() + ", skipping it.");
+            existingVersion = version;
+        }
+
+        if (!conflicts.isEmpty()) {
+            throw new FailedPublishException("Cannot publish version " + publication.version() + " of publication '"
+                    + publication.name() + "': Modrinth already holds identical files in other versions: "
+                    + String.join(", ", conflicts) + ". Rebuild the files or publish the version they belong to.");
+        }
+
+        return new UploadPlan(remaining, existingVersion);
+    }
+
+    /**
+     * Looks up the versions holding files with the given SHA-512 hashes.
+     *
+     * @param hashes the SHA-512 hashes to look up
+     * @param token  Modrinth API authorization token
+     * @return the matching versions keyed by file hash
+     * @throws IOException                  if the request could not be executed
+     * @throws FailedFetchVersionsException if Modrinth rejects the lookup
+     */
+    private Map<String, ModrinthVersion> lookupVersionsByHash(List<String> hashes, String token) throws IOException {
+        var request = new Request.Builder()
+                .url(url(VERSION_FILES_PATH))
+                .header("Authorization", token)
+                .header("User-Agent", Constants.USER_AGENT)
+                .post(RequestBody.create(
+                        GSON.toJson(new HashLookupRequest(hashes, HASH_ALGORITHM)),
+                        MediaType.parse(Constants.MEDIA_TYPE_JSON)))
+                .build();
+
+        try (var response = execute(request)) {
             var body = response.body().string();
 
             if (!response.isSuccessful()) {
-                project.getLogger().lifecycle("Upload failed. Response body: " + body);
+                throw new FailedFetchVersionsException(
+                        "Failed to look up versions: " + response.code() + " - " + response.message() + " - BODY: " + body
+                );
+            }
 
-                throw new FailedFileUploadException(
-                        "Failed to upload mod to Modrinth: " +
-                                response.code() + " - " +
-                                response.message() + " - BODY: " + body
+            Map<String, ModrinthVersion> versions =
+                    GSON.fromJson(body, new TypeToken<Map<String, ModrinthVersion>>() {}.getType());
+            return versions == null ? Map.of() : versions;
+        }
+    }
+
+    /**
+     * Attaches files to an existing Modrinth version.
+     *
+     * @param version the existing version
+     * @param files   the files to attach
+     * @param token   Modrinth API authorization token
+     * @throws FailedFileUploadException if the upload request fails
+     */
+    private void addFilesToVersion(ModrinthVersion version, List<File> files, String token) {
+        var assembly = phase(new MultipartAssemblyEvent());
+        MultipartBody requestBody;
+        try {
+            var multipartBuilder = new MultipartBody.Builder().setType(MultipartBody.FORM);
+
+            multipartBuilder.addFormDataPart(
+                    Constants.DATA,
+                    null,
+                    RequestBody.create("{}", MediaType.parse(Constants.MEDIA_TYPE_JSON))
+            );
+
+            for (var i = 0; i < files.size(); i++) {
+                var file = files.get(i);
+                multipartBuilder.addFormDataPart(
+                        "file_" + i,
+                        file.getName(),
+                        fileBody(file)
                 );
             }
 
-            project.getLogger().lifecycle("Successfully uploaded mod to Modrinth!");
+            requestBody = multipartBuilder.build();
+            assembly.succeeded(contentLength(requestBody), PublishPhaseEvent.OK);
+        } finally {
+            assembly.commit();
+        }
+
+        var request = new Request.Builder()
+                .url(url(String.format(ADD_FILES_PATH, version.id())))
+                .header("Authorization", token)
+                .header("User-Agent", Constants.USER_AGENT)
+                .post(requestBody)
+                .build();
+
+        try (var response = executeUpload(request)) {
+            var handling = phase(new ResponseHandlingEvent());
+            try {
+                var body = response.body().string();
+
+                if (!response.isSuccessful()) {
+                    throw new FailedFileUploadException(
+                            "Failed to add files to Modrinth version " + version.versionNumber() + ": " +
+                                    response.code() + " - " + response.message() + " - BODY: " + body
+                    );
+                }
+
+                handling.succeeded(byteCount(body), Integer.toString(response.code()));
+                logger.lifecycle("Successfully attached files to Modrinth version " + version.versionNumber() + "!");
+            } finally {
+                handling.commit();
+            }
         } catch (IOException e) {
-            throw new FailedFileUploadException("Failed to upload mod to Modrinth: " + e.getMessage());
+            throw new FailedFileUploadException("Failed to add files to Modrinth version: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Verifies that Modrinth reports, for every uploaded file, the same SHA-512 digest that was
+     * computed while preparing the publication, or while streaming the file if it was not hashed
+     * before. A file that changed between preparing and uploading it is therefore detected.
+     *
+     * @param version    the version returned by Modrinth
+     * @param fileBodies the request bodies of the uploaded files
+     * @throws FailedFileUploadException if a file is missing or its digest does not match
+     */
+    private void verifyHashes(ModrinthVersion version, List<HashingFileRequestBody> fileBodies) {
+        var reported = new HashSet<String>();
+        if (version.files() != null) {
+            version.files().forEach(file -> reported.add(file.sha512()));
+        }
+
+        for (var fileBody : fileBodies) {
+            var hashes = fileBody.getHashes();
+            if (!reported.contains(hashes.sha512())) {
+                throw new FailedFileUploadException(
+                        "Modrinth did not report the expected SHA-512 for " + fileBody.getFile().getName() +
+                                " (expected " + hashes.sha512() + ")"
+                );
+            }
+            logger.info("Verified {} (sha1 {})", fileBody.getFile().getName(), hashes.sha1());
+        }
+    }
+
+    /**
+     * Builds a {@link GameVersionIndex} over the names of the given Modrinth game versions.
+     * Modrinth does not classify versions by type, so every tag is indexed under
+     * {@link GameVersionIndex#ANY_TYPE} with its position as ID.
+     *
+     * @param tags the game version tags to index
+     * @return the index over the given tags
+     */
+    private static GameVersionIndex gameVersionIndex(List<GameVersionTag> tags) {
+        var builder = GameVersionIndex.builder();
+        for (var i = 0; i < tags.size(); i++) {
+            builder.add(GameVersionIndex.ANY_TYPE, tags.get(i).version(), i);
         }
+        return builder.build();
     }
 
     /**
      * Builds a {@link ModrinthMetadata} instance from configuration values.
      *
      * @param projectId        the Modrinth project ID
+     * @param publication      the publication being published
      * @param validGameVersions game versions confirmed valid by Modrinth
      * @param releaseType      version release channel (e.g., "release", "beta", "alpha")
-     * @param modrinth         Modrinth-specific configuration
+     * @param modrinth         Modrinth-specific settings
      * @param dependecyList    dependencies declared for this version
      * @param filePartNames    names for multipart file sections
      * @return fully populated {@code ModrinthMetadata}
      */
     private ModrinthMetadata modrinthMetadata(String projectId,
+                                              PublicationSpec publication,
                                               List<String> validGameVersions,
                                               String releaseType,
-                                              ModrinthConfig modrinth,
+                                              ModrinthSettings modrinth,
                                               List<DependencyMetadata> dependecyList,
                                               List<String> filePartNames) {
 
         return ModrinthMetadata.builder()
                 .projectId(projectId)
-                .name(extension.getDisplayName())
-                .versionNumber(extension.getVersion())
-                .changelog(extension.getChangelog())
+                .name(publication.displayName())
+                .versionNumber(publication.version())
+                .changelog(spec.changelog())
                 .gameVersions(validGameVersions)
-                .loaders(extension.getLoaders())
+                .loaders(publication.loaders())
                 .releaseChannel(releaseType)
-                .featured(modrinth.isFeatured())
-                .status(modrinth.getStatus())
+                .featured(modrinth.featured())
+                .status(modrinth.status())
                 .dependencies(dependecyList)
                 .fileParts(filePartNames)
                 .build();
     }
 
     /**
-     * Fetches the full list of game version tags from Modrinth.
+     * Fetches the Modrinth game version tags accepted by the filter, served from the
+     * persistent cache when a valid copy is available. The tag list is decoded as a stream,
+     * so versions rejected by the filter are never materialized.
      *
-     * @return list of {@link GameVersionTag} objects
+     * @param filter the filter deciding which versions are kept
+     * @return list of accepted {@link GameVersionTag} objects
      * @throws FailedFetchGameVersionsException if Modrinth returns an error or the request fails
      */
-    private List<GameVersionTag> fetchGameVersions() {
+    private List<GameVersionTag> fetchGameVersions(Predicate<String> filter) {
         var request = new Request.Builder()
-                .url(GAME_VERSION_URL)
+                .url(url(GAME_VERSION_PATH))
                 .get()
                 .build();
 
-        try (var response = client.newCall(request).execute()) {
-            if (!response.isSuccessful())
-                throw new FailedFetchGameVersionsException(
-                        "Failed to fetch game versions: " +
-                                response.code() + " - " + response.message()
-                );
+        return fetchGameVersionTags(request, reader -> GameVersionTagDecoder.decode(reader, filter));
+    }
 
-            var responseBody = response.body().string();
-            return GSON.fromJson(responseBody, new TypeToken<List<GameVersionTag>>() {}.getType());
-        } catch (IOException e) {
-            throw new FailedFetchGameVersionsException("Failed to fetch game versions" + e.getMessage());
-        }
+    /**
+     * Resolves an endpoint against the configured Modrinth API base URL.
+     *
+     * @param path the endpoint path
+     * @return the endpoint URL
+     */
+    private String url(String path) {
+        return spec.modrinth().apiUrl() + path;
     }
 }
@@ -0,0 +1,68 @@
+package io.github.smootheez.modrinth;
+
+import javax.annotation.*;
+import java.io.*;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Immutable snapshot of the {@link ModrinthConfig} block, captured when the task graph is built
+ * so that publishing tasks never touch the mutable extension at execution time.
+ * <p>
+ * The API token is deliberately not part of the snapshot; it is passed to the publisher
+ * separately so that it never becomes a task input.
+ *
+ * @param projectId    the Modrinth project ID, or {@code null} if not configured
+ * @param featured     whether the uploaded version is featured
+ * @param status       the version status (listed, draft, archived, etc.)
+ * @param dependencies the declared dependencies, identified by project ID or slug until resolved
+ * @param apiUrl       the base URL of the Modrinth API
+ */
+public record ModrinthSettings(
+        @Nullable String projectId,
+        boolean featured,
+        String status,
+        List<DependencyMetadata> dependencies,
+        String apiUrl
+) implements Serializable {
+
+    /**
+     * Captures the current state of a Modrinth configuration block.
+     *
+     * @param config the configuration block
+     * @return the snapshot
+     */
+    public static ModrinthSettings of(ModrinthConfig config) {
+        var dependencies = config.getDependencies().stream()
+                .map(dep -> DependencyMetadata.builder()
+                        .projectId(dep.getProjectId())
+                        .dependencyType(dep.getDependencyType())
+                        .build())
+                .toList();
+
+        var projectId = config.getProjectId().getOrNull();
+        return new ModrinthSettings(
+                projectId != null && !projectId.isBlank() ? projectId.trim() : null,
+                config.getFeatured().get(),
+                config.getStatus().get(),
+                dependencies,
+                config.apiBaseUrl()
+        );
+    }
+
+    /**
+     * Returns a copy of this snapshot with the project of every dependency replaced.
+     *
+     * @param mapping function returning the replacement of a dependency's project ID or slug
+     * @return the copy
+     */
+    public ModrinthSettings mapDependencies(UnaryOperator<String> mapping) {
+        var mapped = dependencies.stream()
+                .map(dep -> DependencyMetadata.builder()
+                        .projectId(dep.projectId() == null ? null : mapping.apply(dep.projectId()))
+                        .dependencyType(dep.dependencyType())
+                        .build())
+                .toList();
+        return new ModrinthSettings(projectId, featured, status, mapped, apiUrl);
+    }
+}
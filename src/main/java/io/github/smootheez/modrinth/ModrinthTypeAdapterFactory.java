@@ -0,0 +1,370 @@
+package io.github.smootheez.modrinth;
+
+import com.google.gson.*;
+import com.google.gson.reflect.*;
+import com.google.gson.stream.*;
+import io.github.smootheez.*;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Creates hand-written, reflection-free {@link TypeAdapter}s for the Modrinth API payloads.
+ * <p>
+ * The adapters produce and accept exactly the wire format declared by the
+ * {@link com.google.gson.annotations.SerializedName} annotations of the records, whose names
+ * they take from {@link WireNames}, so they are a drop-in replacement for Gson's reflective
+ * record handling. They avoid resolving record components on first use and read responses
+ * token by token, skipping every field the plugin does not use. Absent and {@code null} values
+ * are omitted as Gson does by default.
+ * <p>
+ * Only the direction the plugin uses is hand-written: payloads sent to Modrinth are written,
+ * responses are read. The other direction is delegated to the adapter Gson would otherwise use,
+ * which is only built if that direction is ever called.
+ */
+public final class ModrinthTypeAdapterFactory implements TypeAdapterFactory {
+
+    /** JSON names of {@link ModrinthMetadata}. */
+    private static final WireNames METADATA = WireNames.of(ModrinthMetadata.class);
+
+    /** JSON names of {@link DependencyMetadata}. */
+    private static final WireNames DEPENDENCY = WireNames.of(DependencyMetadata.class);
+
+    /** JSON names of {@link HashLookupRequest}. */
+    private static final WireNames HASH_LOOKUP_REQUEST = WireNames.of(HashLookupRequest.class);
+
+    /** JSON names of {@link ModrinthVersion}. */
+    private static final WireNames VERSION = WireNames.of(ModrinthVersion.class);
+
+    /** JSON names of {@link ModrinthVersionFile}. */
+    private static final WireNames VERSION_FILE = WireNames.of(ModrinthVersionFile.class);
+
+    /** JSON names of the loaders. */
+    private static final Map<LoaderType, String> LOADERS = WireNames.constants(LoaderType.class);
+
+    /** JSON names of the dependency types. */
+    private static final Map<DependencyType, String> DEPENDENCY_TYPES = WireNames.constants(DependencyType.class);
+
+    /**
+     * Returns the adapter of a Modrinth payload type.
+     *
+     * @param gson the Gson instance requesting the adapter
+     * @param type the requested type
+     * @param <T>  the requested type
+     * @return the adapter, or {@code null} if the type is not a Modrinth payload
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        var rawType = type.getRawType();
+        if (rawType == ModrinthMetadata.class) {
+            var delegate = new LazyDelegate<>(gson, this, (TypeToken<ModrinthMetadata>) type);
+            return (TypeAdapter<T>) new MetadataAdapter(delegate).nullSafe();
+        }
+        if (rawType == HashLookupRequest.class) {
+            var delegate = new LazyDelegate<>(gson, this, (TypeToken<HashLookupRequest>) type);
+            return (TypeAdapter<T>) new HashLookupRequestAdapter(delegate).nullSafe();
+        }
+        if (rawType == ModrinthVersion.class) {
+            var delegate = new LazyDelegate<>(gson, this, (TypeToken<ModrinthVersion>) type);
+            return (TypeAdapter<T>) new VersionAdapter(delegate).nullSafe();
+        }
+        return null;
+    }
+
+    /**
+     * Writes {@link ModrinthMetadata}, the payload creating a version.
+     */
+    private static final class MetadataAdapter extends TypeAdapter<ModrinthMetadata> {
+
+        /** Adapter Gson would otherwise use to read the metadata, resolved on first use. */
+        private final LazyDelegate<ModrinthMetadata> delegate;
+
+        /**
+         * Creates the adapter.
+         *
+         * @param delegate adapter Gson would otherwise use to read the metadata
+         */
+        MetadataAdapter(LazyDelegate<ModrinthMetadata> delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * Writes the metadata.
+         *
+         * @param out      the writer
+         * @param metadata the metadata
+         * @throws IOException if the metadata cannot be written
+         */
+        @Override
+        public void write(JsonWriter out, ModrinthMetadata metadata) throws IOException {
+            out.beginObject();
+            out.name(METADATA.name("projectId")).value(metadata.projectId());
+            out.name(METADATA.name("name")).value(metadata.name());
+            out.name(METADATA.name("versionNumber")).value(metadata.versionNumber());
+            out.name(METADATA.name("changelog")).value(metadata.changelog());
+            out.name(METADATA.name("gameVersions"));
+            writeStrings(out, metadata.gameVersions());
+            out.name(METADATA.name("loaders"));
+            if (metadata.loaders() == null) {
+                out.nullValue();
+            } else {
+                out.beginArray();
+                for (var loader : metadata.loaders()) out.value(loader == null ? null : LOADERS.get(loader));
+                out.endArray();
+            }
+            out.name(METADATA.name("releaseChannel")).value(metadata.releaseChannel());
+            out.name(METADATA.name("dependencies"));
+            if (metadata.dependencies() == null) {
+                out.nullValue();
+            } else {
+                out.beginArray();
+                for (var dependency : metadata.dependencies()) writeDependency(out, dependency);
+                out.endArray();
+            }
+            out.name(METADATA.name("featured")).value(metadata.featured());
+            out.name(METADATA.name("status")).value(metadata.status());
+            out.name(METADATA.name("fileParts"));
+            writeStrings(out, metadata.fileParts());
+            out.endObject();
+        }
+
+        /**
+         * Reads metadata through the delegate, since the plugin never receives it.
+         *
+         * @param in the reader positioned at the metadata
+         * @return the metadata
+         * @throws IOException if the metadata cannot be read
+         */
+        @Override
+        public ModrinthMetadata read(JsonReader in) throws IOException {
+            return delegate.get().read(in);
+        }
+
+        /**
+         * Writes a single dependency.
+         *
+         * @param out        the writer
+         * @param dependency the dependency, possibly {@code null}
+         * @throws IOException if the dependency cannot be written
+         */
+        private static void writeDependency(JsonWriter out, DependencyMetadata dependency) throws IOException {
+            if (dependency == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name(DEPENDENCY.name("projectId")).value(dependency.projectId());
+            out.name(DEPENDENCY.name("dependencyType")).value(dependency.dependencyType() == null ? null
+                    : DEPENDENCY_TYPES.get(dependency.dependencyType()));
+            out.endObject();
+        }
+    }
+
+    /**
+     * Writes {@link HashLookupRequest}, the payload looking up versions by file hash.
+     */
+    private static final class HashLookupRequestAdapter extends TypeAdapter<HashLookupRequest> {
+
+        /** Adapter Gson would otherwise use to read the lookup request, resolved on first use. */
+        private final LazyDelegate<HashLookupRequest> delegate;
+
+        /**
+         * Creates the adapter.
+         *
+         * @param delegate adapter Gson would otherwise use to read the lookup request
+         */
+        HashLookupRequestAdapter(LazyDelegate<HashLookupRequest> delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * Writes the lookup request.
+         *
+         * @param out     the writer
+         * @param request the lookup request
+         * @throws IOException if the request cannot be written
+         */
+        @Override
+        public void write(JsonWriter out, HashLookupRequest request) throws IOException {
+            out.beginObject();
+            out.name(HASH_LOOKUP_REQUEST.name("hashes"));
+            writeStrings(out, request.hashes());
+            out.name(HASH_LOOKUP_REQUEST.name("algorithm")).value(request.algorithm());
+            out.endObject();
+        }
+
+        /**
+         * Reads a lookup request through the delegate, since the plugin never receives one.
+         *
+         * @param in the reader positioned at the lookup request
+         * @return the lookup request
+         * @throws IOException if the request cannot be read
+         */
+        @Override
+        public HashLookupRequest read(JsonReader in) throws IOException {
+            return delegate.get().read(in);
+        }
+    }
+
+    /**
+     * Reads {@link ModrinthVersion}, as returned after uploads and by hash lookups.
+     */
+    private static final class VersionAdapter extends TypeAdapter<ModrinthVersion> {
+
+        /** Adapter Gson would otherwise use to write the version, resolved on first use. */
+        private final LazyDelegate<ModrinthVersion> delegate;
+
+        /**
+         * Creates the adapter.
+         *
+         * @param delegate adapter Gson would otherwise use to write the version
+         */
+        VersionAdapter(LazyDelegate<ModrinthVersion> delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * Writes a version through the delegate, since the plugin never sends one.
+         *
+         * @param out     the writer
+         * @param version the version
+         * @throws IOException if the version cannot be written
+         */
+        @Override
+        public void write(JsonWriter out, ModrinthVersion version) throws IOException {
+            delegate.get().write(out, version);
+        }
+
+        /**
+         * Reads a version, skipping the fields the plugin does not use.
+         *
+         * @param in the reader positioned at the version
+         * @return the version
+         * @throws IOException if the version cannot be read
+         */
+        @Override
+        public ModrinthVersion read(JsonReader in) throws IOException {
+            String id = null;
+            String projectId = null;
+            String versionNumber = null;
+            List<ModrinthVersionFile> files = null;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (VERSION.component(in.nextName())) {
+                    case "id" -> id = nextString(in);
+                    case "projectId" -> projectId = nextString(in);
+                    case "versionNumber" -> versionNumber = nextString(in);
+                    case "files" -> files = readFiles(in);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new ModrinthVersion(id, projectId, versionNumber, files);
+        }
+
+        /**
+         * Reads the files of a version.
+         *
+         * @param in the reader positioned at the file array
+         * @return the files, or {@code null} for a JSON null
+         * @throws IOException if the files cannot be read
+         */
+        private static List<ModrinthVersionFile> readFiles(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            var files = new ArrayList<ModrinthVersionFile>();
+            in.beginArray();
+            while (in.hasNext()) files.add(readFile(in));
+            in.endArray();
+            return files;
+        }
+
+        /**
+         * Reads a single version file.
+         *
+         * @param in the reader positioned at the file
+         * @return the file
+         * @throws IOException if the file cannot be read
+         */
+        private static ModrinthVersionFile readFile(JsonReader in) throws IOException {
+            Map<String, String> hashes = null;
+            String url = null;
+            String filename = null;
+            var primary = false;
+            var size = 0L;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (VERSION_FILE.component(in.nextName())) {
+                    case "hashes" -> hashes = readHashes(in);
+                    case "url" -> url = nextString(in);
+                    case "filename" -> filename = nextString(in);
+                    case "primary" -> primary = in.nextBoolean();
+                    case "size" -> size = in.nextLong();
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new ModrinthVersionFile(hashes, url, filename, primary, size);
+        }
+
+        /**
+         * Reads the hashes of a file, keyed by algorithm.
+         *
+         * @param in the reader positioned at the hash object
+         * @return the hashes, or {@code null} for a JSON null
+         * @throws IOException if the hashes cannot be read
+         */
+        private static Map<String, String> readHashes(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            var hashes = new LinkedHashMap<String, String>();
+            in.beginObject();
+            while (in.hasNext()) hashes.put(in.nextName(), nextString(in));
+            in.endObject();
+            return hashes;
+        }
+    }
+
+    /**
+     * Writes a list of strings, or {@code null} if the list is absent.
+     *
+     * @param out    the writer
+     * @param values the strings
+     * @throws IOException if the strings cannot be written
+     */
+    private static void writeStrings(JsonWriter out, List<String> values) throws IOException {
+        if (values == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (var value : values) out.value(value);
+        out.endArray();
+    }
+
+    /**
+     * Reads a string value that may be {@code null}.
+     *
+     * @param in the reader positioned at the value
+     * @return the string value, or {@code null} if the value is a JSON null
+     * @throws IOException if the value cannot be read
+     */
+    private static String nextString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+}
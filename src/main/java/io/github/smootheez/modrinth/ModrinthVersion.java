@@ -0,0 +1,25 @@
+package io.github.smootheez.modrinth;
+
+import com.google.gson.annotations.*;
+
+import java.util.*;
+
+/**
+ * Represents a version as returned by the Modrinth API, for example after a successful upload.
+ *
+ * @param id            the unique ID Modrinth assigned to the version
+ * @param projectId     the ID of the project the version belongs to
+ * @param versionNumber the version number of the version
+ * @param files         the files attached to the version
+ */
+public record ModrinthVersion(
+        String id,
+
+        @SerializedName("project_id")
+        String projectId,
+
+        @SerializedName("version_number")
+        String versionNumber,
+
+        List<ModrinthVersionFile> files
+) { }
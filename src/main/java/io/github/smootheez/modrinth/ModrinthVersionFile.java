@@ -0,0 +1,30 @@
+package io.github.smootheez.modrinth;
+
+import java.util.*;
+
+/**
+ * Represents a file attached to a Modrinth version.
+ *
+ * @param hashes   digests of the file keyed by algorithm (e.g., {@code "sha1"}, {@code "sha512"})
+ * @param url      the download URL of the file
+ * @param filename the name of the file
+ * @param primary  whether the file is the primary file of the version
+ * @param size     the size of the file in bytes
+ */
+public record ModrinthVersionFile(
+        Map<String, String> hashes,
+        String url,
+        String filename,
+        boolean primary,
+        long size
+) {
+
+    /**
+     * Returns the SHA-512 digest Modrinth reports for the file.
+     *
+     * @return the SHA-512 digest, or {@code null} if none is reported
+     */
+    public String sha512() {
+        return hashes == null ? null : hashes.get("sha512");
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.smootheez;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameVersionIndexTest {
+
+    @Test
+    void testLookupIsScopedByType() {
+        var index = GameVersionIndex.builder()
+                .add(77784, "1.21.1", 11)
+                .add(68441, "Fabric", 22)
+                .add(1, "Fabric", 33)
+                .build();
+
+        assertArrayEquals(new int[]{22}, index.ids(68441, "Fabric"));
+        assertArrayEquals(new int[]{33}, index.ids(1, "Fabric"));
+        assertArrayEquals(new int[0], index.ids(77784, "Fabric"));
+        assertFalse(index.contains(68441, "Forge"));
+    }
+
+    @Test
+    void testDuplicateKeysKeepAllIdsInOrder() {
+        var index = GameVersionIndex.builder()
+                .add(5, "1.20", 3)
+                .add(5, "1.20", 1)
+                .add(5, "1.20", 2)
+                .build();
+
+        assertArrayEquals(new int[]{3, 1, 2}, index.ids(5, "1.20"));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testManyEntries() {
+        var builder = GameVersionIndex.builder();
+        for (var i = 0; i < 5_000; i++) {
+            builder.add(i % 7, "1." + i, i);
+        }
+        var index = builder.build();
+
+        for (var i = 0; i < 5_000; i++) {
+            assertArrayEquals(new int[]{i}, index.ids(i % 7, "1." + i));
+        }
+        assertEquals(5_000, index.size());
+    }
+
+    @Test
+    void testEmptyIndex() {
+        var index = GameVersionIndex.builder().build();
+
+        assertFalse(index.contains(GameVersionIndex.ANY_TYPE, "1.21"));
+        assertEquals(0, index.size());
+    }
+}
@@ -0,0 +1,160 @@
+package io.github.smootheez;
+
+import io.github.smootheez.cache.*;
+import io.github.smootheez.exception.*;
+import io.github.smootheez.http.*;
+import org.gradle.api.*;
+import org.gradle.testfixtures.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectResolverTest {
+    private static final List<Platform> ALL = List.of(Platform.MODRINTH, Platform.CURSEFORGE);
+
+    @TempDir
+    Path directory;
+
+    private FakePlatformServer server;
+    private Project project;
+    private McModPublisherExtension extension;
+    private HttpClientService http;
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = FakePlatformServer.start()
+                .modrinthProject("P7dR8mSH", "fabric-api")
+                .modrinthProject("mOgUt4GM", "modmenu")
+                .curseforgeProject(238222, "jei")
+                .curseforgeProject(306612, "fabric-api");
+        project = ProjectBuilder.builder().withProjectDir(directory.toFile()).build();
+        extension = project.getObjects().newInstance(McModPublisherExtension.class, project.getObjects());
+
+        extension.getVersion().set("1.0.0");
+        extension.getGameVersions().add("1.21.1");
+        extension.getLoaders().add(LoaderType.FABRIC);
+        extension.getFiles().from(Files.write(directory.resolve("mod.jar"), new byte[16]).toFile());
+        extension.getModrinth().getApiUrl().set(server.url());
+        extension.getCurseforge().getApiUrl().set(server.url());
+        extension.getCurseforge().getCoreApiUrl().set(server.url());
+        extension.getCurseforge().getCoreApiToken().set("core-token");
+
+        http = project.getGradle().getSharedServices()
+                .registerIfAbsent(HttpClientService.NAME, HttpClientService.class, spec -> {})
+                .get();
+    }
+
+    @AfterEach
+    void teardown() {
+        http.close();
+        server.close();
+    }
+
+    private PublishSpec resolve(List<Platform> platforms) {
+        var cache = new ProjectIdCache(project.getLogger(), directory.resolve("project-ids"), false);
+        return new ProjectResolver(project.getLogger(), http, cache)
+                .resolve(PublishSpec.of(extension), platforms, PublishCredentials.of(extension));
+    }
+
+    @Test
+    void testModrinthSlugsAndIdsAreResolvedWithOneRequest() {
+        extension.getModrinth().required("fabric-api");
+        extension.getModrinth().optional("mOgUt4GM");
+
+        var spec = resolve(List.of(Platform.MODRINTH));
+
+        assertEquals(1, server.requestCount());
+        assertEquals(List.of("P7dR8mSH", "mOgUt4GM"),
+                spec.modrinth().dependencies().stream().map(dependency -> dependency.projectId()).toList());
+    }
+
+    @Test
+    void testCurseforgeIdsAreResolvedIntoSlugs() {
+        extension.getCurseforge().required("238222");
+        extension.getCurseforge().optional("Fabric-API");
+
+        var spec = resolve(List.of(Platform.CURSEFORGE));
+
+        assertEquals(2, server.requestCount());
+        assertEquals(List.of("jei", "fabric-api"),
+                spec.curseforge().dependencies().stream().map(dependency -> dependency.slug()).toList());
+    }
+
+    @Test
+    void testResolvedProjectsAreCachedAcrossBuilds() {
+        extension.getModrinth().required("fabric-api");
+        extension.getCurseforge().required("306612");
+        resolve(ALL);
+        var requests = server.requestCount();
+
+        var spec = resolve(ALL);
+
+        assertEquals(2, requests);
+        assertEquals(requests, server.requestCount());
+        assertEquals("P7dR8mSH", spec.modrinth().dependencies().get(0).projectId());
+        assertEquals("fabric-api", spec.curseforge().dependencies().get(0).slug());
+    }
+
+    @Test
+    void testOnlyTargetedPlatformsAreResolved() {
+        extension.getModrinth().required("fabric-api");
+        extension.getCurseforge().required("238222");
+
+        var spec = resolve(List.of(Platform.CURSEFORGE));
+
+        assertEquals(1, server.requestCount());
+        assertEquals("fabric-api", spec.modrinth().dependencies().get(0).projectId());
+    }
+
+    @Test
+    void testCurseforgeIdsRequireCoreApiToken() {
+        extension.getCurseforge().getCoreApiToken().set("");
+        extension.getCurseforge().required("238222");
+
+        assertThrows(FailedResolveProjectsException.class, () -> resolve(ALL));
+        assertEquals(0, server.requestCount());
+    }
+
+    @Test
+    void testCurseforgeSlugsAreNotCheckedWithoutCoreApiToken() {
+        extension.getCurseforge().getCoreApiToken().set("");
+        extension.getCurseforge().required("modmenu");
+
+        var spec = resolve(ALL);
+
+        assertEquals(0, server.requestCount());
+        assertEquals("modmenu", spec.curseforge().dependencies().get(0).slug());
+    }
+
+    @Test
+    void testUnknownProjectsAreReportedTogetherBeforeUploading() {
+        extension.getModrinth().required("fabric-api");
+        extension.getModrinth().required("fabirc-api");
+        extension.getCurseforge().required("jei");
+        extension.getCurseforge().optional("no-such-mod");
+        extension.getCurseforge().incompatible("999999");
+
+        var exception = assertThrows(FailedResolveProjectsException.class, () -> resolve(ALL));
+
+        assertTrue(exception.getMessage().startsWith("3 declared dependencies"));
+        assertTrue(exception.getMessage().contains("modrinth required 'fabirc-api'"));
+        assertTrue(exception.getMessage().contains("curseforge optional dependency 'no-such-mod'"));
+        assertTrue(exception.getMessage().contains("curseforge incompatible '999999'"));
+        assertTrue(server.modrinthVersions().isEmpty());
+        assertTrue(server.curseforgeFiles().isEmpty());
+    }
+
+    @Test
+    void testUnknownProjectsFail() {
+        extension.getModrinth().required("fabric-api");
+        extension.getModrinth().required("does-not-exist");
+
+        var exception = assertThrows(FailedResolveProjectsException.class, () -> resolve(ALL));
+        assertTrue(exception.getMessage().contains("does-not-exist"));
+    }
+}
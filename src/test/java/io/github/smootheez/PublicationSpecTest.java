@@ -0,0 +1,89 @@
+package io.github.smootheez;
+
+import org.gradle.api.*;
+import org.gradle.testfixtures.*;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PublicationSpecTest {
+    private Project project;
+    private McModPublisherExtension extension;
+
+    @BeforeEach
+    void setup() {
+        project = ProjectBuilder.builder().build();
+        extension = project.getObjects().newInstance(McModPublisherExtension.class, project.getObjects());
+
+        extension.getDisplayName().set("My Mod");
+        extension.getVersion().set("1.0.0");
+        extension.getGameVersions().add("1.20.1");
+        extension.getLoaders().add(LoaderType.FABRIC);
+        extension.getFiles().from("mod.jar");
+    }
+
+    @Test
+    void testTopLevelConfigurationFormsDefaultPublication() {
+        var specs = PublicationSpec.resolveAll(extension);
+
+        assertEquals(1, specs.size());
+        var spec = specs.get(0);
+        assertEquals(PublicationSpec.DEFAULT_NAME, spec.name());
+        assertEquals("My Mod", spec.displayName());
+        assertEquals("1.0.0", spec.version());
+        assertEquals(List.of("1.20.1"), spec.gameVersions());
+        assertEquals(List.of(LoaderType.FABRIC), spec.loaders());
+        assertEquals(List.of(project.file("mod.jar")), spec.files());
+    }
+
+    @Test
+    void testPublicationOverridesTopLevelValues() {
+        var publication = extension.getPublications().create("forge", forge -> {
+            forge.getDisplayName().set("My Mod (Forge)");
+            forge.getVersion().set("1.0.0+forge");
+            forge.getGameVersions().add("1.19.4");
+            forge.getLoaders().add(LoaderType.FORGE);
+            forge.getFiles().from(project.file("mod-forge.jar"));
+        });
+
+        var spec = PublicationSpec.resolve(extension, publication);
+
+        assertEquals("forge", spec.name());
+        assertEquals("My Mod (Forge)", spec.displayName());
+        assertEquals("1.0.0+forge", spec.version());
+        assertEquals(List.of("1.19.4"), spec.gameVersions());
+        assertEquals(List.of(LoaderType.FORGE), spec.loaders());
+        assertEquals(List.of(project.file("mod-forge.jar")), spec.files());
+    }
+
+    @Test
+    void testPublicationInheritsUnsetValues() {
+        extension.getPublications().create("fabric");
+
+        var specs = PublicationSpec.resolveAll(extension);
+
+        assertEquals(1, specs.size());
+        var spec = specs.get(0);
+        assertEquals("fabric", spec.name());
+        assertEquals("My Mod", spec.displayName());
+        assertEquals("1.0.0", spec.version());
+        assertEquals(List.of("1.20.1"), spec.gameVersions());
+        assertEquals(List.of(LoaderType.FABRIC), spec.loaders());
+        assertEquals(List.of(project.file("mod.jar")), spec.files());
+    }
+
+    @Test
+    void testValuesAreResolvedLazily() throws IOException {
+        var changelog = project.getLayout().getProjectDirectory().file("CHANGELOG.md");
+        extension.getChangelog().set(project.getProviders().fileContents(changelog).getAsText());
+
+        // The file only exists once the task executes, after the extension was configured
+        Files.writeString(changelog.getAsFile().toPath(), "Fixed everything");
+
+        assertEquals("Fixed everything", PublishSpec.of(extension).changelog());
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.smootheez;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PublishGraphTest {
+
+    @Test
+    void testDependenciesAreMatchedByModrinthIdAndCurseforgeSlug() {
+        var library = new PublishGraph.Node(":library", "LIB123", "my-library", Set.of(), Set.of());
+        var api = new PublishGraph.Node(":api", "API123", null, Set.of("LIB123"), Set.of());
+        var mod = new PublishGraph.Node(":mod", "MOD123", "my-mod", Set.of("API123"), Set.of("my-library"));
+
+        var dependencies = PublishGraph.dependencies(List.of(library, api, mod));
+
+        assertEquals(Set.of(), dependencies.get(":library"));
+        assertEquals(Set.of(":library"), dependencies.get(":api"));
+        assertEquals(Set.of(":api", ":library"), dependencies.get(":mod"));
+    }
+
+    @Test
+    void testExternalAndSelfDependenciesAreIgnored() {
+        var mod = new PublishGraph.Node(":mod", "MOD123", "my-mod", Set.of("MOD123", "FABRIC_API"), Set.of("jei"));
+
+        var dependencies = PublishGraph.dependencies(List.of(mod));
+
+        assertEquals(Set.of(), dependencies.get(":mod"));
+    }
+}
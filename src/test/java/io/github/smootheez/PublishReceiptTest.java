@@ -0,0 +1,65 @@
+package io.github.smootheez;
+
+import com.google.gson.*;
+import io.github.smootheez.http.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PublishReceiptTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testEntryRecordsFileHashesByName() throws IOException {
+        var jar = Files.writeString(directory.resolve("mod.jar"), "jar contents").toFile();
+        var publication = new PublicationSpec("main", null, "1.0.0", List.of("1.20.1"),
+                List.of(LoaderType.FABRIC), List.of(jar));
+
+        var entry = PublishReceipt.Entry.of(publication, List.of("AbCdEf12"));
+
+        assertEquals("main", entry.publication());
+        assertEquals("1.0.0", entry.version());
+        assertEquals(List.of("AbCdEf12"), entry.remoteIds());
+        assertEquals(Map.of("mod.jar", FileHashes.compute(jar).sha512()), entry.files());
+    }
+
+    @Test
+    void testEntryReusesKnownHashes() throws IOException {
+        var jar = Files.writeString(directory.resolve("mod.jar"), "jar contents").toFile();
+        var sources = Files.writeString(directory.resolve("mod-sources.jar"), "sources").toFile();
+        var publication = new PublicationSpec("main", null, "1.0.0", List.of("1.20.1"),
+                List.of(LoaderType.FABRIC), List.of(jar, sources));
+
+        var entry = PublishReceipt.Entry.of(publication, List.of("AbCdEf12"), Map.of(jar, new FileHashes("aa", "bb")));
+
+        assertEquals(Map.of("mod.jar", "bb", "mod-sources.jar", FileHashes.compute(sources).sha512()), entry.files());
+    }
+
+    @Test
+    void testWriteCreatesParentDirectories() throws IOException {
+        var entry = new PublishReceipt.Entry("main", "1.0.0", List.of("123"), Map.of("mod.jar", "abc"));
+        var file = directory.resolve("receipts/publishModToAll.json").toFile();
+
+        new PublishReceipt(Map.of("modrinth", List.of(entry))).write(file);
+
+        var json = JsonParser.parseString(Files.readString(file.toPath())).getAsJsonObject();
+        var written = json.getAsJsonObject("publishers").getAsJsonArray("modrinth").get(0).getAsJsonObject();
+        assertEquals("1.0.0", written.get("version").getAsString());
+        assertEquals("123", written.getAsJsonArray("remoteIds").get(0).getAsString());
+    }
+
+    @Test
+    void testRelocatableSpecKeepsOnlyFileNames() {
+        var publication = new PublicationSpec("main", null, "1.0.0", List.of("1.20.1"),
+                List.of(LoaderType.FABRIC), List.of(directory.resolve("libs/mod.jar").toFile()));
+
+        assertEquals(List.of(new File("mod.jar")), publication.relocatable().files());
+    }
+}
@@ -0,0 +1,28 @@
+package io.github.smootheez;
+
+import io.github.smootheez.modrinth.*;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WireNamesTest {
+
+    @Test
+    void testRecordNamesFollowSerializedName() {
+        var names = WireNames.of(ModrinthVersion.class);
+
+        assertEquals("version_number", names.name("versionNumber"));
+        assertEquals("id", names.name("id"));
+        assertEquals("versionNumber", names.component("version_number"));
+        assertEquals("", names.component("game_versions"));
+        assertThrows(IllegalArgumentException.class, () -> names.name("gameVersions"));
+    }
+
+    @Test
+    void testEnumNamesFollowSerializedName() {
+        var names = WireNames.constants(LoaderType.class);
+
+        assertEquals("neoforge", names.get(LoaderType.NEOFORGE));
+        assertEquals(LoaderType.values().length, names.size());
+    }
+}
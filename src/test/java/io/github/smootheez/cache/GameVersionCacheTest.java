@@ -0,0 +1,135 @@
+package io.github.smootheez.cache;
+
+import io.github.smootheez.*;
+import io.github.smootheez.exception.*;
+import io.github.smootheez.http.*;
+import okhttp3.*;
+import org.gradle.api.logging.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.time.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameVersionCacheTest {
+    private static final Logger LOGGER = Logging.getLogger(GameVersionCacheTest.class);
+
+    @TempDir
+    Path directory;
+
+    private final OkHttpClient client = new OkHttpClient();
+    private FakePlatformServer server;
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = FakePlatformServer.start();
+    }
+
+    @AfterEach
+    void teardown() {
+        server.close();
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+    }
+
+    private GameVersionCache cache(Duration maxAge, Duration staleTtl, boolean refresh) {
+        return new GameVersionCache(LOGGER, directory, maxAge, staleTtl, refresh);
+    }
+
+    private Path fetch(GameVersionCache cache) {
+        var request = new Request.Builder().url(server.url() + "/v2/tag/game_version").build();
+        return cache.fetch(Platform.MODRINTH, request, call -> client.newCall(call).execute());
+    }
+
+    @Test
+    void testFreshCopyIsUsedWithoutRequest() throws IOException {
+        var cache = cache(Duration.ofHours(1), Duration.ofDays(1), false);
+
+        var downloaded = fetch(cache);
+        var cached = fetch(cache);
+
+        assertEquals(downloaded, cached);
+        assertEquals(1, server.requestCount());
+        assertTrue(Files.readString(cached).contains("1.21.1"));
+    }
+
+    @Test
+    void testExpiredCopyIsRevalidatedByETag() throws IOException {
+        var cache = cache(Duration.ZERO, Duration.ofDays(1), false);
+
+        var downloaded = Files.readString(fetch(cache));
+        var revalidated = fetch(cache);
+
+        assertEquals(2, server.requestCount());
+        assertEquals(1, server.notModifiedCount());
+        assertEquals(downloaded, Files.readString(revalidated));
+    }
+
+    @Test
+    void testExpiredCopyIsRevalidatedByLastModified() throws IOException {
+        server.etags(false);
+        var cache = cache(Duration.ZERO, Duration.ofDays(1), false);
+
+        var downloaded = Files.readString(fetch(cache));
+        var revalidated = fetch(cache);
+
+        assertEquals(1, server.notModifiedCount());
+        assertEquals(downloaded, Files.readString(revalidated));
+    }
+
+    @Test
+    void testStaleCopyIsUsedWhenPlatformIsUnreachable() throws IOException {
+        var downloaded = Files.readString(fetch(cache(Duration.ZERO, Duration.ofDays(1), false)));
+        server.close();
+
+        var stale = fetch(cache(Duration.ZERO, Duration.ofDays(1), false));
+
+        assertEquals(downloaded, Files.readString(stale));
+    }
+
+    @Test
+    void testStaleCopyIsUsedWhenPlatformFails() throws IOException {
+        var downloaded = Files.readString(fetch(cache(Duration.ZERO, Duration.ofDays(1), false)));
+        server.failureStatus(503).failureRate(1);
+
+        var stale = fetch(cache(Duration.ZERO, Duration.ofDays(1), false));
+
+        assertEquals(downloaded, Files.readString(stale));
+    }
+
+    @Test
+    void testClientErrorIsNotHiddenByStaleCopy() {
+        fetch(cache(Duration.ZERO, Duration.ofDays(1), false));
+        server.failureStatus(401).failureRate(1);
+
+        var exception = assertThrows(FailedFetchGameVersionsException.class,
+                () -> fetch(cache(Duration.ZERO, Duration.ofDays(1), false)));
+
+        assertTrue(exception.getMessage().contains("401"), exception.getMessage());
+        assertTrue(exception.getMessage().contains("unavailable"), exception.getMessage());
+    }
+
+    @Test
+    void testCopyOlderThanStaleTtlIsNotUsed() {
+        fetch(cache(Duration.ZERO, Duration.ofDays(1), false));
+        server.close();
+
+        assertThrows(FailedFetchGameVersionsException.class, () -> fetch(cache(Duration.ZERO, Duration.ZERO, false)));
+    }
+
+    @Test
+    void testRefreshDownloadsUnconditionally() throws IOException {
+        fetch(cache(Duration.ofHours(1), Duration.ofDays(1), false));
+
+        fetch(cache(Duration.ofHours(1), Duration.ofDays(1), true));
+
+        assertEquals(2, server.requestCount());
+        assertEquals(0, server.notModifiedCount());
+        try (var files = Files.list(directory)) {
+            assertTrue(files.noneMatch(file -> file.toString().endsWith(".tmp")));
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package io.github.smootheez.concurrent;
+
+import io.github.smootheez.exception.*;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelExecutorTest {
+
+    @Test
+    void testResultsKeepSubmissionOrder() {
+        var tasks = new LinkedHashMap<String, Callable<Integer>>();
+        tasks.put("first", () -> 1);
+        tasks.put("second", () -> 2);
+
+        var results = ParallelExecutor.invokeAll(2, tasks);
+
+        assertEquals(List.of("first", "second"), new ArrayList<>(results.keySet()));
+        assertEquals(List.of(1, 2), new ArrayList<>(results.values()));
+    }
+
+    @Test
+    void testTasksRunConcurrently() {
+        var latch = new CountDownLatch(2);
+        Callable<Boolean> task = () -> {
+            latch.countDown();
+            return latch.await(5, TimeUnit.SECONDS);
+        };
+
+        var tasks = new LinkedHashMap<String, Callable<Boolean>>();
+        tasks.put("a", task);
+        tasks.put("b", task);
+
+        assertTrue(ParallelExecutor.invokeAll(2, tasks).values().stream().allMatch(Boolean::booleanValue));
+    }
+
+    @Test
+    void testFailureDoesNotHideOtherResults() {
+        var completed = new AtomicBoolean();
+        var tasks = new LinkedHashMap<String, Callable<Object>>();
+        tasks.put("Modrinth", () -> {
+            throw new FailedFileUploadException("modrinth down");
+        });
+        tasks.put("Curseforge", () -> {
+            completed.set(true);
+            return null;
+        });
+
+        var exception = assertThrows(FailedPublishException.class, () -> ParallelExecutor.invokeAll(2, tasks));
+
+        assertTrue(completed.get());
+        assertTrue(exception.getMessage().contains("1 of 2"));
+        assertTrue(exception.getMessage().contains("Modrinth: modrinth down"));
+        assertEquals(1, exception.getSuppressed().length);
+    }
+
+    @Test
+    void testAllFailuresAreReported() {
+        var tasks = new LinkedHashMap<String, Callable<Object>>();
+        tasks.put("a", () -> {
+            throw new IllegalStateException("first");
+        });
+        tasks.put("b", () -> {
+            throw new IllegalStateException("second");
+        });
+
+        var exception = assertThrows(FailedPublishException.class, () -> ParallelExecutor.invokeAll(1, tasks));
+
+        assertEquals(2, exception.getSuppressed().length);
+    }
+
+    @Test
+    void testDependenciesRunFirst() {
+        var order = new CopyOnWriteArrayList<String>();
+        var tasks = new LinkedHashMap<String, Callable<String>>();
+        tasks.put("mod", () -> record(order, "mod"));
+        tasks.put("addon", () -> record(order, "addon"));
+        tasks.put("library", () -> record(order, "library"));
+
+        var dependencies = Map.of(
+                "mod", Set.of("library"),
+                "addon", Set.of("mod", "library")
+        );
+
+        var results = ParallelExecutor.invokeInDependencyOrder(4, tasks, dependencies);
+
+        assertEquals(List.of("library", "mod", "addon"), order);
+        assertEquals(List.of("mod", "addon", "library"), new ArrayList<>(results.keySet()));
+    }
+
+    @Test
+    void testIndependentTasksRunConcurrently() {
+        var latch = new CountDownLatch(2);
+        Callable<Boolean> task = () -> {
+            latch.countDown();
+            return latch.await(5, TimeUnit.SECONDS);
+        };
+
+        var tasks = new LinkedHashMap<String, Callable<Boolean>>();
+        tasks.put("a", task);
+        tasks.put("b", task);
+        tasks.put("c", () -> true);
+
+        var results = ParallelExecutor.invokeInDependencyOrder(2, tasks, Map.of("c", Set.of("a", "b")));
+
+        assertTrue(results.values().stream().allMatch(Boolean::booleanValue));
+    }
+
+    @Test
+    void testDependentsOfFailedTaskAreSkipped() {
+        var ran = new AtomicBoolean();
+        var tasks = new LinkedHashMap<String, Callable<Object>>();
+        tasks.put("library", () -> {
+            throw new FailedFileUploadException("library down");
+        });
+        tasks.put("mod", () -> {
+            ran.set(true);
+            return null;
+        });
+        tasks.put("other", () -> null);
+
+        var exception = assertThrows(FailedPublishException.class,
+                () -> ParallelExecutor.invokeInDependencyOrder(2, tasks, Map.of("mod", Set.of("library"))));
+
+        assertFalse(ran.get());
+        assertTrue(exception.getMessage().contains("2 of 3"));
+        assertTrue(exception.getMessage().contains("mod: Skipped because library failed"));
+    }
+
+    @Test
+    void testCycleIsRejected() {
+        var tasks = new LinkedHashMap<String, Callable<Object>>();
+        tasks.put("a", () -> null);
+        tasks.put("b", () -> null);
+
+        var exception = assertThrows(FailedPublishException.class, () -> ParallelExecutor.invokeInDependencyOrder(
+                2, tasks, Map.of("a", Set.of("b"), "b", Set.of("a"))));
+
+        assertTrue(exception.getMessage().contains("cycle"));
+    }
+
+    @Test
+    void testBothStagesOverlap() {
+        var latch = new CountDownLatch(2);
+        Callable<Boolean> stage = () -> {
+            latch.countDown();
+            return latch.await(5, TimeUnit.SECONDS);
+        };
+
+        var result = ParallelExecutor.invokeBoth("fetch", stage, "prepare", stage, (fetched, prepared) -> fetched && prepared);
+
+        assertTrue(result);
+    }
+
+    @Test
+    void testBothStagesFinishBeforeFailuresAreReported() {
+        var prepared = new AtomicBoolean();
+        var combined = new AtomicBoolean();
+
+        var exception = assertThrows(FailedPublishException.class, () -> ParallelExecutor.invokeBoth(
+                "fetch", () -> {
+                    throw new FailedFetchGameVersionsException("tags down");
+                },
+                "prepare", () -> {
+                    prepared.set(true);
+                    return null;
+                },
+                (fetched, files) -> combined.getAndSet(true)));
+
+        assertTrue(prepared.get());
+        assertFalse(combined.get());
+        assertTrue(exception.getMessage().contains("1 of 2"));
+        assertTrue(exception.getMessage().contains("fetch: tags down"));
+    }
+
+    @Test
+    void testVirtualModeRunsOperationsOnVirtualThreads() {
+        Assumptions.assumeTrue(ExecutionMode.VIRTUAL.isSupported());
+        var tasks = new LinkedHashMap<String, Callable<String>>();
+        tasks.put("upload", () -> Thread.currentThread().getClass().getName());
+        tasks.put("lookup", () -> Thread.currentThread().getClass().getName());
+
+        var results = ParallelExecutor.invokeAll(ExecutionMode.VIRTUAL, 2, tasks);
+
+        assertEquals(List.of("java.lang.VirtualThread", "java.lang.VirtualThread"), new ArrayList<>(results.values()));
+    }
+
+    @Test
+    void testVirtualModeStartsEveryOperationOnItsOwnThread() {
+        Assumptions.assumeTrue(ExecutionMode.VIRTUAL.isSupported());
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+        var tasks = new LinkedHashMap<String, Callable<Thread>>();
+        for (var i = 0; i < 6; i++) {
+            tasks.put("upload-" + i, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(20);
+                running.decrementAndGet();
+                return Thread.currentThread();
+            });
+        }
+
+        var results = ParallelExecutor.invokeAll(ExecutionMode.VIRTUAL, 2, tasks);
+
+        assertEquals(6, new HashSet<>(results.values()).size());
+        assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    void testInterruptCancelsRunningOperations() throws Exception {
+        var started = new CountDownLatch(2);
+        var cancelled = new CountDownLatch(2);
+        Callable<Object> task = () -> {
+            started.countDown();
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                cancelled.countDown();
+            }
+            return null;
+        };
+        var tasks = new LinkedHashMap<String, Callable<Object>>();
+        tasks.put("a", task);
+        tasks.put("b", task);
+        var failure = new AtomicReference<Throwable>();
+
+        var caller = new Thread(() -> {
+            try {
+                ParallelExecutor.invokeAll(2, tasks);
+            } catch (FailedPublishException e) {
+                failure.set(e);
+            }
+        });
+        caller.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        caller.interrupt();
+        caller.join(5_000);
+
+        assertEquals(0, cancelled.getCount());
+        assertFalse(caller.isAlive());
+        assertTrue(failure.get().getMessage().contains("interrupted"));
+    }
+
+    @Test
+    void testPlatformModeIsUsedUnlessVirtualThreadsAreRequested() {
+        assertEquals(ExecutionMode.PLATFORM, ExecutionMode.of(false));
+        assertEquals(ExecutionMode.VIRTUAL.isSupported() ? ExecutionMode.VIRTUAL : ExecutionMode.PLATFORM,
+                ExecutionMode.of(true));
+    }
+
+    private static String record(List<String> order, String label) {
+        order.add(label);
+        return label;
+    }
+}
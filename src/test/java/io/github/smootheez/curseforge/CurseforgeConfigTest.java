@@ -2,6 +2,7 @@ package io.github.smootheez.curseforge;
 
 import org.gradle.api.*;
 import org.gradle.api.model.*;
+import org.gradle.testfixtures.*;
 import org.junit.jupiter.api.*;
 
 import java.util.function.*;
@@ -16,12 +17,12 @@ class CurseforgeConfigTest {
 
     @BeforeEach
     void setup() {
-        ObjectFactory objectFactory = mock(ObjectFactory.class);
+        ObjectFactory objects = ProjectBuilder.builder().build().getObjects();
+        ObjectFactory objectFactory = mock(ObjectFactory.class, delegatesTo(objects));
         container = mock(NamedDomainObjectContainer.class);
 
-        // Mock PublisherConfig constructor behavior
-        when(objectFactory.domainObjectContainer(CurseforgeDependency.class))
-                .thenReturn(container);
+        // Mock PublisherConfig constructor behavior, creating real properties
+        doReturn(container).when(objectFactory).domainObjectContainer(CurseforgeDependency.class);
 
         config = new CurseforgeConfig(objectFactory);
     }
@@ -79,10 +80,10 @@ class CurseforgeConfigTest {
 
     @Test
     void testDefaults() {
-        assertEquals(ChangelogType.MARKDOWN, config.getChangelogType());
-        assertEquals(2, config.getEnvironmentType().size());
-        assertTrue(config.getEnvironmentType().contains(EnvironmentType.CLIENT));
-        assertTrue(config.getEnvironmentType().contains(EnvironmentType.SERVER));
-        assertFalse(config.isManualRelease());
+        assertEquals(ChangelogType.MARKDOWN, config.getChangelogType().get());
+        assertEquals(2, config.getEnvironmentType().get().size());
+        assertTrue(config.getEnvironmentType().get().contains(EnvironmentType.CLIENT));
+        assertTrue(config.getEnvironmentType().get().contains(EnvironmentType.SERVER));
+        assertFalse(config.getManualRelease().get());
     }
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package io.github.smootheez.curseforge;
+
+import io.github.smootheez.*;
+import io.github.smootheez.exception.*;
+import io.github.smootheez.http.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CurseforgePublisherTest {
+
+    @TempDir
+    Path directory;
+
+    private PublisherFixture fixture;
+    private FakePlatformServer server;
+    private McModPublisherExtension extension;
+
+    @BeforeEach
+    void setup() throws IOException {
+        fixture = PublisherFixture.start(Platform.CURSEFORGE, directory);
+        server = fixture.server();
+        extension = fixture.extension();
+
+        extension.getFiles().from(fixture.file("mod.jar", 64 * 1024), fixture.file("mod-sources.jar", 16 * 1024));
+        extension.getCurseforge().getProjectId().set("123456");
+    }
+
+    @AfterEach
+    void teardown() {
+        fixture.close();
+    }
+
+    @Test
+    void testAdditionalFilesAreUploadedAsChildren() {
+        var entries = fixture.publish();
+
+        var files = server.curseforgeFiles();
+        assertEquals(2, files.size());
+        var primary = files.stream().filter(file -> file.get("fileName").getAsString().equals("mod.jar")).findFirst().orElseThrow();
+        var child = files.stream().filter(file -> file.get("fileName").getAsString().equals("mod-sources.jar")).findFirst().orElseThrow();
+        assertEquals(primary.get("id").getAsInt(), child.get("parentFileID").getAsInt());
+        assertEquals(4, primary.getAsJsonArray("gameVersions").size());
+        assertEquals(List.of(primary.get("id").getAsString(), child.get("id").getAsString()), entries.get(0).remoteIds());
+    }
+
+    @Test
+    void testMissingFilesFailBeforeAnyUpload() {
+        extension.getFiles().from(directory.resolve("missing.jar").toFile());
+
+        var exception = assertThrows(FailedPublishException.class, fixture::publish);
+
+        assertTrue(exception.getMessage().contains("missing.jar"));
+        assertTrue(server.curseforgeFiles().isEmpty());
+    }
+
+    @Test
+    void testRateLimitedUploadsAreRetried() {
+        server.rateLimitEvery(2);
+
+        fixture.publish();
+
+        assertTrue(server.rateLimitedCount() > 0);
+        assertEquals(2, server.curseforgeFiles().size());
+    }
+}
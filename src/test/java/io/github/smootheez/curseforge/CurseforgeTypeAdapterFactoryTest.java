@@ -0,0 +1,93 @@
+package io.github.smootheez.curseforge;
+
+import com.google.gson.*;
+import com.google.gson.reflect.*;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CurseforgeTypeAdapterFactoryTest {
+    private static final Gson ADAPTED = new GsonBuilder().registerTypeAdapterFactory(new CurseforgeTypeAdapterFactory()).create();
+    private static final Gson REFLECTIVE = new Gson();
+
+    @Test
+    void testMetadataMatchesReflectiveWireFormat() {
+        var metadata = new CurseforgeMetadata("Changes", ChangelogType.MARKDOWN, "My Mod 1.0.0", List.of(9990, 7499),
+                "release", true, new Projects(List.of(
+                        new ProjectsMetadata("fabric-api", RelationType.REQUIRED_DEPENDENCY),
+                        new ProjectsMetadata("modmenu", RelationType.OPTIONAL_DEPENDENCY))),
+                null);
+
+        assertEquals(JsonParser.parseString(REFLECTIVE.toJson(metadata)), JsonParser.parseString(ADAPTED.toJson(metadata)));
+    }
+
+    @Test
+    void testAdditionalFileMetadataMatchesReflectiveWireFormat() {
+        var metadata = new CurseforgeMetadata("Changes", ChangelogType.TEXT, "sources", null, "release", false,
+                null, 4242);
+
+        var json = ADAPTED.toJson(metadata);
+
+        assertEquals(JsonParser.parseString(REFLECTIVE.toJson(metadata)), JsonParser.parseString(json));
+        assertTrue(json.contains("\"parentFileID\":4242"));
+        assertFalse(json.contains("gameVersions"));
+    }
+
+    @Test
+    void testMetadataIsReadLikeReflectiveGson() {
+        var metadata = new CurseforgeMetadata("Changes", ChangelogType.HTML, "My Mod 1.0.0", List.of(9990), "beta", false,
+                new Projects(List.of(new ProjectsMetadata("fabric-api", RelationType.EMBEDDED_LIBRARY))), 4242);
+
+        assertEquals(metadata, ADAPTED.fromJson(ADAPTED.toJson(metadata), CurseforgeMetadata.class));
+    }
+
+    @Test
+    void testUploadResponseIsDecodedSkippingUnknownFields() {
+        var body = """
+                {"id": 5123456, "status": {"code": 1}, "warnings": []}
+                """;
+
+        assertEquals(new CurseforgeUploadResponse(5123456), ADAPTED.fromJson(body, CurseforgeUploadResponse.class));
+    }
+
+    @Test
+    void testUploadResponseIsWrittenLikeReflectiveGson() {
+        var response = new CurseforgeUploadResponse(5123456);
+
+        assertEquals(JsonParser.parseString(REFLECTIVE.toJson(response)), JsonParser.parseString(ADAPTED.toJson(response)));
+    }
+
+    @Test
+    void testUsedDirectionsNeverBuildReflectiveAdapters() {
+        var requested = new ArrayList<Class<?>>();
+        // Factories registered later take precedence, so the recorder only sees delegated types.
+        var gson = new GsonBuilder()
+                .registerTypeAdapterFactory(recording(requested))
+                .registerTypeAdapterFactory(new CurseforgeTypeAdapterFactory())
+                .create();
+        var metadata = new CurseforgeMetadata("Changes", ChangelogType.TEXT, "My Mod", List.of(9990), "release", false,
+                null, null);
+
+        var json = gson.toJson(metadata);
+        gson.fromJson("{\"id\": 4242}", CurseforgeUploadResponse.class);
+
+        assertFalse(requested.contains(CurseforgeMetadata.class));
+        assertFalse(requested.contains(CurseforgeUploadResponse.class));
+
+        gson.fromJson(json, CurseforgeMetadata.class);
+
+        assertTrue(requested.contains(CurseforgeMetadata.class));
+    }
+
+    private static TypeAdapterFactory recording(List<Class<?>> requested) {
+        return new TypeAdapterFactory() {
+            @Override
+            public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+                requested.add(type.getRawType());
+                return null;
+            }
+        };
+    }
+}
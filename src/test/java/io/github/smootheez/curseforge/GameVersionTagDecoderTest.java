@@ -0,0 +1,50 @@
+package io.github.smootheez.curseforge;
+
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameVersionTagDecoderTest {
+    private static final String PAYLOAD = """
+            [
+              {"id": 1, "gameVersionTypeID": 77784, "name": "1.21.1", "slug": "1-21-1", "apiVersion": null},
+              {"id": 2, "gameVersionTypeID": 77784, "name": "1.21.2", "slug": "1-21-2"},
+              {"id": 3, "gameVersionTypeID": 68441, "name": "Fabric", "slug": "fabric"},
+              {"id": 4, "gameVersionTypeID": 1, "name": "Fabric", "slug": null},
+              {"id": 5, "gameVersionTypeID": 75208, "name": "Client", "slug": "client", "extra": {"nested": [1, 2]}}
+            ]
+            """;
+
+    @Test
+    void testOnlyAcceptedTagsAreDecoded() throws IOException {
+        var wanted = Set.of("1.21.1", "Fabric", "Client");
+
+        var tags = GameVersionTagDecoder.decode(new StringReader(PAYLOAD),
+                (type, name) -> type != 1 && wanted.contains(name));
+
+        assertEquals(List.of(1, 3, 5), tags.stream().map(GameVersionTag::id).toList());
+    }
+
+    @Test
+    void testFieldsAreMapped() throws IOException {
+        var tags = GameVersionTagDecoder.decode(new StringReader(PAYLOAD), (type, name) -> name.equals("1.21.2"));
+
+        assertEquals(List.of(new GameVersionTag(2, 77784, "1.21.2", "1-21-2")), tags);
+    }
+
+    @Test
+    void testNullValuesAreAccepted() throws IOException {
+        var tags = GameVersionTagDecoder.decode(new StringReader(PAYLOAD), (type, name) -> type == 1);
+
+        assertNull(tags.get(0).slug());
+    }
+
+    @Test
+    void testMalformedPayloadFails() {
+        assertThrows(IOException.class, () ->
+                GameVersionTagDecoder.decode(new StringReader("[{\"id\": 1,"), (type, name) -> true));
+    }
+}
@@ -0,0 +1,879 @@
+package io.github.smootheez.http;
+
+import com.google.gson.*;
+import com.sun.net.httpserver.*;
+
+import java.io.*;
+import java.net.*;
+import java.nio.charset.*;
+import java.security.*;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.regex.*;
+
+/**
+ * Local stand-in for the Modrinth and CurseForge APIs, serving the endpoints called by the
+ * publishers from a single embedded HTTP server.
+ * <p>
+ * Modrinth endpoints ({@code /v2/...}), CurseForge endpoints ({@code /api/...}) and CurseForge
+ * Core API endpoints ({@code /v1/...}) share the server, so {@link #url()} serves as the API base
+ * URL of both platforms. Projects registered with {@link #modrinthProject(String, String)} and
+ * {@link #curseforgeProject(int, String)} can be looked up by ID and searched by slug. The server keeps the
+ * versions and files it receives in memory, so hash lookups report files uploaded earlier and a
+ * second publish of the same files is recognized. The game version lists carry an {@code ETag}
+ * and a {@code Last-Modified} header and are answered with {@code 304 Not Modified} when a
+ * conditional request names them. It can degrade its service to exercise the
+ * publishers under realistic conditions:
+ * <ul>
+ *     <li>{@link #latency(Duration)} delays every response</li>
+ *     <li>{@link #bandwidth(long)} caps the rate at which request bodies are read</li>
+ *     <li>{@link #rateLimitEvery(int)} answers every n-th request with {@code 429 Too Many Requests}</li>
+ *     <li>{@link #failureRate(double)} answers random requests with {@code 503 Service Unavailable},
+ *     or the status set with {@link #failureStatus(int)}</li>
+ * </ul>
+ * Settings may be changed while the server runs. Random failures are drawn from a seeded
+ * generator, so a run can be reproduced.
+ */
+public final class FakePlatformServer implements AutoCloseable {
+
+    /** Minecraft versions served by both platforms. */
+    public static final List<String> GAME_VERSIONS = List.of("1.20.1", "1.20.4", "1.21", "1.21.1");
+
+    /** CurseForge type ID of Minecraft versions. */
+    private static final int MINECRAFT_TYPE_ID = 77784;
+
+    /** CurseForge type ID of mod loader tags. */
+    private static final int LOADER_TYPE_ID = 68441;
+
+    /** CurseForge type ID of environment tags. */
+    private static final int ENVIRONMENT_TYPE_ID = 75208;
+
+    /** Size of the chunks in which request bodies are read. */
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    /** Path of the Modrinth endpoint attaching files to a version. */
+    private static final Pattern MODRINTH_ADD_FILES = Pattern.compile("/v2/version/([^/]+)/file");
+
+    /** Path of the CurseForge upload endpoint. */
+    private static final Pattern CURSEFORGE_UPLOAD = Pattern.compile("/api/projects/([^/]+)/upload-file");
+
+    /** Gson instance rendering responses and reading request metadata. */
+    private static final Gson GSON = new Gson();
+
+    /** {@code ETag} of the game version lists, which never change. */
+    private static final String GAME_VERSIONS_ETAG = "\"game-versions-1\"";
+
+    /** {@code Last-Modified} value of the game version lists. */
+    private static final String GAME_VERSIONS_LAST_MODIFIED = "Tue, 01 Oct 2024 00:00:00 GMT";
+
+    /** The embedded HTTP server. */
+    private final HttpServer server;
+
+    /** Threads handling the requests. */
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        var thread = new Thread(runnable, "fake-platform-server");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Modrinth versions created so far, keyed by ID. */
+    private final Map<String, JsonObject> modrinthVersions = new ConcurrentHashMap<>();
+
+    /** Modrinth versions holding every uploaded file, keyed by the file's SHA-512 digest. */
+    private final Map<String, String> modrinthVersionsByHash = new ConcurrentHashMap<>();
+
+    /** CurseForge files uploaded so far, keyed by file ID. */
+    private final Map<Integer, JsonObject> curseforgeFiles = new ConcurrentHashMap<>();
+
+    /** Slugs of the Modrinth projects that can be looked up, keyed by project ID. */
+    private final Map<String, String> modrinthProjects = new ConcurrentHashMap<>();
+
+    /** Slugs of the CurseForge projects that can be looked up, keyed by project ID. */
+    private final Map<Integer, String> curseforgeProjects = new ConcurrentHashMap<>();
+
+    /** Source of the IDs given to versions and files. */
+    private final AtomicInteger ids = new AtomicInteger(1000);
+
+    /** Number of requests received. */
+    private final AtomicInteger requests = new AtomicInteger();
+
+    /** Number of requests answered with {@code 429}. */
+    private final AtomicInteger rateLimited = new AtomicInteger();
+
+    /** Number of requests answered with an injected failure. */
+    private final AtomicInteger failed = new AtomicInteger();
+
+    /** Number of conditional requests answered with {@code 304}. */
+    private final AtomicInteger notModified = new AtomicInteger();
+
+    /** Number of request body bytes received. */
+    private final AtomicLong bytesReceived = new AtomicLong();
+
+    /** Generator deciding which requests fail. */
+    private final Random random;
+
+    /** Delay added to every response. */
+    private volatile Duration latency = Duration.ZERO;
+
+    /** Maximum rate at which a request body is read, in bytes per second, or {@code 0} for no limit. */
+    private volatile long bandwidth;
+
+    /** Every n-th request is rate limited, or none if {@code 0}. */
+    private volatile int rateLimitEvery;
+
+    /** Probability of a request failing. */
+    private volatile double failureRate;
+
+    /** Status code of failed requests. */
+    private volatile int failureStatus = 503;
+
+    /** Whether the game version lists carry an {@code ETag}. */
+    private volatile boolean etags = true;
+
+    /**
+     * Creates a server listening on a free port of the loopback interface.
+     *
+     * @param seed seed of the generator deciding which requests fail
+     * @throws IOException if the server cannot be started
+     */
+    private FakePlatformServer(long seed) throws IOException {
+        this.random = new Random(seed);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * Starts a server with a fixed failure seed.
+     *
+     * @return the running server
+     * @throws IOException if the server cannot be started
+     */
+    public static FakePlatformServer start() throws IOException {
+        return start(0);
+    }
+
+    /**
+     * Starts a server.
+     *
+     * @param seed seed of the generator deciding which requests fail
+     * @return the running server
+     * @throws IOException if the server cannot be started
+     */
+    public static FakePlatformServer start(long seed) throws IOException {
+        return new FakePlatformServer(seed);
+    }
+
+    /**
+     * Returns the API base URL of both platforms.
+     *
+     * @return the base URL, such as {@code "http://127.0.0.1:54321"}
+     */
+    public String url() {
+        var address = server.getAddress();
+        return "http://" + address.getAddress().getHostAddress() + ":" + address.getPort();
+    }
+
+    /**
+     * Delays every response.
+     *
+     * @param latency the delay
+     * @return this server
+     */
+    public FakePlatformServer latency(Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * Caps the rate at which every request body is read.
+     *
+     * @param bytesPerSecond the maximum rate, or {@code 0} for no limit
+     * @return this server
+     */
+    public FakePlatformServer bandwidth(long bytesPerSecond) {
+        this.bandwidth = bytesPerSecond;
+        return this;
+    }
+
+    /**
+     * Answers every n-th request with {@code 429 Too Many Requests} and {@code Retry-After: 0}.
+     *
+     * @param every the interval between rate limited requests, or {@code 0} to disable
+     * @return this server
+     */
+    public FakePlatformServer rateLimitEvery(int every) {
+        this.rateLimitEvery = every;
+        return this;
+    }
+
+    /**
+     * Answers random requests with {@code 503 Service Unavailable}.
+     *
+     * @param probability the probability of a request failing, between {@code 0} and {@code 1}
+     * @return this server
+     */
+    public FakePlatformServer failureRate(double probability) {
+        this.failureRate = probability;
+        return this;
+    }
+
+    /**
+     * Sets the status code of the requests failed by {@link #failureRate(double)}.
+     *
+     * @param status the status code, {@code 503} by default
+     * @return this server
+     */
+    public FakePlatformServer failureStatus(int status) {
+        this.failureStatus = status;
+        return this;
+    }
+
+    /**
+     * Sets whether the game version lists carry an {@code ETag}, so revalidation by
+     * {@code Last-Modified} alone can be exercised.
+     *
+     * @param enabled whether to send an {@code ETag}, {@code true} by default
+     * @return this server
+     */
+    public FakePlatformServer etags(boolean enabled) {
+        this.etags = enabled;
+        return this;
+    }
+
+    /**
+     * Registers a Modrinth project that can be looked up by ID or slug.
+     *
+     * @param id   the project ID
+     * @param slug the project slug
+     * @return this server
+     */
+    public FakePlatformServer modrinthProject(String id, String slug) {
+        modrinthProjects.put(id, slug);
+        return this;
+    }
+
+    /**
+     * Registers a CurseForge project that can be looked up by ID through the Core API.
+     *
+     * @param id   the project ID
+     * @param slug the project slug
+     * @return this server
+     */
+    public FakePlatformServer curseforgeProject(int id, String slug) {
+        curseforgeProjects.put(id, slug);
+        return this;
+    }
+
+    /**
+     * Returns the number of requests received.
+     *
+     * @return the request count
+     */
+    public int requestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Returns the number of requests answered with {@code 429}.
+     *
+     * @return the rate limited request count
+     */
+    public int rateLimitedCount() {
+        return rateLimited.get();
+    }
+
+    /**
+     * Returns the number of requests answered with an injected failure.
+     *
+     * @return the failed request count
+     */
+    public int failedCount() {
+        return failed.get();
+    }
+
+    /**
+     * Returns the number of conditional requests answered with {@code 304 Not Modified}.
+     *
+     * @return the not modified response count
+     */
+    public int notModifiedCount() {
+        return notModified.get();
+    }
+
+    /**
+     * Returns the number of request body bytes received.
+     *
+     * @return the received byte count
+     */
+    public long bytesReceived() {
+        return bytesReceived.get();
+    }
+
+    /**
+     * Returns the Modrinth versions created so far.
+     *
+     * @return the versions, as returned by the API
+     */
+    public List<JsonObject> modrinthVersions() {
+        return List.copyOf(modrinthVersions.values());
+    }
+
+    /**
+     * Returns the CurseForge files uploaded so far.
+     *
+     * @return the metadata of every file, with its {@code id}, {@code fileName} and {@code parentFileID}
+     */
+    public List<JsonObject> curseforgeFiles() {
+        return List.copyOf(curseforgeFiles.values());
+    }
+
+    /**
+     * Forgets every version and file received so far, so the same files can be published again.
+     */
+    public void reset() {
+        modrinthVersions.clear();
+        modrinthVersionsByHash.clear();
+        curseforgeFiles.clear();
+    }
+
+    /**
+     * Stops the server.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Handles a request: reads its body, applies the configured degradations and routes it.
+     *
+     * @param exchange the exchange
+     * @throws IOException if the response cannot be written
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            var count = requests.incrementAndGet();
+            var body = readBody(exchange.getRequestBody());
+            sleep(latency);
+
+            if (rateLimitEvery > 0 && count % rateLimitEvery == 0) {
+                rateLimited.incrementAndGet();
+                exchange.getResponseHeaders().add("Retry-After", "0");
+                respond(exchange, 429, "{\"error\":\"ratelimited\"}");
+                return;
+            }
+            if (failureRate > 0 && nextDouble() < failureRate) {
+                failed.incrementAndGet();
+                respond(exchange, failureStatus, "{\"error\":\"unavailable\"}");
+                return;
+            }
+
+            route(exchange, body);
+        } catch (RuntimeException e) {
+            respond(exchange, 400, GSON.toJson(Map.of("error", String.valueOf(e.getMessage()))));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Sends a request to the handler of its endpoint.
+     *
+     * @param exchange the exchange
+     * @param body     the request body
+     * @throws IOException if the response cannot be written
+     */
+    private void route(HttpExchange exchange, byte[] body) throws IOException {
+        var method = exchange.getRequestMethod();
+        var path = exchange.getRequestURI().getPath();
+        var headers = exchange.getRequestHeaders();
+
+        if (path.startsWith("/v2/") && !path.equals("/v2/tag/game_version") && !path.equals("/v2/projects")
+                && !headers.containsKey("Authorization")) {
+            respond(exchange, 401, "{\"error\":\"unauthorized\"}");
+            return;
+        }
+        if (path.startsWith("/api/") && !headers.containsKey("X-Api-Token")) {
+            respond(exchange, 401, "{\"errorCode\":401}");
+            return;
+        }
+        if (path.startsWith("/v1/") && !headers.containsKey("X-Api-Key")) {
+            respond(exchange, 403, "{\"error\":\"forbidden\"}");
+            return;
+        }
+
+        var addFiles = MODRINTH_ADD_FILES.matcher(path);
+        var upload = CURSEFORGE_UPLOAD.matcher(path);
+        if (method.equals("GET") && (path.equals("/v2/tag/game_version") || path.equals("/api/game/versions"))
+                && notModified(exchange)) {
+            exchange.sendResponseHeaders(304, -1);
+        } else if (method.equals("GET") && path.equals("/v2/tag/game_version")) {
+            respond(exchange, 200, modrinthGameVersions());
+        } else if (method.equals("GET") && path.equals("/v2/projects")) {
+            respond(exchange, 200, lookupModrinthProjects(exchange.getRequestURI()));
+        } else if (method.equals("POST") && path.equals("/v1/mods")) {
+            respond(exchange, 200, lookupCurseforgeProjects(body));
+        } else if (method.equals("GET") && path.equals("/v1/mods/search")) {
+            respond(exchange, 200, searchCurseforgeProjects(exchange.getRequestURI()));
+        } else if (method.equals("POST") && path.equals("/v2/version_files")) {
+            respond(exchange, 200, lookupModrinthVersions(body));
+        } else if (method.equals("POST") && path.equals("/v2/version")) {
+            respond(exchange, 200, createModrinthVersion(exchange, body));
+        } else if (method.equals("POST") && addFiles.matches()) {
+            addModrinthFiles(exchange, addFiles.group(1), body);
+        } else if (method.equals("GET") && path.equals("/api/game/versions")) {
+            respond(exchange, 200, curseforgeGameVersions());
+        } else if (method.equals("POST") && upload.matches()) {
+            respond(exchange, 200, uploadCurseforgeFile(exchange, body));
+        } else {
+            respond(exchange, 404, "{\"error\":\"not_found\"}");
+        }
+    }
+
+    /**
+     * Adds the validators of the game version lists to the response and checks whether the
+     * request already holds the current list.
+     *
+     * @param exchange the exchange requesting a game version list
+     * @return {@code true} if the request's {@code If-None-Match} or {@code If-Modified-Since} header matches
+     */
+    private boolean notModified(HttpExchange exchange) {
+        var request = exchange.getRequestHeaders();
+        var response = exchange.getResponseHeaders();
+        response.set("Last-Modified", GAME_VERSIONS_LAST_MODIFIED);
+        if (etags) response.set("ETag", GAME_VERSIONS_ETAG);
+
+        var ifNoneMatch = request.getFirst("If-None-Match");
+        var matches = ifNoneMatch != null
+                ? etags && ifNoneMatch.equals(GAME_VERSIONS_ETAG)
+                : GAME_VERSIONS_LAST_MODIFIED.equals(request.getFirst("If-Modified-Since"));
+        if (matches) notModified.incrementAndGet();
+        return matches;
+    }
+
+    /**
+     * Renders Modrinth's game version tag list.
+     *
+     * @return the JSON payload
+     */
+    private static String modrinthGameVersions() {
+        var tags = new JsonArray();
+        for (var version : GAME_VERSIONS) {
+            var tag = new JsonObject();
+            tag.addProperty("version", version);
+            tag.addProperty("version_type", "release");
+            tag.addProperty("date", "2024-06-13T10:36:15Z");
+            tag.addProperty("major", version.chars().filter(c -> c == '.').count() == 1);
+            tags.add(tag);
+        }
+        return GSON.toJson(tags);
+    }
+
+    /**
+     * Renders CurseForge's game version tag list, including loader and environment tags.
+     *
+     * @return the JSON payload
+     */
+    private static String curseforgeGameVersions() {
+        var tags = new JsonArray();
+        var id = 1;
+        for (var version : GAME_VERSIONS) tags.add(curseforgeTag(id++, MINECRAFT_TYPE_ID, version));
+        for (var loader : List.of("Fabric", "Quilt", "Forge", "NeoForge")) tags.add(curseforgeTag(id++, LOADER_TYPE_ID, loader));
+        for (var environment : List.of("Client", "Server")) tags.add(curseforgeTag(id++, ENVIRONMENT_TYPE_ID, environment));
+        return GSON.toJson(tags);
+    }
+
+    /**
+     * Renders a single CurseForge tag.
+     *
+     * @param id     the tag ID
+     * @param typeId the tag type ID
+     * @param name   the tag name
+     * @return the JSON tag
+     */
+    private static JsonObject curseforgeTag(int id, int typeId, String name) {
+        var tag = new JsonObject();
+        tag.addProperty("id", id);
+        tag.addProperty("gameVersionTypeID", typeId);
+        tag.addProperty("name", name);
+        tag.addProperty("slug", name.toLowerCase(Locale.ROOT).replace('.', '-'));
+        return tag;
+    }
+
+    /**
+     * Looks up Modrinth projects by ID or slug, ignoring unknown projects like Modrinth does.
+     *
+     * @param uri the request URI, whose {@code ids} parameter holds a JSON array of IDs and slugs
+     * @return the matching projects
+     */
+    private String lookupModrinthProjects(URI uri) {
+        var ids = query(uri, "ids");
+        var projects = new JsonArray();
+        for (var identifier : JsonParser.parseString(ids).getAsJsonArray()) {
+            modrinthProjects.forEach((id, slug) -> {
+                if (!id.equals(identifier.getAsString()) && !slug.equalsIgnoreCase(identifier.getAsString())) return;
+                var project = new JsonObject();
+                project.addProperty("id", id);
+                project.addProperty("slug", slug);
+                project.addProperty("project_type", "mod");
+                projects.add(project);
+            });
+        }
+        return GSON.toJson(projects);
+    }
+
+    /**
+     * Searches CurseForge projects by slug.
+     *
+     * @param uri the request URI, whose {@code slug} parameter holds the searched slug
+     * @return the matching projects, wrapped in {@code data}
+     */
+    private String searchCurseforgeProjects(URI uri) {
+        var slug = query(uri, "slug");
+        var projects = new JsonArray();
+        curseforgeProjects.forEach((id, projectSlug) -> {
+            if (projectSlug.equalsIgnoreCase(slug)) projects.add(renderCurseforgeProject(id, projectSlug));
+        });
+
+        var response = new JsonObject();
+        response.add("data", projects);
+        return GSON.toJson(response);
+    }
+
+    /**
+     * Renders a single CurseForge project.
+     *
+     * @param id   the project ID
+     * @param slug the project slug
+     * @return the JSON project
+     */
+    private static JsonObject renderCurseforgeProject(int id, String slug) {
+        var project = new JsonObject();
+        project.addProperty("id", id);
+        project.addProperty("gameId", 432);
+        project.addProperty("slug", slug);
+        return project;
+    }
+
+    /**
+     * Returns a query parameter of a request.
+     *
+     * @param uri  the request URI
+     * @param name the name of the parameter
+     * @return the decoded value of the parameter
+     * @throws IllegalArgumentException if the parameter is missing
+     */
+    private static String query(URI uri, String name) {
+        var query = uri.getRawQuery() == null ? "" : uri.getRawQuery();
+        return Arrays.stream(query.split("&"))
+                .filter(parameter -> parameter.startsWith(name + "="))
+                .map(parameter -> URLDecoder.decode(parameter.substring(name.length() + 1), StandardCharsets.UTF_8))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Missing " + name));
+    }
+
+    /**
+     * Looks up CurseForge projects by ID, ignoring unknown projects like the Core API does.
+     *
+     * @param body the lookup request holding the {@code modIds}
+     * @return the matching projects, wrapped in {@code data}
+     */
+    private String lookupCurseforgeProjects(byte[] body) {
+        var lookup = JsonParser.parseString(new String(body, StandardCharsets.UTF_8)).getAsJsonObject();
+        var projects = new JsonArray();
+        for (var id : lookup.getAsJsonArray("modIds")) {
+            var slug = curseforgeProjects.get(id.getAsInt());
+            if (slug != null) projects.add(renderCurseforgeProject(id.getAsInt(), slug));
+        }
+
+        var response = new JsonObject();
+        response.add("data", projects);
+        return GSON.toJson(response);
+    }
+
+    /**
+     * Looks up the Modrinth versions holding files with the requested hashes.
+     *
+     * @param body the lookup request
+     * @return the matching versions keyed by hash
+     */
+    private String lookupModrinthVersions(byte[] body) {
+        var lookup = JsonParser.parseString(new String(body, StandardCharsets.UTF_8)).getAsJsonObject();
+        var versions = new JsonObject();
+        for (var hash : lookup.getAsJsonArray("hashes")) {
+            var versionId = modrinthVersionsByHash.get(hash.getAsString());
+            if (versionId != null) versions.add(hash.getAsString(), modrinthVersions.get(versionId));
+        }
+        return GSON.toJson(versions);
+    }
+
+    /**
+     * Creates a Modrinth version from a multipart upload.
+     *
+     * @param exchange the exchange
+     * @param body     the multipart body
+     * @return the created version
+     */
+    private String createModrinthVersion(HttpExchange exchange, byte[] body) {
+        var parts = Multipart.parse(exchange.getRequestHeaders().getFirst("Content-Type"), body);
+        var data = JsonParser.parseString(parts.get(0).text()).getAsJsonObject();
+
+        var version = new JsonObject();
+        version.addProperty("id", "v" + ids.incrementAndGet());
+        version.add("project_id", data.get("project_id"));
+        version.add("name", data.get("name"));
+        version.add("version_number", data.get("version_number"));
+        version.add("game_versions", data.get("game_versions"));
+        version.add("loaders", data.get("loaders"));
+        version.add("files", new JsonArray());
+
+        var fileParts = data.getAsJsonArray("file_parts");
+        for (var part : parts.subList(1, parts.size())) {
+            var primary = fileParts.isEmpty() || fileParts.get(0).getAsString().equals(part.name());
+            addModrinthFile(version, part, primary && version.getAsJsonArray("files").isEmpty());
+        }
+        modrinthVersions.put(version.get("id").getAsString(), version);
+        return GSON.toJson(version);
+    }
+
+    /**
+     * Attaches the files of a multipart upload to an existing Modrinth version.
+     *
+     * @param exchange  the exchange
+     * @param versionId the ID of the version
+     * @param body      the multipart body
+     * @throws IOException if the response cannot be written
+     */
+    private void addModrinthFiles(HttpExchange exchange, String versionId, byte[] body) throws IOException {
+        var version = modrinthVersions.get(versionId);
+        if (version == null) {
+            respond(exchange, 404, "{\"error\":\"not_found\"}");
+            return;
+        }
+
+        var parts = Multipart.parse(exchange.getRequestHeaders().getFirst("Content-Type"), body);
+        synchronized (version) {
+            for (var part : parts.subList(1, parts.size())) addModrinthFile(version, part, false);
+        }
+        exchange.sendResponseHeaders(204, -1);
+    }
+
+    /**
+     * Records an uploaded file in a Modrinth version.
+     *
+     * @param version the version
+     * @param part    the part holding the file
+     * @param primary whether the file is the primary file of the version
+     */
+    private void addModrinthFile(JsonObject version, Multipart.Part part, boolean primary) {
+        var hashes = new JsonObject();
+        hashes.addProperty("sha1", digest("SHA-1", part.content()));
+        hashes.addProperty("sha512", digest("SHA-512", part.content()));
+
+        var file = new JsonObject();
+        file.add("hashes", hashes);
+        file.addProperty("url", url() + "/cdn/" + version.get("id").getAsString() + "/" + part.filename());
+        file.addProperty("filename", part.filename());
+        file.addProperty("primary", primary);
+        file.addProperty("size", part.content().length);
+        version.getAsJsonArray("files").add(file);
+        modrinthVersionsByHash.put(hashes.get("sha512").getAsString(), version.get("id").getAsString());
+    }
+
+    /**
+     * Records a CurseForge file from a multipart upload.
+     *
+     * @param exchange the exchange
+     * @param body     the multipart body
+     * @return the upload response holding the ID of the file
+     */
+    private String uploadCurseforgeFile(HttpExchange exchange, byte[] body) {
+        var parts = Multipart.parse(exchange.getRequestHeaders().getFirst("Content-Type"), body);
+        var metadata = JsonParser.parseString(parts.get(0).text()).getAsJsonObject();
+        var file = parts.get(1);
+
+        var id = ids.incrementAndGet();
+        metadata.addProperty("id", id);
+        metadata.addProperty("fileName", file.filename());
+        metadata.addProperty("fileLength", file.content().length);
+        curseforgeFiles.put(id, metadata);
+        return GSON.toJson(Map.of("id", id));
+    }
+
+    /**
+     * Reads a request body, no faster than the configured bandwidth.
+     *
+     * @param in the request body
+     * @return the bytes of the body
+     * @throws IOException if the body cannot be read
+     */
+    private byte[] readBody(InputStream in) throws IOException {
+        var out = new ByteArrayOutputStream();
+        var buffer = new byte[CHUNK_SIZE];
+        var startedAt = System.nanoTime();
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            var limit = bandwidth;
+            if (limit > 0) {
+                var due = startedAt + out.size() * 1_000_000_000L / limit;
+                sleep(Duration.ofNanos(due - System.nanoTime()));
+            }
+        }
+        bytesReceived.addAndGet(out.size());
+        return out.toByteArray();
+    }
+
+    /**
+     * Draws the next random number deciding whether a request fails.
+     *
+     * @return a number between {@code 0} and {@code 1}
+     */
+    private double nextDouble() {
+        synchronized (random) {
+            return random.nextDouble();
+        }
+    }
+
+    /**
+     * Sends a JSON response.
+     *
+     * @param exchange the exchange
+     * @param code     the status code
+     * @param json     the response body
+     * @throws IOException if the response cannot be written
+     */
+    private static void respond(HttpExchange exchange, int code, String json) throws IOException {
+        var bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(code, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    /**
+     * Computes a hexadecimal digest.
+     *
+     * @param algorithm the digest algorithm
+     * @param content   the digested bytes
+     * @return the lowercase hexadecimal digest
+     */
+    private static String digest(String algorithm, byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance(algorithm).digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Sleeps for the given duration, if positive.
+     *
+     * @param duration the duration
+     */
+    private static void sleep(Duration duration) {
+        if (duration.isNegative() || duration.isZero()) return;
+        try {
+            TimeUnit.NANOSECONDS.sleep(duration.toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Minimal parser of {@code multipart/form-data} bodies.
+     */
+    private static final class Multipart {
+
+        /** Pattern extracting the boundary from a content type. */
+        private static final Pattern BOUNDARY = Pattern.compile("boundary=\"?([^\";]+)\"?");
+
+        /** Pattern extracting the field name from a content disposition. */
+        private static final Pattern NAME = Pattern.compile("(?:^|;)\\s*name=\"([^\"]*)\"");
+
+        /** Pattern extracting the file name from a content disposition. */
+        private static final Pattern FILENAME = Pattern.compile("filename=\"([^\"]*)\"");
+
+        /** Prevents instantiation of this utility class. */
+        private Multipart() {}
+
+        /**
+         * Splits a multipart body into its parts.
+         *
+         * @param contentType the content type of the body, holding the boundary
+         * @param body        the body
+         * @return the parts, in order
+         */
+        static List<Part> parse(String contentType, byte[] body) {
+            var boundary = BOUNDARY.matcher(contentType);
+            if (!boundary.find()) throw new IllegalArgumentException("Not a multipart body: " + contentType);
+
+            var delimiter = ("--" + boundary.group(1)).getBytes(StandardCharsets.ISO_8859_1);
+            var separator = ("\r\n--" + boundary.group(1)).getBytes(StandardCharsets.ISO_8859_1);
+            var headerEnd = "\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1);
+
+            var parts = new ArrayList<Part>();
+            var position = indexOf(body, delimiter, 0) + delimiter.length;
+            while (position + 1 < body.length && !(body[position] == '-' && body[position + 1] == '-')) {
+                var headersStart = position + 2;
+                var headersEnd = indexOf(body, headerEnd, headersStart);
+                var headers = new String(body, headersStart, headersEnd - headersStart, StandardCharsets.UTF_8);
+                var contentStart = headersEnd + headerEnd.length;
+                var contentEnd = indexOf(body, separator, contentStart);
+
+                var disposition = headers.lines()
+                        .filter(line -> line.regionMatches(true, 0, "Content-Disposition:", 0, 20))
+                        .findFirst().orElse("");
+                var name = NAME.matcher(disposition.substring(Math.min(disposition.length(), 20)));
+                var filename = FILENAME.matcher(disposition);
+                parts.add(new Part(name.find() ? name.group(1) : null, filename.find() ? filename.group(1) : null,
+                        Arrays.copyOfRange(body, contentStart, contentEnd)));
+                position = contentEnd + separator.length;
+            }
+            return parts;
+        }
+
+        /**
+         * Finds the first occurrence of a byte sequence.
+         *
+         * @param data   the searched bytes
+         * @param target the sequence to find
+         * @param from   the index to start at
+         * @return the index of the sequence
+         * @throws IllegalArgumentException if the sequence does not occur
+         */
+        private static int indexOf(byte[] data, byte[] target, int from) {
+            outer:
+            for (var i = from; i <= data.length - target.length; i++) {
+                for (var j = 0; j < target.length; j++) {
+                    if (data[i + j] != target[j]) continue outer;
+                }
+                return i;
+            }
+            throw new IllegalArgumentException("Malformed multipart body");
+        }
+
+        /**
+         * A single part of a multipart body.
+         *
+         * @param name     the field name
+         * @param filename the file name, or {@code null} for plain fields
+         * @param content  the content of the part
+         */
+        record Part(String name, String filename, byte[] content) {
+
+            /**
+             * Returns the content as UTF-8 text.
+             *
+             * @return the text
+             */
+            String text() {
+                return new String(content, StandardCharsets.UTF_8);
+            }
+        }
+    }
+}
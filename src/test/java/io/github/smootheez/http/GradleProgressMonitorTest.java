@@ -0,0 +1,45 @@
+package io.github.smootheez.http;
+
+import io.github.smootheez.*;
+import org.gradle.internal.logging.progress.*;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+
+import static org.mockito.Mockito.*;
+
+class GradleProgressMonitorTest {
+    private final ProgressLoggerFactory progressLoggerFactory = mock(ProgressLoggerFactory.class);
+    private final ProgressLogger progressLogger = mock(ProgressLogger.class);
+    private final GradleProgressMonitor monitor = new GradleProgressMonitor(progressLoggerFactory);
+
+    @BeforeEach
+    void setup() {
+        when(progressLoggerFactory.newOperation(GradleProgressMonitor.class)).thenReturn(progressLogger);
+    }
+
+    @Test
+    void testCompletedUploadCompletesOperation() {
+        monitor.start(Platform.MODRINTH, new File("mod.jar"), 1000).completed(1000);
+
+        verify(progressLogger).start("Uploading mod.jar to modrinth", "0.0 MB / 0.0 MB");
+        verify(progressLogger).completed(null, false);
+    }
+
+    @Test
+    void testFailedUploadFailsOperation() {
+        monitor.start(Platform.CURSEFORGE, new File("mod.jar"), 1000).failed(400);
+
+        verify(progressLogger).completed("failed after 0.0 MB", true);
+    }
+
+    @Test
+    void testProgressIsThrottled() {
+        var upload = monitor.start(Platform.MODRINTH, new File("mod.jar"), 1000);
+
+        upload.progress(100);
+        upload.progress(200);
+
+        verify(progressLogger, never()).progress(anyString());
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.smootheez.http;
+
+import io.github.smootheez.*;
+import okhttp3.*;
+import okio.Buffer;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.security.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashingFileRequestBodyTest {
+    private static final MediaType JAR = MediaType.parse(Constants.MEDIA_TYPE_JAR);
+
+    @TempDir
+    Path directory;
+
+    private File file(String name, int size) throws IOException {
+        var content = new byte[size];
+        new Random(size).nextBytes(content);
+        return Files.write(directory.resolve(name), content).toFile();
+    }
+
+    private static String digest(String algorithm, byte[] content) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance(algorithm).digest(content));
+    }
+
+    @Test
+    void testSmallFileIsStreamedAndHashed() throws Exception {
+        assertStreamedAndHashed(file("small.jar", 1000), 1);
+    }
+
+    @Test
+    void testFileLargerThanBufferIsStreamedAndHashed() throws Exception {
+        assertStreamedAndHashed(file("large.jar", 3 * 1024 * 1024 + 17), 4);
+    }
+
+    @Test
+    void testHashesAreOnlyAvailableAfterWriting() throws IOException {
+        var body = new HashingFileRequestBody(file("mod.jar", 16), JAR, Platform.MODRINTH, UploadMonitor.NONE);
+
+        assertFalse(body.isWritten());
+        assertThrows(IllegalStateException.class, body::getHashes);
+    }
+
+    @Test
+    void testRewritingReportsTheSameHashes() throws IOException {
+        var body = new HashingFileRequestBody(file("mod.jar", 2 * 1024 * 1024), JAR, Platform.MODRINTH, UploadMonitor.NONE);
+
+        body.writeTo(new Buffer());
+        var first = body.getHashes();
+        var buffer = new Buffer();
+        body.writeTo(buffer);
+
+        assertEquals(first, body.getHashes());
+        assertEquals(2 * 1024 * 1024, buffer.size());
+    }
+
+    @Test
+    void testKnownHashesAreReportedWithoutHashingAgain() throws IOException {
+        var file = file("mod.jar", 2 * 1024 * 1024);
+        var known = new FileHashes("known-sha1", "known-sha512");
+        var body = new HashingFileRequestBody(file, JAR, Platform.MODRINTH, UploadMonitor.NONE, known);
+        var buffer = new Buffer();
+
+        body.writeTo(buffer);
+
+        assertArrayEquals(Files.readAllBytes(file.toPath()), buffer.readByteArray());
+        assertEquals(known, body.getHashes());
+    }
+
+    private void assertStreamedAndHashed(File file, int minimumUpdates) throws Exception {
+        var content = Files.readAllBytes(file.toPath());
+        var monitor = new RecordingMonitor();
+        var body = new HashingFileRequestBody(file, JAR, Platform.CURSEFORGE, monitor);
+        var buffer = new Buffer();
+
+        body.writeTo(buffer);
+
+        assertArrayEquals(content, buffer.readByteArray());
+        assertEquals(content.length, body.contentLength());
+        assertEquals(new FileHashes(digest("SHA-1", content), digest("SHA-512", content)), body.getHashes());
+
+        assertEquals(List.of((long) content.length), monitor.expected);
+        assertEquals(List.of((long) content.length), monitor.completed);
+        assertTrue(monitor.failed.isEmpty());
+        assertTrue(monitor.progress.size() >= minimumUpdates);
+        assertEquals((long) content.length, monitor.progress.get(monitor.progress.size() - 1));
+        assertEquals(monitor.progress.stream().sorted().distinct().toList(), monitor.progress);
+    }
+
+    private static final class RecordingMonitor implements UploadMonitor {
+        private final List<Long> expected = new ArrayList<>();
+        private final List<Long> progress = new ArrayList<>();
+        private final List<Long> completed = new ArrayList<>();
+        private final List<Long> failed = new ArrayList<>();
+
+        @Override
+        public Upload start(Platform platform, File file, long bytes) {
+            expected.add(bytes);
+            return new Upload() {
+                @Override
+                public void progress(long bytesSent) {
+                    progress.add(bytesSent);
+                }
+
+                @Override
+                public void completed(long bytesSent) {
+                    completed.add(bytesSent);
+                }
+
+                @Override
+                public void failed(long bytesSent) {
+                    failed.add(bytesSent);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package io.github.smootheez.http;
+
+import io.github.smootheez.*;
+import io.github.smootheez.cache.*;
+import org.gradle.api.*;
+import org.gradle.testfixtures.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.time.*;
+import java.util.*;
+
+/**
+ * Publishes to a {@link FakePlatformServer} from a test project, sharing the setup of the
+ * publisher tests of every platform.
+ * <p>
+ * The project's extension publishes version {@code 1.0.0} for Fabric on Minecraft 1.21.1, with
+ * the API URL of the fixture's platform pointing at the server. Tests add the project ID and the
+ * files, which {@link #file(String, int)} creates with random content in the project directory.
+ */
+public final class PublisherFixture implements AutoCloseable {
+
+    /** The platform published to. */
+    private final Platform platform;
+
+    /** The project directory. */
+    private final Path directory;
+
+    /** The server standing in for the platform. */
+    private final FakePlatformServer server;
+
+    /** The test project. */
+    private final Project project;
+
+    /** The publishing extension of the project. */
+    private final McModPublisherExtension extension;
+
+    /** The HTTP client shared by every publish. */
+    private final HttpClientService http;
+
+    /**
+     * Creates a fixture around a started server.
+     *
+     * @param platform  the platform published to
+     * @param directory the project directory
+     * @param server    the server standing in for the platform
+     */
+    private PublisherFixture(Platform platform, Path directory, FakePlatformServer server) {
+        this.platform = platform;
+        this.directory = directory;
+        this.server = server;
+        this.project = ProjectBuilder.builder().withProjectDir(directory.toFile()).build();
+        this.extension = project.getObjects().newInstance(McModPublisherExtension.class, project.getObjects());
+        this.http = project.getGradle().getSharedServices()
+                .registerIfAbsent(HttpClientService.NAME, HttpClientService.class, spec -> {})
+                .get();
+
+        extension.getVersion().set("1.0.0");
+        extension.getGameVersions().add("1.21.1");
+        extension.getLoaders().add(LoaderType.FABRIC);
+        switch (platform) {
+            case MODRINTH -> extension.getModrinth().getApiUrl().set(server.url() + "/");
+            case CURSEFORGE -> extension.getCurseforge().getApiUrl().set(server.url());
+        }
+    }
+
+    /**
+     * Starts a server and creates a test project publishing to it.
+     *
+     * @param platform  the platform published to
+     * @param directory the project directory
+     * @return the fixture
+     * @throws IOException if the server cannot be started
+     */
+    public static PublisherFixture start(Platform platform, Path directory) throws IOException {
+        var server = FakePlatformServer.start();
+        try {
+            return new PublisherFixture(platform, directory, server);
+        } catch (RuntimeException e) {
+            server.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the server standing in for the platform.
+     *
+     * @return the server
+     */
+    public FakePlatformServer server() {
+        return server;
+    }
+
+    /**
+     * Returns the publishing extension of the test project.
+     *
+     * @return the extension
+     */
+    public McModPublisherExtension extension() {
+        return extension;
+    }
+
+    /**
+     * Creates a file with random content in the project directory. Files with the same name
+     * always get the same content.
+     *
+     * @param name the name of the file
+     * @param size the size of the file in bytes
+     * @return the file
+     * @throws IOException if the file cannot be written
+     */
+    public File file(String name, int size) throws IOException {
+        var content = new byte[size];
+        new Random(name.hashCode()).nextBytes(content);
+        return Files.write(directory.resolve(name), content).toFile();
+    }
+
+    /**
+     * Publishes the extension's current configuration to the platform.
+     *
+     * @return the receipt entries of the publish
+     */
+    public List<PublishReceipt.Entry> publish() {
+        var cache = new GameVersionCache(project.getLogger(), directory.resolve("cache"), Duration.ofHours(1),
+                Duration.ofDays(1), false);
+        return Publisher.of(platform, project.getLogger(), PublishSpec.of(extension), "token", http, cache,
+                UploadMonitor.NONE).publish();
+    }
+
+    /**
+     * Closes the HTTP client and stops the server.
+     */
+    @Override
+    public void close() {
+        http.close();
+        server.close();
+    }
+}
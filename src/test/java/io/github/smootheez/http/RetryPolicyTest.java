@@ -0,0 +1,97 @@
+package io.github.smootheez.http;
+
+import okhttp3.*;
+import org.junit.jupiter.api.*;
+
+import java.time.*;
+import java.time.format.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryPolicyTest {
+    private final RetryPolicy policy = new RetryPolicy(4, Duration.ofSeconds(1), Duration.ofSeconds(8), Duration.ofMinutes(1));
+
+    @Test
+    void testClassification() {
+        assertTrue(policy.isRetryable(429));
+        assertTrue(policy.isRetryable(500));
+        assertTrue(policy.isRetryable(503));
+        assertFalse(policy.isRetryable(400));
+        assertFalse(policy.isRetryable(401));
+        assertFalse(policy.isRetryable(404));
+        assertFalse(policy.isRetryable(200));
+    }
+
+    @Test
+    void testUploadClassification() {
+        assertTrue(policy.isRetryable(429, false));
+        assertFalse(policy.isRetryable(500, false));
+        assertFalse(policy.isRetryable(502, false));
+        assertFalse(policy.isRetryable(400, false));
+        assertTrue(policy.isRetryable(502, true));
+    }
+
+    @Test
+    void testRetryAfterSeconds() {
+        var response = response(429, "Retry-After", "7");
+
+        assertEquals(Duration.ofSeconds(7), policy.delay(1, response));
+    }
+
+    @Test
+    void testRetryAfterHttpDate() {
+        var date = ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(30).format(DateTimeFormatter.RFC_1123_DATE_TIME);
+        var delay = policy.delay(1, response(503, "Retry-After", date));
+
+        assertTrue(delay.toSeconds() > 20 && delay.toSeconds() <= 30);
+    }
+
+    @Test
+    void testModrinthRateLimitHeaders() {
+        var response = new Response.Builder()
+                .request(new Request.Builder().url("https://api.modrinth.com/v2/version").build())
+                .protocol(Protocol.HTTP_2)
+                .code(429)
+                .message("Too Many Requests")
+                .header("X-Ratelimit-Remaining", "0")
+                .header("X-Ratelimit-Reset", "12")
+                .build();
+
+        assertEquals(Duration.ofSeconds(12), policy.delay(1, response));
+    }
+
+    @Test
+    void testServerDelayIsCapped() {
+        assertEquals(Duration.ofMinutes(1), policy.delay(1, response(429, "Retry-After", "3600")));
+    }
+
+    @Test
+    void testExponentialBackoffWithJitter() {
+        for (var attempt = 1; attempt <= 6; attempt++) {
+            var ceiling = Math.min(1000L << (attempt - 1), 8000L);
+            var delay = policy.delay(attempt, null).toMillis();
+
+            assertTrue(delay >= ceiling / 2 && delay <= ceiling, "attempt " + attempt + " delay " + delay);
+        }
+    }
+
+    @Test
+    void testBudgetIsExhausted() {
+        var budget = new RetryBudget(2);
+
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+        assertEquals(0, budget.getRemaining());
+    }
+
+    private static Response response(int code, String header, String value) {
+        return new Response.Builder()
+                .request(new Request.Builder().url("https://minecraft.curseforge.com/api/game/versions").build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message("")
+                .header(header, value)
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.smootheez.http;
+
+import io.github.smootheez.*;
+import okhttp3.*;
+import org.gradle.api.logging.*;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.net.*;
+import java.time.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryingCallTest {
+    private final OkHttpClient client = new OkHttpClient();
+    private final RetryPolicy policy = new RetryPolicy(3, Duration.ofMillis(1), Duration.ofMillis(2), Duration.ofMillis(10));
+    private FakePlatformServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = FakePlatformServer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+    }
+
+    @Test
+    void testUploadIsNotRetriedAfterServerError() throws Exception {
+        server.failureRate(1).failureStatus(502);
+
+        try (var response = call(false).execute(post())) {
+            assertEquals(502, response.code());
+        }
+        assertEquals(1, server.requestCount());
+    }
+
+    @Test
+    void testUploadIsRetriedWhenRateLimited() throws Exception {
+        server.rateLimitEvery(1);
+
+        try (var response = call(false).execute(post())) {
+            assertEquals(429, response.code());
+        }
+        assertEquals(3, server.requestCount());
+    }
+
+    @Test
+    void testIdempotentRequestIsRetriedAfterServerError() throws Exception {
+        server.failureRate(1).failureStatus(502);
+
+        try (var response = call(true).execute(new Request.Builder().url(server.url() + "/v2/tag/game_version").build())) {
+            assertEquals(502, response.code());
+        }
+        assertEquals(3, server.requestCount());
+    }
+
+    @Test
+    void testUploadIsRetriedWhenConnectionIsRefused() throws Exception {
+        String url;
+        try (var socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            url = "http://" + socket.getInetAddress().getHostAddress() + ":" + socket.getLocalPort();
+        }
+        var budget = new RetryBudget(10);
+
+        assertThrows(IOException.class, () -> call(false, budget).execute(post(url)));
+        assertEquals(8, budget.getRemaining());
+    }
+
+    private RetryingCall call(boolean idempotent) {
+        return call(idempotent, new RetryBudget(10));
+    }
+
+    private RetryingCall call(boolean idempotent, RetryBudget budget) {
+        return new RetryingCall(client, policy, budget, new TokenBucket(6000, Duration.ofSeconds(1)),
+                Platform.MODRINTH, Logging.getLogger(RetryingCallTest.class), idempotent);
+    }
+
+    private Request post() {
+        return post(server.url());
+    }
+
+    private Request post(String url) {
+        return new Request.Builder()
+                .url(url + "/v2/version")
+                .post(RequestBody.create("{}", MediaType.parse(Constants.MEDIA_TYPE_JSON)))
+                .build();
+    }
+}
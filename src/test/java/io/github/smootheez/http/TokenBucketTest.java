@@ -0,0 +1,41 @@
+package io.github.smootheez.http;
+
+import org.junit.jupiter.api.*;
+
+import java.time.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    @Test
+    void testBurstIsNotThrottled() throws Exception {
+        var bucket = new TokenBucket(600, Duration.ofSeconds(1));
+
+        var start = System.nanoTime();
+        for (var i = 0; i < 10; i++) bucket.acquire();
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 50);
+    }
+
+    @Test
+    void testSustainedRateIsThrottled() throws Exception {
+        var bucket = new TokenBucket(600, Duration.ofSeconds(1));
+
+        var start = System.nanoTime();
+        for (var i = 0; i < 13; i++) bucket.acquire();
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 250);
+    }
+
+    @Test
+    void testPause() throws Exception {
+        var bucket = new TokenBucket(600, Duration.ofSeconds(1));
+        bucket.pauseFor(Duration.ofMillis(200));
+
+        var start = System.nanoTime();
+        bucket.acquire();
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 150);
+    }
+}
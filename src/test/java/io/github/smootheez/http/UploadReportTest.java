@@ -0,0 +1,60 @@
+package io.github.smootheez.http;
+
+import com.google.gson.*;
+import io.github.smootheez.*;
+import org.gradle.api.logging.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.time.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UploadReportTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testStatusShowsThroughputAndEta() {
+        assertEquals("50.0 MB / 200.0 MB, 5.0 MB/s, ETA 30 s",
+                UploadReport.status(50_000_000, 200_000_000, Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void testStatusWithoutElapsedTimeOmitsThroughput() {
+        assertEquals("0.0 MB / 1.5 MB", UploadReport.status(0, 1_500_000, Duration.ZERO));
+    }
+
+    @Test
+    void testThroughput() {
+        assertEquals(2_000_000, UploadReport.throughput(4_000_000, Duration.ofSeconds(2)));
+        assertEquals(0, UploadReport.throughput(4_000_000, Duration.ZERO));
+    }
+
+    @Test
+    void testSummaryRecordsEveryUpload() throws IOException {
+        var display = mock(UploadMonitor.class);
+        var progress = mock(UploadMonitor.Upload.class);
+        when(display.start(any(), any(), anyLong())).thenReturn(progress);
+        var report = new UploadReport(display, mock(Logger.class));
+
+        report.start(Platform.MODRINTH, new File("mod.jar"), 1000).completed(1000);
+        report.start(Platform.CURSEFORGE, new File("mod.jar"), 1000).failed(400);
+
+        var file = directory.resolve("reports/publishModToAll.json").toFile();
+        report.write(file);
+
+        var summary = JsonParser.parseString(Files.readString(file.toPath())).getAsJsonObject();
+        assertEquals(1400, summary.get("bytes").getAsLong());
+        var uploads = summary.getAsJsonArray("uploads");
+        assertEquals(2, uploads.size());
+        assertTrue(uploads.get(0).getAsJsonObject().get("succeeded").getAsBoolean());
+        assertFalse(uploads.get(1).getAsJsonObject().get("succeeded").getAsBoolean());
+        verify(progress).completed(1000);
+        verify(progress).failed(400);
+    }
+}
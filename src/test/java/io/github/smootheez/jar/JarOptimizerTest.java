@@ -0,0 +1,182 @@
+package io.github.smootheez.jar;
+
+import io.github.smootheez.exception.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.jar.*;
+import java.util.zip.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JarOptimizerTest {
+    private static final String CLASS_NAME = "com/example/Mod.class";
+    private static final byte[] CLASS_CONTENT = "class content ".repeat(500).getBytes();
+    private static final byte[] MODEL_CONTENT = "{\"parent\": \"block/cube_all\"}".repeat(100).getBytes();
+
+    @TempDir
+    Path directory;
+
+    private File jar(String name, long time, List<String> order) throws IOException {
+        var file = directory.resolve(name).toFile();
+        var contents = Map.of(
+                "META-INF/MANIFEST.MF", "Manifest-Version: 1.0\r\n\r\n".getBytes(),
+                CLASS_NAME, CLASS_CONTENT,
+                "assets/mod/models/block.json", MODEL_CONTENT,
+                "assets/mod/textures/block.psd", new byte[256],
+                "raw/", new byte[0]);
+        try (var out = new ZipOutputStream(new FileOutputStream(file))) {
+            out.setLevel(Deflater.NO_COMPRESSION);
+            for (var entryName : order) {
+                var entry = new ZipEntry(entryName);
+                entry.setTime(time);
+                entry.setComment("built at " + time);
+                out.putNextEntry(entry);
+                out.write(contents.get(entryName));
+                out.closeEntry();
+            }
+        }
+        return file;
+    }
+
+    private static List<String> names(File file) throws IOException {
+        try (var zip = new ZipFile(file)) {
+            return zip.stream().map(ZipEntry::getName).toList();
+        }
+    }
+
+    @Test
+    void testContentIsPreservedAndSmaller() throws IOException {
+        var source = jar("mod.jar", 1_700_000_000_000L, List.of("META-INF/MANIFEST.MF", CLASS_NAME,
+                "assets/mod/models/block.json", "assets/mod/textures/block.psd", "raw/"));
+
+        var result = new JarOptimizer(List.of(), 4).optimize(source, directory.resolve("out/mod.jar").toFile());
+
+        assertTrue(result.savedBytes() > 0);
+        assertEquals(result.file().length(), result.optimizedBytes());
+        assertEquals(0, result.strippedEntries());
+        try (var zip = new ZipFile(result.file())) {
+            assertArrayEquals(CLASS_CONTENT, zip.getInputStream(zip.getEntry(CLASS_NAME)).readAllBytes());
+            assertArrayEquals(MODEL_CONTENT, zip.getInputStream(zip.getEntry("assets/mod/models/block.json")).readAllBytes());
+            assertTrue(zip.getEntry("raw/").isDirectory());
+        }
+    }
+
+    @Test
+    void testManifestComesFirstAndEntriesAreSorted() throws IOException {
+        var source = jar("mod.jar", 1_700_000_000_000L, List.of(CLASS_NAME, "raw/", "assets/mod/models/block.json",
+                "META-INF/MANIFEST.MF"));
+
+        var result = new JarOptimizer(List.of(), 4).optimize(source, directory.resolve("out/mod.jar").toFile());
+
+        assertEquals(List.of("META-INF/MANIFEST.MF", "assets/mod/models/block.json", CLASS_NAME, "raw/"), names(result.file()));
+        try (var in = new JarInputStream(new FileInputStream(result.file()))) {
+            assertNotNull(in.getManifest());
+        }
+    }
+
+    @Test
+    void testOutputIsReproducible() throws IOException {
+        var first = jar("first.jar", 1_600_000_000_000L, List.of("META-INF/MANIFEST.MF", CLASS_NAME, "raw/"));
+        var second = jar("second.jar", 1_700_000_000_000L, List.of("raw/", CLASS_NAME, "META-INF/MANIFEST.MF"));
+        var optimizer = new JarOptimizer(List.of(), 2);
+
+        var firstResult = optimizer.optimize(first, directory.resolve("out/first.jar").toFile());
+        var secondResult = optimizer.optimize(second, directory.resolve("out/second.jar").toFile());
+
+        assertArrayEquals(Files.readAllBytes(firstResult.file().toPath()), Files.readAllBytes(secondResult.file().toPath()));
+    }
+
+    @Test
+    void testLargeEntriesAreStreamed() throws IOException {
+        var source = jar("mod.jar", 1_700_000_000_000L, List.of("META-INF/MANIFEST.MF", CLASS_NAME,
+                "assets/mod/models/block.json", "assets/mod/textures/block.psd", "raw/"));
+
+        var streamed = new JarOptimizer(List.of(), 4, 200).optimize(source, directory.resolve("out/streamed.jar").toFile());
+        var buffered = new JarOptimizer(List.of(), 4).optimize(source, directory.resolve("out/buffered.jar").toFile());
+
+        assertEquals(buffered.optimizedBytes(), streamed.optimizedBytes());
+        try (var zip = new ZipFile(streamed.file())) {
+            assertArrayEquals(CLASS_CONTENT, zip.getInputStream(zip.getEntry(CLASS_NAME)).readAllBytes());
+            assertArrayEquals(MODEL_CONTENT, zip.getInputStream(zip.getEntry("assets/mod/models/block.json")).readAllBytes());
+            assertArrayEquals(new byte[256], zip.getInputStream(zip.getEntry("assets/mod/textures/block.psd")).readAllBytes());
+        }
+    }
+
+    @Test
+    void testIncompressibleLargeEntryIsStored() throws IOException {
+        var content = new byte[64 * 1024];
+        new Random(42).nextBytes(content);
+        var source = directory.resolve("mod.jar").toFile();
+        try (var out = new ZipOutputStream(new FileOutputStream(source))) {
+            out.putNextEntry(new ZipEntry("noise.bin"));
+            out.write(content);
+            out.closeEntry();
+        }
+
+        var result = new JarOptimizer(List.of(), 1, 1024).optimize(source, directory.resolve("out/mod.jar").toFile());
+
+        try (var zip = new ZipFile(result.file())) {
+            assertEquals(ZipEntry.STORED, zip.getEntry("noise.bin").getMethod());
+            assertArrayEquals(content, zip.getInputStream(zip.getEntry("noise.bin")).readAllBytes());
+        }
+    }
+
+    @Test
+    void testCorruptEntryNamesTheJarAndEntry() throws IOException {
+        var source = jar("mod.jar", 1_700_000_000_000L, List.of("META-INF/MANIFEST.MF", CLASS_NAME));
+        var bytes = Files.readAllBytes(source.toPath());
+        var data = indexOf(bytes, CLASS_NAME.getBytes()) + CLASS_NAME.length();
+        Arrays.fill(bytes, data, data + 64, (byte) 0xFF);
+        Files.write(source.toPath(), bytes);
+
+        var exception = assertThrows(FailedOptimizeJarException.class,
+                () -> new JarOptimizer(List.of(), 4).optimize(source, directory.resolve("out/mod.jar").toFile()));
+
+        assertTrue(exception.getMessage().startsWith("Failed to optimize " + source + ": entry " + CLASS_NAME
+                + " could not be compressed"), exception.getMessage());
+    }
+
+    private static int indexOf(byte[] bytes, byte[] part) {
+        for (var i = 0; i <= bytes.length - part.length; i++) {
+            if (Arrays.equals(bytes, i, i + part.length, part, 0, part.length)) return i;
+        }
+        throw new AssertionError("Missing " + new String(part));
+    }
+
+    @Test
+    void testMatchingEntriesAreStripped() throws IOException {
+        var source = jar("mod.jar", 1_700_000_000_000L, List.of("META-INF/MANIFEST.MF", CLASS_NAME,
+                "assets/mod/textures/block.psd", "raw/"));
+
+        var result = new JarOptimizer(List.of("**/*.psd", "raw/"), 4).optimize(source, directory.resolve("out/mod.jar").toFile());
+
+        assertEquals(2, result.strippedEntries());
+        assertEquals(List.of("META-INF/MANIFEST.MF", CLASS_NAME), names(result.file()));
+    }
+
+    @Test
+    void testPatternsFollowAntSyntax() {
+        var optimizer = new JarOptimizer(List.of("**/*.psd", "*.txt", "assets/mod/raw/", "data/?.json"), 1);
+
+        assertTrue(optimizer.stripped("block.psd"));
+        assertTrue(optimizer.stripped("assets/mod/textures/block.psd"));
+        assertTrue(optimizer.stripped("notes.txt"));
+        assertFalse(optimizer.stripped("docs/notes.txt"));
+        assertTrue(optimizer.stripped("assets/mod/raw/"));
+        assertTrue(optimizer.stripped("assets/mod/raw/sounds/a.ogg"));
+        assertFalse(optimizer.stripped("assets/mod/rawfile"));
+        assertTrue(optimizer.stripped("data/a.json"));
+        assertFalse(optimizer.stripped("data/ab.json"));
+    }
+
+    @Test
+    void testOnlyArchivesAreOptimized() {
+        assertTrue(JarOptimizer.isArchive(new File("mod.jar")));
+        assertTrue(JarOptimizer.isArchive(new File("resources.ZIP")));
+        assertFalse(JarOptimizer.isArchive(new File("README.md")));
+    }
+}
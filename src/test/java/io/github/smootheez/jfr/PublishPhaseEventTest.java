@@ -0,0 +1,58 @@
+package io.github.smootheez.jfr;
+
+import io.github.smootheez.*;
+import jdk.jfr.*;
+import jdk.jfr.consumer.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.*;
+
+import java.nio.file.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PublishPhaseEventTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testEventCarriesPhaseDetails() throws Exception {
+        var events = record(() -> {
+            var event = new UploadEvent().start(Platform.MODRINTH, "AABBCCDD");
+            event.succeeded(1234, "200");
+            event.commit();
+        });
+
+        assertEquals(1, events.size());
+        var event = events.get(0);
+        assertEquals("io.github.smootheez.Upload", event.getEventType().getName());
+        assertEquals("modrinth", event.getString("platform"));
+        assertEquals("AABBCCDD", event.getString("projectId"));
+        assertEquals(1234, event.getLong("bytes"));
+        assertEquals("200", event.getString("status"));
+    }
+
+    @Test
+    void testUnfinishedPhaseIsRecordedAsFailed() throws Exception {
+        var events = record(() -> new TagFetchEvent().start(Platform.CURSEFORGE, null).commit());
+
+        assertEquals(1, events.size());
+        assertEquals(PublishPhaseEvent.FAILED, events.get(0).getString("status"));
+        assertNull(events.get(0).getString("projectId"));
+    }
+
+    private List<RecordedEvent> record(Runnable action) throws Exception {
+        try (var recording = new Recording()) {
+            recording.enable(UploadEvent.class);
+            recording.enable(TagFetchEvent.class);
+            recording.start();
+            action.run();
+            recording.stop();
+
+            var file = directory.resolve("recording.jfr");
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package io.github.smootheez.modrinth;
 
 import org.gradle.api.*;
 import org.gradle.api.model.*;
+import org.gradle.testfixtures.*;
 import org.junit.jupiter.api.*;
 
 import java.util.function.*;
@@ -16,12 +17,12 @@ class ModrinthConfigTest {
 
     @BeforeEach
     void setup() {
-        ObjectFactory objectFactory = mock(ObjectFactory.class);
+        ObjectFactory objects = ProjectBuilder.builder().build().getObjects();
+        ObjectFactory objectFactory = mock(ObjectFactory.class, delegatesTo(objects));
         container = mock(NamedDomainObjectContainer.class);
 
-        // Mock PublisherConfig constructor behavior
-        when(objectFactory.domainObjectContainer(ModrinthDependency.class))
-                .thenReturn(container);
+        // Mock PublisherConfig constructor behavior, creating real properties
+        doReturn(container).when(objectFactory).domainObjectContainer(ModrinthDependency.class);
 
         config = new ModrinthConfig(objectFactory);
     }
@@ -89,7 +90,7 @@ class ModrinthConfigTest {
 
     @Test
     void testDefaults() {
-        assertTrue(config.isFeatured());
-        assertEquals("listed", config.getStatus());
+        assertTrue(config.getFeatured().get());
+        assertEquals("listed", config.getStatus().get());
     }
 }
\ No newline at end of file
@@ -1,4 +1,110 @@
 package io.github.smootheez.modrinth;
 
+import io.github.smootheez.*;
+import io.github.smootheez.exception.*;
+import io.github.smootheez.http.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 class ModrinthPublisherTest {
-}
\ No newline at end of file
+    private static final String PROJECT_ID = "AABBCCDD";
+
+    @TempDir
+    Path directory;
+
+    private PublisherFixture fixture;
+    private FakePlatformServer server;
+    private McModPublisherExtension extension;
+
+    @BeforeEach
+    void setup() throws IOException {
+        fixture = PublisherFixture.start(Platform.MODRINTH, directory);
+        server = fixture.server();
+        extension = fixture.extension();
+
+        extension.getFiles().from(fixture.file("mod.jar", 64 * 1024));
+        extension.getModrinth().getProjectId().set(PROJECT_ID);
+    }
+
+    @AfterEach
+    void teardown() {
+        fixture.close();
+    }
+
+    @Test
+    void testPublishCreatesVersion() {
+        var entries = fixture.publish();
+
+        assertEquals(1, server.modrinthVersions().size());
+        var version = server.modrinthVersions().get(0);
+        assertEquals(PROJECT_ID, version.get("project_id").getAsString());
+        assertEquals("mod.jar", version.getAsJsonArray("files").get(0).getAsJsonObject().get("filename").getAsString());
+        assertEquals(List.of(version.get("id").getAsString()), entries.get(0).remoteIds());
+        assertEquals(version.getAsJsonArray("files").get(0).getAsJsonObject().getAsJsonObject("hashes").get("sha512").getAsString(),
+                entries.get(0).files().get("mod.jar"));
+    }
+
+    @Test
+    void testPublishedFilesAreNotUploadedAgain() {
+        var first = fixture.publish();
+        var bytes = server.bytesReceived();
+
+        var second = fixture.publish();
+
+        assertEquals(1, server.modrinthVersions().size());
+        assertEquals(first.get(0).remoteIds(), second.get(0).remoteIds());
+        assertTrue(server.bytesReceived() - bytes < 64 * 1024);
+    }
+
+    @Test
+    void testAdditionalFilesAreAttachedToExistingVersion() throws IOException {
+        fixture.publish();
+        extension.getFiles().from(fixture.file("mod-sources.jar", 16 * 1024));
+
+        fixture.publish();
+
+        assertEquals(1, server.modrinthVersions().size());
+        assertEquals(2, server.modrinthVersions().get(0).getAsJsonArray("files").size());
+    }
+
+    @Test
+    void testFilesPublishedInAnotherVersionAreRejected() {
+        var first = fixture.publish();
+        extension.getVersion().set("1.1.0");
+
+        var exception = assertThrows(FailedPublishException.class, fixture::publish);
+
+        assertTrue(exception.getMessage().contains("mod.jar (version 1.0.0)"));
+        assertEquals(1, server.modrinthVersions().size());
+        assertEquals(first.get(0).remoteIds(), List.of(server.modrinthVersions().get(0).get("id").getAsString()));
+    }
+
+    @Test
+    void testVersionIsNotCreatedWithoutFilesPublishedInAnotherVersion() throws IOException {
+        fixture.publish();
+        extension.getVersion().set("1.1.0");
+        extension.getFiles().setFrom(fixture.file("mod-1.1.0.jar", 32 * 1024), directory.resolve("mod.jar").toFile());
+
+        assertThrows(FailedPublishException.class, fixture::publish);
+
+        assertEquals(1, server.modrinthVersions().size());
+        assertEquals("1.0.0", server.modrinthVersions().get(0).get("version_number").getAsString());
+    }
+
+    @Test
+    void testRateLimitedRequestsAreRetried() {
+        server.rateLimitEvery(2);
+
+        var entries = fixture.publish();
+
+        assertTrue(server.rateLimitedCount() > 0);
+        assertEquals(1, server.modrinthVersions().size());
+        assertEquals(1, entries.size());
+    }
+}
@@ -0,0 +1,130 @@
+package io.github.smootheez.modrinth;
+
+import com.google.gson.*;
+import com.google.gson.reflect.*;
+import io.github.smootheez.*;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModrinthTypeAdapterFactoryTest {
+    private static final Gson ADAPTED = new GsonBuilder().registerTypeAdapterFactory(new ModrinthTypeAdapterFactory()).create();
+    private static final Gson REFLECTIVE = new Gson();
+
+    @Test
+    void testMetadataMatchesReflectiveWireFormat() {
+        var metadata = new ModrinthMetadata("AABBCCDD", "My Mod 1.0.0", "1.0.0", "Changes", List.of("1.21.1"),
+                List.of(LoaderType.FABRIC, LoaderType.NEOFORGE), "release",
+                List.of(new DependencyMetadata("P7dR8mSH", DependencyType.REQUIRED),
+                        new DependencyMetadata("EEFFGGHH", DependencyType.EMBEDDED)),
+                true, "listed", List.of("file-0", "file-1"));
+
+        assertEquals(JsonParser.parseString(REFLECTIVE.toJson(metadata)), JsonParser.parseString(ADAPTED.toJson(metadata)));
+    }
+
+    @Test
+    void testNullValuesAreOmitted() {
+        var metadata = new ModrinthMetadata("AABBCCDD", "My Mod", "1.0.0", null, List.of(), List.of(), "beta",
+                null, false, null, List.of("file-0"));
+
+        var json = ADAPTED.toJson(metadata);
+
+        assertEquals(JsonParser.parseString(REFLECTIVE.toJson(metadata)), JsonParser.parseString(json));
+        assertFalse(json.contains("changelog"));
+        assertFalse(json.contains("dependencies"));
+    }
+
+    @Test
+    void testHashLookupRequestMatchesReflectiveWireFormat() {
+        var request = new HashLookupRequest(List.of("abc", "def"), "sha512");
+
+        assertEquals(JsonParser.parseString(REFLECTIVE.toJson(request)), JsonParser.parseString(ADAPTED.toJson(request)));
+    }
+
+    @Test
+    void testMetadataIsReadLikeReflectiveGson() {
+        var metadata = new ModrinthMetadata("AABBCCDD", "My Mod 1.0.0", "1.0.0", "Changes", List.of("1.21.1"),
+                List.of(LoaderType.QUILT), "alpha", List.of(new DependencyMetadata("P7dR8mSH", DependencyType.OPTIONAL)),
+                false, "draft", List.of("file-0"));
+
+        assertEquals(metadata, ADAPTED.fromJson(ADAPTED.toJson(metadata), ModrinthMetadata.class));
+    }
+
+    @Test
+    void testVersionIsDecodedSkippingUnknownFields() {
+        var body = """
+                {
+                  "id": "IIJJKKLL",
+                  "project_id": "AABBCCDD",
+                  "name": "My Mod 1.0.0",
+                  "version_number": "1.0.0",
+                  "game_versions": ["1.21.1"],
+                  "files": [
+                    {"hashes": {"sha1": "aa", "sha512": "bb"}, "url": "https://cdn/mod.jar", "filename": "mod.jar",
+                     "primary": true, "size": 1024, "file_type": null}
+                  ]
+                }
+                """;
+
+        var version = ADAPTED.fromJson(body, ModrinthVersion.class);
+
+        assertEquals(REFLECTIVE.fromJson(body, ModrinthVersion.class), version);
+        assertEquals(new ModrinthVersion("IIJJKKLL", "AABBCCDD", "1.0.0", List.of(new ModrinthVersionFile(
+                Map.of("sha1", "aa", "sha512", "bb"), "https://cdn/mod.jar", "mod.jar", true, 1024))), version);
+    }
+
+    @Test
+    void testVersionsAreDecodedByHash() {
+        var body = """
+                {"bb": {"id": "IIJJKKLL", "project_id": "AABBCCDD", "version_number": "1.0.0", "files": []}}
+                """;
+
+        Map<String, ModrinthVersion> versions = ADAPTED.fromJson(body, new TypeToken<Map<String, ModrinthVersion>>() {}.getType());
+
+        assertEquals(new ModrinthVersion("IIJJKKLL", "AABBCCDD", "1.0.0", List.of()), versions.get("bb"));
+    }
+
+    @Test
+    void testVersionIsWrittenLikeReflectiveGson() {
+        var version = new ModrinthVersion("IIJJKKLL", "AABBCCDD", "1.0.0", List.of(new ModrinthVersionFile(
+                Map.of("sha512", "bb"), "https://cdn/mod.jar", "mod.jar", true, 1024)));
+
+        assertEquals(JsonParser.parseString(REFLECTIVE.toJson(version)), JsonParser.parseString(ADAPTED.toJson(version)));
+    }
+
+    @Test
+    void testUsedDirectionsNeverBuildReflectiveAdapters() {
+        var requested = new ArrayList<Class<?>>();
+        // Factories registered later take precedence, so the recorder only sees delegated types.
+        var gson = new GsonBuilder()
+                .registerTypeAdapterFactory(recording(requested))
+                .registerTypeAdapterFactory(new ModrinthTypeAdapterFactory())
+                .create();
+        var metadata = new ModrinthMetadata("AABBCCDD", "My Mod", "1.0.0", null, List.of("1.21.1"),
+                List.of(LoaderType.FABRIC), "release", null, false, null, List.of("file-0"));
+
+        var json = gson.toJson(metadata);
+        gson.toJson(new HashLookupRequest(List.of("abc"), "sha512"));
+        gson.fromJson("{\"id\": \"IIJJKKLL\", \"files\": []}", ModrinthVersion.class);
+
+        assertFalse(requested.contains(ModrinthMetadata.class));
+        assertFalse(requested.contains(HashLookupRequest.class));
+        assertFalse(requested.contains(ModrinthVersion.class));
+
+        gson.fromJson(json, ModrinthMetadata.class);
+
+        assertTrue(requested.contains(ModrinthMetadata.class));
+    }
+
+    private static TypeAdapterFactory recording(List<Class<?>> requested) {
+        return new TypeAdapterFactory() {
+            @Override
+            public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+                requested.add(type.getRawType());
+                return null;
+            }
+        };
+    }
+}